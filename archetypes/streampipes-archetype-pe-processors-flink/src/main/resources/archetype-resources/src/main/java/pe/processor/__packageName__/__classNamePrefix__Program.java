@@ -50,7 +50,9 @@ public class ${classNamePrefix}Program extends FlinkDataProcessorRuntime<${class
   protected DataStream<Event> getApplicationLogic(
         DataStream<Event>... messageStream) {
 
-    return messageStream[0]
-        .flatMap(new ${classNamePrefix}(this.params.getExampleText()));
+    // the flat map is stateless, so it may run with the parallelism configured by SP_FLINK_PARALLELISM,
+    // operators with state are only parallelized after a keyBy
+    return parallelize(messageStream[0]
+        .flatMap(new ${classNamePrefix}(this.params.getExampleText())));
   }
 }
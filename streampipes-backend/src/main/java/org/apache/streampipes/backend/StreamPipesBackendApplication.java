@@ -21,6 +21,7 @@ import org.apache.shiro.web.env.EnvironmentLoaderListener;
 import org.apache.shiro.web.servlet.OncePerRequestFilter;
 import org.apache.shiro.web.servlet.ShiroFilter;
 import org.apache.streampipes.manager.health.PipelineHealthCheck;
+import org.apache.streampipes.manager.monitoring.pipeline.PipelineMonitoringService;
 import org.apache.streampipes.manager.operations.Operations;
 import org.apache.streampipes.model.pipeline.Pipeline;
 import org.apache.streampipes.model.pipeline.PipelineOperationStatus;
@@ -82,6 +83,7 @@ public class StreamPipesBackendApplication {
             HEALTH_CHECK_INTERVAL,
             HEALTH_CHECK_INTERVAL,
             HEALTH_CHECK_UNIT);
+    PipelineMonitoringService.INSTANCE.start();
   }
 
   private void schedulePipelineStart(Pipeline pipeline, boolean restartOnReboot) {
@@ -93,6 +95,7 @@ public class StreamPipesBackendApplication {
   @PreDestroy
   public void onExit() {
     LOG.info("Shutting down StreamPipes...");
+    PipelineMonitoringService.INSTANCE.stop();
     LOG.info("Flagging currently running pipelines for restart...");
     List<Pipeline> pipelinesToStop = getAllPipelines()
             .stream()
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.benchmarks;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.EventConsumer;
+import org.apache.streampipes.messaging.EventProducer;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.messaging.SpProtocolDefinition;
+import org.apache.streampipes.messaging.SpProtocolDefinitionFactory;
+import org.apache.streampipes.model.grounding.TransportProtocol;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory protocol for benchmarks: the consumer never receives anything on its own (the
+ * benchmark feeds the input collector directly) and the producer only counts published bytes.
+ */
+public class BenchmarkProtocolFactory extends
+        SpProtocolDefinitionFactory<BenchmarkTransportProtocol> {
+
+  private static final LongAdder publishedBytes = new LongAdder();
+
+  @Override
+  public TransportProtocol getTransportProtocol() {
+    return new BenchmarkTransportProtocol();
+  }
+
+  @Override
+  public String getTransportProtocolClass() {
+    return BenchmarkTransportProtocol.class.getCanonicalName();
+  }
+
+  @Override
+  public SpProtocolDefinition<BenchmarkTransportProtocol> createInstance() {
+    return new SpProtocolDefinition<BenchmarkTransportProtocol>() {
+
+      private final EventConsumer<BenchmarkTransportProtocol> consumer = new BenchmarkConsumer();
+      private final EventProducer<BenchmarkTransportProtocol> producer = new BenchmarkProducer();
+
+      @Override
+      public EventConsumer<BenchmarkTransportProtocol> getConsumer() {
+        return consumer;
+      }
+
+      @Override
+      public EventProducer<BenchmarkTransportProtocol> getProducer() {
+        return producer;
+      }
+    };
+  }
+
+  public static long getPublishedBytes() {
+    return publishedBytes.sum();
+  }
+
+  private static class BenchmarkConsumer implements EventConsumer<BenchmarkTransportProtocol> {
+
+    private boolean connected = false;
+
+    @Override
+    public void connect(BenchmarkTransportProtocol protocolSettings,
+                        InternalEventProcessor<byte[]> eventProcessor) throws SpRuntimeException {
+      this.connected = true;
+    }
+
+    @Override
+    public void disconnect() throws SpRuntimeException {
+      this.connected = false;
+    }
+
+    @Override
+    public Boolean isConnected() {
+      return connected;
+    }
+  }
+
+  private static class BenchmarkProducer implements EventProducer<BenchmarkTransportProtocol> {
+
+    private boolean connected = false;
+
+    @Override
+    public void connect(BenchmarkTransportProtocol protocolSettings) throws SpRuntimeException {
+      this.connected = true;
+    }
+
+    @Override
+    public void publish(byte[] event) {
+      publishedBytes.add(event.length);
+    }
+
+    @Override
+    public void disconnect() throws SpRuntimeException {
+      this.connected = false;
+    }
+
+    @Override
+    public Boolean isConnected() {
+      return connected;
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.benchmarks;
+
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.vocabulary.XSD;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic event schema with {@code width} primitive properties on every level and
+ * {@code depth} levels of nested properties below the root.
+ */
+public class BenchmarkSchema {
+
+  private static final String NESTED = "nested";
+  private static final String FIELD_PREFIX = "f";
+
+  private final int width;
+  private final int depth;
+
+  public BenchmarkSchema(int width, int depth) {
+    this.width = width;
+    this.depth = depth;
+  }
+
+  public EventSchema getEventSchema() {
+    return new EventSchema(makeProperties(depth));
+  }
+
+  public SourceInfo getSourceInfo() {
+    return new SourceInfo("benchmark-topic", PropertySelectorConstants.FIRST_STREAM_ID_PREFIX);
+  }
+
+  public SchemaInfo getSchemaInfo() {
+    return new SchemaInfo(getEventSchema(), Collections.emptyList());
+  }
+
+  public Map<String, Object> makeEvent() {
+    return makeEvent(depth);
+  }
+
+  /**
+   * @return the selector of the last primitive property on the deepest nesting level.
+   */
+  public String getDeepestSelector() {
+    StringBuilder selector = new StringBuilder(PropertySelectorConstants.FIRST_STREAM_ID_PREFIX);
+    for (int i = 0; i < depth; i++) {
+      selector.append(PropertySelectorConstants.PROPERTY_DELIMITER).append(NESTED);
+    }
+    return selector.append(PropertySelectorConstants.PROPERTY_DELIMITER)
+            .append(FIELD_PREFIX)
+            .append(width - 1)
+            .toString();
+  }
+
+  private List<EventProperty> makeProperties(int remainingDepth) {
+    List<EventProperty> properties = new ArrayList<>();
+    for (int i = 0; i < width; i++) {
+      properties.add(new EventPropertyPrimitive(getDatatype(i), FIELD_PREFIX + i, "",
+              Collections.emptyList()));
+    }
+    if (remainingDepth > 0) {
+      properties.add(new EventPropertyNested(NESTED, makeProperties(remainingDepth - 1)));
+    }
+    return properties;
+  }
+
+  private Map<String, Object> makeEvent(int remainingDepth) {
+    Map<String, Object> event = new HashMap<>();
+    for (int i = 0; i < width; i++) {
+      event.put(FIELD_PREFIX + i, makeValue(i));
+    }
+    if (remainingDepth > 0) {
+      event.put(NESTED, makeEvent(remainingDepth - 1));
+    }
+    return event;
+  }
+
+  private String getDatatype(int index) {
+    switch (index % 4) {
+      case 0:
+        return XSD._long.toString();
+      case 1:
+        return XSD._double.toString();
+      case 2:
+        return XSD._string.toString();
+      default:
+        return XSD._boolean.toString();
+    }
+  }
+
+  private Object makeValue(int index) {
+    switch (index % 4) {
+      case 0:
+        return 1600000000000L + index;
+      case 1:
+        return 0.5 * index;
+      case 2:
+        return "value-" + index;
+      default:
+        return index % 2 == 0;
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.benchmarks;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.dataformat.cbor.CborDataFormatDefinition;
+import org.apache.streampipes.dataformat.fst.FstDataFormatDefinition;
+import org.apache.streampipes.dataformat.json.JsonDataFormatDefinition;
+import org.apache.streampipes.dataformat.smile.SmileDataFormatDefinition;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of the data formats, both for the generic map representation and for the
+ * direct conversion from and to runtime events.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar}. On Java 9+, FST needs access to JDK
+ * internals: pass {@code --add-opens java.base/<package>=ALL-UNNAMED} for java.lang, java.util,
+ * java.util.concurrent and java.math via {@code -jvmArgsAppend}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataFormatBenchmark {
+
+  @Param({"json", "smile", "cbor", "fst"})
+  public String format;
+
+  @Param({"4", "32"})
+  public int width;
+
+  @Param({"0", "3"})
+  public int depth;
+
+  private SpDataFormatDefinition dataFormatDefinition;
+  private EventLayout layout;
+
+  private Map<String, Object> mapEvent;
+  private byte[] rawEvent;
+  private Event event;
+
+  @Setup(Level.Trial)
+  public void setup() throws SpRuntimeException {
+    BenchmarkSchema schema = new BenchmarkSchema(width, depth);
+    this.dataFormatDefinition = makeDataFormatDefinition(format);
+    this.layout = EventLayout.compile(schema.getSourceInfo(), schema.getSchemaInfo());
+    this.mapEvent = schema.makeEvent();
+    this.rawEvent = dataFormatDefinition.fromMap(mapEvent);
+    this.event = dataFormatDefinition.toEvent(rawEvent, layout);
+  }
+
+  @Benchmark
+  public Map<String, Object> toMap() throws SpRuntimeException {
+    return dataFormatDefinition.toMap(rawEvent);
+  }
+
+  @Benchmark
+  public byte[] fromMap() throws SpRuntimeException {
+    return dataFormatDefinition.fromMap(mapEvent);
+  }
+
+  @Benchmark
+  public Event toEvent() throws SpRuntimeException {
+    return dataFormatDefinition.toEvent(rawEvent, layout);
+  }
+
+  @Benchmark
+  public byte[] fromEvent() throws SpRuntimeException {
+    return dataFormatDefinition.fromEvent(event);
+  }
+
+  static SpDataFormatDefinition makeDataFormatDefinition(String format) {
+    switch (format) {
+      case "smile":
+        return new SmileDataFormatDefinition();
+      case "cbor":
+        return new CborDataFormatDefinition();
+      case "fst":
+        return new FstDataFormatDefinition();
+      default:
+        return new JsonDataFormatDefinition();
+    }
+  }
+}
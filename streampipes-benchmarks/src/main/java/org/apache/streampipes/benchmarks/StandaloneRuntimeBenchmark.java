@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.benchmarks;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.dataformat.SpDataFormatFactory;
+import org.apache.streampipes.dataformat.SpDataFormatManager;
+import org.apache.streampipes.dataformat.cbor.CborDataFormatFactory;
+import org.apache.streampipes.dataformat.json.JsonDataFormatFactory;
+import org.apache.streampipes.messaging.SpProtocolManager;
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.grounding.EventGrounding;
+import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.model.output.KeepOutputStrategy;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
+import org.apache.streampipes.wrapper.params.runtime.EventProcessorRuntimeParams;
+import org.apache.streampipes.wrapper.routing.SpOutputCollector;
+import org.apache.streampipes.wrapper.runtime.EventProcessor;
+import org.apache.streampipes.wrapper.standalone.ProcessorParams;
+import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
+import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpInputCollector;
+import org.apache.streampipes.wrapper.standalone.runtime.StandaloneEventProcessorRuntime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full standalone wrapper path of a pass-through processor: input collector, event creation,
+ * processor and output collector, on top of the in-memory {@link BenchmarkProtocolFactory}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StandaloneRuntimeBenchmark {
+
+  static {
+    SpProtocolManager.INSTANCE.register(new BenchmarkProtocolFactory());
+    SpDataFormatManager.INSTANCE.register(new JsonDataFormatFactory());
+    SpDataFormatManager.INSTANCE.register(new CborDataFormatFactory());
+  }
+
+  @Param({"json", "cbor"})
+  public String format;
+
+  @Param({"4", "32"})
+  public int width;
+
+  @Param({"0", "3"})
+  public int depth;
+
+  private StandaloneEventProcessorRuntime<ProcessorParams> runtime;
+  private StandaloneSpInputCollector inputCollector;
+  private byte[] rawEvent;
+
+  @Setup(Level.Trial)
+  public void setup() throws SpRuntimeException {
+    BenchmarkSchema schema = new BenchmarkSchema(width, depth);
+    TransportFormat transportFormat = makeDataFormatFactory(format).getTransportFormat();
+    SpDataStream inputStream = makeStream(schema, transportFormat);
+
+    DataProcessorInvocation graph = new DataProcessorInvocation("", "benchmark", "", "",
+            "benchmark");
+    graph.setInputStreams(Collections.singletonList(inputStream));
+    graph.setOutputStream(makeStream(schema, transportFormat));
+    graph.setOutputStrategies(Collections.singletonList(new KeepOutputStrategy()));
+    graph.setCategory(new ArrayList<>());
+
+    EventProcessorRuntimeParams<ProcessorParams> runtimeParams = new
+            EventProcessorRuntimeParams<>(new ProcessorParams(graph), false);
+    this.runtime = new StandaloneEventProcessorRuntime<>(PassThroughProcessor::new, runtimeParams);
+    this.runtime.bindRuntime();
+
+    this.inputCollector = ProtocolManager.findInputCollector(inputStream.getEventGrounding()
+            .getTransportProtocol(), transportFormat, false);
+    SpDataFormatDefinition dataFormatDefinition = DataFormatBenchmark
+            .makeDataFormatDefinition(format);
+    this.rawEvent = dataFormatDefinition.fromMap(schema.makeEvent());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SpRuntimeException {
+    runtime.discardRuntime();
+  }
+
+  @Benchmark
+  public void onEvent() {
+    inputCollector.onEvent(rawEvent);
+  }
+
+  private SpDataStream makeStream(BenchmarkSchema schema, TransportFormat transportFormat) {
+    SpDataStream stream = new SpDataStream();
+    stream.setEventSchema(schema.getEventSchema());
+    stream.setEventGrounding(new EventGrounding(new BenchmarkTransportProtocol("benchmark-"
+            + UUID.randomUUID().toString()), transportFormat));
+    return stream;
+  }
+
+  private SpDataFormatFactory makeDataFormatFactory(String format) {
+    return "cbor".equals(format) ? new CborDataFormatFactory() : new JsonDataFormatFactory();
+  }
+
+  private static class PassThroughProcessor implements EventProcessor<ProcessorParams> {
+
+    @Override
+    public void onInvocation(ProcessorParams parameters, SpOutputCollector spOutputCollector,
+                             EventProcessorRuntimeContext runtimeContext) {
+    }
+
+    @Override
+    public void onEvent(Event event, SpOutputCollector collector) {
+      collector.collect(event);
+    }
+
+    @Override
+    public void onDetach() {
+    }
+  }
+}
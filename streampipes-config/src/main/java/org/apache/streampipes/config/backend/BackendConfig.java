@@ -62,6 +62,8 @@ public enum BackendConfig {
     config.register(BackendConfigKeys.INFLUX_HOST, "influxdb", "The host of the influx data base");
     config.register(BackendConfigKeys.INFLUX_PORT, 8086, "The hist of the influx data base");
     config.register(BackendConfigKeys.INFLUX_DATA_BASE, "sp", "The influx data base name");
+    config.register(BackendConfigKeys.INFLUX_CONNECTION_POOL_SIZE, 8, "The maximum number of " +
+            "concurrent data explorer queries to the influx data base");
     config.registerObject(BackendConfigKeys.MESSAGING_SETTINGS, MessagingSettings.fromDefault(),
             "Default Messaging Settings");
 
@@ -231,6 +233,10 @@ public enum BackendConfig {
     return config.getString(BackendConfigKeys.INFLUX_DATA_BASE);
   }
 
+  public int getInfluxConnectionPoolSize() {
+    return config.getInteger(BackendConfigKeys.INFLUX_CONNECTION_POOL_SIZE);
+  }
+
   public String getEncryptionKey() {
     return config.getString(BackendConfigKeys.ENCRYPTION_KEY);
   }
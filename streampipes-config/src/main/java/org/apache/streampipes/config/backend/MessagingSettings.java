@@ -27,6 +27,8 @@ public class MessagingSettings {
   private Integer messageMaxBytes;
   private Integer lingerMs;
   private Integer acks;
+  private Integer kafkaNumPartitions;
+  private Integer kafkaConsumerThreads;
 
   private List<SpDataFormat> prioritizedFormats;
   private List<SpProtocol> prioritizedProtocols;
@@ -51,10 +53,13 @@ public class MessagingSettings {
       protocolList = Arrays.asList(SpProtocol.KAFKA, SpProtocol.MQTT, SpProtocol.JMS);
     }
 
-    return new MessagingSettings(
+    MessagingSettings settings = new MessagingSettings(
             1638400, 5000012, 20, 2,
             Arrays.asList(SpDataFormat.JSON, SpDataFormat.CBOR, SpDataFormat.FST, SpDataFormat.SMILE),
             protocolList);
+    settings.setKafkaNumPartitions(1);
+    settings.setKafkaConsumerThreads(1);
+    return settings;
   }
 
   public MessagingSettings(Integer batchSize, Integer messageMaxBytes, Integer lingerMs,
@@ -104,6 +109,30 @@ public class MessagingSettings {
     this.acks = acks;
   }
 
+  /**
+   * @return the number of partitions of topics created between pipeline elements. Events are
+   * keyed by the first dimension property of the producing element, so that events with the same
+   * key keep their order.
+   */
+  public Integer getKafkaNumPartitions() {
+    return kafkaNumPartitions;
+  }
+
+  public void setKafkaNumPartitions(Integer kafkaNumPartitions) {
+    this.kafkaNumPartitions = kafkaNumPartitions;
+  }
+
+  /**
+   * @return the maximum number of consumer threads of a pipeline element reading such a topic.
+   */
+  public Integer getKafkaConsumerThreads() {
+    return kafkaConsumerThreads;
+  }
+
+  public void setKafkaConsumerThreads(Integer kafkaConsumerThreads) {
+    this.kafkaConsumerThreads = kafkaConsumerThreads;
+  }
+
   public List<SpDataFormat> getPrioritizedFormats() {
     return prioritizedFormats;
   }
@@ -21,7 +21,9 @@ package org.apache.streampipes.config.consul;
 import com.google.gson.Gson;
 import com.orbitz.consul.Consul;
 import com.orbitz.consul.KeyValueClient;
+import com.orbitz.consul.cache.KVCache;
 import com.orbitz.consul.model.kv.Value;
+import com.orbitz.consul.option.QueryOptions;
 import org.apache.streampipes.config.SpConfig;
 import org.apache.streampipes.config.SpConfigChangeCallback;
 import org.apache.streampipes.config.model.ConfigItem;
@@ -36,35 +38,48 @@ import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
-public class ConsulSpConfig extends SpConfig implements Runnable {
+/**
+ * Consul-backed configuration of a service. All keys below the service prefix are watched with a
+ * single blocking query and kept in a local cache, reads are served from this cache.
+ */
+public class ConsulSpConfig extends SpConfig {
     private static final Logger LOG = LoggerFactory.getLogger(ConsulSpConfig.class.getCanonicalName());
 
     private static final String SLASH = "/";
     private static final String CONSUL_ENV_LOCATION = "CONSUL_LOCATION";
     private static final int CONSUL_DEFAULT_PORT = 8500;
+    private static final int WATCH_SECONDS = 30;
+    private static final long READ_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(WATCH_SECONDS + 10);
+    private static final long INITIAL_LOAD_TIMEOUT_SECONDS = 10;
     public static final String SERVICE_ROUTE_PREFIX = "sp/v1/";
 
-    private String serviceName;
-    private  KeyValueClient kvClient;
-
+    private final String serviceName;
+    private final KeyValueClient kvClient;
+    private final KVCache kvCache;
+    private final ConsulValueCache configCache;
 
-    // TODO Implement mechanism to update the client when some configuration parameters change in Consul
-    private SpConfigChangeCallback callback;
-    private Map<String, Object> configProps;
+    private volatile SpConfigChangeCallback callback;
 
     public ConsulSpConfig(String serviceName) {
         super(serviceName);
         Consul consul = consulInstance();
         this.kvClient = consul.keyValueClient();
         this.serviceName = serviceName;
+        this.configCache = new ConsulValueCache();
+        this.kvCache = KVCache.newCache(kvClient, servicePrefix(), WATCH_SECONDS, QueryOptions.BLANK,
+                watchExecutor(serviceName));
+        this.kvCache.addListener(this::onUpdate);
+        this.kvCache.start();
+        awaitInitialLoad();
     }
 
     public ConsulSpConfig(String serviceName, SpConfigChangeCallback callback) {
         this(serviceName);
         this.callback = callback;
-        this.configProps = new HashMap<>();
-        new Thread(this).start();
     }
 
     private static Consul consulInstance() {
@@ -85,7 +100,7 @@ public class ConsulSpConfig extends SpConfig implements Runnable {
             }
         }
         LOG.info("Successfully connected to Consul");
-        return Consul.builder().withUrl(consulURL()).build();
+        return Consul.builder().withUrl(consulURL()).withReadTimeoutMillis(READ_TIMEOUT_MILLIS).build();
     }
 
     private static URL consulURL() {
@@ -120,26 +135,61 @@ public class ConsulSpConfig extends SpConfig implements Runnable {
         return true;
     }
 
-    @Override
-    public void run() {
-        Consul consulThread = Consul.builder().build(); // connect to Consul on localhost
-        KeyValueClient kvClientThread = consulThread.keyValueClient();
-        while (true) {
-
-            configProps.keySet().forEach((s) -> {
-                Optional<Value> te = kvClientThread.getValue(addSn(s));
-                if (!te.get().getValueAsString().get().equals(configProps.get(s))) {
-                    callback.onChange();
-                    configProps.put(s, te.get().getValueAsString().get());
-                }
-            });
+    private static ScheduledExecutorService watchExecutor(String serviceName) {
+        return Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "consul-config-watch-" + serviceName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
-            try {
-                Thread.sleep(10000);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+    private void awaitInitialLoad() {
+        try {
+            if (!kvCache.awaitInitialized(INITIAL_LOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOG.warn("Configuration of service {} not loaded yet, reading from Consul until the watch is initialized",
+                        serviceName);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Replaces the local cache with the values of the last blocking query. The change callback is
+     * only notified if a key was added or removed or its modify index changed.
+     */
+    private synchronized void onUpdate(Map<String, Value> values) {
+        Map<String, Value> updatedValues = new HashMap<>();
+        values.values().forEach(value -> updatedValues.put(toKey(value.getKey()), value));
+
+        boolean wasInitialized = configCache.isInitialized();
+        boolean changed = configCache.update(updatedValues);
+
+        if (wasInitialized && changed && callback != null) {
+            callback.onChange();
+        }
+    }
+
+    private Optional<String> getValueAsString(String key) {
+        Optional<Value> value = configCache.get(key);
+        if (!value.isPresent() && !configCache.isInitialized()) {
+            return refresh(key).flatMap(Value::getValueAsString);
         }
+        return value.flatMap(Value::getValueAsString);
+    }
+
+    private synchronized void putValue(String key, String value) {
+        kvClient.putValue(addSn(key), value);
+        refresh(key);
+    }
+
+    /**
+     * Reads a single key from Consul, so that local writes are visible before the watch reports them.
+     */
+    private synchronized Optional<Value> refresh(String key) {
+        Optional<Value> value = kvClient.getValue(addSn(key));
+        value.ifPresent(v -> configCache.put(key, v));
+        return configCache.get(key);
     }
 
     @Override
@@ -182,9 +232,9 @@ public class ConsulSpConfig extends SpConfig implements Runnable {
 
     @Override
     public void registerObject(String key, Object defaultValue, String description) {
-        Optional<String> i = kvClient.getValueAsString(addSn(key));
+        Optional<String> i = getValueAsString(key);
         if (!i.isPresent()) {
-            kvClient.putValue(addSn(key), toJson(defaultValue));
+            putValue(key, toJson(defaultValue));
         }
     }
 
@@ -195,7 +245,7 @@ public class ConsulSpConfig extends SpConfig implements Runnable {
 
     private void register(String key, String defaultValue, String valueType, String description, ConfigurationScope configurationScope, boolean isPassword) {
 
-        Optional<String> i = kvClient.getValueAsString(addSn(key));
+        Optional<String> i = getValueAsString(key);
         ConfigItem configItem = prepareConfigItem(valueType, description, configurationScope, isPassword);
         // TODO this check does not work
         if (!i.isPresent()) {
@@ -203,16 +253,12 @@ public class ConsulSpConfig extends SpConfig implements Runnable {
             String envVariable = System.getenv(key);
             if (envVariable != null) {
                 configItem.setValue(envVariable);
-                kvClient.putValue(addSn(key), toJson(configItem));
+                putValue(key, toJson(configItem));
             } else {
                 configItem.setValue(defaultValue);
-                kvClient.putValue(addSn(key), toJson(configItem));
+                putValue(key, toJson(configItem));
             }
         }
-
-        if (configProps != null) {
-            configProps.put(key, getString(key));
-        }
     }
 
     @Override
@@ -237,7 +283,7 @@ public class ConsulSpConfig extends SpConfig implements Runnable {
 
     @Override
     public <T> T getObject(String key, Class<T> clazz, T defaultValue) {
-        Optional<String> os = kvClient.getValueAsString(addSn(key));
+        Optional<String> os = getValueAsString(key);
         if (os.isPresent()) {
             Gson gson = new Gson();
             return gson.fromJson(os.get(), clazz);
@@ -248,7 +294,7 @@ public class ConsulSpConfig extends SpConfig implements Runnable {
 
     @Override
     public ConfigItem getConfigItem(String key) {
-      Optional<String> os = kvClient.getValueAsString(addSn(key));
+      Optional<String> os = getValueAsString(key);
 
       return fromJson(os.get());
     }
@@ -270,17 +316,26 @@ public class ConsulSpConfig extends SpConfig implements Runnable {
 
     @Override
     public void setString(String key, String value) {
-        kvClient.putValue(addSn(key), value);
+        putValue(key, value);
     }
 
     @Override
     public void setObject(String key, Object value) {
         Gson gson = new Gson();
-        kvClient.putValue(addSn(key), gson.toJson(value));
+        putValue(key, gson.toJson(value));
     }
 
     private String addSn(String key) {
-       return SERVICE_ROUTE_PREFIX + serviceName + SLASH + key;
+       return servicePrefix() + key;
+    }
+
+    private String servicePrefix() {
+        return SERVICE_ROUTE_PREFIX + serviceName + SLASH;
+    }
+
+    private String toKey(String consulKey) {
+        String prefix = servicePrefix();
+        return consulKey.startsWith(prefix) ? consulKey.substring(prefix.length()) : consulKey;
     }
 
     private ConfigItem fromJson(String content) {
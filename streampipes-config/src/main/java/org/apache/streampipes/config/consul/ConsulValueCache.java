@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.config.consul;
+
+import com.orbitz.consul.model.kv.Value;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local copy of the values below the prefix of a service. A cached value is never replaced by a
+ * value with a lower modify index, so that a watch result which is older than a value read after a
+ * local write does not revert that value.
+ */
+class ConsulValueCache {
+
+    private final Map<String, Value> values = new ConcurrentHashMap<>();
+    private final Map<String, Long> pendingWrites = new HashMap<>();
+    private volatile boolean initialized;
+
+    /**
+     * Applies the values of a watch result, keys which are not part of the result are removed
+     * unless they were cached after a local write the result does not know about yet. A local
+     * write is known to the watch once a result contains a modify index at least as high as the
+     * index of the written value.
+     *
+     * @return whether a key was added or removed or the modify index of a value changed
+     */
+    synchronized boolean update(Map<String, Value> updatedValues) {
+        long resultIndex = updatedValues.values().stream()
+                .mapToLong(Value::getModifyIndex)
+                .max()
+                .orElse(0);
+        pendingWrites.values().removeIf(modifyIndex -> modifyIndex <= resultIndex);
+        boolean changed = values.keySet().removeIf(key -> !updatedValues.containsKey(key)
+                && !pendingWrites.containsKey(key));
+        for (Map.Entry<String, Value> entry : updatedValues.entrySet()) {
+            changed |= putValue(entry.getKey(), entry.getValue());
+        }
+        initialized = true;
+        return changed;
+    }
+
+    /**
+     * Caches a value read from Consul outside of the watch, e.g., after a local write. The key is
+     * kept until a watch result reflects the write.
+     *
+     * @return whether the value was added or replaced a value with a lower modify index
+     */
+    synchronized boolean put(String key, Value value) {
+        if (!putValue(key, value)) {
+            return false;
+        }
+        pendingWrites.put(key, value.getModifyIndex());
+        return true;
+    }
+
+    Optional<Value> get(String key) {
+        return Optional.ofNullable(values.get(key));
+    }
+
+    boolean isInitialized() {
+        return initialized;
+    }
+
+    private boolean putValue(String key, Value value) {
+        Value cachedValue = values.get(key);
+        if (cachedValue != null && cachedValue.getModifyIndex() >= value.getModifyIndex()) {
+            return false;
+        }
+        values.put(key, value);
+        return true;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.config.consul;
+
+import com.orbitz.consul.model.kv.ImmutableValue;
+import com.orbitz.consul.model.kv.Value;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestConsulValueCache {
+
+    @Test
+    public void testStaleWatchResultDoesNotRevertLocalWrite() {
+        ConsulValueCache cache = new ConsulValueCache();
+        cache.update(values(value("host", "old", 5)));
+
+        cache.put("host", value("host", "new", 8));
+        boolean changed = cache.update(values(value("host", "old", 5)));
+
+        assertFalse(changed);
+        assertEquals("new", cache.get("host").flatMap(Value::getValueAsString).get());
+    }
+
+    @Test
+    public void testStaleWatchResultDoesNotRemoveNewerKey() {
+        ConsulValueCache cache = new ConsulValueCache();
+        cache.update(values(value("host", "a", 5)));
+
+        cache.put("port", value("port", "80", 8));
+        boolean changed = cache.update(values(value("host", "a", 5)));
+
+        assertFalse(changed);
+        assertEquals("80", cache.get("port").flatMap(Value::getValueAsString).get());
+
+        assertTrue(cache.update(values(value("host", "b", 9))));
+        assertFalse(cache.get("port").isPresent());
+    }
+
+    @Test
+    public void testDeletedKeyWithHighestIndexIsRemoved() {
+        ConsulValueCache cache = new ConsulValueCache();
+        cache.update(values(value("host", "a", 5), value("port", "80", 8)));
+
+        assertTrue(cache.update(values(value("host", "a", 5))));
+
+        assertFalse(cache.get("port").isPresent());
+        assertTrue(cache.get("host").isPresent());
+    }
+
+    @Test
+    public void testDeletingAllKeysEmptiesCache() {
+        ConsulValueCache cache = new ConsulValueCache();
+        cache.update(values(value("host", "a", 5), value("port", "80", 8)));
+
+        assertTrue(cache.update(values()));
+
+        assertFalse(cache.get("host").isPresent());
+        assertFalse(cache.get("port").isPresent());
+    }
+
+    @Test
+    public void testLocalWriteIsRemovedOnceWatchKnowsIt() {
+        ConsulValueCache cache = new ConsulValueCache();
+        cache.update(values(value("host", "a", 5)));
+
+        cache.put("port", value("port", "80", 8));
+        cache.update(values(value("host", "a", 5), value("port", "80", 8)));
+
+        assertTrue(cache.update(values(value("host", "a", 5))));
+        assertFalse(cache.get("port").isPresent());
+    }
+
+    @Test
+    public void testPutIgnoresLowerModifyIndex() {
+        ConsulValueCache cache = new ConsulValueCache();
+
+        assertTrue(cache.put("host", value("host", "new", 8)));
+        assertFalse(cache.put("host", value("host", "old", 5)));
+
+        assertEquals(8, cache.get("host").get().getModifyIndex());
+    }
+
+    @Test
+    public void testUpdateReportsChangedAndRemovedKeys() {
+        ConsulValueCache cache = new ConsulValueCache();
+        assertFalse(cache.isInitialized());
+        cache.update(values(value("host", "a", 1), value("port", "80", 2)));
+        assertTrue(cache.isInitialized());
+
+        assertFalse(cache.update(values(value("host", "a", 1), value("port", "80", 2))));
+        assertTrue(cache.update(values(value("host", "b", 3), value("port", "80", 2))));
+        assertTrue(cache.update(values(value("host", "b", 3))));
+
+        assertFalse(cache.get("port").isPresent());
+    }
+
+    private Map<String, Value> values(Value... values) {
+        Map<String, Value> result = new HashMap<>();
+        for (Value value : values) {
+            result.put(value.getKey(), value);
+        }
+        return result;
+    }
+
+    private Value value(String key, String value, long modifyIndex) {
+        return ImmutableValue.builder()
+                .key(key)
+                .value(Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8)))
+                .createIndex(1)
+                .modifyIndex(modifyIndex)
+                .lockIndex(0)
+                .flags(0)
+                .build();
+    }
+}
@@ -122,7 +122,7 @@ public class AdapterMasterManagement {
 
   public void installDataSource(SpDataStream stream, String username) throws AdapterException {
     try {
-      new DataStreamVerifier(stream).verifyAndAdd(username, true, true);
+      new DataStreamVerifier(stream).verifyAndAdd(username, true);
     } catch (SepaParseException e) {
       LOG.error("Error while installing data source: " + stream.getElementId(), e);
       throw new AdapterException();
@@ -158,10 +158,9 @@ public class AdapterMasterManagement {
     UserService userService = getUserService();
     IPipelineElementDescriptionStorageCache requestor = StorageDispatcher.INSTANCE.getTripleStore().getPipelineElementStorage();
 
-    if (requestor.getDataStreamById(ad.getElementId()) != null) {
+    if (requestor.existsDataStream(ad.getElementId())) {
       requestor.deleteDataStream(requestor.getDataStreamById(ad.getElementId()));
       userService.deleteOwnSource(username, ad.getElementId());
-      requestor.refreshDataSourceCache();
     }
   }
 
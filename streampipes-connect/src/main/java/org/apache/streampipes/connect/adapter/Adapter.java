@@ -139,7 +139,10 @@ public abstract class Adapter<T extends AdapterDescription> implements Connector
 
         RemoveDuplicatesTransformationRuleDescription duplicatesTransformationRuleDescription = getRemoveDuplicateRule(adapterDescription);
         if (duplicatesTransformationRuleDescription != null) {
-            pipelineElements.add(new DuplicateFilterPipelineElement(duplicatesTransformationRuleDescription.getFilterTimeWindow()));
+            pipelineElements.add(new DuplicateFilterPipelineElement(duplicatesTransformationRuleDescription.getFilterTimeWindow(),
+                    duplicatesTransformationRuleDescription.getFilterKeys(),
+                    duplicatesTransformationRuleDescription.getFilterMode(),
+                    duplicatesTransformationRuleDescription.getFilterMemoryLimit()));
         }
 
         TransformStreamAdapterElement transformStreamAdapterElement = new TransformStreamAdapterElement();
@@ -44,13 +44,23 @@ public class AdapterPipeline {
         }
 
 
-        for (AdapterPipelineElement pipelineElement : pipelineElements) {
+        process(event, 0);
+    }
+
+    private void process(Map<String, Object> event, int firstElement) {
+        for (int i = firstElement; i < pipelineElements.size(); i++) {
+            AdapterPipelineElement pipelineElement = pipelineElements.get(i);
+            if (pipelineElement instanceof MultiEventAdapterPipelineElement) {
+                for (Map<String, Object> result : ((MultiEventAdapterPipelineElement) pipelineElement).processAll(event)) {
+                    process(result, i + 1);
+                }
+                return;
+            }
             event = pipelineElement.process(event);
         }
         if (pipelineSink != null) {
             pipelineSink.process(event);
         }
-
     }
 
     public List<AdapterPipelineElement> getPipelineElements() {
@@ -15,63 +15,108 @@
  * limitations under the License.
  *
  */
-
 package org.apache.streampipes.connect.adapter.preprocessing.elements;
 
 import org.apache.streampipes.connect.adapter.model.pipeline.AdapterPipelineElement;
+import org.apache.streampipes.connect.adapter.preprocessing.Util;
+import org.apache.streampipes.connect.adapter.preprocessing.filter.BloomDuplicateFilter;
+import org.apache.streampipes.connect.adapter.preprocessing.filter.BucketedDuplicateFilter;
+import org.apache.streampipes.connect.adapter.preprocessing.filter.DuplicateFilter;
+import org.apache.streampipes.connect.adapter.preprocessing.filter.EventFingerprint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
- *  A hash of events is stored to check if event was already sent
+ *  A fingerprint of the key properties of events is stored to check if event was already sent
  *  If the same event is sent multiple times the timer is always reseted to cover polling of rest endpoints
  *  User can configure how long events are stored in cache, it should be minimum 2x the polling intervall
  */
 public class DuplicateFilterPipelineElement implements AdapterPipelineElement {
 
-    /**
-     * Lifetime of events
-     */
-    private long filterTimeWindow;
+    private static final Logger LOG = LoggerFactory.getLogger(DuplicateFilterPipelineElement.class);
+
+    public static final String PROBABILISTIC_MODE = "probabilistic";
+
+    private static final int DEFAULT_MEMORY_LIMIT_MB = 8;
+    private static final long STATISTICS_INTERVAL_MILLI_SEC = 10 * 60 * 1000;
+
+    private final List<List<String>> filterKeys;
+    private final DuplicateFilter duplicateFilter;
+
+    private long eventCount;
+    private long duplicateCount;
+    private long lastStatisticsTimestamp = System.currentTimeMillis();
 
     public DuplicateFilterPipelineElement(String filterTimeWindow) {
-        // convert it to seconds
-        this.filterTimeWindow = 1000 * Long.parseLong(filterTimeWindow);
+        this(filterTimeWindow, Collections.emptyList(), null, 0);
     }
 
-    // Trade of between computation and storage, maybe change value in future
-    private static final long CLEAN_UP_INTERVAL_MILLI_SEC = 10000   ; //10 seconds
+    /**
+     * @param filterTimeWindow lifetime of events in seconds
+     * @param filterKeys runtime keys of the properties identifying an event, all if empty
+     * @param filterMode exact (default) or probabilistic
+     * @param filterMemoryLimit memory limit of the probabilistic mode in MB
+     */
+    public DuplicateFilterPipelineElement(String filterTimeWindow,
+                                          List<String> filterKeys,
+                                          String filterMode,
+                                          int filterMemoryLimit) {
+        // convert it to milliseconds
+        long window = 1000 * Long.parseLong(filterTimeWindow);
+        this.filterKeys = filterKeys == null ? Collections.emptyList() : filterKeys
+                .stream()
+                .map(Util::toKeyArray)
+                .collect(Collectors.toList());
 
-    private Map<Integer, Long> eventState = new HashMap<>();
-    private long lastCleanUpTimestamp = System.currentTimeMillis();
+        if (PROBABILISTIC_MODE.equals(filterMode)) {
+            int memoryLimit = filterMemoryLimit > 0 ? filterMemoryLimit : DEFAULT_MEMORY_LIMIT_MB;
+            this.duplicateFilter = new BloomDuplicateFilter(window, memoryLimit * 1024L * 1024L);
+        } else {
+            this.duplicateFilter = new BucketedDuplicateFilter(window);
+        }
+    }
 
     @Override
     public Map<String, Object> process(Map<String, Object> event) {
-        cleanUpEvenState();
-
-        int hash = event.hashCode();
-
-        if (isDuplicatedEvent(hash)) {
-            saveEvent(hash);
+        if (event == null) {
             return null;
         }
-        saveEvent(hash);
-        return event;
+
+        long now = System.currentTimeMillis();
+        eventCount++;
+        boolean duplicate = duplicateFilter.testAndAdd(EventFingerprint.of(event, filterKeys), now);
+        if (duplicate) {
+            duplicateCount++;
+        }
+        logStatistics(now);
+
+        return duplicate ? null : event;
     }
 
-    private boolean isDuplicatedEvent(int key) {
-        return eventState.containsKey(key);
+    /**
+     * @return the fraction of events filtered as duplicates
+     */
+    public double getHitRate() {
+        return eventCount == 0 ? 0 : (double) duplicateCount / eventCount;
     }
 
-    private void saveEvent(int key) {
-        eventState.put(key, System.currentTimeMillis());
+    /**
+     * @return the approximate memory used by the filter state in bytes
+     */
+    public long getMemoryUsage() {
+        return duplicateFilter.getMemoryUsage();
     }
 
-    private void cleanUpEvenState() {
-        if (System.currentTimeMillis() > lastCleanUpTimestamp + CLEAN_UP_INTERVAL_MILLI_SEC) {
-           eventState.entrySet().removeIf(entry -> entry.getValue() + filterTimeWindow < System.currentTimeMillis());
-           lastCleanUpTimestamp = System.currentTimeMillis();
+    private void logStatistics(long now) {
+        if (now > lastStatisticsTimestamp + STATISTICS_INTERVAL_MILLI_SEC) {
+            LOG.info("Duplicate filter removed {} of {} events (hit rate {}), using {} bytes",
+                    duplicateCount, eventCount, String.format("%.3f", getHitRate()), getMemoryUsage());
+            lastStatisticsTimestamp = now;
         }
     }
 }
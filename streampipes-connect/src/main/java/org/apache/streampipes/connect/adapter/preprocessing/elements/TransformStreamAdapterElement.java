@@ -20,7 +20,7 @@ package org.apache.streampipes.connect.adapter.preprocessing.elements;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.apache.streampipes.connect.adapter.model.pipeline.AdapterPipelineElement;
+import org.apache.streampipes.connect.adapter.model.pipeline.MultiEventAdapterPipelineElement;
 import org.apache.streampipes.connect.adapter.preprocessing.transform.TransformationRule;
 import org.apache.streampipes.connect.adapter.preprocessing.transform.stream.EventRateTransformationRule;
 import org.apache.streampipes.connect.adapter.preprocessing.transform.stream.StreamEventTransformer;
@@ -32,7 +32,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-public class TransformStreamAdapterElement implements AdapterPipelineElement {
+public class TransformStreamAdapterElement implements MultiEventAdapterPipelineElement {
 
     private StreamEventTransformer eventTransformer;
     Logger logger = LoggerFactory.getLogger(TransformStreamAdapterElement.class);
@@ -48,7 +48,7 @@ public class TransformStreamAdapterElement implements AdapterPipelineElement {
         for (TransformationRuleDescription ruleDescription : transformationRuleDescriptions) {
             if (ruleDescription instanceof EventRateTransformationRuleDescription) {
                 EventRateTransformationRuleDescription tmp = (EventRateTransformationRuleDescription) ruleDescription;
-                rules.add(new EventRateTransformationRule(tmp.getAggregationTimeWindow(), tmp.getAggregationType()));
+                rules.add(makeEventRateTransformationRule(tmp));
             }
         }
 
@@ -58,12 +58,25 @@ public class TransformStreamAdapterElement implements AdapterPipelineElement {
     public void addStreamTransformationRuleDescription(StreamTransformationRuleDescription ruleDescription) {
         if (ruleDescription instanceof EventRateTransformationRuleDescription) {
             EventRateTransformationRuleDescription tmp = (EventRateTransformationRuleDescription) ruleDescription;
-            eventTransformer.addEventRateTransformationRule(new EventRateTransformationRule(tmp.getAggregationTimeWindow(), tmp.getAggregationType()));
+            eventTransformer.addEventRateTransformationRule(makeEventRateTransformationRule(tmp));
         }
     }
 
+    private EventRateTransformationRule makeEventRateTransformationRule(EventRateTransformationRuleDescription description) {
+        return new EventRateTransformationRule(description.getAggregationTimeWindow(),
+                description.getAggregationType(),
+                description.getWindowType(),
+                description.getWindowSlide(),
+                description.getTimestampRuntimeKey());
+    }
+
     @Override
     public Map<String, Object> process(Map<String, Object> event) {
         return eventTransformer.transform(event);
     }
+
+    @Override
+    public List<Map<String, Object>> processAll(Map<String, Object> event) {
+        return eventTransformer.transformAll(event);
+    }
 }
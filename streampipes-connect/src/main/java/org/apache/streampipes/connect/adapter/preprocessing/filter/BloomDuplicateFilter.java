@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.connect.adapter.preprocessing.filter;
+
+import java.util.Arrays;
+
+/**
+ * Probabilistic filter of fixed size made of two rotating Bloom filters. New fingerprints are
+ * added to the current filter, which replaces the previous one after each filter window, so a
+ * fingerprint is remembered for one to two windows. False positives drop unique events, their
+ * rate grows with the number of events per window relative to the memory limit.
+ */
+public class BloomDuplicateFilter implements DuplicateFilter {
+
+    private static final int HASH_FUNCTIONS = 5;
+
+    private final long filterTimeWindow;
+    private final long bitCount;
+
+    private long[] current;
+    private long[] previous;
+    private long currentStart = Long.MIN_VALUE;
+
+    public BloomDuplicateFilter(long filterTimeWindow, long memoryLimit) {
+        this.filterTimeWindow = filterTimeWindow;
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, memoryLimit / 2 / Long.BYTES));
+        this.bitCount = (long) words * Long.SIZE;
+        this.current = new long[words];
+        this.previous = new long[words];
+    }
+
+    @Override
+    public boolean testAndAdd(long fingerprint, long timestamp) {
+        rotate(timestamp);
+        boolean duplicate = mightContain(current, fingerprint) || mightContain(previous, fingerprint);
+        add(current, fingerprint);
+        return duplicate;
+    }
+
+    @Override
+    public long getMemoryUsage() {
+        return 2 * bitCount / Byte.SIZE;
+    }
+
+    private void rotate(long timestamp) {
+        if (currentStart == Long.MIN_VALUE) {
+            currentStart = timestamp;
+        } else if (timestamp - currentStart >= 2 * filterTimeWindow) {
+            Arrays.fill(current, 0);
+            Arrays.fill(previous, 0);
+            currentStart = timestamp;
+        } else if (timestamp - currentStart >= filterTimeWindow) {
+            long[] expired = previous;
+            previous = current;
+            current = expired;
+            Arrays.fill(current, 0);
+            currentStart += filterTimeWindow;
+        }
+    }
+
+    private boolean mightContain(long[] bits, long fingerprint) {
+        for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+            long bit = getBitIndex(fingerprint, i);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(long[] bits, long fingerprint) {
+        for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+            long bit = getBitIndex(fingerprint, i);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    // double hashing, derives all bit positions from the two halves of the fingerprint
+    private long getBitIndex(long fingerprint, int i) {
+        long h1 = fingerprint & 0xFFFFFFFFL;
+        long h2 = fingerprint >>> 32;
+        return ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.connect.adapter.preprocessing.filter;
+
+/**
+ * Exact filter keeping the fingerprints in a ring of time buckets. A bucket expires as a whole
+ * once it is older than the filter window, so no per-entry timestamps are stored and expiry does
+ * not scan any entries.
+ */
+public class BucketedDuplicateFilter implements DuplicateFilter {
+
+    private static final long MIN_BUCKET_MILLIS = 1000;
+    private static final int MAX_BUCKETS = 64;
+
+    private final long bucketMillis;
+    private final LongHashSet[] buckets;
+    private final long[] bucketIds;
+
+    public BucketedDuplicateFilter(long filterTimeWindow) {
+        this.bucketMillis = Math.max(MIN_BUCKET_MILLIS, (filterTimeWindow + MAX_BUCKETS - 1) / MAX_BUCKETS);
+        int bucketCount = (int) ((filterTimeWindow + bucketMillis - 1) / bucketMillis) + 1;
+        this.buckets = new LongHashSet[bucketCount];
+        this.bucketIds = new long[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new LongHashSet();
+            bucketIds[i] = Long.MIN_VALUE;
+        }
+    }
+
+    @Override
+    public boolean testAndAdd(long fingerprint, long timestamp) {
+        long currentId = timestamp / bucketMillis;
+        long oldestId = currentId - buckets.length + 1;
+        boolean duplicate = false;
+
+        for (int i = 0; i < buckets.length; i++) {
+            if (bucketIds[i] < oldestId) {
+                if (buckets[i].size() > 0) {
+                    buckets[i].clear();
+                }
+            } else if (!duplicate && buckets[i].contains(fingerprint)) {
+                duplicate = true;
+            }
+        }
+
+        int current = (int) Math.floorMod(currentId, (long) buckets.length);
+        if (bucketIds[current] != currentId) {
+            buckets[current].clear();
+            bucketIds[current] = currentId;
+        }
+        buckets[current].add(fingerprint);
+        return duplicate;
+    }
+
+    @Override
+    public long getMemoryUsage() {
+        long memory = 0;
+        for (LongHashSet bucket : buckets) {
+            memory += bucket.getMemoryUsage();
+        }
+        return memory;
+    }
+}
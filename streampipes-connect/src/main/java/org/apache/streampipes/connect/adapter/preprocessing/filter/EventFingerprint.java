@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.connect.adapter.preprocessing.filter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 64 bit fingerprint of the key values of an event. Unlike {@link Object#hashCode()}, collisions
+ * of different keys are negligible for the number of events seen within a filter window.
+ */
+public class EventFingerprint {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long NULL_HASH = 0x9e3779b97f4a7c15L;
+
+    /**
+     * @param keys property paths of the key properties, the whole event is used if empty.
+     */
+    public static long of(Map<String, Object> event, List<List<String>> keys) {
+        if (keys.isEmpty()) {
+            return hash(event);
+        }
+        long h = FNV_OFFSET_BASIS;
+        for (List<String> key : keys) {
+            h = combine(h, hash(getValue(event, key)));
+        }
+        return mix(h);
+    }
+
+    private static Object getValue(Map<String, Object> event, List<String> key) {
+        Object value = event;
+        for (String k : key) {
+            if (!(value instanceof Map)) {
+                return null;
+            }
+            value = ((Map<?, ?>) value).get(k);
+        }
+        return value;
+    }
+
+    private static long hash(Object value) {
+        if (value == null) {
+            return NULL_HASH;
+        } else if (value instanceof Map) {
+            // order independent, equal maps may iterate differently
+            long h = ((Map<?, ?>) value).size();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                h += mix(combine(hash(entry.getKey()), hash(entry.getValue())));
+            }
+            return mix(h);
+        } else if (value instanceof List) {
+            long h = FNV_OFFSET_BASIS;
+            for (Object element : (List<?>) value) {
+                h = combine(h, hash(element));
+            }
+            return mix(h);
+        } else {
+            return mix(combine(hash(value.toString()), value instanceof String ? 1 : 2));
+        }
+    }
+
+    private static long hash(String value) {
+        long h = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return h;
+    }
+
+    private static long combine(long h, long value) {
+        return (h ^ mix(value)) * FNV_PRIME;
+    }
+
+    // finalizer of MurmurHash3
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.connect.adapter.preprocessing.transform.stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public enum AggregationType {
+    NONE, MAX, MIN, MEAN, SUM;
+
+    private static final Logger LOG = LoggerFactory.getLogger(AggregationType.class);
+
+    /**
+     * @return the aggregation type of the given name, {@link #NONE} if the name is missing or not
+     * supported, e.g., by an adapter description of an older version.
+     */
+    public static AggregationType fromString(String aggregationType) {
+        if (aggregationType == null) {
+            return NONE;
+        }
+        for (AggregationType type : values()) {
+            if (type.name().equalsIgnoreCase(aggregationType)) {
+                return type;
+            }
+        }
+        LOG.warn("Unsupported aggregation type {}, using {}", aggregationType, NONE);
+        return NONE;
+    }
+}
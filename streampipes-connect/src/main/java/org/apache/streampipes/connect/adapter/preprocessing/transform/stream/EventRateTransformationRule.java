@@ -15,17 +15,19 @@
  * limitations under the License.
  *
  */
-
 package org.apache.streampipes.connect.adapter.preprocessing.transform.stream;
 
 import io.fogsy.empire.annotations.RdfProperty;
 import org.apache.streampipes.vocabulary.StreamPipes;
 
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 public class EventRateTransformationRule implements StreamTransformationRule {
 
+    public static final String SLIDING_WINDOW = "sliding";
+
     @RdfProperty(StreamPipes.FILTER_TIME_WINDOW)
     private long aggregationTimeWindow;
 
@@ -33,34 +35,63 @@ public class EventRateTransformationRule implements StreamTransformationRule {
     @RdfProperty(StreamPipes.AGGREGATION_TYPE)
     private String aggregationType;
 
-    private LinkedList<Map<String, Object>> eventStorage = new LinkedList<>();
-    private long lastSentToPipelineTimestamp = System.currentTimeMillis();
+    private EventWindowAggregator windowAggregator;
+    private String timestampRuntimeKey;
+    private long lastEmittedTimestamp = Long.MIN_VALUE;
 
     public EventRateTransformationRule(long aggregationTimeWindow, String aggregationType) {
+        this(aggregationTimeWindow, aggregationType, null, 0, null);
+    }
+
+    public EventRateTransformationRule(long aggregationTimeWindow, String aggregationType,
+                                       String windowType, long windowSlide,
+                                       String timestampRuntimeKey) {
         this.aggregationTimeWindow = aggregationTimeWindow;
         this.aggregationType = aggregationType;
+        this.timestampRuntimeKey = timestampRuntimeKey;
+        // without aggregation, events are forwarded immediately and only thinned out to the window
+        if (aggregationTimeWindow > 0
+                && AggregationType.fromString(aggregationType) != AggregationType.NONE) {
+            this.windowAggregator = new EventWindowAggregator(aggregationTimeWindow,
+                    SLIDING_WINDOW.equals(windowType) ? windowSlide : aggregationTimeWindow,
+                    AggregationType.fromString(aggregationType),
+                    timestampRuntimeKey);
+        }
     }
 
-    @Override
-    public Map<String, Object> transform(Map<String, Object> event) {
-        if (!aggregationType.equals("none")) {
-            eventStorage.add(event);
+    /**
+     * @return the aggregated events of all windows closed by the given event, empty if no window
+     * was closed. Without aggregation, the event itself if at least the time window has passed
+     * since the last forwarded event.
+     */
+    public List<Map<String, Object>> transformAll(Map<String, Object> event) {
+        if (event == null) {
+            return Collections.emptyList();
+        } else if (windowAggregator != null) {
+            return windowAggregator.add(event);
+        } else if (aggregationTimeWindow > 0) {
+            return limitRate(event);
+        } else {
+            return Collections.singletonList(event);
         }
+    }
 
-        if (System.currentTimeMillis() > lastSentToPipelineTimestamp + aggregationTimeWindow) {
-            switch (aggregationType) {
-                case "none":
-                    lastSentToPipelineTimestamp = System.currentTimeMillis();
-                    return event;
-//                case "max":
-//                case "min":
-//                case "mean":
-//                case "sum":
-
-            }
+    private List<Map<String, Object>> limitRate(Map<String, Object> event) {
+        long timestamp = EventWindowAggregator.getTimestamp(event, timestampRuntimeKey);
+        if (lastEmittedTimestamp != Long.MIN_VALUE
+                && timestamp < lastEmittedTimestamp + aggregationTimeWindow) {
+            return Collections.emptyList();
         }
-        return null;
+        lastEmittedTimestamp = timestamp;
+        return Collections.singletonList(event);
     }
 
-
+    /**
+     * @return the aggregated event of the most recent window closed by the given event, or null.
+     */
+    @Override
+    public Map<String, Object> transform(Map<String, Object> event) {
+        List<Map<String, Object>> events = transformAll(event);
+        return events.isEmpty() ? null : events.get(events.size() - 1);
+    }
 }
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.connect.adapter.preprocessing.transform.stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tumbling and sliding time windows over the events of an adapter.
+ *
+ * Windows are split into panes of the greatest common divisor of window size and slide. Each
+ * pane only keeps a {@link FieldAccumulator} per numeric property and the last event, a window
+ * is computed by merging its panes once an event beyond the window end arrives. Events older
+ * than the panes still kept are dropped.
+ */
+public class EventWindowAggregator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EventWindowAggregator.class);
+
+    private static final int MAX_PANES = 3600;
+
+    private final long windowSize;
+    private final long windowSlide;
+    private final long paneLength;
+    private final AggregationType aggregationType;
+    private final String timestampRuntimeKey;
+    private final Pane[] panes;
+
+    private long maxPaneStart = Long.MIN_VALUE;
+    private long lastWindowEnd;
+
+    public EventWindowAggregator(long windowSize, long windowSlide, AggregationType aggregationType,
+                                 String timestampRuntimeKey) {
+        long slide = windowSlide > 0 ? windowSlide : windowSize;
+        if (windowSize / gcd(windowSize, slide) > MAX_PANES) {
+            LOG.warn("Window slide {} is too fine-grained for window size {}, using tumbling windows",
+                    windowSlide, windowSize);
+            slide = windowSize;
+        }
+        this.windowSize = windowSize;
+        this.windowSlide = slide;
+        this.paneLength = gcd(windowSize, slide);
+        this.aggregationType = aggregationType;
+        this.timestampRuntimeKey = timestampRuntimeKey;
+        this.panes = new Pane[(int) (windowSize / paneLength)];
+        for (int i = 0; i < panes.length; i++) {
+            panes[i] = new Pane();
+        }
+    }
+
+    /**
+     * Adds an event to its pane.
+     *
+     * @return the aggregated events of all windows closed by this event, in order of their end.
+     */
+    public List<Map<String, Object>> add(Map<String, Object> event) {
+        long timestamp = getTimestamp(event);
+        long paneStart = floor(timestamp, paneLength);
+        List<Map<String, Object>> results = Collections.emptyList();
+
+        if (maxPaneStart == Long.MIN_VALUE) {
+            maxPaneStart = paneStart;
+            lastWindowEnd = floor(timestamp, windowSlide);
+        } else if (paneStart > maxPaneStart) {
+            results = closeWindows(floor(timestamp, windowSlide));
+            maxPaneStart = paneStart;
+        } else if (paneStart <= maxPaneStart - windowSize) {
+            return results;
+        }
+
+        Pane pane = panes[(int) Math.floorMod(Math.floorDiv(paneStart, paneLength), (long) panes.length)];
+        if (pane.start != paneStart) {
+            pane.reset(paneStart);
+        }
+        pane.add(event, aggregationType != AggregationType.NONE);
+        return results;
+    }
+
+    private List<Map<String, Object>> closeWindows(long windowEnd) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        // windows ending after maxPaneStart + windowSize cannot contain any event
+        long lastEnd = Math.min(windowEnd, maxPaneStart + windowSize);
+        for (long end = lastWindowEnd + windowSlide; end <= lastEnd; end += windowSlide) {
+            Map<String, Object> result = aggregate(end - windowSize, end);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        lastWindowEnd = Math.max(lastWindowEnd, windowEnd);
+        return results;
+    }
+
+    private Map<String, Object> aggregate(long start, long end) {
+        Pane latest = null;
+        Map<String, FieldAccumulator> accumulators = new LinkedHashMap<>();
+        for (Pane pane : panes) {
+            if (pane.lastEvent != null && pane.start >= start && pane.start < end) {
+                if (latest == null || pane.start > latest.start) {
+                    latest = pane;
+                }
+                if (aggregationType != AggregationType.NONE) {
+                    pane.accumulators.forEach((key, accumulator) -> {
+                        if (accumulator.getCount() > 0) {
+                            accumulators.computeIfAbsent(key, k -> new FieldAccumulator()).merge(accumulator);
+                        }
+                    });
+                }
+            }
+        }
+
+        if (latest == null) {
+            return null;
+        }
+        Map<String, Object> result = new LinkedHashMap<>(latest.lastEvent);
+        accumulators.forEach((key, accumulator) -> result.put(key, accumulator.getResult(aggregationType)));
+        return result;
+    }
+
+    private long getTimestamp(Map<String, Object> event) {
+        return getTimestamp(event, timestampRuntimeKey);
+    }
+
+    /**
+     * @return the event time read from the given property, or the processing time if the property
+     * is not set or not numeric.
+     */
+    static long getTimestamp(Map<String, Object> event, String timestampRuntimeKey) {
+        if (timestampRuntimeKey != null) {
+            Object timestamp = event.get(timestampRuntimeKey);
+            if (timestamp instanceof Number) {
+                return ((Number) timestamp).longValue();
+            }
+        }
+        return System.currentTimeMillis();
+    }
+
+    private static long floor(long value, long unit) {
+        return Math.floorDiv(value, unit) * unit;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static class Pane {
+
+        private long start = Long.MIN_VALUE;
+        private Map<String, Object> lastEvent;
+        private final Map<String, FieldAccumulator> accumulators = new LinkedHashMap<>();
+
+        void reset(long start) {
+            this.start = start;
+            this.lastEvent = null;
+            accumulators.values().forEach(FieldAccumulator::reset);
+        }
+
+        void add(Map<String, Object> event, boolean accumulate) {
+            lastEvent = event;
+            if (!accumulate) {
+                return;
+            }
+            event.forEach((key, value) -> {
+                if (value instanceof Number) {
+                    accumulators.computeIfAbsent(key, k -> new FieldAccumulator()).add((Number) value);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.connect.adapter.preprocessing.transform.stream;
+
+/**
+ * Incremental aggregate of the numeric values of one event property, independent of the number of
+ * values added.
+ */
+public class FieldAccumulator {
+
+    private long count;
+    private double sum;
+    private double min;
+    private double max;
+    private boolean integral;
+
+    public FieldAccumulator() {
+        reset();
+    }
+
+    public void add(Number value) {
+        double v = value.doubleValue();
+        count++;
+        sum += v;
+        min = Math.min(min, v);
+        max = Math.max(max, v);
+        integral &= value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte;
+    }
+
+    public void merge(FieldAccumulator other) {
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        integral &= other.integral;
+    }
+
+    public void reset() {
+        count = 0;
+        sum = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+        integral = true;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the aggregated value, min, max and sum of integral values stay integral.
+     */
+    public Number getResult(AggregationType aggregationType) {
+        switch (aggregationType) {
+            case MAX:
+                return integral ? (Number) (long) max : max;
+            case MIN:
+                return integral ? (Number) (long) min : min;
+            case SUM:
+                return integral ? (Number) (long) sum : sum;
+            default:
+                return sum / count;
+        }
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.streampipes.connect.adapter.preprocessing.transform.stream;
 import org.apache.streampipes.connect.adapter.preprocessing.transform.TransformationRule;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -56,11 +57,21 @@ public class StreamEventTransformer implements StreamTransformationRule {
 
     @Override
     public Map<String, Object> transform(Map<String, Object> event) {
+        List<Map<String, Object>> events = transformAll(event);
+        return events.isEmpty() ? null : events.get(events.size() - 1);
+    }
+
+    public List<Map<String, Object>> transformAll(Map<String, Object> event) {
+        List<Map<String, Object>> events = Collections.singletonList(event);
 
         for (EventRateTransformationRule rateRule : eventRateTransformationRules) {
-            event = rateRule.transform(event);
+            List<Map<String, Object>> results = new ArrayList<>();
+            for (Map<String, Object> e : events) {
+                results.addAll(rateRule.transformAll(e));
+            }
+            events = results;
         }
 
-        return event;
+        return events;
     }
 }
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.connect.adapter.preprocessing.filter;
+
+import org.apache.streampipes.connect.adapter.preprocessing.elements.DuplicateFilterPipelineElement;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class DuplicateFilterTest {
+
+    @Test
+    public void bucketedFilterExpiresAfterWindow() {
+        DuplicateFilter filter = new BucketedDuplicateFilter(10000);
+
+        assertFalse(filter.testAndAdd(42, 0));
+        assertTrue(filter.testAndAdd(42, 5000));
+        assertTrue(filter.testAndAdd(42, 14000));
+        assertFalse(filter.testAndAdd(42, 26000));
+        assertFalse(filter.testAndAdd(0, 26000));
+        assertTrue(filter.testAndAdd(0, 26000));
+    }
+
+    @Test
+    public void bloomFilterExpiresAfterTwoWindows() {
+        DuplicateFilter filter = new BloomDuplicateFilter(10000, 1024);
+
+        assertFalse(filter.testAndAdd(42, 0));
+        assertTrue(filter.testAndAdd(42, 5000));
+        assertFalse(filter.testAndAdd(43, 5000));
+        assertFalse(filter.testAndAdd(42, 40000));
+        assertEquals(1024, filter.getMemoryUsage());
+    }
+
+    @Test
+    public void longHashSetGrows() {
+        LongHashSet set = new LongHashSet();
+        for (long i = 0; i < 1000; i++) {
+            set.add(i * 31);
+        }
+
+        assertEquals(1000, set.size());
+        assertTrue(set.contains(31 * 999));
+        assertFalse(set.contains(1));
+
+        set.clear();
+        assertEquals(0, set.size());
+        assertFalse(set.contains(31));
+    }
+
+    @Test
+    public void fingerprintIgnoresMapOrder() {
+        Map<String, Object> first = new HashMap<>();
+        first.put("a", 1);
+        first.put("b", "x");
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("b", "x");
+        second.put("a", 1);
+
+        assertEquals(EventFingerprint.of(first, Arrays.asList()), EventFingerprint.of(second, Arrays.asList()));
+        assertNotEquals(EventFingerprint.of(first, Arrays.asList()), EventFingerprint.of(event(1, "1"), Arrays.asList()));
+    }
+
+    @Test
+    public void filterUsesKeyProperties() {
+        DuplicateFilterPipelineElement element = new DuplicateFilterPipelineElement("60",
+                Arrays.asList("id"), null, 0);
+
+        assertNotNull(element.process(event(1, "first")));
+        assertNull(element.process(event(1, "second")));
+        assertNotNull(element.process(event(2, "second")));
+        assertEquals(1.0 / 3, element.getHitRate(), 0.0001);
+        assertTrue(element.getMemoryUsage() > 0);
+    }
+
+    private Map<String, Object> event(int id, String value) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("id", id);
+        event.put("value", value);
+        return event;
+    }
+}
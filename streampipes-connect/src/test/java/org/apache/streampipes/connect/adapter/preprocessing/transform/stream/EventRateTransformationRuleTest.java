@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.connect.adapter.preprocessing.transform.stream;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class EventRateTransformationRuleTest {
+
+    @Test
+    public void tumblingMean() {
+        EventRateTransformationRule rule = new EventRateTransformationRule(1000, "mean",
+                "tumbling", 0, "timestamp");
+
+        assertTrue(rule.transformAll(event(100, 1.0)).isEmpty());
+        assertTrue(rule.transformAll(event(500, 2.0)).isEmpty());
+        assertTrue(rule.transformAll(event(900, 3.0)).isEmpty());
+
+        List<Map<String, Object>> result = rule.transformAll(event(1100, 10.0));
+
+        assertEquals(1, result.size());
+        assertEquals(2.0, result.get(0).get("value"));
+        assertEquals("sensor", result.get(0).get("id"));
+    }
+
+    @Test
+    public void tumblingMaxKeepsIntegralValues() {
+        EventRateTransformationRule rule = new EventRateTransformationRule(1000, "max",
+                null, 0, "timestamp");
+
+        rule.transformAll(event(0, 3));
+        rule.transformAll(event(10, 7));
+        List<Map<String, Object>> result = rule.transformAll(event(1000, 1));
+
+        assertEquals(1, result.size());
+        assertEquals(7L, result.get(0).get("value"));
+    }
+
+    @Test
+    public void slidingSum() {
+        EventRateTransformationRule rule = new EventRateTransformationRule(2000, "sum",
+                "sliding", 1000, "timestamp");
+
+        rule.transformAll(event(100, 1));
+        List<Map<String, Object>> first = rule.transformAll(event(1100, 2));
+        List<Map<String, Object>> second = rule.transformAll(event(2100, 4));
+
+        assertEquals(1, first.size());
+        assertEquals(1L, first.get(0).get("value"));
+        assertEquals(1, second.size());
+        assertEquals(3L, second.get(0).get("value"));
+    }
+
+    @Test
+    public void gapClosesAllWindowsWithEvents() {
+        EventRateTransformationRule rule = new EventRateTransformationRule(2000, "sum",
+                "sliding", 1000, "timestamp");
+
+        rule.transformAll(event(100, 1));
+        rule.transformAll(event(1100, 2));
+        List<Map<String, Object>> result = rule.transformAll(event(100000, 4));
+
+        assertEquals(2, result.size());
+        assertEquals(3L, result.get(0).get("value"));
+        assertEquals(2L, result.get(1).get("value"));
+    }
+
+    @Test
+    public void noneEmitsEventsImmediately() {
+        EventRateTransformationRule rule = new EventRateTransformationRule(1000, "none",
+                null, 0, "timestamp");
+
+        assertEquals(1, rule.transform(event(100, 1)).get("value"));
+        assertNull(rule.transform(event(200, 2)));
+        assertEquals(3, rule.transform(event(1100, 3)).get("value"));
+        assertNull(rule.transform(event(1500, 4)));
+    }
+
+    @Test
+    public void unknownAggregationTypeFallsBackToNone() {
+        assertEquals(AggregationType.NONE, AggregationType.fromString("median"));
+        assertEquals(AggregationType.MEAN, AggregationType.fromString("mean"));
+
+        EventRateTransformationRule rule = new EventRateTransformationRule(1000, "median");
+        assertEquals(1, rule.transform(event(100, 1)).get("value"));
+    }
+
+    @Test
+    public void lateEventsAreDropped() {
+        EventRateTransformationRule rule = new EventRateTransformationRule(1000, "sum",
+                null, 0, "timestamp");
+
+        rule.transformAll(event(1100, 1));
+        rule.transformAll(event(100, 5));
+        List<Map<String, Object>> result = rule.transformAll(event(2100, 1));
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).get("value"));
+    }
+
+    private Map<String, Object> event(long timestamp, Object value) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("timestamp", timestamp);
+        event.put("id", "sensor");
+        event.put("value", value);
+        return event;
+    }
+}
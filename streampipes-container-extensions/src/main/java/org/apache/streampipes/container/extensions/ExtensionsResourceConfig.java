@@ -32,6 +32,7 @@ public class ExtensionsResourceConfig extends ResourceConfig {
         register(DataStreamPipelineElementResource.class);
         register(WelcomePage.class);
         register(PipelineTemplateResource.class);
+        register(InMemoryTopicResource.class);
 
         //register(WelcomePageWorker.class);
         register(GuessResource.class);
@@ -15,31 +15,24 @@
  * limitations under the License.
  *
  */
-package org.apache.streampipes.wrapper.kafka.converter;
+package org.apache.streampipes.container.api;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.kafka.streams.kstream.ValueMapper;
+import org.apache.streampipes.model.monitoring.InMemoryTopicStatistics;
 
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
-public class MapToJsonFormat implements ValueMapper<Map<String, Object>, Iterable<String>> {
-
-  private ObjectMapper objectMapper;
+/**
+ * Implemented by protocol factories whose topics are hosted inside the container, so that the
+ * events of these topics can still be previewed and monitored from outside.
+ */
+public interface InMemoryTopicProvider {
 
-  public MapToJsonFormat() {
-    this.objectMapper = new ObjectMapper();
-  }
+  Optional<InMemoryTopicStatistics> getStatistics(String topic);
 
-  @Override
-  public Iterable<String> apply(Map<String, Object> stringObjectMap) {
-    try {
-      return Arrays.asList(objectMapper.writeValueAsString(stringObjectMap));
-    } catch (JsonProcessingException e) {
-      e.printStackTrace();
-      return Collections.emptyList();
-    }
-  }
+  /**
+   * @return up to the given number of the latest events of the topic, newest first.
+   */
+  List<Map<String, Object>> getLatestEvents(String topic, int count);
 }
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.container.api;
+
+import org.apache.streampipes.messaging.SpProtocolManager;
+import org.apache.streampipes.rest.shared.annotation.JacksonSerialized;
+import org.apache.streampipes.rest.shared.impl.AbstractSharedRestInterface;
+
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.Collections;
+import java.util.Optional;
+
+@Path("/inmemory")
+public class InMemoryTopicResource extends AbstractSharedRestInterface {
+
+  private static final int MAX_EVENT_COUNT = 10;
+
+  @GET
+  @Path("{topic}/statistics")
+  @Produces(MediaType.APPLICATION_JSON)
+  @JacksonSerialized
+  public Response getStatistics(@PathParam("topic") String topic) {
+    return getProvider()
+            .flatMap(provider -> provider.getStatistics(topic))
+            .map(this::ok)
+            .orElse(Response.status(Response.Status.NOT_FOUND).build());
+  }
+
+  @GET
+  @Path("{topic}/events")
+  @Produces(MediaType.APPLICATION_JSON)
+  @JacksonSerialized
+  public Response getLatestEvents(@PathParam("topic") String topic,
+                                  @QueryParam("count") @DefaultValue("1") int count) {
+    if (count <= 0) {
+      return badRequest();
+    }
+    return ok(getProvider()
+            .map(provider -> provider.getLatestEvents(topic, Math.min(count, MAX_EVENT_COUNT)))
+            .orElse(Collections.emptyList()));
+  }
+
+  private Optional<InMemoryTopicProvider> getProvider() {
+    return SpProtocolManager.INSTANCE
+            .getAvailableProtocols()
+            .stream()
+            .filter(protocol -> protocol instanceof InMemoryTopicProvider)
+            .map(protocol -> (InMemoryTopicProvider) protocol)
+            .findFirst();
+  }
+}
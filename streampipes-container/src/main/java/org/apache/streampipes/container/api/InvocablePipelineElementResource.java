@@ -21,6 +21,7 @@ package org.apache.streampipes.container.api;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.container.declarer.Declarer;
 import org.apache.streampipes.container.declarer.InvocableDeclarer;
+import org.apache.streampipes.container.declarer.PersistentStateDeclarer;
 import org.apache.streampipes.container.init.RunningInstances;
 import org.apache.streampipes.model.Response;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
@@ -156,6 +157,20 @@ public abstract class InvocablePipelineElementResource<I extends InvocableStream
         return ok(new Response(elementId, false, "Could not find the running instance with id: " + runningInstanceId));
     }
 
+    @DELETE
+    @Path("{elementId}/{runningInstanceId}/state")
+    @Produces(MediaType.APPLICATION_JSON)
+    public javax.ws.rs.core.Response discardState(@PathParam("elementId") String elementId, @PathParam("runningInstanceId") String runningInstanceId) {
+
+        D declarer = getDeclarerById(elementId);
+
+        if (declarer instanceof PersistentStateDeclarer) {
+            return ok(((PersistentStateDeclarer) declarer).discardState(runningInstanceId));
+        }
+
+        return ok(new Response(elementId, true));
+    }
+
     @GET
     @Path("{elementId}/instances")
     @Produces(MediaType.APPLICATION_JSON)
@@ -18,14 +18,23 @@
 
 package org.apache.streampipes.dataexplorer;
 
-import com.google.gson.Gson;
 import org.apache.commons.io.FileUtils;
 import org.apache.streampipes.config.backend.BackendConfig;
 import org.apache.streampipes.dataexplorer.autoagg.FromNowAutoAggregationQuery;
 import org.apache.streampipes.dataexplorer.autoagg.GroupedAutoAggregationQuery;
 import org.apache.streampipes.dataexplorer.autoagg.TimeBoundAutoAggregationQuery;
+import org.apache.streampipes.dataexplorer.cache.AggregatedResultCache;
+import org.apache.streampipes.dataexplorer.cache.MeasurementCountCache;
+import org.apache.streampipes.dataexplorer.executor.InfluxQueryExecutor;
+import org.apache.streampipes.dataexplorer.executor.QueryMetrics;
+import org.apache.streampipes.dataexplorer.export.OutputFormat;
+import org.apache.streampipes.dataexplorer.export.RowWriter;
+import org.apache.streampipes.dataexplorer.export.StreamingExporter;
+import org.apache.streampipes.dataexplorer.export.TopGroupsStreamer;
 import org.apache.streampipes.dataexplorer.param.*;
 import org.apache.streampipes.dataexplorer.query.*;
+import org.apache.streampipes.dataexplorer.rollup.RollupManager;
+import org.apache.streampipes.dataexplorer.rollup.RollupTier;
 import org.apache.streampipes.dataexplorer.utils.DataExplorerUtils;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
 import org.apache.streampipes.model.datalake.DataResult;
@@ -46,8 +55,8 @@ import java.util.concurrent.TimeUnit;
 public class DataLakeManagementV3 {
 
   public DataResult getEvents(String index, long startDate, long endDate, String aggregationUnit, int aggregationValue) {
-    return new GetAggregatedEventsQuery(AggregatedTimeBoundQueryParams.from(index, startDate, endDate, aggregationUnit, aggregationValue))
-            .executeQuery();
+    return AggregatedResultCache.INSTANCE.getEvents(AggregatedTimeBoundQueryParams.from(index, startDate, endDate,
+            aggregationUnit, aggregationValue));
   }
 
   public GroupedDataResult getEvents(String index, long startDate, long endDate, String aggregationUnit, int aggregationValue,
@@ -56,6 +65,17 @@ public class DataLakeManagementV3 {
             startDate, endDate, aggregationUnit, aggregationValue, groupingTag)).executeQuery();
   }
 
+  /**
+   * Streams the aggregated series of the groups ranked best by the ranking function, all other
+   * groups are aggregated into a single series which is written to a separate field.
+   */
+  public void getTopGroups(String index, long startDate, long endDate, String aggregationUnit, int aggregationValue,
+                           String groupingTag, int limit, String rankingFunction, @Nullable String rankingField,
+                           OutputStream outputStream) throws IOException {
+    new TopGroupsStreamer(TopGroupsQueryParams.from(index, startDate, endDate, aggregationUnit, aggregationValue,
+            groupingTag, limit, rankingFunction, rankingField)).stream(outputStream);
+  }
+
   public DataResult getEvents(String index, long startDate, long endDate) {
     return new GetEventsQuery(TimeBoundQueryParams.from(index, startDate, endDate)).executeQuery();
   }
@@ -74,8 +94,8 @@ public class DataLakeManagementV3 {
 
   public DataResult getEventsFromNow(String index, String timeunit, int value,
                                      String aggregationUnit, int aggregationValue) {
-    return new GetAggregatedEventsFromNowQuery(AggregatedTimeUnitQueryParams
-            .from(index, timeunit, value, aggregationUnit, aggregationValue)).executeQuery();
+    return AggregatedResultCache.INSTANCE.getEventsFromNow(AggregatedTimeUnitQueryParams
+            .from(index, timeunit, value, aggregationUnit, aggregationValue));
   }
 
   public DataResult getEventsFromNowAutoAggregation(String index, String timeunit, int value) {
@@ -102,99 +122,8 @@ public class DataLakeManagementV3 {
 
   public void getAllEvents(String index, String outputFormat, @Nullable Long startDate,
                            @Nullable Long endDate, OutputStream outputStream) throws IOException {
-    int itemsPerRequest = 500000;
-
-    PageResult dataResult;
-    //JSON
-    if (outputFormat.equals("json")) {
-
-      Gson gson = new Gson();
-      int i = 0;
-      boolean isFirstDataObject = true;
-
-      outputStream.write(toBytes("["));
-      do {
-        dataResult = new GetPagingEventsQuery(PagingQueryParams.from(index, itemsPerRequest, i, startDate, endDate), TimeUnit.MILLISECONDS).executeQuery();
-
-        if (dataResult.getTotal() > 0) {
-          for (List<Object> row : dataResult.getRows()) {
-            if (!isFirstDataObject) {
-              outputStream.write(toBytes(","));
-            }
-
-            //produce one json object
-            boolean isFirstElementInRow = true;
-            outputStream.write(toBytes("{"));
-            for (int i1 = 0; i1 < row.size(); i1++) {
-              Object element = row.get(i1);
-              if (!isFirstElementInRow) {
-                outputStream.write(toBytes(","));
-              }
-              isFirstElementInRow = false;
-              if (i1 == 0) {
-                element = ((Double) element).longValue();
-              }
-              //produce json e.g. "name": "Pipes" or "load": 42
-              outputStream.write(toBytes("\"" + dataResult.getHeaders().get(i1) + "\": "
-                      + gson.toJson(element)));
-            }
-            outputStream.write(toBytes("}"));
-            isFirstDataObject = false;
-          }
-
-          i++;
-        }
-      } while (dataResult.getTotal() > 0);
-      outputStream.write(toBytes("]"));
-
-      //CSV
-    } else if (outputFormat.equals("csv")) {
-      int i = 0;
-
-      boolean isFirstDataObject = true;
-
-      do {
-        dataResult = new GetPagingEventsQuery(PagingQueryParams.from(index, itemsPerRequest, i, startDate, endDate), TimeUnit.MILLISECONDS).executeQuery();
-        //Send first header
-        if (dataResult.getTotal() > 0) {
-          if (isFirstDataObject) {
-            boolean isFirst = true;
-            for (int i1 = 0; i1 < dataResult.getHeaders().size(); i1++) {
-              if (!isFirst) {
-                outputStream.write(toBytes(";"));
-              }
-              isFirst = false;
-              outputStream.write(toBytes(dataResult.getHeaders().get(i1)));
-            }
-          }
-          outputStream.write(toBytes("\n"));
-          isFirstDataObject = false;
-        }
-
-        if (dataResult.getTotal() > 0) {
-          for (List<Object> row : dataResult.getRows()) {
-            boolean isFirstInRow = true;
-            for (int i1 = 0; i1 < row.size(); i1++) {
-              Object element = row.get(i1);
-              if (!isFirstInRow) {
-                outputStream.write(toBytes(";"));
-              }
-              isFirstInRow = false;
-              if (i1 == 0) {
-                element = ((Double) element).longValue();
-              }
-              if (element == null) {
-                outputStream.write(toBytes(""));
-              } else {
-                outputStream.write(toBytes(element.toString()));
-              }
-            }
-            outputStream.write(toBytes("\n"));
-          }
-        }
-        i++;
-      } while (dataResult.getTotal() > 0);
-    }
+    RowWriter writer = OutputFormat.fromValue(outputFormat).newWriter(outputStream);
+    new StreamingExporter(index, startDate, endDate).export(writer);
   }
 
   public boolean removeAllDataFromDataLake() {
@@ -206,16 +135,16 @@ public class DataLakeManagementV3 {
       if (influxResult.hasError() || influxResult.getResults().get(0).getError() != null) {
         return false;
       }
+      RollupManager.INSTANCE.dropRollups(measure.getMeasureName());
     }
+    AggregatedResultCache.INSTANCE.invalidateAll();
+    MeasurementCountCache.INSTANCE.invalidateAll();
+    PageCursors.INSTANCE.invalidateAll();
     return true;
   }
 
-  private byte[] toBytes(String value) {
-    return value.getBytes();
-  }
-
   private int getMaxPage(String index, int itemsPerPage) {
-    return new GetMaxPagesQuery(PagingQueryParams.from(index, itemsPerPage)).executeQuery();
+    return (int) (MeasurementCountCache.INSTANCE.getCount(index) / itemsPerPage);
   }
 
   public byte[] getImage(String fileRoute) throws IOException {
@@ -269,8 +198,8 @@ public class DataLakeManagementV3 {
     Map<String, String> headerWithTypes = new GetHeadersWithTypesQuery(QueryParams.from(index)).executeQuery();
     List<String> headers = queryResult.getHeaders();
 
-    InfluxDB influxDB = DataExplorerUtils.getInfluxDBClient();
-    influxDB.setDatabase(BackendConfig.INSTANCE.getInfluxDatabaseName());
+    InfluxDB influxDB = InfluxQueryExecutor.INSTANCE.getInfluxDB();
+    String database = BackendConfig.INSTANCE.getInfluxDatabaseName();
 
     for (List<Object> row : queryResult.getRows()) {
       long timestampValue = Math.round((double) row.get(headers.indexOf(timestampColumn)));
@@ -289,9 +218,28 @@ public class DataLakeManagementV3 {
           p.addField(selected_header, label);
         }
       }
-      influxDB.write(p.build());
+      influxDB.write(database, null, p.build());
+    }
+    AggregatedResultCache.INSTANCE.invalidate(index);
+  }
+
+  public Map<String, QueryMetrics> getQueryMetrics() {
+    return InfluxQueryExecutor.INSTANCE.getMetrics();
+  }
+
+  public boolean isRollupEnabled(String index) {
+    return RollupManager.INSTANCE.isEnabled(index);
+  }
+
+  public void enableRollups(String index) {
+    RollupManager.INSTANCE.enableRollups(index);
+  }
+
+  public void removeRollups(String index) {
+    RollupManager.INSTANCE.dropRollups(index);
+    for (RollupTier tier : RollupTier.values()) {
+      AggregatedResultCache.INSTANCE.invalidate(tier.getMeasurementName(index));
     }
-    influxDB.close();
   }
 
 }
@@ -17,15 +17,21 @@
  */
 package org.apache.streampipes.dataexplorer.autoagg;
 
+import org.apache.streampipes.dataexplorer.executor.InfluxQueryExecutor;
 import org.apache.streampipes.dataexplorer.model.Order;
 import org.apache.streampipes.dataexplorer.param.QueryParams;
 import org.apache.streampipes.dataexplorer.query.GetDateFromSortedTableRecord;
+import org.apache.streampipes.dataexplorer.rollup.RollupManager;
+import org.apache.streampipes.dataexplorer.rollup.RollupTier;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 public abstract class AbstractAutoAggregationQuery<Q extends QueryParams, OUT> {
 
-  private static final double NUM_OF_AUTO_AGGREGATION_VALUES = 2000;
+  public static final double NUM_OF_AUTO_AGGREGATION_VALUES = 2000;
+  private static final int[] AGGREGATION_STEPS = {1, 2, 5};
 
   protected Q params;
   private Supplier<OUT> supplier;
@@ -36,35 +42,86 @@ public abstract class AbstractAutoAggregationQuery<Q extends QueryParams, OUT> {
   }
 
   public OUT executeQuery() {
-    double numberOfRecords = getCount();
+    // the time range is only needed for aggregated results, but is requested together with the
+    // count so that both round trips overlap
+    CompletableFuture<Double> count = InfluxQueryExecutor.INSTANCE.submit(this::countRecords);
+    CompletableFuture<Long> newest = getDateFromNewestRecordOfTable(params.getIndex());
+    CompletableFuture<Long> oldest = getDateFromOldestRecordOfTable(params.getIndex());
+
+    double numberOfRecords = InfluxQueryExecutor.await(count);
 
     if (numberOfRecords == 0) {
       return supplier.get();
     } else if (numberOfRecords <= NUM_OF_AUTO_AGGREGATION_VALUES) {
       return getRawEvents();
     } else {
-      int aggregationValue = getAggregationValue(params.getIndex());
-      return getAggregatedEvents(aggregationValue);
+      int aggregationValue = getAggregationValue(InfluxQueryExecutor.await(newest),
+              InfluxQueryExecutor.await(oldest));
+      String index = RollupManager.INSTANCE.selectTier(params.getIndex(), aggregationValue)
+              .map(tier -> tier.getMeasurementName(params.getIndex()))
+              .orElse(params.getIndex());
+      return getAggregatedEvents(index, aggregationValue);
+    }
+  }
+
+  /**
+   * Counts the records of the requested time range. If a rollup tier is fine enough, its number
+   * of intervals with data is counted first, which is a lower bound of the number of raw records,
+   * so that the raw data only needs to be counted for sparse ranges.
+   */
+  private double countRecords() {
+    long timeRange = getTimeRange();
+    if (timeRange > 0) {
+      long resolution = (long) (timeRange / NUM_OF_AUTO_AGGREGATION_VALUES);
+      Optional<RollupTier> tier = RollupManager.INSTANCE.selectTier(params.getIndex(), resolution);
+      if (tier.isPresent()) {
+        double rollupCount = getCount(tier.get().getMeasurementName(params.getIndex()));
+        if (rollupCount > NUM_OF_AUTO_AGGREGATION_VALUES) {
+          return rollupCount;
+        }
+      }
     }
+    return getCount(params.getIndex());
   }
 
-  protected abstract double getCount();
+  /**
+   * @return the length of the requested time range in milliseconds or a negative value if unknown.
+   */
+  protected abstract long getTimeRange();
+
+  protected abstract double getCount(String index);
 
   protected abstract OUT getRawEvents();
 
-  protected abstract OUT getAggregatedEvents(Integer aggregationValue);
+  protected abstract OUT getAggregatedEvents(String index, Integer aggregationValue);
 
-  private int getAggregationValue(String index) {
-    long timerange = getDateFromNewestRecordOfTable(index) - getDateFromOldestRecordOfTable(index);
+  private int getAggregationValue(long newest, long oldest) {
+    long timerange = newest - oldest;
     double v = timerange / NUM_OF_AUTO_AGGREGATION_VALUES;
-    return Double.valueOf(v).intValue();
+    return roundToStep(Math.max(1, Double.valueOf(v).intValue()));
+  }
+
+  /**
+   * Rounds the interval up to the next 1-2-5 step, so that refreshes of a growing time range keep
+   * using the same buckets and can be served from the result cache.
+   */
+  private int roundToStep(int interval) {
+    long magnitude = 1;
+    while (true) {
+      for (int step : AGGREGATION_STEPS) {
+        if (step * magnitude >= interval) {
+          return (int) Math.min(step * magnitude, Integer.MAX_VALUE);
+        }
+      }
+      magnitude *= 10;
+    }
   }
 
-  private long getDateFromNewestRecordOfTable(String index) {
-    return new GetDateFromSortedTableRecord(QueryParams.from(index), Order.DESC).executeQuery();
+  private CompletableFuture<Long> getDateFromNewestRecordOfTable(String index) {
+    return new GetDateFromSortedTableRecord(QueryParams.from(index), Order.DESC).executeQueryAsync();
   }
 
-  private long getDateFromOldestRecordOfTable(String index) {
-    return new GetDateFromSortedTableRecord(QueryParams.from(index), Order.ASC).executeQuery();
+  private CompletableFuture<Long> getDateFromOldestRecordOfTable(String index) {
+    return new GetDateFromSortedTableRecord(QueryParams.from(index), Order.ASC).executeQueryAsync();
   }
 }
@@ -17,9 +17,10 @@
  */
 package org.apache.streampipes.dataexplorer.autoagg;
 
+import org.apache.streampipes.dataexplorer.cache.AggregatedResultCache;
+import org.apache.streampipes.dataexplorer.cache.BucketInterval;
 import org.apache.streampipes.dataexplorer.param.AggregatedTimeUnitQueryParams;
 import org.apache.streampipes.dataexplorer.param.TimeUnitQueryParams;
-import org.apache.streampipes.dataexplorer.query.GetAggregatedEventsFromNowQuery;
 import org.apache.streampipes.dataexplorer.query.GetEventsFromNowQuery;
 import org.apache.streampipes.dataexplorer.query.GetNumberOfRecordsByTimeUnitQuery;
 import org.apache.streampipes.model.datalake.DataResult;
@@ -31,8 +32,14 @@ public class FromNowAutoAggregationQuery extends AbstractAutoAggregationQuery<Ti
   }
 
   @Override
-  protected double getCount() {
-    return new GetNumberOfRecordsByTimeUnitQuery(params).executeQuery();
+  protected long getTimeRange() {
+    return BucketInterval.toMillis(params.getTimeValue(), params.getTimeUnit());
+  }
+
+  @Override
+  protected double getCount(String index) {
+    return new GetNumberOfRecordsByTimeUnitQuery(TimeUnitQueryParams.from(index, params.getTimeUnit(),
+            params.getTimeValue())).executeQuery();
   }
 
   @Override
@@ -41,9 +48,8 @@ public class FromNowAutoAggregationQuery extends AbstractAutoAggregationQuery<Ti
   }
 
   @Override
-  protected DataResult getAggregatedEvents(Integer aggregationValue) {
-    return new GetAggregatedEventsFromNowQuery(AggregatedTimeUnitQueryParams
-            .from(params.getIndex(), params.getTimeUnit(), params.getTimeValue(), "ms", aggregationValue))
-            .executeQuery();
+  protected DataResult getAggregatedEvents(String index, Integer aggregationValue) {
+    return AggregatedResultCache.INSTANCE.getEventsFromNow(AggregatedTimeUnitQueryParams
+            .from(index, params.getTimeUnit(), params.getTimeValue(), "ms", aggregationValue));
   }
 }
@@ -19,6 +19,7 @@ package org.apache.streampipes.dataexplorer.autoagg;
 
 import org.apache.streampipes.dataexplorer.param.GroupedAggregatedTimeBoundQueryParams;
 import org.apache.streampipes.dataexplorer.param.GroupedQueryParams;
+import org.apache.streampipes.dataexplorer.param.TimeBoundQueryParams;
 import org.apache.streampipes.dataexplorer.query.GetGroupedAggregatedEventsQuery;
 import org.apache.streampipes.dataexplorer.query.GetGroupedEventsQuery;
 import org.apache.streampipes.dataexplorer.query.GetNumberOfRecordsQuery;
@@ -31,8 +32,14 @@ public class GroupedAutoAggregationQuery extends AbstractAutoAggregationQuery<Gr
   }
 
   @Override
-  protected double getCount() {
-    return new GetNumberOfRecordsQuery(params).executeQuery();
+  protected long getTimeRange() {
+    return params.getEndDate() - params.getStartDate();
+  }
+
+  @Override
+  protected double getCount(String index) {
+    return new GetNumberOfRecordsQuery(TimeBoundQueryParams.from(index, params.getStartDate(),
+            params.getEndDate())).executeQuery();
   }
 
   @Override
@@ -41,8 +48,8 @@ public class GroupedAutoAggregationQuery extends AbstractAutoAggregationQuery<Gr
   }
 
   @Override
-  protected GroupedDataResult getAggregatedEvents(Integer aggregationValue) {
-    return new GetGroupedAggregatedEventsQuery(GroupedAggregatedTimeBoundQueryParams.from(params.getIndex(),
+  protected GroupedDataResult getAggregatedEvents(String index, Integer aggregationValue) {
+    return new GetGroupedAggregatedEventsQuery(GroupedAggregatedTimeBoundQueryParams.from(index,
             params.getStartDate(), params.getEndDate(), "ms", aggregationValue, params.getGroupingTag())).executeQuery();
   }
 }
@@ -17,9 +17,9 @@
  */
 package org.apache.streampipes.dataexplorer.autoagg;
 
+import org.apache.streampipes.dataexplorer.cache.AggregatedResultCache;
 import org.apache.streampipes.dataexplorer.param.AggregatedTimeBoundQueryParams;
 import org.apache.streampipes.dataexplorer.param.TimeBoundQueryParams;
-import org.apache.streampipes.dataexplorer.query.GetAggregatedEventsQuery;
 import org.apache.streampipes.dataexplorer.query.GetEventsQuery;
 import org.apache.streampipes.dataexplorer.query.GetNumberOfRecordsQuery;
 import org.apache.streampipes.model.datalake.DataResult;
@@ -31,8 +31,14 @@ public class TimeBoundAutoAggregationQuery extends AbstractAutoAggregationQuery<
   }
 
   @Override
-  protected double getCount() {
-    return new GetNumberOfRecordsQuery(params).executeQuery();
+  protected long getTimeRange() {
+    return params.getEndDate() - params.getStartDate();
+  }
+
+  @Override
+  protected double getCount(String index) {
+    return new GetNumberOfRecordsQuery(TimeBoundQueryParams.from(index, params.getStartDate(),
+            params.getEndDate())).executeQuery();
   }
 
   @Override
@@ -41,9 +47,8 @@ public class TimeBoundAutoAggregationQuery extends AbstractAutoAggregationQuery<
   }
 
   @Override
-  protected DataResult getAggregatedEvents(Integer aggregationValue) {
-    return new GetAggregatedEventsQuery(AggregatedTimeBoundQueryParams.from(params.getIndex(),
-            params.getStartDate(), params.getEndDate(), "ms", aggregationValue))
-            .executeQuery();
+  protected DataResult getAggregatedEvents(String index, Integer aggregationValue) {
+    return AggregatedResultCache.INSTANCE.getEvents(AggregatedTimeBoundQueryParams.from(index,
+            params.getStartDate(), params.getEndDate(), "ms", aggregationValue));
   }
 }
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.cache;
+
+import org.apache.streampipes.dataexplorer.param.AggregatedTimeBoundQueryParams;
+import org.apache.streampipes.dataexplorer.param.AggregatedTimeUnitQueryParams;
+import org.apache.streampipes.dataexplorer.param.QueryParams;
+import org.apache.streampipes.dataexplorer.query.GetAggregatedEventsFromNowQuery;
+import org.apache.streampipes.dataexplorer.query.GetAggregatedEventsQuery;
+import org.apache.streampipes.dataexplorer.query.GetLatestEventTimeQuery;
+import org.apache.streampipes.model.datalake.DataResult;
+
+/**
+ * Cache for aggregated data explorer queries. Buckets which are closed are cached per measurement
+ * and interval, so that a refresh only queries the buckets which are still open, see
+ * {@link AggregatedSeriesCache}.
+ */
+public enum AggregatedResultCache {
+
+  INSTANCE;
+
+  private final AggregatedSeriesCache cache = new AggregatedSeriesCache(new AggregatedSource() {
+    @Override
+    public DataResult query(String index, long startDate, long endDate, String unit, int value) {
+      return new GetAggregatedEventsQuery(AggregatedTimeBoundQueryParams.from(index, startDate, endDate,
+              unit, value)).executeQuery();
+    }
+
+    @Override
+    public long getLatestEventTime(String index) {
+      return new GetLatestEventTimeQuery(QueryParams.from(index)).executeQuery();
+    }
+  }, System::currentTimeMillis);
+
+  public DataResult getEvents(AggregatedTimeBoundQueryParams params) {
+    String unit = params.getAggregationUnit();
+    int value = params.getAggregationValue();
+    long interval = BucketInterval.toMillis(value, unit);
+
+    if (interval == BucketInterval.UNSUPPORTED) {
+      return new GetAggregatedEventsQuery(params).executeQuery();
+    } else {
+      return cache.getEvents(params.getIndex(), params.getStartDate(), params.getEndDate(), unit, value,
+              interval);
+    }
+  }
+
+  public DataResult getEventsFromNow(AggregatedTimeUnitQueryParams params) {
+    long range = BucketInterval.toMillis(params.getTimeValue(), params.getTimeUnit());
+    long interval = BucketInterval.toMillis(params.getAggregationValue(), params.getAggregationUnit());
+
+    if (range == BucketInterval.UNSUPPORTED || interval == BucketInterval.UNSUPPORTED) {
+      return new GetAggregatedEventsFromNowQuery(params).executeQuery();
+    } else {
+      long now = System.currentTimeMillis();
+      return cache.getEvents(params.getIndex(), now - range, now, params.getAggregationUnit(),
+              params.getAggregationValue(), interval);
+    }
+  }
+
+  /**
+   * Drops the cached buckets of a measurement, e.g. after its events have been deleted or events
+   * with old timestamps have been written.
+   */
+  public void invalidate(String index) {
+    cache.invalidate(index);
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+}
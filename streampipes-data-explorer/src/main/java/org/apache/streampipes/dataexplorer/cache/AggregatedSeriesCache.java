@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.cache;
+
+import org.apache.streampipes.model.datalake.DataResult;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches the closed buckets of aggregated queries per measurement and interval. A bucket counts as
+ * closed once it ends a grace period before the current time and before the newest stored event
+ * (the ingest watermark), so that buckets which can still receive delayed events are queried
+ * again. Events which are written with even older timestamps require {@link #invalidate(String)}.
+ * Buckets which are only partially covered by the requested range are never cached, they are
+ * queried with the requested boundaries.
+ */
+class AggregatedSeriesCache {
+
+  static final long GRACE_PERIOD_MILLIS = TimeUnit.SECONDS.toMillis(10);
+  static final long TIME_TO_LIVE_MILLIS = TimeUnit.MINUTES.toMillis(15);
+  static final int MAX_CACHED_ROWS = 500000;
+
+  private final AggregatedSource source;
+  private final LongSupplier clock;
+  private final Map<String, CachedSeries> cache = new ConcurrentHashMap<>();
+
+  AggregatedSeriesCache(AggregatedSource source, LongSupplier clock) {
+    this.source = source;
+    this.clock = clock;
+  }
+
+  DataResult getEvents(String index, long startDate, long endDate, String unit, int value,
+                       long interval) {
+    long from = BucketInterval.ceil(startDate, interval);
+    long to = BucketInterval.floor(endDate, interval);
+    if (from >= to) {
+      return source.query(index, startDate, endDate, unit, value);
+    }
+
+    long watermark = Math.min(clock.getAsLong(), source.getLatestEventTime(index));
+    long closedUntil = watermark == Long.MIN_VALUE ? from : Math.max(from, Math.min(to,
+            BucketInterval.floor(watermark - GRACE_PERIOD_MILLIS, interval)));
+
+    List<List<Object>> rows = new ArrayList<>();
+    List<String> columns = null;
+
+    if (startDate < from) {
+      DataResult firstBucket = source.query(index, startDate, from, unit, value);
+      if (firstBucket.getHeaders() != null) {
+        columns = firstBucket.getHeaders();
+        rows.addAll(firstBucket.getRows());
+      }
+    }
+
+    if (closedUntil > from) {
+      String key = index + "/" + interval;
+      CachedSeries series = cache.computeIfAbsent(key, k -> new CachedSeries(index, clock));
+      List<String> cachedColumns;
+      synchronized (series) {
+        series.ensureCovered(from, closedUntil, (f, t) -> fetch(index, f, t, unit, value));
+        rows.addAll(series.getRows(from, closedUntil));
+        cachedColumns = series.getColumns();
+      }
+      evict();
+      if (!sameColumns(columns, cachedColumns)) {
+        return reloadAll(index, startDate, endDate, unit, value);
+      }
+      columns = columns != null ? columns : cachedColumns;
+    }
+
+    if (endDate > closedUntil) {
+      DataResult openBuckets = fetch(index, closedUntil, endDate, unit, value);
+      if (openBuckets.getHeaders() != null) {
+        if (!sameColumns(columns, openBuckets.getHeaders())) {
+          return reloadAll(index, startDate, endDate, unit, value);
+        }
+        columns = openBuckets.getHeaders();
+        for (List<Object> row : openBuckets.getRows()) {
+          if (BucketInterval.getRowTime(row) >= closedUntil) {
+            rows.add(row);
+          }
+        }
+      }
+    }
+
+    if (columns == null) {
+      return new DataResult();
+    } else {
+      return new DataResult(rows.size(), new ArrayList<>(columns), rows);
+    }
+  }
+
+  void invalidate(String index) {
+    cache.values().removeIf(series -> series.getIndex().equals(index));
+  }
+
+  void invalidateAll() {
+    cache.clear();
+  }
+
+  int getCachedRows() {
+    return cache.values().stream().mapToInt(CachedSeries::size).sum();
+  }
+
+  private boolean sameColumns(List<String> columns, List<String> otherColumns) {
+    return columns == null || otherColumns == null || columns.equals(otherColumns);
+  }
+
+  private DataResult reloadAll(String index, long startDate, long endDate, String unit, int value) {
+    // the schema changed since the closed buckets have been cached
+    invalidate(index);
+    return source.query(index, startDate, endDate, unit, value);
+  }
+
+  private DataResult fetch(String index, long from, long to, String unit, int value) {
+    // the query excludes its lower bound, the additional millisecond includes events which lie
+    // exactly on the first bucket boundary
+    return source.query(index, from - 1, to, unit, value);
+  }
+
+  private void evict() {
+    long now = clock.getAsLong();
+    cache.values().removeIf(series -> now - series.getCreatedAt() > TIME_TO_LIVE_MILLIS);
+
+    int cachedRows = getCachedRows();
+    if (cachedRows > MAX_CACHED_ROWS) {
+      List<Map.Entry<String, CachedSeries>> entries = new ArrayList<>(cache.entrySet());
+      entries.sort(Comparator.comparingLong(e -> e.getValue().getLastAccess()));
+      for (Map.Entry<String, CachedSeries> entry : entries) {
+        if (cachedRows <= MAX_CACHED_ROWS) {
+          break;
+        }
+        cachedRows -= entry.getValue().size();
+        cache.remove(entry.getKey());
+      }
+    }
+  }
+}
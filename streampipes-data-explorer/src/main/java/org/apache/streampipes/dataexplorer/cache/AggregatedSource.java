@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.cache;
+
+import org.apache.streampipes.model.datalake.DataResult;
+
+/**
+ * Access to the stored measurements which is used by the {@link AggregatedSeriesCache}.
+ */
+interface AggregatedSource {
+
+  /**
+   * Aggregates all events within the exclusive range (startDate, endDate).
+   */
+  DataResult query(String index, long startDate, long endDate, String unit, int value);
+
+  /**
+   * @return the time of the newest stored event or {@link Long#MIN_VALUE} if there is none.
+   */
+  long getLatestEventTime(String index);
+}
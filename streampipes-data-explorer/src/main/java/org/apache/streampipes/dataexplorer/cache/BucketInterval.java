@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.cache;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Helpers to align time ranges to the epoch-aligned buckets of an InfluxDB GROUP BY time() clause.
+ */
+public class BucketInterval {
+
+  public static final long UNSUPPORTED = -1;
+
+  /**
+   * @return the length of the given InfluxDB duration in milliseconds or {@link #UNSUPPORTED} if
+   * the unit cannot be expressed in whole milliseconds.
+   */
+  public static long toMillis(long value, String unit) {
+    if (value <= 0 || unit == null) {
+      return UNSUPPORTED;
+    }
+    switch (unit) {
+      case "ms":
+        return value;
+      case "s":
+        return value * 1000L;
+      case "m":
+        return value * 60 * 1000L;
+      case "h":
+        return value * 60 * 60 * 1000L;
+      case "d":
+        return value * 24 * 60 * 60 * 1000L;
+      case "w":
+        return value * 7 * 24 * 60 * 60 * 1000L;
+      default:
+        return UNSUPPORTED;
+    }
+  }
+
+  public static long floor(long timestamp, long interval) {
+    return Math.floorDiv(timestamp, interval) * interval;
+  }
+
+  public static long ceil(long timestamp, long interval) {
+    return -Math.floorDiv(-timestamp, interval) * interval;
+  }
+
+  /**
+   * Reads the bucket start of a result row, which is either returned as RFC3339 string or as
+   * epoch value if the query requested a precision.
+   */
+  public static long getRowTime(List<Object> row) {
+    Object time = row.get(0);
+    if (time instanceof Number) {
+      return ((Number) time).longValue();
+    } else {
+      return Instant.parse(time.toString()).toEpochMilli();
+    }
+  }
+}
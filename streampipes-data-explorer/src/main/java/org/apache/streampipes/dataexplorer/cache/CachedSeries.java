@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.cache;
+
+import org.apache.streampipes.model.datalake.DataResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Closed buckets of one measurement and aggregation interval. The cached rows always cover the
+ * contiguous range [coveredFrom, coveredTo), buckets without rows in between are known to be empty.
+ */
+class CachedSeries {
+
+  private final String index;
+  private final LongSupplier clock;
+  private final long createdAt;
+
+  private final TreeMap<Long, List<Object>> rows;
+  private List<String> columns;
+  private long coveredFrom;
+  private long coveredTo;
+
+  private volatile long lastAccess;
+
+  CachedSeries(String index, LongSupplier clock) {
+    this.index = index;
+    this.clock = clock;
+    this.createdAt = clock.getAsLong();
+    this.lastAccess = createdAt;
+    this.rows = new TreeMap<>();
+  }
+
+  /**
+   * Fetches the parts of [from, to) which are not covered yet. The fetcher is called with the
+   * bucket-aligned range and must return all buckets starting within this range.
+   */
+  void ensureCovered(long from, long to, BiFunction<Long, Long, DataResult> fetcher) {
+    lastAccess = clock.getAsLong();
+    if (coveredTo <= coveredFrom || to < coveredFrom || from > coveredTo) {
+      clear();
+      coveredFrom = from;
+      coveredTo = from;
+    }
+
+    if (from < coveredFrom) {
+      if (!fetchInto(from, coveredFrom, fetcher)) {
+        reload(from, Math.max(to, coveredTo), fetcher);
+        return;
+      }
+      coveredFrom = from;
+    }
+    if (to > coveredTo) {
+      if (!fetchInto(coveredTo, to, fetcher)) {
+        reload(Math.min(from, coveredFrom), to, fetcher);
+        return;
+      }
+      coveredTo = to;
+    }
+  }
+
+  List<List<Object>> getRows(long from, long to) {
+    return new ArrayList<>(rows.subMap(from, to).values());
+  }
+
+  List<String> getColumns() {
+    return columns;
+  }
+
+  boolean hasColumns(List<String> otherColumns) {
+    return columns == null || otherColumns == null || columns.equals(otherColumns);
+  }
+
+  String getIndex() {
+    return index;
+  }
+
+  long getCreatedAt() {
+    return createdAt;
+  }
+
+  long getLastAccess() {
+    return lastAccess;
+  }
+
+  int size() {
+    return rows.size();
+  }
+
+  private void reload(long from, long to, BiFunction<Long, Long, DataResult> fetcher) {
+    clear();
+    if (fetchInto(from, to, fetcher)) {
+      coveredFrom = from;
+      coveredTo = to;
+    } else {
+      // the schema changed while fetching, nothing is cached until the next request
+      clear();
+    }
+  }
+
+  private boolean fetchInto(long from, long to, BiFunction<Long, Long, DataResult> fetcher) {
+    DataResult result = fetcher.apply(from, to);
+    if (result.getHeaders() == null) {
+      return true;
+    }
+    if (!hasColumns(result.getHeaders())) {
+      return false;
+    }
+    if (columns == null) {
+      columns = new ArrayList<>(result.getHeaders());
+    }
+    for (List<Object> row : result.getRows()) {
+      long time = BucketInterval.getRowTime(row);
+      if (time >= from && time < to) {
+        rows.put(time, row);
+      }
+    }
+    return true;
+  }
+
+  private void clear() {
+    rows.clear();
+    columns = null;
+    coveredFrom = 0;
+    coveredTo = 0;
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.cache;
+
+import org.apache.streampipes.dataexplorer.executor.InfluxQueryExecutor;
+import org.apache.streampipes.dataexplorer.param.QueryParams;
+import org.apache.streampipes.dataexplorer.query.GetLatestEventTimeQuery;
+import org.apache.streampipes.dataexplorer.query.GetMeasurementCountQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Row counts of measurements. Only the first request of a measurement waits for the count query,
+ * afterwards outdated counts are returned while they are refreshed in the background. A count is
+ * only considered exact while it is fresh and the measurement has not received events shortly
+ * before or after the count has been queried.
+ */
+public enum MeasurementCountCache {
+
+  INSTANCE;
+
+  private static final Logger LOG = LoggerFactory.getLogger(MeasurementCountCache.class);
+
+  static final long REFRESH_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+  static final long SETTLE_PERIOD_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+  private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+  public long getCount(String index) {
+    return getCachedCount(index).getCount();
+  }
+
+  /**
+   * @return the row count of the measurement if it is exact, i.e. if it can be used to compute row
+   * positions from the end of the measurement.
+   */
+  public OptionalLong getExactCount(String index) {
+    CachedCount cachedCount = getCachedCount(index);
+    return cachedCount.isExact(System.currentTimeMillis())
+            ? OptionalLong.of(cachedCount.getCount())
+            : OptionalLong.empty();
+  }
+
+  public void invalidate(String index) {
+    counts.remove(index);
+  }
+
+  public void invalidateAll() {
+    counts.clear();
+  }
+
+  private CachedCount getCachedCount(String index) {
+    CachedCount cachedCount = counts.get(index);
+    if (cachedCount == null) {
+      // queried outside of the map, a blocking query must not lock other measurements
+      CachedCount queriedCount = queryCount(index);
+      cachedCount = counts.putIfAbsent(index, queriedCount);
+      if (cachedCount == null) {
+        return queriedCount;
+      }
+    }
+
+    CachedCount outdatedCount = cachedCount;
+    if (outdatedCount.isOutdated(System.currentTimeMillis()) && outdatedCount.startRefresh()) {
+      InfluxQueryExecutor.INSTANCE.submit(() -> queryCount(index))
+              .whenComplete((count, t) -> {
+                if (t != null) {
+                  LOG.warn("Could not refresh the number of records of {}", index, t);
+                  outdatedCount.refreshFailed();
+                } else {
+                  counts.replace(index, outdatedCount, count);
+                }
+              });
+    }
+    return cachedCount;
+  }
+
+  private CachedCount queryCount(String index) {
+    long queriedAt = System.currentTimeMillis();
+    long count = new GetMeasurementCountQuery(QueryParams.from(index)).executeQuery();
+    long latestEventTime = new GetLatestEventTimeQuery(QueryParams.from(index)).executeQuery();
+    return new CachedCount(count, latestEventTime, queriedAt);
+  }
+
+  static class CachedCount {
+
+    private final long count;
+    private final long latestEventTime;
+    private final long queriedAt;
+    private final AtomicBoolean refreshing;
+
+    CachedCount(long count, long latestEventTime, long queriedAt) {
+      this.count = count;
+      this.latestEventTime = latestEventTime;
+      this.queriedAt = queriedAt;
+      this.refreshing = new AtomicBoolean(false);
+    }
+
+    long getCount() {
+      return count;
+    }
+
+    boolean isOutdated(long now) {
+      return now - queriedAt > REFRESH_INTERVAL_MILLIS;
+    }
+
+    /**
+     * A measurement which is still being written changes its row count at any time, so that the
+     * count is only exact if the newest event is older than the settle period.
+     */
+    boolean isExact(long now) {
+      return !isOutdated(now) && latestEventTime < queriedAt - SETTLE_PERIOD_MILLIS;
+    }
+
+    boolean startRefresh() {
+      return refreshing.compareAndSet(false, true);
+    }
+
+    void refreshFailed() {
+      refreshing.set(false);
+    }
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.executor;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.apache.streampipes.config.backend.BackendConfig;
+import org.influxdb.InfluxDB;
+import org.influxdb.InfluxDBFactory;
+import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Shared InfluxDB client of the data explorer. All queries use the same pool of keep-alive
+ * connections, independent sub-queries can be submitted to run concurrently. The number of
+ * connections and of concurrently running queries is limited by the configured pool size.
+ */
+public enum InfluxQueryExecutor {
+
+  INSTANCE;
+
+  private static final Logger LOG = LoggerFactory.getLogger(InfluxQueryExecutor.class);
+
+  private static final long TIMEOUT_SECONDS = 120;
+  private static final long KEEP_ALIVE_MINUTES = 5;
+
+  private final Map<String, QueryMetrics> metrics = new ConcurrentHashMap<>();
+
+  private volatile InfluxDB influxDB;
+  private volatile ExecutorService executorService;
+
+  /**
+   * @return the shared client, which must not be closed by callers.
+   */
+  public InfluxDB getInfluxDB() {
+    if (influxDB == null) {
+      init();
+    }
+    return influxDB;
+  }
+
+  public QueryResult execute(Query query, TimeUnit timeUnit, String queryName) {
+    InfluxDB client = getInfluxDB();
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      QueryResult result = timeUnit != null ? client.query(query, timeUnit) : client.query(query);
+      failed = result.hasError();
+      return result;
+    } finally {
+      long duration = System.nanoTime() - start;
+      metrics.computeIfAbsent(queryName, k -> new QueryMetrics()).record(duration, failed);
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("{} took {} ms", queryName, TimeUnit.NANOSECONDS.toMillis(duration));
+      }
+    }
+  }
+
+  /**
+   * Executes a query with a chunked response and blocks until all chunks have been passed to the
+   * given consumer, so that only one chunk of the result is held in memory at a time.
+   */
+  public void executeChunked(Query query, int chunkSize, Consumer<QueryResult> onChunk, String queryName) {
+    InfluxDB client = getInfluxDB();
+    CountDownLatch done = new CountDownLatch(1);
+    AtomicReference<Throwable> error = new AtomicReference<>();
+    long start = System.nanoTime();
+
+    client.query(query, chunkSize, (cancellable, chunk) -> {
+      try {
+        if (chunk.hasError()) {
+          throw new RuntimeException(chunk.getError());
+        }
+        onChunk.accept(chunk);
+      } catch (Throwable t) {
+        error.set(t);
+        cancellable.cancel();
+        done.countDown();
+      }
+    }, done::countDown, t -> {
+      error.set(t);
+      done.countDown();
+    });
+
+    try {
+      done.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      error.compareAndSet(null, e);
+    }
+
+    long duration = System.nanoTime() - start;
+    metrics.computeIfAbsent(queryName, k -> new QueryMetrics()).record(duration, error.get() != null);
+    if (error.get() != null) {
+      throw new RuntimeException("Chunked query failed: " + error.get().getMessage(), error.get());
+    }
+  }
+
+  /**
+   * Runs a query on the pool of query threads.
+   */
+  public <T> CompletableFuture<T> submit(Supplier<T> query) {
+    getInfluxDB();
+    return CompletableFuture.supplyAsync(query, executorService);
+  }
+
+  /**
+   * Waits for the result of a submitted query and rethrows its exception.
+   */
+  public static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * @return a snapshot of the latency statistics per query type.
+   */
+  public Map<String, QueryMetrics> getMetrics() {
+    Map<String, QueryMetrics> snapshot = new TreeMap<>();
+    metrics.forEach((name, m) -> snapshot.put(name, m.copy()));
+    return snapshot;
+  }
+
+  private synchronized void init() {
+    if (influxDB != null) {
+      return;
+    }
+    int poolSize = Math.max(1, BackendConfig.INSTANCE.getInfluxConnectionPoolSize());
+
+    Dispatcher dispatcher = new Dispatcher();
+    dispatcher.setMaxRequests(poolSize);
+    dispatcher.setMaxRequestsPerHost(poolSize);
+
+    OkHttpClient.Builder okHttpClientBuilder = new OkHttpClient().newBuilder()
+            .connectionPool(new ConnectionPool(poolSize, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+            .dispatcher(dispatcher)
+            .connectTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .readTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .writeTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+    this.executorService = Executors.newFixedThreadPool(poolSize, new QueryThreadFactory());
+    this.influxDB = InfluxDBFactory.connect(BackendConfig.INSTANCE.getInfluxUrl(), okHttpClientBuilder);
+  }
+
+  private static class QueryThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger threadCount = new AtomicInteger(0);
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "data-explorer-query-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
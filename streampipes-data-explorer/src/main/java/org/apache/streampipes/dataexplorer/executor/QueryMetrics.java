@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.executor;
+
+/**
+ * Latency statistics of one type of data explorer query.
+ */
+public class QueryMetrics {
+
+  private long count;
+  private long errors;
+  private double totalMillis;
+  private double maxMillis;
+  private double lastMillis;
+
+  public QueryMetrics() {
+  }
+
+  private QueryMetrics(QueryMetrics other) {
+    this.count = other.count;
+    this.errors = other.errors;
+    this.totalMillis = other.totalMillis;
+    this.maxMillis = other.maxMillis;
+    this.lastMillis = other.lastMillis;
+  }
+
+  public synchronized void record(long durationNanos, boolean failed) {
+    double millis = durationNanos / 1e6;
+    count++;
+    if (failed) {
+      errors++;
+    }
+    totalMillis += millis;
+    maxMillis = Math.max(maxMillis, millis);
+    lastMillis = millis;
+  }
+
+  public synchronized QueryMetrics copy() {
+    return new QueryMetrics(this);
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getErrors() {
+    return errors;
+  }
+
+  public double getMeanMillis() {
+    return count == 0 ? 0 : totalMillis / count;
+  }
+
+  public double getMaxMillis() {
+    return maxMillis;
+  }
+
+  public double getLastMillis() {
+    return lastMillis;
+  }
+}
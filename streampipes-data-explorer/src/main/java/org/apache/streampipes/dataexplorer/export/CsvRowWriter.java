@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class CsvRowWriter implements RowWriter {
+
+  private static final String DELIMITER = ";";
+
+  private final Writer writer;
+  private List<String> header;
+
+  private List<String> mappedColumns;
+  private int[] columnIndex;
+
+  public CsvRowWriter(OutputStream outputStream) {
+    this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public void beforeFirstRow() {
+  }
+
+  @Override
+  public void writeRow(List<String> columns, long timestamp, List<Object> row) throws IOException {
+    if (header == null) {
+      header = columns;
+      writer.write(String.join(DELIMITER, header));
+      writer.write("\n");
+    }
+
+    if (columns != mappedColumns) {
+      mapColumns(columns);
+    }
+
+    writer.write(Long.toString(timestamp));
+    for (int i = 1; i < header.size(); i++) {
+      writer.write(DELIMITER);
+      int index = columnIndex[i];
+      Object value = index >= 0 && index < row.size() ? row.get(index) : null;
+      if (value != null) {
+        writer.write(value.toString());
+      }
+    }
+    writer.write("\n");
+  }
+
+  @Override
+  public void afterLastRow() throws IOException {
+    writer.flush();
+  }
+
+  /**
+   * Resolves the positions of the header columns, fields which were added to the measurement
+   * during the export are not part of the header and are skipped.
+   */
+  private void mapColumns(List<String> columns) {
+    columnIndex = new int[header.size()];
+    for (int i = 0; i < header.size(); i++) {
+      columnIndex[i] = columns.indexOf(header.get(i));
+    }
+    mappedColumns = columns;
+  }
+}
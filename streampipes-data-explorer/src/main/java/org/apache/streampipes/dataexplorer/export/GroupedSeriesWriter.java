@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.export;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes a grouped result in the JSON structure of a GroupedDataResult, one series at a time.
+ * An optional series which aggregates all remaining groups is written to a separate field after
+ * the groups, so it cannot be mistaken for a group of the same name. The totals are written after
+ * the series, as they are only known at the end.
+ */
+public class GroupedSeriesWriter {
+
+  private final JsonWriter jsonWriter;
+
+  private int groups;
+  private int rows;
+  private boolean remaining;
+
+  public GroupedSeriesWriter(OutputStream outputStream) {
+    this.jsonWriter = new JsonWriter(new BufferedWriter(new OutputStreamWriter(outputStream,
+            StandardCharsets.UTF_8)));
+    this.jsonWriter.setLenient(true);
+  }
+
+  public void beforeFirstSeries() throws IOException {
+    jsonWriter.beginObject();
+    jsonWriter.name("dataResults").beginObject();
+  }
+
+  public void beginSeries(String groupName, List<String> headers) throws IOException {
+    jsonWriter.name(groupName);
+    beginSeries(headers);
+  }
+
+  /**
+   * Begins the series of the remaining groups, no group can be written afterwards.
+   */
+  public void beginRemainingSeries(List<String> headers) throws IOException {
+    jsonWriter.endObject();
+    jsonWriter.name("remainingGroups");
+    remaining = true;
+    beginSeries(headers);
+  }
+
+  private void beginSeries(List<String> headers) throws IOException {
+    jsonWriter.beginObject();
+    jsonWriter.name("headers").beginArray();
+    for (String header : headers) {
+      jsonWriter.value(header.replaceAll("mean_", ""));
+    }
+    jsonWriter.endArray();
+    jsonWriter.name("rows").beginArray();
+    rows = 0;
+  }
+
+  public void writeRow(List<Object> row) throws IOException {
+    jsonWriter.beginArray();
+    for (Object value : row) {
+      if (value == null) {
+        jsonWriter.nullValue();
+      } else if (value instanceof Number) {
+        jsonWriter.value((Number) value);
+      } else if (value instanceof Boolean) {
+        jsonWriter.value((Boolean) value);
+      } else {
+        jsonWriter.value(value.toString());
+      }
+    }
+    jsonWriter.endArray();
+    rows++;
+  }
+
+  public void endSeries() throws IOException {
+    jsonWriter.endArray();
+    jsonWriter.name("total").value(rows);
+    jsonWriter.endObject();
+    if (!remaining) {
+      groups++;
+    }
+    // hand each finished series to the client instead of buffering the whole result
+    jsonWriter.flush();
+  }
+
+  public void afterLastSeries() throws IOException {
+    if (!remaining) {
+      jsonWriter.endObject();
+    }
+    jsonWriter.name("total").value(groups);
+    jsonWriter.endObject();
+    jsonWriter.flush();
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.export;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class JsonRowWriter implements RowWriter {
+
+  private final JsonWriter jsonWriter;
+
+  public JsonRowWriter(OutputStream outputStream) {
+    this.jsonWriter = new JsonWriter(new BufferedWriter(new OutputStreamWriter(outputStream,
+            StandardCharsets.UTF_8)));
+    this.jsonWriter.setLenient(true);
+  }
+
+  @Override
+  public void beforeFirstRow() throws IOException {
+    jsonWriter.beginArray();
+  }
+
+  @Override
+  public void writeRow(List<String> columns, long timestamp, List<Object> row) throws IOException {
+    jsonWriter.beginObject();
+    jsonWriter.name(columns.get(0)).value(timestamp);
+    for (int i = 1; i < row.size(); i++) {
+      jsonWriter.name(columns.get(i));
+      writeValue(row.get(i));
+    }
+    jsonWriter.endObject();
+  }
+
+  @Override
+  public void afterLastRow() throws IOException {
+    jsonWriter.endArray();
+    jsonWriter.flush();
+  }
+
+  private void writeValue(Object value) throws IOException {
+    if (value == null) {
+      jsonWriter.nullValue();
+    } else if (value instanceof Number) {
+      jsonWriter.value((Number) value);
+    } else if (value instanceof Boolean) {
+      jsonWriter.value((Boolean) value);
+    } else {
+      jsonWriter.value(value.toString());
+    }
+  }
+}
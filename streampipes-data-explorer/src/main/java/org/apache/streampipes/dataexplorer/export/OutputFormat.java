@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.export;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import java.io.OutputStream;
+import java.util.function.Function;
+
+public enum OutputFormat {
+
+  JSON("json", JsonRowWriter::new),
+  CSV("csv", CsvRowWriter::new);
+
+  private final String value;
+  private final Function<OutputStream, RowWriter> writerFactory;
+
+  OutputFormat(String value, Function<OutputStream, RowWriter> writerFactory) {
+    this.value = value;
+    this.writerFactory = writerFactory;
+  }
+
+  public RowWriter newWriter(OutputStream outputStream) {
+    return writerFactory.apply(outputStream);
+  }
+
+  public String toValue() {
+    return value;
+  }
+
+  public static OutputFormat fromValue(String value) {
+    for (OutputFormat format : values()) {
+      if (format.value.equals(value)) {
+        return format;
+      }
+    }
+    throw new SpRuntimeException("Unsupported output format: " + value);
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.export;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes the rows of an export directly to an output stream, without keeping them in memory.
+ */
+public interface RowWriter {
+
+  void beforeFirstRow() throws IOException;
+
+  /**
+   * @param columns   the column names of the row, the first column is the time column
+   * @param timestamp the time of the row in milliseconds, which replaces the first value of the row
+   * @param row       the values of the row
+   */
+  void writeRow(List<String> columns, long timestamp, List<Object> row) throws IOException;
+
+  /**
+   * Completes the output and flushes it, the underlying stream is not closed.
+   */
+  void afterLastRow() throws IOException;
+}
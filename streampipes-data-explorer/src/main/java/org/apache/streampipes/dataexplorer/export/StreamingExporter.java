@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.export;
+
+import org.apache.streampipes.config.backend.BackendConfig;
+import org.apache.streampipes.dataexplorer.executor.InfluxQueryExecutor;
+import org.apache.streampipes.dataexplorer.query.DataExplorerQueryBuilder;
+import org.apache.streampipes.dataexplorer.template.QueryTemplates;
+import org.influxdb.dto.QueryResult;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Exports a measurement ordered by time. Instead of LIMIT/OFFSET pages, each query continues after
+ * the last exported timestamp and its response is consumed in chunks, so that neither InfluxDB nor
+ * the exporter has to hold more than one chunk of rows.
+ */
+public class StreamingExporter {
+
+  private static final int ROWS_PER_QUERY = 100000;
+  private static final int CHUNK_SIZE = 10000;
+
+  private final String index;
+  private final Long startDate;
+  private final Long endDate;
+  private final String databaseName;
+  private final ChunkedQuerySource querySource;
+  private final int rowsPerQuery;
+
+  // lower bound (inclusive, in ns) of the next query and the number of rows at this timestamp
+  // which have already been exported
+  private Long cursor;
+  private int rowsAtCursor;
+
+  private long lastTime;
+  private int rowsAtLastTime;
+  private int receivedRows;
+
+  public StreamingExporter(String index, @Nullable Long startDate, @Nullable Long endDate) {
+    this(index, startDate, endDate, BackendConfig.INSTANCE.getInfluxDatabaseName(),
+            (query, chunkSize, onChunk) -> InfluxQueryExecutor.INSTANCE.executeChunked(query, chunkSize,
+                    onChunk, StreamingExporter.class.getSimpleName()), ROWS_PER_QUERY);
+  }
+
+  StreamingExporter(String index, @Nullable Long startDate, @Nullable Long endDate, String databaseName,
+                    ChunkedQuerySource querySource, int rowsPerQuery) {
+    this.index = index;
+    this.startDate = startDate;
+    this.endDate = endDate;
+    this.databaseName = databaseName;
+    this.querySource = querySource;
+    this.rowsPerQuery = rowsPerQuery;
+  }
+
+  public void export(RowWriter writer) throws IOException {
+    this.cursor = startDate != null ? startDate * 1000000 + 1 : null;
+    this.rowsAtCursor = 0;
+
+    writer.beforeFirstRow();
+    int limit;
+    do {
+      limit = rowsPerQuery + rowsAtCursor;
+      exportNextRows(writer, limit);
+    } while (receivedRows == limit);
+    writer.afterLastRow();
+  }
+
+  private void exportNextRows(RowWriter writer, int limit) throws IOException {
+    DataExplorerQueryBuilder queryBuilder = DataExplorerQueryBuilder
+            .create(databaseName)
+            .add(QueryTemplates.selectWildcardFrom(index))
+            .add(getTimeFilter())
+            .add("ORDER BY time LIMIT " + limit);
+
+    receivedRows = 0;
+    rowsAtLastTime = 0;
+    try {
+      querySource.query(queryBuilder.toQuery(), CHUNK_SIZE, chunk -> writeChunk(writer, chunk));
+    } catch (RuntimeException e) {
+      if (e.getCause() instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) e.getCause()).getCause();
+      }
+      throw e;
+    }
+
+    if (receivedRows > 0) {
+      cursor = lastTime;
+      rowsAtCursor = rowsAtLastTime;
+    }
+  }
+
+  private void writeChunk(RowWriter writer, QueryResult chunk) {
+    QueryResult.Result result = chunk.getResults().get(0);
+    if (result.getError() != null) {
+      throw new RuntimeException(result.getError());
+    }
+    if (result.getSeries() == null) {
+      return;
+    }
+
+    try {
+      for (QueryResult.Series series : result.getSeries()) {
+        List<String> columns = series.getColumns();
+        for (List<Object> row : series.getValues()) {
+          long time = toNanos(row.get(0));
+          receivedRows++;
+          if (time == lastTime && receivedRows > 1) {
+            rowsAtLastTime++;
+          } else {
+            lastTime = time;
+            rowsAtLastTime = 1;
+          }
+          // rows sharing the timestamp of the cursor might have been exported by the previous query
+          if (cursor != null && time == cursor && rowsAtLastTime <= rowsAtCursor) {
+            continue;
+          }
+          writer.writeRow(columns, time / 1000000, row);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private String getTimeFilter() {
+    StringBuilder filter = new StringBuilder();
+    if (cursor != null) {
+      filter.append("WHERE time >= ").append(cursor);
+    }
+    if (endDate != null) {
+      filter.append(cursor != null ? " AND " : "WHERE ").append("time < ").append(endDate * 1000000);
+    }
+    return filter.toString();
+  }
+
+  private long toNanos(Object time) {
+    Instant instant = Instant.parse(time.toString());
+    return instant.getEpochSecond() * 1000000000L + instant.getNano();
+  }
+}
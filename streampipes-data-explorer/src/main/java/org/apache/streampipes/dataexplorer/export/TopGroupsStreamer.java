@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.export;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.config.backend.BackendConfig;
+import org.apache.streampipes.dataexplorer.executor.InfluxQueryExecutor;
+import org.apache.streampipes.dataexplorer.param.QueryParams;
+import org.apache.streampipes.dataexplorer.param.TopGroupsQueryParams;
+import org.apache.streampipes.dataexplorer.query.DataExplorerQueryBuilder;
+import org.apache.streampipes.dataexplorer.query.GetHeadersWithTypesQuery;
+import org.apache.streampipes.dataexplorer.query.GetTopGroupsQuery;
+import org.apache.streampipes.dataexplorer.template.QueryTemplates;
+import org.influxdb.dto.QueryResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Grouped aggregation limited to the best groups by a ranking aggregate. The series of the top
+ * groups and a single series which aggregates all remaining groups are read in chunks and written
+ * to the output stream one after another, the remaining series to its own field of the result. If
+ * no group can be ranked, e.g. because no event has the grouping tag, the remaining series contains
+ * all events.
+ */
+public class TopGroupsStreamer {
+
+  private static final int CHUNK_SIZE = 10000;
+  private static final List<String> NUMERIC_TYPES = Arrays.asList("float", "integer");
+
+  private final TopGroupsQueryParams params;
+
+  private String currentSeries;
+
+  public TopGroupsStreamer(TopGroupsQueryParams params) {
+    this.params = params.getRankingField() != null ? params : withDefaultRankingField(params);
+  }
+
+  public void stream(OutputStream outputStream) throws IOException {
+    List<String> topGroups = new GetTopGroupsQuery(params).executeQuery();
+    GroupedSeriesWriter writer = new GroupedSeriesWriter(outputStream);
+
+    writer.beforeFirstSeries();
+    if (!topGroups.isEmpty()) {
+      streamSeries(makeSeriesQuery(topGroups, true), writer, true);
+    }
+    streamSeries(makeSeriesQuery(topGroups, false), writer, false);
+    writer.afterLastSeries();
+  }
+
+  private void streamSeries(String query, GroupedSeriesWriter writer, boolean top) throws IOException {
+    currentSeries = null;
+    DataExplorerQueryBuilder queryBuilder = DataExplorerQueryBuilder
+            .create(BackendConfig.INSTANCE.getInfluxDatabaseName())
+            .add(query);
+    try {
+      InfluxQueryExecutor.INSTANCE.executeChunked(queryBuilder.toQuery(), CHUNK_SIZE,
+              chunk -> writeChunk(chunk, writer, top), getClass().getSimpleName());
+      if (currentSeries != null) {
+        writer.endSeries();
+      }
+    } catch (RuntimeException e) {
+      if (e.getCause() instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) e.getCause()).getCause();
+      }
+      throw e;
+    }
+  }
+
+  private void writeChunk(QueryResult chunk, GroupedSeriesWriter writer, boolean top) {
+    QueryResult.Result result = chunk.getResults().get(0);
+    if (result.getError() != null) {
+      throw new RuntimeException(result.getError());
+    }
+    if (result.getSeries() == null) {
+      return;
+    }
+
+    try {
+      for (QueryResult.Series series : result.getSeries()) {
+        // a series can be split across several chunks
+        // the remaining groups are aggregated into one series without tags
+        String name = top ? series.getTags().entrySet().toArray()[0].toString() : "";
+        if (!Objects.equals(name, currentSeries)) {
+          if (currentSeries != null) {
+            writer.endSeries();
+          }
+          if (top) {
+            writer.beginSeries(name, series.getColumns());
+          } else {
+            writer.beginRemainingSeries(series.getColumns());
+          }
+          currentSeries = name;
+        }
+        for (List<Object> row : series.getValues()) {
+          writer.writeRow(row);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @return the query of the series of the top groups or of the series of all remaining groups.
+   */
+  String makeSeriesQuery(List<String> topGroups, boolean top) {
+    String groupingTag = QueryTemplates.quoteIdentifier(params.getGroupingTag());
+    StringBuilder groupFilter = new StringBuilder();
+    for (String group : topGroups) {
+      if (groupFilter.length() > 0) {
+        groupFilter.append(top ? " OR " : " AND ");
+      }
+      groupFilter.append(groupingTag).append(top ? " = " : " != ").append(QueryTemplates.quoteString(group));
+    }
+    String interval = "time(" + params.getAggregationValue() + params.getAggregationUnit() + ")";
+
+    StringJoiner query = new StringJoiner(" ")
+            .add(QueryTemplates.selectMeanFrom(params.getIndex()))
+            .add(QueryTemplates.whereTimeWithin(params.getStartDate(), params.getEndDate()));
+    if (groupFilter.length() > 0) {
+      query.add("AND (" + groupFilter + ")");
+    }
+    return query
+            .add("GROUP BY " + (top ? groupingTag + "," : "") + interval + " fill(none)")
+            .add("ORDER BY time")
+            .toString();
+  }
+
+  private static TopGroupsQueryParams withDefaultRankingField(TopGroupsQueryParams params) {
+    Map<String, String> fieldTypes = new GetHeadersWithTypesQuery(QueryParams.from(params.getIndex()))
+            .executeQuery();
+    String rankingField = fieldTypes.keySet()
+            .stream()
+            .filter(field -> NUMERIC_TYPES.contains(fieldTypes.get(field)))
+            .sorted()
+            .findFirst()
+            .orElseThrow(() -> new SpRuntimeException("No numeric field to rank the groups of "
+                    + params.getIndex()));
+
+    return TopGroupsQueryParams.from(params.getIndex(), params.getStartDate(), params.getEndDate(),
+            params.getAggregationUnit(), params.getAggregationValue(), params.getGroupingTag(), params.getLimit(),
+            params.getRankingFunction(), rankingField);
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.param;
+
+import javax.annotation.Nullable;
+
+public class TopGroupsQueryParams extends GroupedAggregatedTimeBoundQueryParams {
+
+  private final int limit;
+  private final String rankingFunction;
+  private final String rankingField;
+
+  public static TopGroupsQueryParams from(String index,
+                                          long startDate,
+                                          long endDate,
+                                          String aggregationUnit,
+                                          int aggregationValue,
+                                          String groupingTag,
+                                          int limit,
+                                          String rankingFunction,
+                                          @Nullable String rankingField) {
+    return new TopGroupsQueryParams(index, startDate, endDate, aggregationUnit, aggregationValue, groupingTag,
+            limit, rankingFunction, rankingField);
+  }
+
+  protected TopGroupsQueryParams(String index,
+                                 long startDate,
+                                 long endDate,
+                                 String aggregationUnit,
+                                 int aggregationValue,
+                                 String groupingTag,
+                                 int limit,
+                                 String rankingFunction,
+                                 @Nullable String rankingField) {
+    super(index, startDate, endDate, aggregationUnit, aggregationValue, groupingTag);
+    this.limit = limit;
+    this.rankingFunction = rankingFunction;
+    this.rankingField = rankingField;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public String getRankingFunction() {
+    return rankingFunction;
+  }
+
+  public String getRankingField() {
+    return rankingField;
+  }
+}
@@ -18,33 +18,33 @@
 package org.apache.streampipes.dataexplorer.query;
 
 import org.apache.streampipes.config.backend.BackendConfig;
-import org.apache.streampipes.dataexplorer.utils.DataExplorerUtils;
+import org.apache.streampipes.dataexplorer.executor.InfluxQueryExecutor;
 import org.apache.streampipes.model.datalake.DataResult;
 import org.apache.streampipes.model.datalake.GroupedDataResult;
-import org.influxdb.InfluxDB;
 import org.influxdb.dto.Query;
 import org.influxdb.dto.QueryResult;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public abstract class DataExplorerQuery<OUT> {
 
   public OUT executeQuery() throws RuntimeException {
-    InfluxDB influxDB = DataExplorerUtils.getInfluxDBClient();
     DataExplorerQueryBuilder queryBuilder = DataExplorerQueryBuilder.create(BackendConfig.INSTANCE.getInfluxDatabaseName());
     getQuery(queryBuilder);
     Query query = queryBuilder.toQuery();
-    QueryResult result;
-    if (queryBuilder.hasTimeUnit()) {
-      result = influxDB.query(query, queryBuilder.getTimeUnit());;
-    } else {
-      result = influxDB.query(query);
-    }
+    QueryResult result = InfluxQueryExecutor.INSTANCE.execute(query,
+            queryBuilder.hasTimeUnit() ? queryBuilder.getTimeUnit() : null,
+            getClass().getSimpleName());
 
-    OUT dataResult = postQuery(result);
-    influxDB.close();
+    return postQuery(result);
+  }
 
-    return dataResult;
+  /**
+   * Executes the query on the shared query pool, e.g. to run independent queries concurrently.
+   */
+  public CompletableFuture<OUT> executeQueryAsync() {
+    return InfluxQueryExecutor.INSTANCE.submit(this::executeQuery);
   }
 
   protected DataResult convertResult(QueryResult result) {
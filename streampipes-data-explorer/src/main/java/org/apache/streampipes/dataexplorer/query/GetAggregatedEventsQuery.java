@@ -18,7 +18,7 @@
 package org.apache.streampipes.dataexplorer.query;
 
 import org.apache.streampipes.dataexplorer.param.AggregatedTimeBoundQueryParams;
-import org.apache.streampipes.dataexplorer.template.QueryTemplates;
+import org.apache.streampipes.dataexplorer.rollup.RollupManager;
 import org.apache.streampipes.model.datalake.DataResult;
 import org.influxdb.dto.QueryResult;
 
@@ -30,7 +30,7 @@ public class GetAggregatedEventsQuery extends ParameterizedDataExplorerQuery<Agg
 
   @Override
   protected void getQuery(DataExplorerQueryBuilder queryBuilder) {
-    queryBuilder.add(QueryTemplates.selectMeanFrom(params.getIndex()));
+    queryBuilder.add(RollupManager.INSTANCE.selectMeanFrom(params.getIndex()));
     queryBuilder.add(" WHERE time > " + params.getStartDate() * 1000000
             + " AND time < " + params.getEndDate() * 1000000);
     queryBuilder.add("GROUP BY time(" + params.getAggregationValue() + params.getAggregationUnit() + ")");
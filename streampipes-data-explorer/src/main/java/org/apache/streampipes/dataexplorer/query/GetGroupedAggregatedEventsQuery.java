@@ -18,6 +18,7 @@
 package org.apache.streampipes.dataexplorer.query;
 
 import org.apache.streampipes.dataexplorer.param.GroupedAggregatedTimeBoundQueryParams;
+import org.apache.streampipes.dataexplorer.rollup.RollupManager;
 import org.apache.streampipes.dataexplorer.template.QueryTemplates;
 import org.apache.streampipes.model.datalake.GroupedDataResult;
 import org.influxdb.dto.QueryResult;
@@ -30,7 +31,7 @@ public class GetGroupedAggregatedEventsQuery extends ParameterizedDataExplorerQu
 
   @Override
   protected void getQuery(DataExplorerQueryBuilder queryBuilder) {
-    queryBuilder.add("SELECT mean(*), count(*) FROM " + params.getIndex());
+    queryBuilder.add(RollupManager.INSTANCE.selectMeanAndCountFrom(params.getIndex()));
     queryBuilder.add(QueryTemplates.whereTimeWithin(params.getStartDate(), params.getEndDate()));
     queryBuilder.add("GROUP BY " + params.getGroupingTag() + ",time("
             + params.getAggregationValue() + params.getAggregationUnit()
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.query;
+
+import org.apache.streampipes.dataexplorer.param.QueryParams;
+import org.apache.streampipes.dataexplorer.template.QueryTemplates;
+import org.influxdb.dto.QueryResult;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Returns the time of the newest event of a measurement in milliseconds or {@link Long#MIN_VALUE}
+ * if the measurement is empty.
+ */
+public class GetLatestEventTimeQuery extends ParameterizedDataExplorerQuery<QueryParams, Long> {
+
+  public GetLatestEventTimeQuery(QueryParams queryParams) {
+    super(queryParams);
+  }
+
+  @Override
+  protected void getQuery(DataExplorerQueryBuilder queryBuilder) {
+    queryBuilder.withTimeUnit(TimeUnit.MILLISECONDS);
+    queryBuilder.add(QueryTemplates.selectWildcardFrom(params.getIndex()));
+    queryBuilder.add("ORDER BY time DESC LIMIT 1");
+  }
+
+  @Override
+  protected Long postQuery(QueryResult result) {
+    if (result.getResults().get(0).getSeries() == null) {
+      return Long.MIN_VALUE;
+    }
+    QueryResult.Series series = result.getResults().get(0).getSeries().get(0);
+    int timestampIndex = series.getColumns().indexOf("time");
+    return ((Number) series.getValues().get(0).get(timestampIndex)).longValue();
+  }
+}
@@ -17,13 +17,13 @@
  */
 package org.apache.streampipes.dataexplorer.query;
 
-import org.apache.streampipes.dataexplorer.param.PagingQueryParams;
+import org.apache.streampipes.dataexplorer.param.QueryParams;
 import org.apache.streampipes.dataexplorer.template.QueryTemplates;
 import org.influxdb.dto.QueryResult;
 
-public class GetMaxPagesQuery extends ParameterizedDataExplorerQuery<PagingQueryParams, Integer> {
+public class GetMeasurementCountQuery extends ParameterizedDataExplorerQuery<QueryParams, Long> {
 
-  public GetMaxPagesQuery(PagingQueryParams queryParams) {
+  public GetMeasurementCountQuery(QueryParams queryParams) {
     super(queryParams);
   }
 
@@ -33,9 +33,18 @@ public class GetMaxPagesQuery extends ParameterizedDataExplorerQuery<PagingQuery
   }
 
   @Override
-  protected Integer postQuery(QueryResult result) {
-    int size = ((Double) result.getResults().get(0).getSeries().get(0).getValues().get(0).get(1)).intValue();
+  protected Long postQuery(QueryResult result) {
+    long count = 0;
+    if (result.getResults().get(0).getSeries() == null) {
+      return count;
+    }
 
-    return (size / params.getItemsPerPage());
+    // count(*) returns one count per field, the largest one is the number of rows
+    for (Object item : result.getResults().get(0).getSeries().get(0).getValues().get(0)) {
+      if (item instanceof Number) {
+        count = Math.max(count, ((Number) item).longValue());
+      }
+    }
+    return count;
   }
 }
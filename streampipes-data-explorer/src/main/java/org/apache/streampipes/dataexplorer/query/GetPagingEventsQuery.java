@@ -17,25 +17,63 @@
  */
 package org.apache.streampipes.dataexplorer.query;
 
+import org.apache.streampipes.dataexplorer.cache.MeasurementCountCache;
 import org.apache.streampipes.dataexplorer.param.PagingQueryParams;
+import org.apache.streampipes.dataexplorer.query.PageCursors.PageCursor;
 import org.apache.streampipes.dataexplorer.template.QueryTemplates;
 import org.apache.streampipes.model.datalake.DataResult;
 import org.apache.streampipes.model.datalake.PageResult;
 import org.influxdb.dto.QueryResult;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalLong;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
+/**
+ * Fetches one page of a measurement. If the previous page has been fetched before, the page is
+ * queried from the time at which the previous page ended, otherwise the preceding rows are skipped
+ * with OFFSET. Pages in the second half of a measurement are counted from its end if the row count
+ * of the measurement is exact, otherwise rows which are written meanwhile would shift the page. The
+ * number of pages is derived from the cached row count of the measurement.
+ */
 public class GetPagingEventsQuery extends ParameterizedDataExplorerQuery<PagingQueryParams, PageResult> {
 
   private TimeUnit timeUnit;
 
+  private final ToLongFunction<String> counts;
+  private final String pagingKey;
+  private final PageCursor cursor;
+
+  private boolean fromEnd;
+  private long endLimit;
+  private long endOffset;
+
   public GetPagingEventsQuery(PagingQueryParams queryParams) {
-    super(queryParams);
+    this(queryParams, null);
   }
 
   public GetPagingEventsQuery(PagingQueryParams queryParams, TimeUnit timeUnit) {
+    this(queryParams, timeUnit, MeasurementCountCache.INSTANCE::getExactCount,
+            MeasurementCountCache.INSTANCE::getCount);
+  }
+
+  GetPagingEventsQuery(PagingQueryParams queryParams,
+                       TimeUnit timeUnit,
+                       Function<String, OptionalLong> exactCounts,
+                       ToLongFunction<String> counts) {
     super(queryParams);
     this.timeUnit = timeUnit;
+    this.counts = counts;
+    this.pagingKey = makePagingKey();
+    this.cursor = PageCursors.INSTANCE.get(pagingKey, params.getPage());
+    if (cursor == null && !params.isFilterByDate()) {
+      exactCounts.apply(params.getIndex()).ifPresent(this::prepareQueryFromEnd);
+    }
   }
 
   @Override
@@ -43,16 +81,19 @@ public class GetPagingEventsQuery extends ParameterizedDataExplorerQuery<PagingQ
     if (this.timeUnit != null) {
       queryBuilder.withTimeUnit(timeUnit);
     }
-    if (params.isFilterByDate()) {
-      queryBuilder
-              .add(QueryTemplates.selectWildcardFrom(params.getIndex()))
-              .add(QueryTemplates.whereTimeWithin(params.getStartDate(), params.getEndDate()))
-              .add("ORDER BY time LIMIT "
-                      + params.getItemsPerPage()
-                      + " OFFSET "
-                      + params.getPage() * params.getItemsPerPage());
+    queryBuilder.add(QueryTemplates.selectWildcardFrom(params.getIndex()));
+    if (cursor != null) {
+      queryBuilder.add("WHERE time >= " + cursor.getTime());
+      if (params.isFilterByDate()) {
+        queryBuilder.add("AND time < " + params.getEndDate() * 1000000);
+      }
+      queryBuilder.add("ORDER BY time LIMIT " + (params.getItemsPerPage() + cursor.getSkippedRows()));
+    } else if (fromEnd) {
+      queryBuilder.add("ORDER BY time DESC LIMIT " + endLimit + " OFFSET " + endOffset);
     } else {
-      queryBuilder.add(QueryTemplates.selectWildcardFrom(params.getIndex()));
+      if (params.isFilterByDate()) {
+        queryBuilder.add(QueryTemplates.whereTimeWithin(params.getStartDate(), params.getEndDate()));
+      }
       queryBuilder.add("ORDER BY time LIMIT "
               + params.getItemsPerPage()
               + " OFFSET "
@@ -63,9 +104,82 @@ public class GetPagingEventsQuery extends ParameterizedDataExplorerQuery<PagingQ
   @Override
   protected PageResult postQuery(QueryResult result) {
     DataResult dataResult = convertResult(result);
-    int pageSum = new GetMaxPagesQuery(PagingQueryParams.from(params.getIndex(), params.getItemsPerPage()))
-            .executeQuery();
+    List<List<Object>> rows = dataResult.getRows();
+
+    if (rows != null && fromEnd) {
+      rows = new ArrayList<>(rows);
+      Collections.reverse(rows);
+    }
+
+    if (rows != null && !rows.isEmpty()) {
+      rememberNextPage(rows);
+      if (cursor != null && cursor.getSkippedRows() > 0) {
+        rows = rows.subList(Math.min(cursor.getSkippedRows(), countRowsAt(rows, cursor.getTime(), true)),
+                rows.size());
+      }
+    }
+
+    long count = counts.applyAsLong(params.getIndex());
+    int pageSum = (int) (count / params.getItemsPerPage());
+
+    return new PageResult(rows != null ? rows.size() : 0, dataResult.getHeaders(), rows, params.getPage(), pageSum);
+  }
+
+  private void prepareQueryFromEnd(long count) {
+    long offset = (long) params.getPage() * params.getItemsPerPage();
+    long rowsAfterPage = count - offset - params.getItemsPerPage();
+    long limit = params.getItemsPerPage() + Math.min(0, rowsAfterPage);
+
+    if (offset > count / 2 && limit > 0) {
+      this.fromEnd = true;
+      this.endLimit = limit;
+      this.endOffset = Math.max(0, rowsAfterPage);
+    }
+  }
+
+  /**
+   * Stores where the next page starts: at the time of the last row, after all rows with this time
+   * which belong to the current page.
+   */
+  private void rememberNextPage(List<List<Object>> rows) {
+    int receivedRows = params.getItemsPerPage() + (cursor != null ? cursor.getSkippedRows() : 0);
+    if (rows.size() < (cursor != null ? receivedRows : params.getItemsPerPage())) {
+      return;
+    }
+    long lastTime = toNanos(rows.get(rows.size() - 1).get(0));
+    int rowsAtLastTime = countRowsAt(rows, lastTime, false);
+    if (cursor == null && rowsAtLastTime == rows.size()) {
+      // the rows before this page might share the same time, the next page is fetched by offset
+      return;
+    }
+    PageCursors.INSTANCE.put(pagingKey, params.getPage() + 1, new PageCursor(lastTime, rowsAtLastTime));
+  }
+
+  private int countRowsAt(List<List<Object>> rows, long time, boolean fromStart) {
+    int count = 0;
+    for (int i = 0; i < rows.size(); i++) {
+      List<Object> row = rows.get(fromStart ? i : rows.size() - 1 - i);
+      if (toNanos(row.get(0)) != time) {
+        break;
+      }
+      count++;
+    }
+    return count;
+  }
+
+  private long toNanos(Object time) {
+    if (time instanceof Number) {
+      return timeUnit.toNanos(((Number) time).longValue());
+    } else {
+      Instant instant = Instant.parse(time.toString());
+      return instant.getEpochSecond() * 1000000000L + instant.getNano();
+    }
+  }
 
-    return new PageResult(dataResult.getTotal(), dataResult.getHeaders(), dataResult.getRows(), params.getPage(), pageSum);
+  private String makePagingKey() {
+    return params.getIndex()
+            + "/" + params.getItemsPerPage()
+            + "/" + (params.isFilterByDate() ? params.getStartDate() + "-" + params.getEndDate() : "all")
+            + "/" + timeUnit;
   }
 }
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.query;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataexplorer.param.TopGroupsQueryParams;
+import org.apache.streampipes.dataexplorer.template.QueryTemplates;
+import org.influxdb.dto.QueryResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Ranks the values of the grouping tag by an aggregate of one field. The ranking is computed by
+ * InfluxDB, only the values of the best groups are returned, in descending order.
+ */
+public class GetTopGroupsQuery extends ParameterizedDataExplorerQuery<TopGroupsQueryParams, List<String>> {
+
+  private static final List<String> RANKING_FUNCTIONS = Arrays.asList("count", "mean", "sum", "max", "min",
+          "spread");
+  private static final String RANK_COLUMN = "top";
+
+  public GetTopGroupsQuery(TopGroupsQueryParams queryParams) {
+    super(queryParams);
+    if (!isSupportedRankingFunction(queryParams.getRankingFunction())) {
+      throw new SpRuntimeException("Unsupported ranking function: " + queryParams.getRankingFunction());
+    }
+  }
+
+  public static boolean isSupportedRankingFunction(String rankingFunction) {
+    return RANKING_FUNCTIONS.contains(rankingFunction);
+  }
+
+  @Override
+  protected void getQuery(DataExplorerQueryBuilder queryBuilder) {
+    String groupingTag = QueryTemplates.quoteIdentifier(params.getGroupingTag());
+    queryBuilder.add("SELECT top(\"rank\", " + groupingTag + ", " + params.getLimit() + ") FROM (");
+    queryBuilder.add("SELECT " + params.getRankingFunction() + "("
+            + QueryTemplates.quoteIdentifier(params.getRankingField()) + ") AS \"rank\" FROM " + params.getIndex());
+    queryBuilder.add(QueryTemplates.whereTimeWithin(params.getStartDate(), params.getEndDate()));
+    queryBuilder.add("GROUP BY " + groupingTag + ")");
+  }
+
+  @Override
+  protected List<String> postQuery(QueryResult result) {
+    List<String> groups = new ArrayList<>();
+    if (result.getResults().get(0).getSeries() == null) {
+      return groups;
+    }
+
+    QueryResult.Series series = result.getResults().get(0).getSeries().get(0);
+    int rankIndex = series.getColumns().indexOf(RANK_COLUMN);
+    int groupIndex = series.getColumns().indexOf(params.getGroupingTag());
+    List<List<Object>> rows = new ArrayList<>(series.getValues());
+    rows.sort(Comparator.comparingDouble((List<Object> row) -> ((Number) row.get(rankIndex)).doubleValue())
+            .reversed());
+    for (List<Object> row : rows) {
+      // events without the tag are not ranked and become part of the remaining groups
+      if (row.get(groupIndex) != null) {
+        groups.add(row.get(groupIndex).toString());
+      }
+    }
+    return groups;
+  }
+}
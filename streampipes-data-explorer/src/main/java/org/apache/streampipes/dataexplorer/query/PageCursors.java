@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.query;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers where the pages of a paged measurement start, so that a page which follows an already
+ * fetched page can be queried by time instead of skipping all previous rows with OFFSET.
+ */
+public enum PageCursors {
+
+  INSTANCE;
+
+  private static final int MAX_PAGINGS = 1000;
+  private static final int MAX_PAGES_PER_PAGING = 10000;
+
+  private final Map<String, Map<Integer, PageCursor>> cursors = Collections.synchronizedMap(
+          new LinkedHashMap<String, Map<Integer, PageCursor>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<Integer, PageCursor>> eldest) {
+              return size() > MAX_PAGINGS;
+            }
+          });
+
+  public PageCursor get(String pagingKey, int page) {
+    Map<Integer, PageCursor> pages = cursors.get(pagingKey);
+    return pages != null ? pages.get(page) : null;
+  }
+
+  public void put(String pagingKey, int page, PageCursor cursor) {
+    Map<Integer, PageCursor> pages = cursors.computeIfAbsent(pagingKey, k -> Collections.synchronizedMap(
+            new LinkedHashMap<>()));
+    if (pages.size() < MAX_PAGES_PER_PAGING || pages.containsKey(page)) {
+      pages.put(page, cursor);
+    }
+  }
+
+  public void invalidateAll() {
+    cursors.clear();
+  }
+
+  /**
+   * Start of a page: the time (in ns) of its first row and the number of rows at this time which
+   * still belong to the previous page.
+   */
+  public static class PageCursor {
+
+    private final long time;
+    private final int skippedRows;
+
+    public PageCursor(long time, int skippedRows) {
+      this.time = time;
+      this.skippedRows = skippedRows;
+    }
+
+    public long getTime() {
+      return time;
+    }
+
+    public int getSkippedRows() {
+      return skippedRows;
+    }
+  }
+}
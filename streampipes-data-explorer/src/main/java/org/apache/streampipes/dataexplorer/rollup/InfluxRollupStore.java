@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.rollup;
+
+import org.apache.streampipes.config.backend.BackendConfig;
+import org.apache.streampipes.dataexplorer.model.Order;
+import org.apache.streampipes.dataexplorer.param.QueryParams;
+import org.apache.streampipes.dataexplorer.query.GetDateFromSortedTableRecord;
+import org.influxdb.dto.QueryResult;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+class InfluxRollupStore implements RollupStore {
+
+  @Override
+  public String getDatabase() {
+    return BackendConfig.INSTANCE.getInfluxDatabaseName();
+  }
+
+  @Override
+  public Set<String> getContinuousQueries() {
+    Set<String> names = new HashSet<>();
+    QueryResult result = new RollupCommand("SHOW CONTINUOUS QUERIES").executeQuery();
+    List<QueryResult.Series> series = result.getResults().get(0).getSeries();
+    if (series != null) {
+      for (QueryResult.Series s : series) {
+        if (getDatabase().equals(s.getName()) && s.getValues() != null) {
+          s.getValues().forEach(row -> names.add(row.get(0).toString()));
+        }
+      }
+    }
+    return names;
+  }
+
+  @Override
+  public Long getOldestTimestamp(String index) {
+    try {
+      return new GetDateFromSortedTableRecord(QueryParams.from(index), Order.ASC).executeQuery();
+    } catch (RuntimeException e) {
+      // the measurement does not contain any data yet
+      return null;
+    }
+  }
+
+  @Override
+  public List<String> getFieldKeys(String measurement) {
+    List<String> fieldKeys = new ArrayList<>();
+    QueryResult result = new RollupCommand("SHOW FIELD KEYS FROM \"" + measurement + "\"").executeQuery();
+    List<QueryResult.Series> series = result.getResults().get(0).getSeries();
+    if (series != null && series.get(0).getValues() != null) {
+      series.get(0).getValues().forEach(row -> fieldKeys.add(row.get(0).toString()));
+    }
+    return fieldKeys;
+  }
+
+  @Override
+  public void execute(String command) {
+    new RollupCommand(command).executeQuery();
+  }
+}
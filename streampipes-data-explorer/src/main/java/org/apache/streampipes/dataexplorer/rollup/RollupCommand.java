@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.rollup;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataexplorer.query.DataExplorerQuery;
+import org.apache.streampipes.dataexplorer.query.DataExplorerQueryBuilder;
+import org.influxdb.dto.QueryResult;
+
+public class RollupCommand extends DataExplorerQuery<QueryResult> {
+
+  private final String command;
+
+  public RollupCommand(String command) {
+    this.command = command;
+  }
+
+  @Override
+  protected void getQuery(DataExplorerQueryBuilder queryBuilder) {
+    queryBuilder.add(command);
+  }
+
+  @Override
+  protected QueryResult postQuery(QueryResult result) throws RuntimeException {
+    if (result.hasError()) {
+      throw new SpRuntimeException(result.getError());
+    }
+    for (QueryResult.Result r : result.getResults()) {
+      if (r.hasError()) {
+        throw new SpRuntimeException(r.getError());
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.rollup;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the rollup tiers of data lake measurements. Rollups are enabled per measurement, each
+ * tier is then filled by a continuous query with the sum and count of all numeric fields per
+ * interval and tag set; existing data is backfilled in daily slices before the continuous query is
+ * created. A tier is used for queries only after its backfill has finished. Measurements without
+ * rollups are always queried from the raw data.
+ */
+public enum RollupManager {
+
+  INSTANCE;
+
+  private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "data-explorer-rollup");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final RollupRegistry registry = new RollupRegistry(new InfluxRollupStore(), backfillExecutor,
+          System::currentTimeMillis);
+
+  /**
+   * Enables the rollups of the measurement, missing tiers are created in the background.
+   */
+  public void enableRollups(String index) {
+    registry.enable(index);
+  }
+
+  public boolean isEnabled(String index) {
+    return registry.isEnabled(index);
+  }
+
+  /**
+   * @return the coarsest tier which is ready and whose interval does not exceed the resolution.
+   */
+  public Optional<RollupTier> selectTier(String index, long resolutionMillis) {
+    return registry.selectTier(index, resolutionMillis);
+  }
+
+  /**
+   * Drops all tiers of the measurement, a backfill which is currently running is stopped first.
+   */
+  public void dropRollups(String index) {
+    registry.drop(index);
+  }
+
+  /**
+   * @return a select clause for the mean of all fields of a measurement or of one of its tiers.
+   */
+  public String selectMeanFrom(String index) {
+    return registry.selectMeanFrom(index, false);
+  }
+
+  /**
+   * @return a select clause for the mean and count of all fields of a measurement or of one of its
+   * tiers.
+   */
+  public String selectMeanAndCountFrom(String index) {
+    return registry.selectMeanFrom(index, true);
+  }
+}
@@ -0,0 +1,314 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.rollup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Rollup tiers of the measurements for which rollups have been enabled. Tiers are created and
+ * backfilled in the background, each measurement is guarded by its own lock. Dropping the tiers of
+ * a measurement cancels its backfill and only waits until the running slice of that measurement is
+ * finished, not for the backfills of other measurements.
+ */
+class RollupRegistry {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RollupRegistry.class);
+
+  static final long BACKFILL_SLICE_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+  private static final String SUM_PREFIX = "sum_";
+  private static final String COUNT_PREFIX = "count_";
+
+  private final RollupStore store;
+  private final ExecutorService backfillExecutor;
+  private final LongSupplier clock;
+
+  private final Map<String, Rollup> rollups = new ConcurrentHashMap<>();
+  private final Map<String, List<String>> rollupFields = new ConcurrentHashMap<>();
+  private final Map<String, Lock> measurementLocks = new ConcurrentHashMap<>();
+  private volatile boolean existingRollupsLoaded;
+
+  RollupRegistry(RollupStore store, ExecutorService backfillExecutor, LongSupplier clock) {
+    this.store = store;
+    this.backfillExecutor = backfillExecutor;
+    this.clock = clock;
+  }
+
+  /**
+   * Creates the missing tiers of the measurement in the background.
+   */
+  Future<?> enable(String index) {
+    loadExistingRollups();
+    Rollup rollup = rollups.computeIfAbsent(index, k -> new Rollup());
+    if (rollup.startCreation()) {
+      return backfillExecutor.submit(() -> createRollups(index, rollup));
+    } else {
+      return CompletableFuture.completedFuture(null);
+    }
+  }
+
+  boolean isEnabled(String index) {
+    loadExistingRollups();
+    return rollups.containsKey(index);
+  }
+
+  /**
+   * @return the coarsest tier which is ready and whose interval does not exceed the resolution.
+   */
+  Optional<RollupTier> selectTier(String index, long resolutionMillis) {
+    loadExistingRollups();
+    Rollup rollup = rollups.get(index);
+    RollupTier selected = null;
+    if (rollup != null) {
+      for (RollupTier tier : RollupTier.values()) {
+        if (tier.getIntervalMillis() <= resolutionMillis && rollup.readyTiers.contains(tier)) {
+          selected = tier;
+        }
+      }
+    }
+    return Optional.ofNullable(selected);
+  }
+
+  void drop(String index) {
+    Rollup rollup = rollups.remove(index);
+    if (rollup != null) {
+      rollup.cancelled = true;
+    }
+    for (RollupTier tier : RollupTier.values()) {
+      rollupFields.remove(tier.getMeasurementName(index));
+    }
+
+    // a cancelled backfill stops at its next slice, a queued one when it is started
+    Lock lock = getLock(index);
+    lock.lock();
+    try {
+      dropTiers(index, rollup != null);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Selects the mean of all numeric fields of a measurement. The tiers store the sum and count of
+   * each interval, so that the mean of a coarser interval is weighted by the number of events.
+   */
+  String selectMeanFrom(String index, boolean withCount) {
+    List<String> fields = isRollupMeasurement(index) ? getRollupFields(index) : Collections.emptyList();
+    if (fields.isEmpty()) {
+      return "SELECT mean(*)" + (withCount ? ", count(*)" : "") + " FROM " + index;
+    }
+
+    StringJoiner select = new StringJoiner(", ", "SELECT ", " FROM " + index);
+    for (String field : fields) {
+      select.add("sum(\"" + SUM_PREFIX + field + "\") / sum(\"" + COUNT_PREFIX + field + "\") AS \""
+              + field + "\"");
+    }
+    if (withCount) {
+      for (String field : fields) {
+        select.add("sum(\"" + COUNT_PREFIX + field + "\") AS \"" + COUNT_PREFIX + field + "\"");
+      }
+    }
+    return select.toString();
+  }
+
+  private void createRollups(String index, Rollup rollup) {
+    Lock lock = getLock(index);
+    lock.lock();
+    try {
+      rollup.checkCancelled();
+      Set<String> continuousQueries = store.getContinuousQueries();
+      for (RollupTier tier : RollupTier.values()) {
+        if (!continuousQueries.contains(tier.getContinuousQueryName(index))) {
+          long backfilledUntil = backfill(index, tier, rollup);
+          rollup.checkCancelled();
+          store.execute(makeContinuousQuery(index, tier));
+          // events written during the backfill and intervals closed while the continuous query
+          // was created, the continuous query only covers the intervals closed from now on
+          long now = clock.getAsLong();
+          aggregate(index, tier, Math.min(backfilledUntil, now - 2 * tier.getIntervalMillis()), now);
+          LOG.info("Created rollup {} of {}", tier.getInterval(), index);
+        }
+        rollup.readyTiers.add(tier);
+      }
+    } catch (CancellationException e) {
+      LOG.info("Stopped creating rollups of {}", index);
+    } catch (RuntimeException e) {
+      LOG.warn("Could not create rollups of {}, queries use raw data", index, e);
+      if (rollup.readyTiers.isEmpty()) {
+        rollups.remove(index, rollup);
+      }
+    } finally {
+      rollup.creationFinished();
+      lock.unlock();
+    }
+  }
+
+  private Lock getLock(String index) {
+    return measurementLocks.computeIfAbsent(index, k -> new ReentrantLock());
+  }
+
+  /**
+   * @return the end of the backfilled time range, later events are not included.
+   */
+  private long backfill(String index, RollupTier tier, Rollup rollup) {
+    long end = clock.getAsLong();
+    Long oldest = store.getOldestTimestamp(index);
+    if (oldest == null) {
+      return end;
+    }
+    for (long from = oldest - Math.floorMod(oldest, BACKFILL_SLICE_MILLIS); from < end;
+         from += BACKFILL_SLICE_MILLIS) {
+      rollup.checkCancelled();
+      aggregate(index, tier, from, Math.min(from + BACKFILL_SLICE_MILLIS, end));
+    }
+    return end;
+  }
+
+  private void aggregate(String index, RollupTier tier, long from, long to) {
+    long alignedFrom = from - Math.floorMod(from, tier.getIntervalMillis());
+    store.execute(makeRollupSelect(index, tier, "WHERE time >= " + alignedFrom * 1000000
+            + " AND time < " + to * 1000000));
+  }
+
+  private void dropTiers(String index, boolean enabled) {
+    Set<String> continuousQueries = store.getContinuousQueries();
+    for (RollupTier tier : RollupTier.values()) {
+      boolean hasContinuousQuery = continuousQueries.contains(tier.getContinuousQueryName(index));
+      if (!enabled && !hasContinuousQuery) {
+        continue;
+      }
+      try {
+        if (hasContinuousQuery) {
+          store.execute("DROP CONTINUOUS QUERY \"" + tier.getContinuousQueryName(index) + "\" ON \""
+                  + store.getDatabase() + "\"");
+        }
+        store.execute("DROP MEASUREMENT \"" + tier.getMeasurementName(index) + "\"");
+      } catch (RuntimeException e) {
+        LOG.warn("Could not drop rollup {} of {}", tier.getInterval(), index, e);
+      }
+    }
+  }
+
+  /**
+   * Restores the tiers which have been created before the last restart, they are found by the
+   * names of their continuous queries.
+   */
+  private void loadExistingRollups() {
+    if (existingRollupsLoaded) {
+      return;
+    }
+    synchronized (this) {
+      if (!existingRollupsLoaded) {
+        try {
+          for (String continuousQuery : store.getContinuousQueries()) {
+            for (RollupTier tier : RollupTier.values()) {
+              tier.getIndexOfContinuousQuery(continuousQuery).ifPresent(index ->
+                      rollups.computeIfAbsent(index, k -> new Rollup()).readyTiers.add(tier));
+            }
+          }
+          existingRollupsLoaded = true;
+        } catch (RuntimeException e) {
+          LOG.warn("Could not load the existing rollups", e);
+        }
+      }
+    }
+  }
+
+  private boolean isRollupMeasurement(String measurement) {
+    for (Map.Entry<String, Rollup> entry : rollups.entrySet()) {
+      for (RollupTier tier : entry.getValue().readyTiers) {
+        if (tier.getMeasurementName(entry.getKey()).equals(measurement)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private List<String> getRollupFields(String measurement) {
+    List<String> fields = rollupFields.get(measurement);
+    if (fields == null) {
+      fields = new ArrayList<>();
+      for (String fieldKey : store.getFieldKeys(measurement)) {
+        if (fieldKey.startsWith(SUM_PREFIX)) {
+          fields.add(fieldKey.substring(SUM_PREFIX.length()));
+        }
+      }
+      Collections.sort(fields);
+      if (!fields.isEmpty()) {
+        // the fields of a measurement do not change, see DataLakeNoUserManagementV3#addDataLake
+        rollupFields.put(measurement, fields);
+      }
+    }
+    return fields;
+  }
+
+  private String makeContinuousQuery(String index, RollupTier tier) {
+    return "CREATE CONTINUOUS QUERY \"" + tier.getContinuousQueryName(index) + "\" ON \"" + store.getDatabase()
+            + "\" RESAMPLE EVERY " + tier.getInterval() + " FOR " + tier.getResampleWindow()
+            + " BEGIN " + makeRollupSelect(index, tier, "") + " END";
+  }
+
+  private String makeRollupSelect(String index, RollupTier tier, String whereClause) {
+    return "SELECT sum(*), count(*) INTO \"" + tier.getMeasurementName(index) + "\" FROM \"" + index + "\" "
+            + whereClause + " GROUP BY time(" + tier.getInterval() + "), *";
+  }
+
+  private static class Rollup {
+
+    private final Set<RollupTier> readyTiers = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+    private boolean creating;
+
+    synchronized boolean startCreation() {
+      if (creating || readyTiers.size() == RollupTier.values().length) {
+        return false;
+      }
+      creating = true;
+      return true;
+    }
+
+    synchronized void creationFinished() {
+      creating = false;
+    }
+
+    void checkCancelled() {
+      if (cancelled) {
+        throw new CancellationException();
+      }
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.rollup;
+
+import java.util.Optional;
+
+/**
+ * Downsampled copies of a measurement, which are maintained by continuous queries.
+ */
+public enum RollupTier {
+
+  SECOND("1s", 1000L, "1m"),
+  MINUTE("1m", 60 * 1000L, "10m"),
+  HOUR("1h", 60 * 60 * 1000L, "2h");
+
+  private static final String MEASUREMENT_SUFFIX = "_rollup_";
+  private static final String CONTINUOUS_QUERY_PREFIX = "cq_";
+
+  private final String interval;
+  private final long intervalMillis;
+  private final String resampleWindow;
+
+  RollupTier(String interval, long intervalMillis, String resampleWindow) {
+    this.interval = interval;
+    this.intervalMillis = intervalMillis;
+    this.resampleWindow = resampleWindow;
+  }
+
+  public String getInterval() {
+    return interval;
+  }
+
+  public long getIntervalMillis() {
+    return intervalMillis;
+  }
+
+  /**
+   * @return the time range which the continuous query aggregates again on each run, so that events
+   * arriving late are added to the intervals which have already been rolled up.
+   */
+  public String getResampleWindow() {
+    return resampleWindow;
+  }
+
+  public String getMeasurementName(String index) {
+    return index + MEASUREMENT_SUFFIX + interval;
+  }
+
+  public String getContinuousQueryName(String index) {
+    return CONTINUOUS_QUERY_PREFIX + getMeasurementName(index);
+  }
+
+  /**
+   * @return the measurement whose tier is maintained by the continuous query with the given name.
+   */
+  public Optional<String> getIndexOfContinuousQuery(String continuousQueryName) {
+    String suffix = MEASUREMENT_SUFFIX + interval;
+    if (continuousQueryName.startsWith(CONTINUOUS_QUERY_PREFIX) && continuousQueryName.endsWith(suffix)
+            && continuousQueryName.length() > CONTINUOUS_QUERY_PREFIX.length() + suffix.length()) {
+      return Optional.of(continuousQueryName.substring(CONTINUOUS_QUERY_PREFIX.length(),
+              continuousQueryName.length() - suffix.length()));
+    }
+    return Optional.empty();
+  }
+}
@@ -37,4 +37,12 @@ public class QueryTemplates {
             + " AND time < "
             + endDate * 1000000;
   }
+
+  public static String quoteIdentifier(String identifier) {
+    return "\"" + identifier.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+  }
+
+  public static String quoteString(String value) {
+    return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+  }
 }
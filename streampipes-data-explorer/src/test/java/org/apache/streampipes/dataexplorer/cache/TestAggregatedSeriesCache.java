@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.cache;
+
+import org.apache.streampipes.model.datalake.DataResult;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestAggregatedSeriesCache {
+
+  private static final long MINUTE = 60 * 1000L;
+
+  private FakeSource source;
+  private long now;
+  private AggregatedSeriesCache cache;
+
+  @Before
+  public void setUp() {
+    source = new FakeSource();
+    now = 60 * MINUTE;
+    cache = new AggregatedSeriesCache(source, () -> now);
+    for (int i = 0; i < 10; i++) {
+      source.add(i * MINUTE, i);
+      source.add(i * MINUTE + MINUTE / 2, i + 1);
+    }
+  }
+
+  @Test
+  public void testRepeatedQueryOnlyFetchesOpenBuckets() {
+    DataResult first = query(0, 30 * MINUTE);
+    source.queries.clear();
+    DataResult second = query(0, 30 * MINUTE);
+
+    assertEquals(first.getRows(), second.getRows());
+    assertEquals(10, second.getRows().size());
+    for (long[] range : source.queries) {
+      assertTrue(range[0] >= 9 * MINUTE - 1);
+    }
+  }
+
+  @Test
+  public void testKeepsRequestedStartBoundary() {
+    DataResult result = query(2 * MINUTE + MINUTE / 4, 30 * MINUTE);
+
+    assertEquals(8, result.getRows().size());
+    assertEquals(2 * MINUTE, BucketInterval.getRowTime(result.getRows().get(0)));
+    // only the event at 2.5 minutes lies after the requested start
+    assertEquals(3.0, result.getRows().get(0).get(1));
+    assertEquals(3.5, result.getRows().get(1).get(1));
+  }
+
+  @Test
+  public void testKeepsRequestedEndBoundary() {
+    query(0, 30 * MINUTE);
+    DataResult result = query(0, 4 * MINUTE + MINUTE / 4);
+
+    assertEquals(5, result.getRows().size());
+    assertEquals(4.0, result.getRows().get(4).get(1));
+  }
+
+  @Test
+  public void testRangeWithinOneBucketIsNotWidened() {
+    DataResult result = query(3 * MINUTE + MINUTE / 4, 3 * MINUTE + 3 * MINUTE / 4);
+
+    assertEquals(1, result.getRows().size());
+    assertEquals(4.0, result.getRows().get(0).get(1));
+    assertEquals(0, cache.getCachedRows());
+  }
+
+  @Test
+  public void testDelayedEventsAfterWatermarkAreNotHidden() {
+    query(0, 30 * MINUTE);
+    // the newest event is at 9.5 minutes, buckets from 9 minutes on are still open
+    source.add(9 * MINUTE + 10, 100);
+    source.add(12 * MINUTE, 12);
+    DataResult result = query(0, 30 * MINUTE);
+
+    assertEquals(11, result.getRows().size());
+    assertEquals((9.0 + 10 + 100) / 3, result.getRows().get(9).get(1));
+    assertEquals(12.0, result.getRows().get(10).get(1));
+  }
+
+  @Test
+  public void testInvalidateReloadsOverwrittenBuckets() {
+    query(0, 30 * MINUTE);
+    source.add(MINUTE + 1, 1000);
+    assertEquals(1.5, query(0, 30 * MINUTE).getRows().get(1).get(1));
+
+    cache.invalidate("m");
+    assertEquals((1.0 + 2 + 1000) / 3, query(0, 30 * MINUTE).getRows().get(1).get(1));
+  }
+
+  @Test
+  public void testEmptyMeasurementIsNotCached() {
+    source = new FakeSource();
+    cache = new AggregatedSeriesCache(source, () -> now);
+
+    assertNull(query(0, 30 * MINUTE).getHeaders());
+    assertEquals(0, cache.getCachedRows());
+  }
+
+  private DataResult query(long startDate, long endDate) {
+    return cache.getEvents("m", startDate, endDate, "m", 1, MINUTE);
+  }
+
+  /**
+   * Aggregates the mean of the added events per minute like a GROUP BY time(1m) query.
+   */
+  private static class FakeSource implements AggregatedSource {
+
+    private final TreeMap<Long, List<Double>> events = new TreeMap<>();
+    private final List<long[]> queries = new ArrayList<>();
+
+    void add(long time, double value) {
+      events.computeIfAbsent(time, t -> new ArrayList<>()).add(value);
+    }
+
+    @Override
+    public DataResult query(String index, long startDate, long endDate, String unit, int value) {
+      queries.add(new long[]{startDate, endDate});
+      if (events.isEmpty()) {
+        return new DataResult();
+      }
+      TreeMap<Long, List<Double>> buckets = new TreeMap<>();
+      events.subMap(startDate, false, endDate, false).forEach((time, values) ->
+              buckets.computeIfAbsent(BucketInterval.floor(time, MINUTE), t -> new ArrayList<>())
+                      .addAll(values));
+      List<List<Object>> rows = new ArrayList<>();
+      buckets.forEach((time, values) -> rows.add(Arrays.asList(time,
+              values.stream().mapToDouble(Double::doubleValue).average().getAsDouble())));
+      return new DataResult(rows.size(), Arrays.asList("time", "value"), rows);
+    }
+
+    @Override
+    public long getLatestEventTime(String index) {
+      return events.isEmpty() ? Long.MIN_VALUE : events.lastKey();
+    }
+  }
+}
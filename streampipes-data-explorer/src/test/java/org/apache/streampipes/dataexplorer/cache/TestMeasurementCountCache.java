@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.cache;
+
+import org.apache.streampipes.dataexplorer.cache.MeasurementCountCache.CachedCount;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestMeasurementCountCache {
+
+  private static final long NOW = 1000000L;
+
+  @Test
+  public void testCountOfSettledMeasurementIsExact() {
+    CachedCount count = new CachedCount(10, NOW - MeasurementCountCache.SETTLE_PERIOD_MILLIS - 1, NOW);
+
+    assertTrue(count.isExact(NOW));
+    assertFalse(count.isOutdated(NOW));
+  }
+
+  @Test
+  public void testCountOfWrittenMeasurementIsNotExact() {
+    assertFalse(new CachedCount(10, NOW - 1, NOW).isExact(NOW));
+    assertFalse(new CachedCount(10, NOW + 1000, NOW).isExact(NOW));
+  }
+
+  @Test
+  public void testOutdatedCountIsNotExact() {
+    CachedCount count = new CachedCount(10, Long.MIN_VALUE, NOW);
+    long later = NOW + MeasurementCountCache.REFRESH_INTERVAL_MILLIS + 1;
+
+    assertTrue(count.isOutdated(later));
+    assertFalse(count.isExact(later));
+  }
+
+  @Test
+  public void testCountOfEmptyMeasurementIsExact() {
+    assertTrue(new CachedCount(0, Long.MIN_VALUE, NOW).isExact(NOW));
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.executor;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class TestQueryMetrics {
+
+  @Test
+  public void testRecordAggregatesLatencies() {
+    QueryMetrics metrics = new QueryMetrics();
+
+    metrics.record(TimeUnit.MILLISECONDS.toNanos(10), false);
+    metrics.record(TimeUnit.MILLISECONDS.toNanos(30), true);
+    metrics.record(TimeUnit.MILLISECONDS.toNanos(20), false);
+
+    assertEquals(3, metrics.getCount());
+    assertEquals(1, metrics.getErrors());
+    assertEquals(20.0, metrics.getMeanMillis(), 1e-9);
+    assertEquals(30.0, metrics.getMaxMillis(), 1e-9);
+    assertEquals(20.0, metrics.getLastMillis(), 1e-9);
+  }
+
+  @Test
+  public void testCopyIsASnapshot() {
+    QueryMetrics metrics = new QueryMetrics();
+    metrics.record(TimeUnit.MILLISECONDS.toNanos(10), false);
+
+    QueryMetrics copy = metrics.copy();
+    metrics.record(TimeUnit.MILLISECONDS.toNanos(50), false);
+
+    assertEquals(1, copy.getCount());
+    assertEquals(10.0, copy.getMaxMillis(), 1e-9);
+  }
+
+  @Test
+  public void testEmptyMetricsHaveZeroMean() {
+    assertEquals(0.0, new QueryMetrics().getMeanMillis(), 0.0);
+  }
+
+  @Test
+  public void testAwaitRethrowsQueryException() {
+    IllegalStateException error = new IllegalStateException("query failed");
+    CompletableFuture<Object> future = new CompletableFuture<>();
+    future.completeExceptionally(error);
+
+    try {
+      InfluxQueryExecutor.await(future);
+      fail();
+    } catch (IllegalStateException e) {
+      assertSame(error, e);
+    }
+  }
+
+  @Test
+  public void testAwaitReturnsResult() {
+    assertEquals("result", InfluxQueryExecutor.await(CompletableFuture.completedFuture("result")));
+  }
+}
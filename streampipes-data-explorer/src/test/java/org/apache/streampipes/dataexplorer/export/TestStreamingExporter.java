@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.export;
+
+import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestStreamingExporter {
+
+  private static final List<String> COLUMNS = Arrays.asList("time", "value");
+
+  @Test
+  public void testRowsSharingATimestampAcrossQueriesAreExportedOnce() throws IOException {
+    FakeMeasurement measurement = new FakeMeasurement(1, 2, 3, 3, 3, 4);
+    CollectingRowWriter writer = new CollectingRowWriter();
+
+    new StreamingExporter("m", null, null, "sp", measurement, 3).export(writer);
+
+    assertEquals(Arrays.asList(1L, 2L, 3L, 3L, 3L, 4L), writer.timestamps);
+    assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), writer.values);
+    assertEquals(3, measurement.queries.size());
+  }
+
+  @Test
+  public void testExportIsBoundedByStartAndEndDate() throws IOException {
+    FakeMeasurement measurement = new FakeMeasurement(1, 2, 3, 4, 5);
+    CollectingRowWriter writer = new CollectingRowWriter();
+
+    new StreamingExporter("m", 1L, 4L, "sp", measurement, 10).export(writer);
+
+    assertEquals(Arrays.asList(2L, 3L), writer.timestamps);
+    assertEquals("SELECT * FROM m WHERE time >= 1000001 AND time < 4000000 ORDER BY time LIMIT 10",
+            measurement.queries.get(0));
+  }
+
+  @Test
+  public void testEmptyMeasurementIsExportedAsEmptyArray() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    new StreamingExporter("m", null, null, "sp", new FakeMeasurement(), 10)
+            .export(new JsonRowWriter(outputStream));
+
+    assertEquals("[]", new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testCsvKeepsColumnsOfTheFirstRow() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    CsvRowWriter writer = new CsvRowWriter(outputStream);
+
+    writer.beforeFirstRow();
+    writer.writeRow(Arrays.asList("time", "a", "b"), 1, Arrays.asList("t", 1, "x"));
+    writer.writeRow(Arrays.asList("time", "b", "c", "a"), 2, Arrays.asList("t", "y", true, 2));
+    writer.afterLastRow();
+
+    assertEquals("time;a;b\n1;1;x\n2;2;y\n", new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testJsonWritesRowsAsObjects() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    JsonRowWriter writer = new JsonRowWriter(outputStream);
+
+    writer.beforeFirstRow();
+    writer.writeRow(Arrays.asList("time", "a", "b"), 1, Arrays.asList("t", 1.5, null));
+    writer.writeRow(Arrays.asList("time", "a", "b"), 2, Arrays.asList("t", true, "x"));
+    writer.afterLastRow();
+
+    assertEquals("[{\"time\":1,\"a\":1.5,\"b\":null},{\"time\":2,\"a\":true,\"b\":\"x\"}]",
+            new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Answers the queries of the exporter from rows with the given timestamps (in ms), the value of
+   * each row is its position. Results are returned in chunks of two rows.
+   */
+  private static class FakeMeasurement implements ChunkedQuerySource {
+
+    private static final Pattern LOWER_BOUND = Pattern.compile("time >= (\\d+)");
+    private static final Pattern UPPER_BOUND = Pattern.compile("time < (\\d+)");
+    private static final Pattern LIMIT = Pattern.compile("LIMIT (\\d+)");
+
+    private final long[] timestamps;
+    private final List<String> queries = new ArrayList<>();
+
+    FakeMeasurement(long... timestamps) {
+      this.timestamps = timestamps;
+    }
+
+    @Override
+    public void query(Query query, int chunkSize, Consumer<QueryResult> onChunk) {
+      String command = query.getCommand();
+      queries.add(command);
+      long lowerBound = find(LOWER_BOUND, command, Long.MIN_VALUE);
+      long upperBound = find(UPPER_BOUND, command, Long.MAX_VALUE);
+      long limit = find(LIMIT, command, Long.MAX_VALUE);
+
+      List<List<Object>> rows = new ArrayList<>();
+      for (int i = 0; i < timestamps.length && rows.size() < limit; i++) {
+        long nanos = timestamps[i] * 1000000;
+        if (nanos >= lowerBound && nanos < upperBound) {
+          rows.add(Arrays.asList(Instant.ofEpochMilli(timestamps[i]).toString(), i));
+        }
+      }
+      for (int i = 0; i < rows.size(); i += 2) {
+        onChunk.accept(makeChunk(rows.subList(i, Math.min(i + 2, rows.size()))));
+      }
+    }
+
+    private long find(Pattern pattern, String command, long defaultValue) {
+      Matcher matcher = pattern.matcher(command);
+      return matcher.find() ? Long.parseLong(matcher.group(1)) : defaultValue;
+    }
+
+    private QueryResult makeChunk(List<List<Object>> rows) {
+      QueryResult.Series series = new QueryResult.Series();
+      series.setColumns(COLUMNS);
+      series.setValues(rows);
+      QueryResult.Result result = new QueryResult.Result();
+      result.setSeries(Collections.singletonList(series));
+      QueryResult chunk = new QueryResult();
+      chunk.setResults(Collections.singletonList(result));
+      return chunk;
+    }
+  }
+
+  private static class CollectingRowWriter implements RowWriter {
+
+    private final List<Long> timestamps = new ArrayList<>();
+    private final List<Object> values = new ArrayList<>();
+
+    @Override
+    public void beforeFirstRow() {
+    }
+
+    @Override
+    public void writeRow(List<String> columns, long timestamp, List<Object> row) {
+      timestamps.add(timestamp);
+      values.add(row.get(1));
+    }
+
+    @Override
+    public void afterLastRow() {
+    }
+  }
+}
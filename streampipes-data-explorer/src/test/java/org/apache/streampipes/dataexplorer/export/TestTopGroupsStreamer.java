@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.export;
+
+import org.apache.streampipes.dataexplorer.param.TopGroupsQueryParams;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestTopGroupsStreamer {
+
+  private final TopGroupsStreamer streamer = new TopGroupsStreamer(TopGroupsQueryParams.from("m", 1, 2, "s", 10,
+          "machine", 2, "count", "temperature"));
+
+  @Test
+  public void testTopGroupsQuery() {
+    assertEquals("SELECT mean(*) FROM m WHERE time > 1000000 AND time < 2000000 "
+                    + "AND (\"machine\" = 'a' OR \"machine\" = 'b') GROUP BY \"machine\",time(10s) fill(none) "
+                    + "ORDER BY time",
+            streamer.makeSeriesQuery(Arrays.asList("a", "b"), true));
+  }
+
+  @Test
+  public void testRemainingGroupsQuery() {
+    assertEquals("SELECT mean(*) FROM m WHERE time > 1000000 AND time < 2000000 "
+                    + "AND (\"machine\" != 'a' AND \"machine\" != 'b') GROUP BY time(10s) fill(none) "
+                    + "ORDER BY time",
+            streamer.makeSeriesQuery(Arrays.asList("a", "b"), false));
+  }
+
+  @Test
+  public void testUngroupedQueryWithoutTopGroups() {
+    assertEquals("SELECT mean(*) FROM m WHERE time > 1000000 AND time < 2000000 GROUP BY time(10s) fill(none) "
+                    + "ORDER BY time",
+            streamer.makeSeriesQuery(Collections.emptyList(), false));
+  }
+
+  @Test
+  public void testSeriesAreWrittenAsGroupedResult() throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    GroupedSeriesWriter writer = new GroupedSeriesWriter(outputStream);
+
+    writer.beforeFirstSeries();
+    writer.beginSeries("machine=a", Arrays.asList("time", "mean_temperature"));
+    writer.writeRow(Arrays.asList("2021-01-01T00:00:00Z", 1.5));
+    writer.endSeries();
+    writer.beginSeries("machine=other", Arrays.asList("time", "mean_temperature"));
+    writer.writeRow(Arrays.asList("2021-01-01T00:00:00Z", 2.5));
+    writer.endSeries();
+    writer.beginRemainingSeries(Arrays.asList("time", "mean_temperature"));
+    writer.writeRow(Arrays.asList("2021-01-01T00:00:00Z", null));
+    writer.endSeries();
+    writer.afterLastSeries();
+
+    assertEquals("{\"dataResults\":{"
+                    + "\"machine=a\":{\"headers\":[\"time\",\"temperature\"],"
+                    + "\"rows\":[[\"2021-01-01T00:00:00Z\",1.5]],\"total\":1},"
+                    + "\"machine=other\":{\"headers\":[\"time\",\"temperature\"],"
+                    + "\"rows\":[[\"2021-01-01T00:00:00Z\",2.5]],\"total\":1}},"
+                    + "\"remainingGroups\":{\"headers\":[\"time\",\"temperature\"],"
+                    + "\"rows\":[[\"2021-01-01T00:00:00Z\",null]],\"total\":1},\"total\":2}",
+            new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testResultWithoutRemainingGroups() throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    GroupedSeriesWriter writer = new GroupedSeriesWriter(outputStream);
+
+    writer.beforeFirstSeries();
+    writer.beginSeries("machine=a", Collections.singletonList("time"));
+    writer.endSeries();
+    writer.afterLastSeries();
+
+    assertEquals("{\"dataResults\":{\"machine=a\":{\"headers\":[\"time\"],\"rows\":[],"
+                    + "\"total\":0}},\"total\":1}",
+            new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.query;
+
+import org.apache.streampipes.dataexplorer.param.PagingQueryParams;
+import org.apache.streampipes.model.datalake.PageResult;
+import org.influxdb.dto.QueryResult;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestGetPagingEventsQuery {
+
+  @Test
+  public void testPagesFromEndWithExactCount() {
+    GetPagingEventsQuery query = makeQuery("exact", 8, OptionalLong.of(100));
+
+    assertTrue(toQuery(query).endsWith("ORDER BY time DESC LIMIT 10 OFFSET 10"));
+  }
+
+  @Test
+  public void testPagesByOffsetWithoutExactCount() {
+    GetPagingEventsQuery query = makeQuery("written", 8, OptionalLong.empty());
+
+    assertTrue(toQuery(query).endsWith("ORDER BY time LIMIT 10 OFFSET 80"));
+  }
+
+  @Test
+  public void testPagesByOffsetInFirstHalf() {
+    GetPagingEventsQuery query = makeQuery("firstHalf", 2, OptionalLong.of(100));
+
+    assertTrue(toQuery(query).endsWith("ORDER BY time LIMIT 10 OFFSET 20"));
+  }
+
+  @Test
+  public void testLastPageFromEndIsTruncatedAndReversed() {
+    GetPagingEventsQuery query = makeQuery("lastPage", 9, OptionalLong.of(95));
+    assertTrue(toQuery(query).endsWith("ORDER BY time DESC LIMIT 5 OFFSET 0"));
+
+    PageResult result = query.postQuery(makeResult(94, 93, 92, 91, 90));
+
+    assertEquals(5, result.getRows().size());
+    assertEquals(90L, result.getRows().get(0).get(0));
+    assertEquals(94L, result.getRows().get(4).get(0));
+  }
+
+  @Test
+  public void testNextPageIsQueriedFromCursor() {
+    GetPagingEventsQuery query = makeQuery("cursor", 3, OptionalLong.empty());
+    query.postQuery(makeResult(30, 31, 32, 33, 34, 35, 36, 37, 38, 38));
+
+    GetPagingEventsQuery nextQuery = makeQuery("cursor", 4, OptionalLong.empty());
+    String nextQueryString = toQuery(nextQuery);
+    assertTrue(nextQueryString.contains("WHERE time >= " + TimeUnit.MILLISECONDS.toNanos(38)));
+    assertTrue(nextQueryString.endsWith("ORDER BY time LIMIT 12"));
+
+    PageResult result = nextQuery.postQuery(makeResult(38, 38, 38, 39, 40, 41, 42, 43, 44, 45, 46, 47));
+    assertEquals(10, result.getRows().size());
+    assertEquals(38L, result.getRows().get(0).get(0));
+    assertEquals(47L, result.getRows().get(9).get(0));
+  }
+
+  @Test
+  public void testPageSumUsesCount() {
+    GetPagingEventsQuery query = makeQuery("pageSum", 0, OptionalLong.empty());
+
+    assertEquals(10, query.postQuery(makeResult(1, 2, 3)).getPageSum());
+  }
+
+  private GetPagingEventsQuery makeQuery(String index, int page, OptionalLong exactCount) {
+    return new GetPagingEventsQuery(PagingQueryParams.from(index, 10, page), TimeUnit.MILLISECONDS,
+            i -> exactCount, i -> 100);
+  }
+
+  private String toQuery(GetPagingEventsQuery query) {
+    DataExplorerQueryBuilder builder = DataExplorerQueryBuilder.create("sp");
+    query.getQuery(builder);
+    return builder.toQuery().getCommand();
+  }
+
+  private QueryResult makeResult(long... times) {
+    List<List<Object>> values = new ArrayList<>();
+    for (long time : times) {
+      values.add(Arrays.asList(time, (double) time));
+    }
+    QueryResult.Series series = new QueryResult.Series();
+    series.setColumns(new ArrayList<>(Arrays.asList("time", "value")));
+    series.setValues(values);
+    QueryResult.Result result = new QueryResult.Result();
+    result.setSeries(Collections.singletonList(series));
+    QueryResult queryResult = new QueryResult();
+    queryResult.setResults(Collections.singletonList(result));
+    return queryResult;
+  }
+}
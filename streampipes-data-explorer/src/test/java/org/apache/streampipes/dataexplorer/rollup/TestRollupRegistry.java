@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.rollup;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestRollupRegistry {
+
+  private static final long NOW = TimeUnit.DAYS.toMillis(100);
+
+  private FakeStore store;
+  private ExecutorService executor;
+  private RollupRegistry registry;
+
+  @Before
+  public void setUp() {
+    store = new FakeStore();
+    executor = Executors.newSingleThreadExecutor();
+    registry = new RollupRegistry(store, executor, () -> NOW);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testRollupsAreNotCreatedUntilEnabled() {
+    assertEquals(Optional.empty(), registry.selectTier("m", TimeUnit.HOURS.toMillis(1)));
+    assertFalse(registry.isEnabled("m"));
+    assertTrue(store.commands.isEmpty());
+  }
+
+  @Test
+  public void testEnableBackfillsAndCreatesTiers() throws Exception {
+    store.oldest = NOW - TimeUnit.HOURS.toMillis(30);
+    registry.enable("m").get();
+
+    for (RollupTier tier : RollupTier.values()) {
+      assertTrue(store.commands.contains("CREATE CONTINUOUS QUERY \"" + tier.getContinuousQueryName("m")
+              + "\" ON \"sp\" RESAMPLE EVERY " + tier.getInterval() + " FOR " + tier.getResampleWindow()
+              + " BEGIN SELECT sum(*), count(*) INTO \"" + tier.getMeasurementName("m")
+              + "\" FROM \"m\"  GROUP BY time(" + tier.getInterval() + "), * END"));
+    }
+    // two daily slices, the continuous query and the intervals closed while creating it per tier
+    assertEquals(4 * RollupTier.values().length, store.commands.size());
+    assertEquals(Optional.of(RollupTier.MINUTE), registry.selectTier("m", TimeUnit.MINUTES.toMillis(5)));
+    assertEquals(Optional.empty(), registry.selectTier("m", 500));
+  }
+
+  @Test
+  public void testEventsWrittenDuringBackfillAreRolledUp() throws Exception {
+    AtomicLong clock = new AtomicLong(NOW);
+    store.oldest = NOW - TimeUnit.HOURS.toMillis(30);
+    // every aggregation takes an hour
+    store.onRollup = () -> clock.addAndGet(TimeUnit.HOURS.toMillis(1));
+    registry = new RollupRegistry(store, executor, clock::get);
+
+    registry.enable("m").get();
+
+    long backfilledUntil = NOW;
+    long continuousQueryCreated = NOW + TimeUnit.HOURS.toMillis(2);
+    assertTrue(store.commands.contains("SELECT sum(*), count(*) INTO \""
+            + RollupTier.SECOND.getMeasurementName("m") + "\" FROM \"m\" WHERE time >= "
+            + backfilledUntil * 1000000 + " AND time < " + continuousQueryCreated * 1000000
+            + " GROUP BY time(1s), *"));
+  }
+
+  @Test
+  public void testFailedCreationCanBeRetried() throws Exception {
+    store.failing = true;
+    registry.enable("m").get();
+    assertFalse(registry.isEnabled("m"));
+
+    store.failing = false;
+    registry.enable("m").get();
+    assertTrue(registry.isEnabled("m"));
+    assertEquals(Optional.of(RollupTier.HOUR), registry.selectTier("m", TimeUnit.DAYS.toMillis(1)));
+  }
+
+  @Test
+  public void testDropStopsRunningBackfill() throws Exception {
+    store.oldest = NOW - TimeUnit.DAYS.toMillis(10);
+    store.blocked = new CountDownLatch(1);
+    registry.enable("m");
+    store.waitingForRelease.await();
+
+    Thread dropThread = new Thread(() -> registry.drop("m"));
+    dropThread.start();
+    while (registry.isEnabled("m")) {
+      Thread.sleep(1);
+    }
+    store.blocked.countDown();
+    dropThread.join();
+
+    assertFalse(registry.isEnabled("m"));
+    assertTrue(store.commands.stream().noneMatch(c -> c.startsWith("CREATE CONTINUOUS QUERY")));
+    String lastCommand = store.commands.get(store.commands.size() - 1);
+    assertTrue(lastCommand.startsWith("DROP MEASUREMENT"));
+    assertEquals(1, store.commands.stream().filter(c -> c.contains(" INTO ")).count());
+  }
+
+  @Test
+  public void testDropDoesNotWaitForBackfillOfOtherMeasurement() throws Exception {
+    store.continuousQueries.add(RollupTier.SECOND.getContinuousQueryName("b"));
+    store.oldest = NOW - TimeUnit.DAYS.toMillis(10);
+    store.blocked = new CountDownLatch(1);
+    registry.enable("a");
+    store.waitingForRelease.await();
+
+    Thread dropThread = new Thread(() -> registry.drop("b"));
+    dropThread.start();
+    dropThread.join(5000);
+
+    assertFalse(dropThread.isAlive());
+    assertFalse(registry.isEnabled("b"));
+    assertTrue(store.commands.contains("DROP MEASUREMENT \"" + RollupTier.SECOND.getMeasurementName("b")
+            + "\""));
+    assertTrue(registry.isEnabled("a"));
+    store.blocked.countDown();
+  }
+
+  @Test
+  public void testExistingRollupsAreRestored() {
+    store.continuousQueries.add(RollupTier.SECOND.getContinuousQueryName("m"));
+    store.continuousQueries.add(RollupTier.MINUTE.getContinuousQueryName("m"));
+
+    assertTrue(registry.isEnabled("m"));
+    assertEquals(Optional.of(RollupTier.MINUTE), registry.selectTier("m", TimeUnit.HOURS.toMillis(1)));
+    assertFalse(registry.isEnabled("other"));
+  }
+
+  @Test
+  public void testMeanOfTierIsWeightedByCount() {
+    store.continuousQueries.add(RollupTier.MINUTE.getContinuousQueryName("m"));
+    store.fieldKeys = Arrays.asList("count_b", "count_a", "count_label", "sum_b", "sum_a");
+    registry.isEnabled("m");
+
+    assertEquals("SELECT sum(\"sum_a\") / sum(\"count_a\") AS \"a\", sum(\"sum_b\") / sum(\"count_b\") AS \"b\" "
+            + "FROM m_rollup_1m", registry.selectMeanFrom("m_rollup_1m", false));
+    assertEquals("SELECT sum(\"sum_a\") / sum(\"count_a\") AS \"a\", sum(\"sum_b\") / sum(\"count_b\") AS \"b\", "
+                    + "sum(\"count_a\") AS \"count_a\", sum(\"count_b\") AS \"count_b\" FROM m_rollup_1m",
+            registry.selectMeanFrom("m_rollup_1m", true));
+    assertEquals("SELECT mean(*) FROM m", registry.selectMeanFrom("m", false));
+    assertEquals("SELECT mean(*), count(*) FROM m", registry.selectMeanFrom("m", true));
+  }
+
+  @Test
+  public void testIndexOfContinuousQuery() {
+    assertEquals(Optional.of("a_rollup_1h"), RollupTier.SECOND.getIndexOfContinuousQuery(
+            "cq_a_rollup_1h_rollup_1s"));
+    assertEquals(Optional.empty(), RollupTier.MINUTE.getIndexOfContinuousQuery("cq_a_rollup_1s"));
+    assertEquals(Optional.empty(), RollupTier.MINUTE.getIndexOfContinuousQuery("cq__rollup_1m"));
+  }
+
+  private static class FakeStore implements RollupStore {
+
+    private final List<String> commands = Collections.synchronizedList(new ArrayList<>());
+    private final Set<String> continuousQueries = Collections.synchronizedSet(new HashSet<>());
+    private final CountDownLatch waitingForRelease = new CountDownLatch(1);
+    private volatile Long oldest;
+    private volatile boolean failing;
+    private volatile CountDownLatch blocked;
+    private volatile Runnable onRollup;
+    private List<String> fieldKeys = Collections.emptyList();
+
+    @Override
+    public String getDatabase() {
+      return "sp";
+    }
+
+    @Override
+    public Set<String> getContinuousQueries() {
+      return new HashSet<>(continuousQueries);
+    }
+
+    @Override
+    public Long getOldestTimestamp(String index) {
+      return oldest;
+    }
+
+    @Override
+    public List<String> getFieldKeys(String measurement) {
+      return fieldKeys;
+    }
+
+    @Override
+    public void execute(String command) {
+      if (failing && command.startsWith("CREATE")) {
+        throw new RuntimeException("failed");
+      }
+      commands.add(command);
+      if (command.startsWith("CREATE CONTINUOUS QUERY")) {
+        continuousQueries.add(command.split("\"")[1]);
+      } else if (command.startsWith("DROP CONTINUOUS QUERY")) {
+        continuousQueries.remove(command.split("\"")[1]);
+      }
+      if (onRollup != null && command.startsWith("SELECT")) {
+        onRollup.run();
+      }
+      if (blocked != null && command.contains(" INTO ")) {
+        waitingForRelease.countDown();
+        try {
+          blocked.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+}
@@ -21,7 +21,11 @@ package org.apache.streampipes.dataformat.json;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.JacksonEventReader;
+import org.apache.streampipes.dataformat.JacksonEventWriter;
 import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventLayout;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -30,9 +34,13 @@ import java.util.Map;
 public class JsonDataFormatDefinition implements SpDataFormatDefinition {
 
   private ObjectMapper objectMapper;
+  private JacksonEventReader eventReader;
+  private JacksonEventWriter eventWriter;
 
   public JsonDataFormatDefinition() {
     this.objectMapper = new ObjectMapper();
+    this.eventReader = new JacksonEventReader(objectMapper.getFactory());
+    this.eventWriter = new JacksonEventWriter(objectMapper.getFactory());
   }
 
   @Override
@@ -52,4 +60,22 @@ public class JsonDataFormatDefinition implements SpDataFormatDefinition {
       throw new SpRuntimeException("Could not convert map data structure to JSON string");
     }
   }
+
+  @Override
+  public Event toEvent(byte[] event, EventLayout layout) throws SpRuntimeException {
+    try {
+      return eventReader.read(event, layout);
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not convert event to runtime event");
+    }
+  }
+
+  @Override
+  public byte[] fromEvent(Event event) throws SpRuntimeException {
+    try {
+      return eventWriter.write(event);
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not convert runtime event to byte array");
+    }
+  }
 }
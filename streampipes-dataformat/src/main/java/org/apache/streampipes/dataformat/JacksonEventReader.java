@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataformat;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.streampipes.model.runtime.CompiledEvent;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.NestedField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds runtime events straight from the tokens of a Jackson parser (JSON, Smile or CBOR),
+ * without materializing an intermediate map for events matching the compiled layout.
+ */
+public class JacksonEventReader implements Serializable {
+
+  private final JsonFactory jsonFactory;
+
+  public JacksonEventReader(JsonFactory jsonFactory) {
+    this.jsonFactory = jsonFactory;
+  }
+
+  public Event read(byte[] event, EventLayout layout) throws IOException {
+    AbstractField[] slots = new AbstractField[layout.size()];
+    try (JsonParser parser = jsonFactory.createParser(event)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new IOException("Event is not an object");
+      }
+      Map<String, Object> values = readSlots(parser, EventLayout.ROOT, layout, slots);
+      if (values == null) {
+        return new CompiledEvent(slots, layout);
+      }
+      // the event does not match the compiled schema, fall back to the generic field map
+      return EventFactory.fromMap(values, layout.getSourceInfo(), layout.getSchemaInfo());
+    }
+  }
+
+  public Map<String, Object> readMap(byte[] event) throws IOException {
+    try (JsonParser parser = jsonFactory.createParser(event)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new IOException("Event is not an object");
+      }
+      return readObject(parser);
+    }
+  }
+
+  /**
+   * Reads the fields of an object into the slots of the layout.
+   *
+   * @return null if the object matches the layout, otherwise all values of the object, taken from
+   * the slots filled so far and the remaining tokens, so that the event is parsed only once.
+   */
+  private Map<String, Object> readSlots(JsonParser parser, int parentSlot, EventLayout layout,
+                                        AbstractField[] slots) throws IOException {
+    JsonToken token;
+    while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+      String name = parser.getCurrentName();
+      int slot = layout.getChildSlot(parentSlot, name);
+      token = parser.nextToken();
+      if (slot == EventLayout.NO_SLOT) {
+        return fallBack(parser, parentSlot, layout, slots, name, readValue(parser, token));
+      }
+      EventLayout.SlotType slotType = layout.getSlotType(slot);
+      if (slotType == EventLayout.SlotType.NESTED) {
+        if (token != JsonToken.START_OBJECT) {
+          return fallBack(parser, parentSlot, layout, slots, name, readValue(parser, token));
+        }
+        Map<String, Object> nestedValues = readSlots(parser, slot, layout, slots);
+        if (nestedValues != null) {
+          return fallBack(parser, parentSlot, layout, slots, name, nestedValues);
+        }
+        slots[slot] = new NestedField(layout.getRuntimeName(slot), layout.getOutputName(slot),
+                layout.collectChildren(slot, slots));
+      } else if (slotType == EventLayout.SlotType.LIST) {
+        if (token != JsonToken.START_ARRAY) {
+          return fallBack(parser, parentSlot, layout, slots, name, readValue(parser, token));
+        }
+        slots[slot] = EventFactory.makeListField(layout, slot, readArray(parser));
+      } else {
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+          return fallBack(parser, parentSlot, layout, slots, name, readValue(parser, token));
+        }
+        slots[slot] = makePrimitiveField(layout.getRuntimeName(slot), layout.getOutputName(slot),
+                parser, token);
+      }
+    }
+    if (token != JsonToken.END_OBJECT) {
+      throw new IOException("Unexpected token " + token);
+    }
+    return null;
+  }
+
+  /**
+   * Continues reading an object which does not match the layout, the slots of the object filled
+   * so far are converted back to values and the remaining fields are read without the layout.
+   */
+  private Map<String, Object> fallBack(JsonParser parser, int parentSlot, EventLayout layout,
+                                       AbstractField[] slots, String name, Object value)
+          throws IOException {
+    Map<String, Object> values = new HashMap<>();
+    for (AbstractField field : layout.collectChildren(parentSlot, slots).values()) {
+      values.put(field.getFieldNameIn(), toValue(field));
+    }
+    values.put(name, value);
+    readFields(parser, values);
+    return values;
+  }
+
+  private Object toValue(AbstractField field) {
+    if (field.isPrimitive()) {
+      return field.getAsPrimitive().getRawValue();
+    } else if (field.isList()) {
+      List<Object> values = new ArrayList<>();
+      for (AbstractField item : field.getAsList().getRawValue()) {
+        values.add(toValue(item));
+      }
+      return values;
+    } else {
+      Map<String, Object> values = new HashMap<>();
+      for (AbstractField child : field.getAsComposite().getRawValue().values()) {
+        values.put(child.getFieldNameIn(), toValue(child));
+      }
+      return values;
+    }
+  }
+
+  private PrimitiveField makePrimitiveField(String runtimeName, String outputName, JsonParser
+          parser, JsonToken token) throws IOException {
+    switch (token) {
+      case VALUE_NUMBER_INT:
+        JsonParser.NumberType intType = parser.getNumberType();
+        if (intType == JsonParser.NumberType.INT) {
+          return new PrimitiveField(runtimeName, outputName, parser.getIntValue());
+        } else if (intType == JsonParser.NumberType.LONG) {
+          return new PrimitiveField(runtimeName, outputName, parser.getLongValue());
+        }
+        break;
+      case VALUE_NUMBER_FLOAT:
+        JsonParser.NumberType floatType = parser.getNumberType();
+        if (floatType == JsonParser.NumberType.DOUBLE) {
+          return new PrimitiveField(runtimeName, outputName, parser.getDoubleValue());
+        } else if (floatType == JsonParser.NumberType.FLOAT) {
+          return new PrimitiveField(runtimeName, outputName, parser.getFloatValue());
+        }
+        break;
+      case VALUE_TRUE:
+        return new PrimitiveField(runtimeName, outputName, true);
+      case VALUE_FALSE:
+        return new PrimitiveField(runtimeName, outputName, false);
+      default:
+        break;
+    }
+    return new PrimitiveField(runtimeName, outputName, readScalar(parser, token));
+  }
+
+  private Map<String, Object> readObject(JsonParser parser) throws IOException {
+    Map<String, Object> values = new HashMap<>();
+    readFields(parser, values);
+    return values;
+  }
+
+  private void readFields(JsonParser parser, Map<String, Object> values) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String key = parser.getCurrentName();
+      values.put(key, readValue(parser, parser.nextToken()));
+    }
+  }
+
+  private List<Object> readArray(JsonParser parser) throws IOException {
+    List<Object> values = new ArrayList<>();
+    JsonToken token;
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+      values.add(readValue(parser, token));
+    }
+    return values;
+  }
+
+  private Object readValue(JsonParser parser, JsonToken token) throws IOException {
+    if (token == JsonToken.START_OBJECT) {
+      return readObject(parser);
+    } else if (token == JsonToken.START_ARRAY) {
+      return readArray(parser);
+    } else {
+      return readScalar(parser, token);
+    }
+  }
+
+  private Object readScalar(JsonParser parser, JsonToken token) throws IOException {
+    switch (token) {
+      case VALUE_STRING:
+        return parser.getText();
+      case VALUE_NUMBER_INT:
+      case VALUE_NUMBER_FLOAT:
+        return parser.getNumberValue();
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case VALUE_EMBEDDED_OBJECT:
+        return parser.getEmbeddedObject();
+      case VALUE_NULL:
+        return null;
+      default:
+        throw new IOException("Unexpected token " + token);
+    }
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataformat;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Writes runtime events with a Jackson generator (JSON, Smile or CBOR) using the renamed output
+ * field names, without converting the event to a map first.
+ */
+public class JacksonEventWriter implements Serializable {
+
+  private final JsonFactory jsonFactory;
+
+  public JacksonEventWriter(JsonFactory jsonFactory) {
+    this.jsonFactory = jsonFactory;
+  }
+
+  public byte[] write(Event event) throws IOException {
+    try (ByteArrayBuilder out = new ByteArrayBuilder()) {
+      try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+        writeFields(generator, event.getFields());
+      }
+      return out.toByteArray();
+    }
+  }
+
+  private void writeFields(JsonGenerator generator, Map<String, AbstractField> fields) throws
+          IOException {
+    generator.writeStartObject();
+    for (AbstractField field : fields.values()) {
+      generator.writeFieldName(field.getFieldNameOut());
+      writeField(generator, field);
+    }
+    generator.writeEndObject();
+  }
+
+  private void writeField(JsonGenerator generator, AbstractField field) throws IOException {
+    if (field.isPrimitive()) {
+      writePrimitive(generator, field.getAsPrimitive());
+    } else if (field.isList()) {
+      generator.writeStartArray();
+      for (AbstractField item : field.getAsList().getRawValue()) {
+        writeField(generator, item);
+      }
+      generator.writeEndArray();
+    } else {
+      writeFields(generator, field.getAsComposite().getRawValue());
+    }
+  }
+
+  private void writePrimitive(JsonGenerator generator, PrimitiveField field) throws IOException {
+    switch (field.getPrimitiveType()) {
+      case INT:
+        generator.writeNumber(field.getAsIntPrimitive());
+        break;
+      case LONG:
+        generator.writeNumber(field.getAsLongPrimitive());
+        break;
+      case FLOAT:
+        generator.writeNumber(field.getAsFloatPrimitive());
+        break;
+      case DOUBLE:
+        generator.writeNumber(field.getAsDoublePrimitive());
+        break;
+      case BOOLEAN:
+        generator.writeBoolean(field.getAsBooleanPrimitive());
+        break;
+      default:
+        generator.writeObject(field.getRawValue());
+    }
+  }
+}
@@ -19,6 +19,10 @@
 package org.apache.streampipes.dataformat;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
 
 import java.io.Serializable;
 import java.util.Map;
@@ -28,4 +32,20 @@ public interface SpDataFormatDefinition extends Serializable {
   Map<String, Object> toMap(byte[] event) throws SpRuntimeException;
 
   byte[] fromMap(Map<String, Object> event) throws SpRuntimeException;
+
+  /**
+   * Decodes an event directly into its runtime representation. Formats that support streaming
+   * decoding should override this method to avoid the intermediate map.
+   */
+  default Event toEvent(byte[] event, EventLayout layout) throws SpRuntimeException {
+    return EventFactory.fromMap(toMap(event), layout);
+  }
+
+  /**
+   * Encodes a runtime event using the renamed output field names, equivalent to
+   * {@link #fromMap(Map)} of {@link EventConverter#toMap()}.
+   */
+  default byte[] fromEvent(Event event) throws SpRuntimeException {
+    return fromMap(new EventConverter(event).toMap());
+  }
 }
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataformat;
+
+import org.apache.streampipes.model.runtime.CompiledEvent;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyList;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that a data format reads and writes compiled events like the generic field map, each
+ * format runs these cases by subclassing this test with its definition.
+ */
+public abstract class DataFormatDefinitionTestBase {
+
+  private final SpDataFormatDefinition definition;
+  private final EventLayout layout = makeLayout();
+
+  protected DataFormatDefinitionTestBase(SpDataFormatDefinition definition) {
+    this.definition = definition;
+  }
+
+  @Test
+  public void testToEventMatchesToMap() {
+    byte[] bytes = definition.fromMap(makeMap());
+
+    Event event = definition.toEvent(bytes, layout);
+
+    assertTrue(event instanceof CompiledEvent);
+    assertEquals(definition.toMap(bytes), new EventConverter(event).toInputEventMap());
+  }
+
+  @Test
+  public void testFromEventMatchesFromMap() {
+    Map<String, Object> map = makeMap();
+    Event event = EventFactory.fromMap(map, layout);
+
+    assertEquals(definition.toMap(definition.fromMap(map)), definition.toMap(definition
+            .fromEvent(event)));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testLayoutMismatchFallsBackToFieldMap() {
+    Map<String, Object> map = makeMap();
+    ((Map<String, Object>) map.get("sensor")).put("other", Arrays.asList(1, "a"));
+    map.put("readings", "none");
+    byte[] bytes = definition.fromMap(map);
+
+    Event event = definition.toEvent(bytes, layout);
+
+    assertFalse(event instanceof CompiledEvent);
+    assertEquals(definition.toMap(bytes), new EventConverter(event).toInputEventMap());
+  }
+
+  private Map<String, Object> makeMap() {
+    Map<String, Object> sensor = new HashMap<>();
+    sensor.put("id", "a");
+    sensor.put("value", 3);
+
+    Map<String, Object> map = new HashMap<>();
+    map.put("timestamp", 1500000000000L);
+    map.put("temperature", 21.5);
+    map.put("label", null);
+    map.put("sensor", sensor);
+    map.put("readings", Arrays.asList(1, 2));
+    return map;
+  }
+
+  private EventLayout makeLayout() {
+    EventProperty sensor = new EventPropertyNested("sensor", Arrays.asList(
+            makePrimitive("id", "string"), makePrimitive("value", "integer")));
+    EventSchema schema = new EventSchema(Arrays.asList(makePrimitive("timestamp", "long"),
+            makePrimitive("temperature", "double"), makePrimitive("label", "string"), sensor,
+            new EventPropertyList("readings", makePrimitive("reading", "integer"))));
+    return EventLayout.compile(new SourceInfo("source", "s0"), new SchemaInfo(schema,
+            Collections.emptyList()));
+  }
+
+  private EventProperty makePrimitive(String runtimeName, String type) {
+    return new EventPropertyPrimitive("http://www.w3.org/2001/XMLSchema#" + type, runtimeName, "",
+            Collections.emptyList());
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataformat;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.runtime.CompiledEvent;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyList;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestJacksonEventReader {
+
+  private static final String EVENT = "{\"timestamp\":1500000000000,\"temperature\":21.5,"
+          + "\"label\":null,\"sensor\":{\"id\":\"a\",\"value\":3},\"readings\":[1,2,{\"x\":true}]}";
+
+  private final JacksonEventReader reader = new JacksonEventReader(new JsonFactory());
+
+  @Test
+  public void testMatchingEventIsCompiled() throws IOException {
+    Event event = reader.read(bytes(EVENT), makeLayout(Collections.emptyList()));
+
+    assertTrue(event instanceof CompiledEvent);
+    assertEquals(reader.readMap(bytes(EVENT)), new EventConverter(event).toInputEventMap());
+    assertEquals(1500000000000L, event.getFieldBySelector("s0::timestamp").getAsPrimitive()
+            .getAsLong().longValue());
+    assertNull(event.getFieldBySelector("s0::label").getRawValue());
+    assertEquals("a", event.getFieldBySelector("s0::sensor::id").getAsPrimitive().getAsString());
+  }
+
+  @Test
+  public void testRenameRulesAreApplied() throws IOException {
+    Event event = reader.read(bytes(EVENT), makeLayout(Arrays.asList(
+            new PropertyRenameRule("s0::sensor", "device"),
+            new PropertyRenameRule("s0::sensor::value", "v"))));
+
+    Map<String, Object> renamed = new EventConverter(event).toMap();
+    assertTrue(renamed.containsKey("device"));
+    assertEquals(3, ((Map<?, ?>) renamed.get("device")).get("v"));
+  }
+
+  @Test
+  public void testUnknownFieldFallsBackToFieldMap() throws IOException {
+    assertFallBack("{\"timestamp\":1,\"unknown\":{\"a\":[1,2]},\"temperature\":2.5,"
+            + "\"sensor\":{\"id\":\"a\",\"value\":3}}");
+  }
+
+  @Test
+  public void testUnknownNestedFieldFallsBackToFieldMap() throws IOException {
+    assertFallBack("{\"timestamp\":1,\"sensor\":{\"id\":\"a\",\"other\":null,\"value\":3},"
+            + "\"temperature\":2.5,\"readings\":[]}");
+  }
+
+  @Test
+  public void testTypeMismatchFallsBackToFieldMap() throws IOException {
+    assertFallBack("{\"timestamp\":{\"seconds\":1},\"sensor\":\"a\",\"readings\":7}");
+    assertFallBack("{\"temperature\":2.5,\"sensor\":{\"id\":[\"a\"]},\"readings\":{\"x\":1}}");
+  }
+
+  @Test(expected = IOException.class)
+  public void testArrayIsRejected() throws IOException {
+    reader.read(bytes("[1,2]"), makeLayout(Collections.emptyList()));
+  }
+
+  private void assertFallBack(String json) throws IOException {
+    Event event = reader.read(bytes(json), makeLayout(Collections.emptyList()));
+
+    assertFalse(event instanceof CompiledEvent);
+    assertEquals(reader.readMap(bytes(json)), new EventConverter(event).toInputEventMap());
+  }
+
+  static EventLayout makeLayout(List<PropertyRenameRule> renameRules) {
+    EventProperty sensor = new EventPropertyNested("sensor", Arrays.asList(
+            makePrimitive("id", "string"), makePrimitive("value", "integer")));
+    EventSchema schema = new EventSchema(Arrays.asList(makePrimitive("timestamp", "long"),
+            makePrimitive("temperature", "double"), makePrimitive("label", "string"), sensor,
+            new EventPropertyList("readings", makePrimitive("reading", "integer"))));
+    return EventLayout.compile(new SourceInfo("source", "s0"), new SchemaInfo(schema, renameRules));
+  }
+
+  private static EventProperty makePrimitive(String runtimeName, String type) {
+    return new EventPropertyPrimitive("http://www.w3.org/2001/XMLSchema#" + type, runtimeName, "",
+            Collections.emptyList());
+  }
+
+  private byte[] bytes(String json) {
+    return json.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataformat;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestJacksonEventWriter {
+
+  private final JsonFactory jsonFactory = new JsonFactory();
+  private final JacksonEventReader reader = new JacksonEventReader(jsonFactory);
+  private final JacksonEventWriter writer = new JacksonEventWriter(jsonFactory);
+
+  @Test
+  public void testCompiledEventIsWrittenAsItsMap() throws IOException {
+    EventLayout layout = TestJacksonEventReader.makeLayout(Collections.emptyList());
+    Event event = EventFactory.fromMap(makeMap(), layout);
+
+    assertEquals(new EventConverter(event).toMap(), reader.readMap(writer.write(event)));
+  }
+
+  @Test
+  public void testEventOfFieldMapIsWrittenAsItsMap() throws IOException {
+    EventLayout layout = TestJacksonEventReader.makeLayout(Collections.emptyList());
+    Map<String, Object> map = makeMap();
+    map.put("unknown", Arrays.asList(Collections.singletonMap("a", null), "b"));
+    Event event = EventFactory.fromMap(map, layout.getSourceInfo(), layout.getSchemaInfo());
+
+    assertEquals(map, reader.readMap(writer.write(event)));
+  }
+
+  @Test
+  public void testOutputNamesAreWritten() throws IOException {
+    EventLayout layout = TestJacksonEventReader.makeLayout(Arrays.asList(
+            new PropertyRenameRule("s0::sensor", "device"),
+            new PropertyRenameRule("s0::sensor::value", "v")));
+    Event event = EventFactory.fromMap(makeMap(), layout);
+
+    Map<String, Object> written = reader.readMap(writer.write(event));
+
+    assertEquals(new EventConverter(event).toMap(), written);
+    assertEquals(3, ((Map<?, ?>) written.get("device")).get("v"));
+  }
+
+  private Map<String, Object> makeMap() {
+    Map<String, Object> sensor = new HashMap<>();
+    sensor.put("id", "a");
+    sensor.put("value", 3);
+
+    Map<String, Object> map = new HashMap<>();
+    map.put("timestamp", 1500000000000L);
+    map.put("temperature", 21.5);
+    map.put("label", null);
+    map.put("sensor", sensor);
+    map.put("readings", Arrays.asList(1, 2));
+    return map;
+  }
+}
@@ -21,14 +21,18 @@ package org.apache.streampipes.messaging.jms;
 import org.apache.activemq.command.ActiveMQBytesMessage;
 import org.apache.activemq.util.ByteSequence;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.BatchReceiver;
 import org.apache.streampipes.messaging.EventConsumer;
 import org.apache.streampipes.messaging.InternalEventProcessor;
 import org.apache.streampipes.model.grounding.JmsTransportProtocol;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.jms.BytesMessage;
 import javax.jms.JMSException;
+import javax.jms.Message;
 import javax.jms.MessageConsumer;
 import javax.jms.Session;
 
@@ -36,23 +40,45 @@ public class ActiveMQConsumer extends ActiveMQConnectionProvider implements
         EventConsumer<JmsTransportProtocol>,
         AutoCloseable, Serializable {
 
+  private static final int MAX_BATCH_SIZE = 500;
+  private static final long RECEIVE_TIMEOUT_MS = 1000;
+  private static final long JOIN_TIMEOUT_MILLIS = 2 * RECEIVE_TIMEOUT_MS;
+
   private Session session;
   private MessageConsumer consumer;
   private InternalEventProcessor<byte[]> eventProcessor;
+  private transient Thread consumerThread;
 
-  private Boolean connected = false;
+  private volatile Boolean connected = false;
 
-  private void initListener() {
-    try {
-      consumer.setMessageListener(message -> {
-        if (message instanceof BytesMessage) {
-          ByteSequence bs = ((ActiveMQBytesMessage) message).getContent();
-          eventProcessor.onEvent(bs.getData());
-        }
+  private class ConsumerThread implements Runnable {
 
-      });
-    } catch (JMSException e) {
-      e.printStackTrace();
+    @Override
+    public void run() {
+      // block for the first message, then drain whatever the session has already prefetched
+      BatchReceiver<Message, JMSException> receiver = new BatchReceiver<>(() -> consumer
+              .receive(RECEIVE_TIMEOUT_MS), consumer::receiveNoWait, MAX_BATCH_SIZE);
+      try {
+        while (connected) {
+          List<byte[]> events = new ArrayList<>();
+          for (Message message : receiver.receiveBatch()) {
+            if (message instanceof BytesMessage) {
+              ByteSequence bs = ((ActiveMQBytesMessage) message).getContent();
+              events.add(bs.getData());
+            }
+          }
+          if (!events.isEmpty()) {
+            eventProcessor.onEvents(events);
+          }
+        }
+      } catch (JMSException e) {
+        if (connected) {
+          e.printStackTrace();
+        }
+      } finally {
+        // no more events are received, also if the thread stopped because of a failure
+        connected = false;
+      }
     }
   }
 
@@ -60,28 +86,53 @@ public class ActiveMQConsumer extends ActiveMQConnectionProvider implements
   public void connect(JmsTransportProtocol protocolSettings, InternalEventProcessor<byte[]>
           eventProcessor) throws SpRuntimeException {
     String url = ActiveMQUtils.makeActiveMqUrl(protocolSettings);
+    String topic = protocolSettings.getTopicDefinition().getActualTopicName();
 
     try {
-      this.eventProcessor = eventProcessor;
       session = startJmsConnection(url).createSession(false, Session.AUTO_ACKNOWLEDGE);
-      consumer = session.createConsumer(session.createTopic(protocolSettings.getTopicDefinition().getActualTopicName()));
-      initListener();
-      this.connected = true;
+      consume(session.createConsumer(session.createTopic(topic)), topic, eventProcessor);
     } catch (JMSException e) {
       throw new SpRuntimeException("could not connect to activemq broker");
     }
   }
 
+  void consume(MessageConsumer consumer, String topic, InternalEventProcessor<byte[]>
+          eventProcessor) {
+    this.consumer = consumer;
+    this.eventProcessor = eventProcessor;
+    this.connected = true;
+    this.consumerThread = new Thread(new ConsumerThread(), "sp-activemq-consumer-" + topic);
+    this.consumerThread.start();
+  }
+
   @Override
   public void disconnect() throws SpRuntimeException {
+    this.connected = false;
+    // the consumer thread notices the flag within one receive timeout, closing the consumer
+    // before would make its pending receive fail
+    if (consumerThread != null && consumerThread != Thread.currentThread()) {
+      join(consumerThread);
+    }
     try {
       consumer.close();
-      session.close();
-      this.connected = false;
+      if (session != null) {
+        session.close();
+      }
     } catch (JMSException e) {
       throw new SpRuntimeException("could not disconnect from activemq broker");
     }
+  }
+
+  private void join(Thread thread) {
+    try {
+      thread.join(JOIN_TIMEOUT_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
 
+  Thread getConsumerThread() {
+    return consumerThread;
   }
 
   @Override
@@ -19,10 +19,13 @@
 package org.apache.streampipes.messaging.jms;
 
 import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.ActiveMQMessageProducer;
+import org.apache.activemq.AsyncCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.messaging.EventProducer;
+import org.apache.streampipes.messaging.InFlightWindow;
 import org.apache.streampipes.model.grounding.JmsTransportProtocol;
 import org.apache.streampipes.model.grounding.SimpleTopicDefinition;
 
@@ -31,7 +34,6 @@ import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
 import javax.jms.DeliveryMode;
 import javax.jms.JMSException;
-import javax.jms.MessageProducer;
 import javax.jms.Session;
 
 
@@ -39,12 +41,28 @@ public class ActiveMQPublisher implements EventProducer<JmsTransportProtocol> {
 
   private static final Logger LOG = LoggerFactory.getLogger(ActiveMQPublisher.class);
 
+  private static final int MAX_IN_FLIGHT = 1000;
+
   private Connection connection;
   private Session session;
-  private MessageProducer producer;
+  private ActiveMQMessageProducer producer;
+  private final InFlightWindow inFlightWindow = new InFlightWindow(MAX_IN_FLIGHT);
 
   private Boolean connected = false;
 
+  private final AsyncCallback sendCallback = new AsyncCallback() {
+    @Override
+    public void onSuccess() {
+      inFlightWindow.release();
+    }
+
+    @Override
+    public void onException(JMSException e) {
+      inFlightWindow.release();
+      LOG.error("Could not send event to activemq broker", e);
+    }
+  };
+
   public ActiveMQPublisher() {
 
   }
@@ -97,7 +115,7 @@ public class ActiveMQPublisher implements EventProducer<JmsTransportProtocol> {
     try {
       this.session = connection
               .createSession(false, Session.AUTO_ACKNOWLEDGE);
-      this.producer = session.createProducer(session.createTopic(protocolSettings
+      this.producer = (ActiveMQMessageProducer) session.createProducer(session.createTopic(protocolSettings
                       .getTopicDefinition()
                       .getActualTopicName()));
       this.producer.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
@@ -112,19 +130,28 @@ public class ActiveMQPublisher implements EventProducer<JmsTransportProtocol> {
 
   @Override
   public void publish(byte[] event) {
+    // sends are pipelined, the window blocks once too many are not acknowledged yet
+    inFlightWindow.acquire();
     BytesMessage message;
     try {
       message = session.createBytesMessage();
       message.writeBytes(event);
-      producer.send(message);
+      producer.send(message, sendCallback);
     } catch (JMSException e) {
+      inFlightWindow.release();
       e.printStackTrace();
     }
   }
 
+  @Override
+  public void flush() {
+    inFlightWindow.awaitCompletion();
+  }
+
   @Override
   public void disconnect() throws SpRuntimeException {
     try {
+      flush();
       producer.close();
       session.close();
       connection.close();
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.messaging.jms;
+
+import org.apache.activemq.command.ActiveMQBytesMessage;
+import org.apache.activemq.util.ByteSequence;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageListener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestActiveMQConsumer {
+
+  private static final String TOPIC = "org.apache.streampipes.test";
+
+  @Test
+  public void testPrefetchedMessagesAreDeliveredAsOneBatch() throws Exception {
+    QueueConsumer messages = new QueueConsumer();
+    for (int i = 0; i < 3; i++) {
+      messages.queue.add(makeMessage(i));
+    }
+    BatchCollector collector = new BatchCollector(1);
+
+    ActiveMQConsumer consumer = new ActiveMQConsumer();
+    consumer.consume(messages, TOPIC, collector);
+
+    assertTrue(collector.latch.await(5, TimeUnit.SECONDS));
+    consumer.disconnect();
+
+    assertEquals(1, collector.batches.size());
+    assertEquals(3, collector.batches.get(0).size());
+    for (int i = 0; i < 3; i++) {
+      assertEquals((byte) i, collector.batches.get(0).get(i)[0]);
+    }
+  }
+
+  @Test
+  public void testDisconnectStopsThreadBeforeClosingConsumer() throws Exception {
+    QueueConsumer messages = new QueueConsumer();
+    ActiveMQConsumer consumer = new ActiveMQConsumer();
+    consumer.consume(messages, TOPIC, new BatchCollector(1));
+
+    Thread thread = consumer.getConsumerThread();
+    assertEquals("sp-activemq-consumer-" + TOPIC, thread.getName());
+    assertTrue(consumer.isConnected());
+
+    consumer.disconnect();
+
+    assertFalse(consumer.isConnected());
+    assertFalse(thread.isAlive());
+    assertTrue(messages.closed);
+    assertFalse(messages.closedWhileReceiving);
+  }
+
+  private Message makeMessage(int value) throws Exception {
+    ActiveMQBytesMessage message = new ActiveMQBytesMessage();
+    message.setContent(new ByteSequence(new byte[]{(byte) value}));
+    return message;
+  }
+
+  private static class BatchCollector implements InternalEventProcessor<byte[]> {
+
+    private final List<List<byte[]>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch latch;
+
+    BatchCollector(int expectedBatches) {
+      this.latch = new CountDownLatch(expectedBatches);
+    }
+
+    @Override
+    public void onEvent(byte[] event) {
+      onEvents(Collections.singletonList(event));
+    }
+
+    @Override
+    public void onEvents(List<byte[]> events) {
+      batches.add(events);
+      latch.countDown();
+    }
+  }
+
+  /**
+   * Hands out the messages of a queue, as the session of a connected consumer does with
+   * prefetched messages.
+   */
+  private static class QueueConsumer implements MessageConsumer {
+
+    private final BlockingQueue<Message> queue = new LinkedBlockingQueue<>();
+    private volatile int receiving;
+    private volatile boolean closed;
+    private volatile boolean closedWhileReceiving;
+
+    @Override
+    public Message receive(long timeout) {
+      receiving++;
+      try {
+        return queue.poll(timeout, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      } finally {
+        receiving--;
+      }
+    }
+
+    @Override
+    public Message receive() {
+      return receive(Long.MAX_VALUE);
+    }
+
+    @Override
+    public Message receiveNoWait() {
+      return queue.poll();
+    }
+
+    @Override
+    public void close() {
+      closedWhileReceiving = receiving > 0;
+      closed = true;
+    }
+
+    @Override
+    public String getMessageSelector() {
+      return null;
+    }
+
+    @Override
+    public MessageListener getMessageListener() {
+      return null;
+    }
+
+    @Override
+    public void setMessageListener(MessageListener listener) {
+    }
+  }
+}
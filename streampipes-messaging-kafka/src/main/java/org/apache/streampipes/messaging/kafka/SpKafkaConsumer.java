@@ -31,9 +31,13 @@ import org.apache.streampipes.model.grounding.SimpleTopicDefinition;
 import org.apache.streampipes.model.grounding.WildcardTopicDefinition;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, Runnable,
@@ -46,6 +50,14 @@ public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, R
   private String password;
   private volatile boolean isRunning;
   private Boolean patternTopic = false;
+  private String groupId;
+
+  private transient List<Thread> consumerThreads;
+  private transient Function<Properties, Consumer<String, byte[]>> consumerFactory;
+  private final transient Object deliveryLock = new Object();
+
+  private static final Integer CONSUMER_THREADS_DEFAULT = 1;
+  private static final long JOIN_TIMEOUT_MILLIS = 10000;
 
   private static final Logger LOG = LoggerFactory.getLogger(SpKafkaConsumer.class);
 
@@ -53,6 +65,13 @@ public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, R
 
   }
 
+  /**
+   * Creates a consumer whose threads obtain their Kafka consumer from the given factory.
+   */
+  public SpKafkaConsumer(Function<Properties, Consumer<String, byte[]>> consumerFactory) {
+    this.consumerFactory = consumerFactory;
+  }
+
   public SpKafkaConsumer(KafkaTransportProtocol protocol, String topic, InternalEventProcessor<byte[]> eventProcessor) {
       this.protocol = protocol;
       this.username = null;
@@ -97,12 +116,17 @@ public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, R
     else {
       props = makeProperties(protocol);
     }
-    KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(props);
+    if (groupId != null) {
+      // all consumer threads of this consumer share the group, so partitions are split among them
+      props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+    }
+    Consumer<String, byte[]> consumer = consumerFactory != null ? consumerFactory.apply(props) :
+            new KafkaConsumer<>(props);
+    boolean threadSafe = eventProcessor.isThreadSafe();
     if (!patternTopic) {
       consumer.subscribe(Collections.singletonList(topic));
     } else {
-      topic = replaceWildcardWithPatternFormat(topic);
-      consumer.subscribe(Pattern.compile(topic), new ConsumerRebalanceListener() {
+      consumer.subscribe(Pattern.compile(replaceWildcardWithPatternFormat(topic)), new ConsumerRebalanceListener() {
         @Override
         public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
           // TODO
@@ -116,14 +140,40 @@ public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, R
     }
     while (isRunning) {
       ConsumerRecords<String, byte[]> records = consumer.poll(100);
-      for (ConsumerRecord<String, byte[]> record : records) {
-        eventProcessor.onEvent(record.value());
+      if (!records.isEmpty()) {
+        List<byte[]> events = new ArrayList<>(records.count());
+        for (ConsumerRecord<String, byte[]> record : records) {
+          events.add(record.value());
+        }
+        if (threadSafe) {
+          eventProcessor.onEvents(events);
+        } else {
+          deliver(events);
+        }
       }
     }
     LOG.info("Closing Kafka Consumer.");
     consumer.close();
   }
 
+  /**
+   * Event processors which are not thread-safe receive the batches of all consumer threads one
+   * at a time.
+   */
+  private void deliver(List<byte[]> events) {
+    synchronized (deliveryLock) {
+      eventProcessor.onEvents(events);
+    }
+  }
+
+  void setConsumerFactory(Function<Properties, Consumer<String, byte[]>> consumerFactory) {
+    this.consumerFactory = consumerFactory;
+  }
+
+  List<Thread> getConsumerThreads() {
+    return consumerThreads;
+  }
+
   private String replaceWildcardWithPatternFormat(String topic) {
     topic = topic.replaceAll("\\.", "\\\\.");
     return topic.replaceAll("\\*", ".*");
@@ -148,17 +198,50 @@ public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, R
     this.eventProcessor = eventProcessor;
     this.protocol = protocol;
     this.topic = protocol.getTopicDefinition().getActualTopicName();
+    this.groupId = protocol.getGroupId() != null ? protocol.getGroupId() : UUID.randomUUID()
+            .toString();
     this.isRunning = true;
 
-    Thread thread = new Thread(this);
-    thread.start();
+    // Each thread runs its own consumer in the same group. Kafka assigns every partition to
+    // exactly one of them, so ordering is kept per partition. Thread-safe event processors are
+    // called by all threads in parallel, others receive the batches one at a time.
+    Integer threadCount = getConsumerThreads(protocol);
+    this.consumerThreads = new ArrayList<>(threadCount);
+    for (int i = 0; i < threadCount; i++) {
+      Thread thread = new Thread(this, "sp-kafka-consumer-" + topic + "-" + i);
+      consumerThreads.add(thread);
+      thread.start();
+    }
+  }
+
+  private Integer getConsumerThreads(KafkaTransportProtocol protocol) {
+    return protocol.getConsumerThreads() != null && protocol.getConsumerThreads() > 0 ? protocol
+            .getConsumerThreads() : CONSUMER_THREADS_DEFAULT;
   }
 
   @Override
   public void disconnect() throws SpRuntimeException {
     LOG.info("Kafka consumer: Disconnecting from " + topic);
     this.isRunning = false;
+    if (consumerThreads != null) {
+      for (Thread thread : consumerThreads) {
+        if (thread != Thread.currentThread()) {
+          join(thread);
+        }
+      }
+    }
+  }
 
+  private void join(Thread thread) {
+    try {
+      thread.join(JOIN_TIMEOUT_MILLIS);
+      if (thread.isAlive()) {
+        LOG.warn("Kafka consumer thread {} did not stop within {} ms", thread.getName(),
+                JOIN_TIMEOUT_MILLIS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
   }
 
   @Override
@@ -43,6 +43,7 @@ import java.util.concurrent.ExecutionException;
 public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, Serializable {
 
   private static final String COLON = ":";
+  private static final Integer NUM_PARTITIONS_DEFAULT = 1;
 
   private String brokerUrl;
   private String topic;
@@ -82,6 +83,11 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
     producer.send(new ProducerRecord<>(topic, message));
   }
 
+  @Override
+  public void publish(String key, byte[] message) {
+    producer.send(new ProducerRecord<>(topic, key, message));
+  }
+
   private Properties makeProperties(KafkaTransportProtocol protocol) {
     return new ProducerConfigFactory(protocol).makeProperties();
   }
@@ -117,20 +123,28 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
     Map<String, String> topicConfig = new HashMap<>();
     topicConfig.put(TopicConfig.RETENTION_MS_CONFIG, "600000");
 
-    AdminClient adminClient = KafkaAdminClient.create(props);
+    Integer numPartitions = settings.getNumPartitions() != null ? settings.getNumPartitions() :
+            NUM_PARTITIONS_DEFAULT;
 
-    final NewTopic newTopic = new NewTopic(topic, 1, (short) 1);
-    newTopic.configs(topicConfig);
+    try (AdminClient adminClient = KafkaAdminClient.create(props)) {
+      final NewTopic newTopic = new NewTopic(topic, numPartitions, (short) 1);
+      newTopic.configs(topicConfig);
 
-    final CreateTopicsResult createTopicsResult = adminClient.createTopics(Collections.singleton(newTopic));
+      final CreateTopicsResult createTopicsResult = adminClient.createTopics(Collections.singleton(newTopic));
 
-    try {
-      createTopicsResult.values().get(topic).get();
-    } catch (InterruptedException | ExecutionException e) {
-      LOG.error("Could not create topic: " + topic + " on broker " + zookeeperHost);
+      try {
+        createTopicsResult.values().get(topic).get();
+      } catch (InterruptedException | ExecutionException e) {
+        LOG.error("Could not create topic: " + topic + " on broker " + zookeeperHost);
+      }
     }
   }
 
+  @Override
+  public void flush() {
+    producer.flush();
+  }
+
   @Override
   public void disconnect() {
     LOG.info("Kafka producer: Disconnecting from " + topic);
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.messaging.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestSpKafkaConsumer {
+
+  private static final String TOPIC = "org.apache.streampipes.test";
+  private static final int EVENTS_PER_PARTITION = 50;
+
+  @Test
+  public void testRecordsOfOnePollAreDeliveredAsOneBatch() throws Exception {
+    CountDownLatch received = new CountDownLatch(1);
+    List<List<byte[]>> batches = new CopyOnWriteArrayList<>();
+
+    InternalEventProcessor<byte[]> processor = new InternalEventProcessor<byte[]>() {
+      @Override
+      public void onEvent(byte[] event) {
+        batches.add(Collections.singletonList(event));
+      }
+
+      @Override
+      public void onEvents(List<byte[]> events) {
+        batches.add(events);
+        received.countDown();
+      }
+    };
+
+    SpKafkaConsumer consumer = new SpKafkaConsumer(props -> makeConsumer(0));
+    consumer.connect(makeProtocol(1), processor);
+
+    assertTrue(received.await(10, TimeUnit.SECONDS));
+    consumer.disconnect();
+
+    assertEquals(1, batches.size());
+    assertEquals(EVENTS_PER_PARTITION, batches.get(0).size());
+    for (int i = 0; i < EVENTS_PER_PARTITION; i++) {
+      assertEquals((byte) i, batches.get(0).get(i)[0]);
+    }
+  }
+
+  @Test
+  public void testBatchesAreDeliveredOneAtATime() throws Exception {
+    int threads = 3;
+    CountDownLatch received = new CountDownLatch(threads * EVENTS_PER_PARTITION);
+    AtomicInteger active = new AtomicInteger();
+    AtomicInteger maxActive = new AtomicInteger();
+
+    InternalEventProcessor<byte[]> processor = event -> {
+      maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(1);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      active.decrementAndGet();
+      received.countDown();
+    };
+
+    AtomicInteger partitions = new AtomicInteger();
+    SpKafkaConsumer consumer = new SpKafkaConsumer(props -> makeConsumer(partitions.getAndIncrement()));
+    consumer.connect(makeProtocol(threads), processor);
+
+    assertTrue(received.await(10, TimeUnit.SECONDS));
+    consumer.disconnect();
+
+    assertEquals(1, maxActive.get());
+    assertEquals(threads, consumer.getConsumerThreads().size());
+    consumer.getConsumerThreads().forEach(thread -> assertFalse(thread.isAlive()));
+  }
+
+  @Test
+  public void testThreadSafeProcessorsAreCalledConcurrently() throws Exception {
+    int threads = 3;
+    CountDownLatch received = new CountDownLatch(threads * EVENTS_PER_PARTITION);
+    CountDownLatch allThreadsDelivering = new CountDownLatch(threads);
+    AtomicBoolean concurrent = new AtomicBoolean();
+
+    InternalEventProcessor<byte[]> processor = new InternalEventProcessor<byte[]>() {
+      @Override
+      public void onEvent(byte[] event) {
+        received.countDown();
+      }
+
+      @Override
+      public void onEvents(List<byte[]> events) {
+        allThreadsDelivering.countDown();
+        try {
+          // only returns true if the batches of all threads are delivered at the same time
+          if (allThreadsDelivering.await(5, TimeUnit.SECONDS)) {
+            concurrent.set(true);
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        events.forEach(this::onEvent);
+      }
+
+      @Override
+      public boolean isThreadSafe() {
+        return true;
+      }
+    };
+
+    AtomicInteger partitions = new AtomicInteger();
+    SpKafkaConsumer consumer = new SpKafkaConsumer(props -> makeConsumer(partitions.getAndIncrement()));
+    consumer.connect(makeProtocol(threads), processor);
+
+    assertTrue(received.await(10, TimeUnit.SECONDS));
+    consumer.disconnect();
+
+    assertTrue(concurrent.get());
+  }
+
+  @Test
+  public void testConsumerRunByCallerDeliversToProcessorsWhichAreNotThreadSafe() throws Exception {
+    CountDownLatch received = new CountDownLatch(EVENTS_PER_PARTITION);
+    SpKafkaConsumer consumer = new SpKafkaConsumer(makeProtocol(1), TOPIC, event -> received
+            .countDown());
+    consumer.setConsumerFactory(props -> makeConsumer(0));
+
+    Thread thread = new Thread(consumer);
+    thread.start();
+
+    assertTrue(received.await(10, TimeUnit.SECONDS));
+    consumer.disconnect();
+    thread.join(5000);
+    assertFalse(thread.isAlive());
+  }
+
+  @Test
+  public void testDisconnectStopsAllThreads() throws Exception {
+    SpKafkaConsumer consumer = new SpKafkaConsumer(props -> new MockConsumer<>(OffsetResetStrategy.EARLIEST));
+    consumer.connect(makeProtocol(2), event -> {});
+
+    assertTrue(consumer.isConnected());
+    consumer.disconnect();
+
+    assertFalse(consumer.isConnected());
+    consumer.getConsumerThreads().forEach(thread -> assertFalse(thread.isAlive()));
+  }
+
+  private MockConsumer<String, byte[]> makeConsumer(int partition) {
+    MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    TopicPartition topicPartition = new TopicPartition(TOPIC, partition);
+    consumer.schedulePollTask(() -> {
+      consumer.rebalance(Collections.singletonList(topicPartition));
+      consumer.updateBeginningOffsets(Collections.singletonMap(topicPartition, 0L));
+      for (int i = 0; i < EVENTS_PER_PARTITION; i++) {
+        consumer.addRecord(new ConsumerRecord<>(TOPIC, partition, i, null, new byte[]{(byte) i}));
+      }
+    });
+    return consumer;
+  }
+
+  private KafkaTransportProtocol makeProtocol(int consumerThreads) {
+    KafkaTransportProtocol protocol = new KafkaTransportProtocol("localhost", 9092, TOPIC);
+    protocol.setConsumerThreads(consumerThreads);
+    return protocol;
+  }
+}
@@ -24,16 +24,20 @@ public class AbstractMqttConnector {
 
   protected MQTT mqtt;
   protected BlockingConnection connection;
-  protected Boolean connected = false;
+  protected volatile Boolean connected = false;
 
   protected void createBrokerConnection(MqttTransportProtocol protocolSettings) throws Exception {
-    this.mqtt = new MQTT();
-    this.mqtt.setHost(makeBrokerUrl(protocolSettings));
+    createClient(protocolSettings);
     this.connection = mqtt.blockingConnection();
     this.connection.connect();
     this.connected = true;
   }
 
+  protected void createClient(MqttTransportProtocol protocolSettings) throws Exception {
+    this.mqtt = new MQTT();
+    this.mqtt.setHost(makeBrokerUrl(protocolSettings));
+  }
+
   private String makeBrokerUrl(MqttTransportProtocol protocolSettings) {
     return "tcp://" + protocolSettings.getBrokerHostname() + ":" + protocolSettings.getPort();
   }
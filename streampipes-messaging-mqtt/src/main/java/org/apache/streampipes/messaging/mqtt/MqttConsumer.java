@@ -17,6 +17,7 @@
 package org.apache.streampipes.messaging.mqtt;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.BatchReceiver;
 import org.apache.streampipes.messaging.EventConsumer;
 import org.apache.streampipes.messaging.InternalEventProcessor;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
@@ -25,11 +26,16 @@ import org.fusesource.mqtt.client.QoS;
 import org.fusesource.mqtt.client.Topic;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class MqttConsumer extends AbstractMqttConnector implements
         EventConsumer<MqttTransportProtocol>,
         AutoCloseable, Serializable {
 
+  private static final int MAX_BATCH_SIZE = 500;
+
   @Override
   public void connect(MqttTransportProtocol protocolSettings, InternalEventProcessor<byte[]> eventProcessor) throws SpRuntimeException {
     try {
@@ -53,15 +59,26 @@ public class MqttConsumer extends AbstractMqttConnector implements
 
     @Override
     public void run() {
+      // block for the first message, then drain whatever else is already buffered
+      BatchReceiver<Message, Exception> receiver = new BatchReceiver<>(connection::receive,
+              () -> connection.receive(0, TimeUnit.MILLISECONDS), MAX_BATCH_SIZE);
       try {
         while (connected) {
-          Message message = connection.receive();
-          byte[] payload = message.getPayload();
-          eventProcessor.onEvent(payload);
-          message.ack();
+          List<Message> messages = receiver.receiveBatch();
+          List<byte[]> payloads = new ArrayList<>(messages.size());
+          for (Message m : messages) {
+            payloads.add(m.getPayload());
+          }
+          eventProcessor.onEvents(payloads);
+          for (Message m : messages) {
+            m.ack();
+          }
         }
       } catch (Exception e) {
         e.printStackTrace();
+      } finally {
+        // no more events are received, also if the thread stopped because of a failure
+        connected = false;
       }
     }
   }
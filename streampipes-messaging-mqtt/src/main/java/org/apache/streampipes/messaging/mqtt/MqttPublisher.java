@@ -18,7 +18,10 @@ package org.apache.streampipes.messaging.mqtt;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.messaging.EventProducer;
+import org.apache.streampipes.messaging.InFlightWindow;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
+import org.fusesource.mqtt.client.Callback;
+import org.fusesource.mqtt.client.FutureConnection;
 import org.fusesource.mqtt.client.QoS;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,12 +30,33 @@ public class MqttPublisher extends AbstractMqttConnector implements EventProduce
 
   private static final Logger LOG = LoggerFactory.getLogger(MqttPublisher.class);
 
+  private static final int MAX_IN_FLIGHT = 1000;
+
   private String currentTopic;
+  private FutureConnection publishConnection;
+  private final InFlightWindow inFlightWindow = new InFlightWindow(MAX_IN_FLIGHT);
+
+  private final Callback<Void> publishCallback = new Callback<Void>() {
+    @Override
+    public void onSuccess(Void value) {
+      inFlightWindow.release();
+    }
+
+    @Override
+    public void onFailure(Throwable e) {
+      inFlightWindow.release();
+      LOG.error(e.getMessage());
+    }
+  };
 
   @Override
   public void connect(MqttTransportProtocol protocolSettings) throws SpRuntimeException {
     try {
-      this.createBrokerConnection(protocolSettings);
+      // publishes are pipelined on a future connection instead of waiting for each PUBACK
+      this.createClient(protocolSettings);
+      this.publishConnection = mqtt.futureConnection();
+      this.publishConnection.connect().await();
+      this.connected = true;
       this.currentTopic = protocolSettings.getTopicDefinition().getActualTopicName();
     } catch (Exception e) {
       throw new SpRuntimeException(e);
@@ -42,19 +66,28 @@ public class MqttPublisher extends AbstractMqttConnector implements EventProduce
   @Override
   public void publish(byte[] event) {
     if (connected && currentTopic != null) {
+      inFlightWindow.acquire();
       try {
-        this.connection.publish(currentTopic, event, QoS.AT_LEAST_ONCE, false);
+        this.publishConnection.publish(currentTopic, event, QoS.AT_LEAST_ONCE, false)
+                .then(publishCallback);
       } catch (Exception e) {
+        inFlightWindow.release();
         // TODO exception handling once system-wide logging is implemented
         LOG.error(e.getMessage());
       }
     }
   }
 
+  @Override
+  public void flush() {
+    inFlightWindow.awaitCompletion();
+  }
+
   @Override
   public void disconnect() throws SpRuntimeException {
     try {
-      this.connection.disconnect();
+      flush();
+      this.publishConnection.disconnect().await();
     } catch (Exception e) {
       e.printStackTrace();
     } finally {
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.messaging;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Receives messages in batches from clients which hand out one message at a time: the first
+ * receive blocks, all messages the client has already buffered are added to the same batch.
+ */
+public class BatchReceiver<M, E extends Exception> {
+
+  @FunctionalInterface
+  public interface Receive<M, E extends Exception> {
+
+    /**
+     * @return the next message or null if no message was received.
+     */
+    M receive() throws E;
+  }
+
+  private final Receive<M, E> blockingReceive;
+  private final Receive<M, E> receiveNoWait;
+  private final int maxBatchSize;
+
+  public BatchReceiver(Receive<M, E> blockingReceive, Receive<M, E> receiveNoWait,
+                       int maxBatchSize) {
+    this.blockingReceive = blockingReceive;
+    this.receiveNoWait = receiveNoWait;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /**
+   * @return the received messages in order of arrival, an empty list if the blocking receive
+   * returned without a message.
+   */
+  public List<M> receiveBatch() throws E {
+    M message = blockingReceive.receive();
+    if (message == null) {
+      return Collections.emptyList();
+    }
+    List<M> messages = new ArrayList<>();
+    while (message != null) {
+      messages.add(message);
+      message = messages.size() < maxBatchSize ? receiveNoWait.receive() : null;
+    }
+    return messages;
+  }
+}
@@ -23,12 +23,29 @@ import org.apache.streampipes.model.grounding.TransportProtocol;
 
 import java.io.Serializable;
 
+/**
+ * Producers may send asynchronously, but only with a bounded number of unacknowledged events:
+ * once this limit is reached, publish blocks until the broker has caught up.
+ */
 public interface EventProducer<TP extends TransportProtocol> extends Serializable {
 
     void connect(TP protocolSettings) throws SpRuntimeException;
 
     void publish(byte[] event);
 
+    /**
+     * Publishes an event with a message key, protocols without keyed partitioning ignore the key.
+     */
+    default void publish(String key, byte[] event) {
+        publish(event);
+    }
+
+    /**
+     * Blocks until all events published so far have been acknowledged by the broker.
+     */
+    default void flush() throws SpRuntimeException {
+    }
+
     void disconnect() throws SpRuntimeException;
 
     Boolean isConnected();
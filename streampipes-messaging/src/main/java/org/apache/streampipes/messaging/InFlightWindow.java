@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the number of asynchronously sent events which have not been acknowledged yet.
+ */
+public class InFlightWindow implements Serializable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(InFlightWindow.class);
+
+  private static final long DEFAULT_COMPLETION_TIMEOUT_MILLIS = 30000;
+
+  private final int maxInFlight;
+  private final Semaphore permits;
+
+  public InFlightWindow(int maxInFlight) {
+    this.maxInFlight = maxInFlight;
+    this.permits = new Semaphore(maxInFlight);
+  }
+
+  /**
+   * Blocks while the window is full.
+   */
+  public void acquire() {
+    permits.acquireUninterruptibly();
+  }
+
+  public void release() {
+    permits.release();
+  }
+
+  /**
+   * Waits until all events sent so far have been acknowledged, at most for the default timeout.
+   */
+  public boolean awaitCompletion() {
+    return awaitCompletion(DEFAULT_COMPLETION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Waits until all events sent so far have been acknowledged. Returns false if the timeout
+   * elapsed or the thread was interrupted before, the pending events are logged then.
+   */
+  public boolean awaitCompletion(long timeout, TimeUnit unit) {
+    try {
+      if (permits.tryAcquire(maxInFlight, timeout, unit)) {
+        permits.release(maxInFlight);
+        return true;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    LOG.warn("{} sent events have not been acknowledged, closing anyway", getInFlight());
+    return false;
+  }
+
+  public int getInFlight() {
+    return maxInFlight - permits.availablePermits();
+  }
+}
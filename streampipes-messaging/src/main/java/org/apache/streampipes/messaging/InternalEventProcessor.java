@@ -18,7 +18,27 @@
 
 package org.apache.streampipes.messaging;
 
+import java.util.List;
+
 public interface InternalEventProcessor<T> {
 
   void onEvent(T event);
+
+  /**
+   * Called by consumers which receive several events at once (e.g., one Kafka poll). The
+   * default delivers the events one by one, processors override it to handle a batch as a whole.
+   */
+  default void onEvents(List<T> events) {
+    for (T event : events) {
+      onEvent(event);
+    }
+  }
+
+  /**
+   * Consumers which run several threads (e.g., one per Kafka partition) call processors which
+   * return true concurrently, all others are called by one thread at a time.
+   */
+  default boolean isThreadSafe() {
+    return false;
+  }
 }
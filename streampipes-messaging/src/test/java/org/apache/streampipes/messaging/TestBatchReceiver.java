@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.messaging;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Queue;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestBatchReceiver {
+
+  @Test
+  public void testBufferedMessagesAreReceivedAsOneBatch() {
+    Queue<Integer> buffered = new ArrayDeque<>(Arrays.asList(1, 2, 3));
+    BatchReceiver<Integer, RuntimeException> receiver = new BatchReceiver<>(buffered::poll,
+            buffered::poll, 10);
+
+    assertEquals(Arrays.asList(1, 2, 3), receiver.receiveBatch());
+    assertEquals(Collections.emptyList(), receiver.receiveBatch());
+  }
+
+  @Test
+  public void testBatchesAreLimitedToMaxBatchSize() {
+    Queue<Integer> buffered = new ArrayDeque<>(Arrays.asList(1, 2, 3, 4, 5));
+    BatchReceiver<Integer, RuntimeException> receiver = new BatchReceiver<>(buffered::poll,
+            buffered::poll, 2);
+
+    assertEquals(Arrays.asList(1, 2), receiver.receiveBatch());
+    assertEquals(Arrays.asList(3, 4), receiver.receiveBatch());
+    assertEquals(Collections.singletonList(5), receiver.receiveBatch());
+  }
+
+  @Test
+  public void testOnlyTheFirstReceiveBlocks() {
+    Queue<Integer> buffered = new ArrayDeque<>(Arrays.asList(2, 3));
+    int[] blockingReceives = new int[1];
+    BatchReceiver<Integer, RuntimeException> receiver = new BatchReceiver<>(() -> {
+      blockingReceives[0]++;
+      return 1;
+    }, buffered::poll, 10);
+
+    assertEquals(Arrays.asList(1, 2, 3), receiver.receiveBatch());
+    assertEquals(1, blockingReceives[0]);
+  }
+}
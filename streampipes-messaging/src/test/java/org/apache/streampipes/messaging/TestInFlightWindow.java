@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.messaging;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestInFlightWindow {
+
+  @Test
+  public void testCompletionWithoutPendingEvents() {
+    InFlightWindow window = new InFlightWindow(4);
+    window.acquire();
+    window.release();
+
+    assertTrue(window.awaitCompletion(10, TimeUnit.MILLISECONDS));
+    assertEquals(0, window.getInFlight());
+  }
+
+  @Test
+  public void testCompletionTimesOutOnLostAck() {
+    InFlightWindow window = new InFlightWindow(4);
+    window.acquire();
+    window.acquire();
+
+    long start = System.nanoTime();
+    assertFalse(window.awaitCompletion(50, TimeUnit.MILLISECONDS));
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    assertEquals(2, window.getInFlight());
+  }
+
+  @Test
+  public void testCompletionWaitsForLateAck() throws Exception {
+    InFlightWindow window = new InFlightWindow(4);
+    window.acquire();
+
+    Thread ackThread = new Thread(() -> {
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      window.release();
+    });
+    ackThread.start();
+
+    assertTrue(window.awaitCompletion(5, TimeUnit.SECONDS));
+    ackThread.join();
+  }
+
+  @Test
+  public void testCompletionIsInterruptible() {
+    InFlightWindow window = new InFlightWindow(1);
+    window.acquire();
+
+    Thread.currentThread().interrupt();
+    assertFalse(window.awaitCompletion(5, TimeUnit.SECONDS));
+    assertTrue(Thread.interrupted());
+  }
+}
@@ -37,6 +37,18 @@ public class EventRateTransformationRuleDescription extends StreamTransformation
     @RdfProperty(StreamPipes.AGGREGATION_TYPE)
     private String aggregationType;
 
+    //Tumbling (default) or sliding
+    @RdfProperty(StreamPipes.AGGREGATION_WINDOW_TYPE)
+    private String windowType;
+
+    //Only used for sliding windows
+    @RdfProperty(StreamPipes.AGGREGATION_WINDOW_SLIDE)
+    private long windowSlide;
+
+    //Event time is taken from this property, processing time is used if not set
+    @RdfProperty(StreamPipes.AGGREGATION_TIMESTAMP_KEY)
+    private String timestampRuntimeKey;
+
 
     public EventRateTransformationRuleDescription() {
 
@@ -46,6 +58,9 @@ public class EventRateTransformationRuleDescription extends StreamTransformation
         super(other);
         this.aggregationTimeWindow = other.getAggregationTimeWindow();
         this.aggregationType = other.getAggregationType();
+        this.windowType = other.getWindowType();
+        this.windowSlide = other.getWindowSlide();
+        this.timestampRuntimeKey = other.getTimestampRuntimeKey();
     }
 
     public long getAggregationTimeWindow() {
@@ -63,4 +78,28 @@ public class EventRateTransformationRuleDescription extends StreamTransformation
     public void setAggregationType(String aggregationTypes) {
         this.aggregationType = aggregationTypes;
     }
+
+    public String getWindowType() {
+        return windowType;
+    }
+
+    public void setWindowType(String windowType) {
+        this.windowType = windowType;
+    }
+
+    public long getWindowSlide() {
+        return windowSlide;
+    }
+
+    public void setWindowSlide(long windowSlide) {
+        this.windowSlide = windowSlide;
+    }
+
+    public String getTimestampRuntimeKey() {
+        return timestampRuntimeKey;
+    }
+
+    public void setTimestampRuntimeKey(String timestampRuntimeKey) {
+        this.timestampRuntimeKey = timestampRuntimeKey;
+    }
 }
@@ -23,7 +23,12 @@ import io.fogsy.empire.annotations.RdfProperty;
 import io.fogsy.empire.annotations.RdfsClass;
 import org.apache.streampipes.vocabulary.StreamPipes;
 
+import javax.persistence.CascadeType;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.OneToMany;
+import java.util.ArrayList;
+import java.util.List;
 
 @Namespaces({StreamPipes.NS_PREFIX, StreamPipes.NS})
 @RdfsClass(StreamPipes.REMOVE_DUPLICATES_RULE_DESCRIPTION)
@@ -33,14 +38,31 @@ public class RemoveDuplicatesTransformationRuleDescription extends StreamTransfo
     @RdfProperty(StreamPipes.FILTER_TIME_WINDOW)
     private String filterTimeWindow;
 
+    //Runtime keys identifying an event, the whole event is compared if empty
+    @OneToMany(fetch = FetchType.EAGER,
+            cascade = {CascadeType.ALL})
+    @RdfProperty(StreamPipes.FILTER_KEY)
+    private List<String> filterKeys;
+
+    //exact (default) or probabilistic
+    @RdfProperty(StreamPipes.FILTER_MODE)
+    private String filterMode;
+
+    //Memory limit of the probabilistic filter in MB
+    @RdfProperty(StreamPipes.FILTER_MEMORY_LIMIT)
+    private int filterMemoryLimit;
 
     public RemoveDuplicatesTransformationRuleDescription() {
         super();
+        this.filterKeys = new ArrayList<>();
     }
 
     public RemoveDuplicatesTransformationRuleDescription(RemoveDuplicatesTransformationRuleDescription other) {
         super(other);
         this.filterTimeWindow = other.getFilterTimeWindow();
+        this.filterKeys = other.getFilterKeys() != null ? new ArrayList<>(other.getFilterKeys()) : null;
+        this.filterMode = other.getFilterMode();
+        this.filterMemoryLimit = other.getFilterMemoryLimit();
     }
 
     public String getFilterTimeWindow() {
@@ -50,4 +72,28 @@ public class RemoveDuplicatesTransformationRuleDescription extends StreamTransfo
     public void setFilterTimeWindow(String filterTimeWindow) {
         this.filterTimeWindow = filterTimeWindow;
     }
+
+    public List<String> getFilterKeys() {
+        return filterKeys;
+    }
+
+    public void setFilterKeys(List<String> filterKeys) {
+        this.filterKeys = filterKeys;
+    }
+
+    public String getFilterMode() {
+        return filterMode;
+    }
+
+    public void setFilterMode(String filterMode) {
+        this.filterMode = filterMode;
+    }
+
+    public int getFilterMemoryLimit() {
+        return filterMemoryLimit;
+    }
+
+    public void setFilterMemoryLimit(int filterMemoryLimit) {
+        this.filterMemoryLimit = filterMemoryLimit;
+    }
 }
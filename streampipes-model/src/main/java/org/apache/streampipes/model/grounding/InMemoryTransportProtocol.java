@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.model.grounding;
+
+import io.fogsy.empire.annotations.RdfProperty;
+import io.fogsy.empire.annotations.RdfsClass;
+import org.apache.streampipes.vocabulary.StreamPipes;
+
+import javax.persistence.Entity;
+
+/**
+ * Protocol for pipeline elements running in the same container, events are handed over in
+ * memory without a broker. Containers supporting the protocol announce it with the id of their
+ * JVM, two elements are co-located if they belong to the same container address, which is used as
+ * the instance id of the protocol of a pipeline. The container URL points to the container which
+ * hosts the topic, e.g., to preview or monitor its events.
+ */
+@RdfsClass(StreamPipes.IN_MEMORY_TRANSPORT_PROTOCOL)
+@Entity
+public class InMemoryTransportProtocol extends TransportProtocol {
+
+  @RdfProperty(StreamPipes.HAS_CONTAINER_INSTANCE_ID)
+  private String containerInstanceId;
+
+  @RdfProperty(StreamPipes.HAS_CONTAINER_URL)
+  private String containerUrl;
+
+  public InMemoryTransportProtocol(String hostname, String containerInstanceId, String
+          containerUrl, String topicName) {
+    super(hostname, new SimpleTopicDefinition(topicName));
+    this.containerInstanceId = containerInstanceId;
+    this.containerUrl = containerUrl;
+  }
+
+  public InMemoryTransportProtocol(InMemoryTransportProtocol other) {
+    super(other);
+    this.containerInstanceId = other.getContainerInstanceId();
+    this.containerUrl = other.getContainerUrl();
+  }
+
+  public InMemoryTransportProtocol() {
+    super();
+  }
+
+  public String getContainerInstanceId() {
+    return containerInstanceId;
+  }
+
+  public void setContainerInstanceId(String containerInstanceId) {
+    this.containerInstanceId = containerInstanceId;
+  }
+
+  public String getContainerUrl() {
+    return containerUrl;
+  }
+
+  public void setContainerUrl(String containerUrl) {
+    this.containerUrl = containerUrl;
+  }
+}
@@ -60,6 +60,18 @@ public class KafkaTransportProtocol extends TransportProtocol {
   @RdfProperty(StreamPipes.KAFKA_GROUP_ID)
   private String groupId;
 
+  @RdfProperty(StreamPipes.KAFKA_NUM_PARTITIONS)
+  private Integer numPartitions;
+
+  @RdfProperty(StreamPipes.KAFKA_CONSUMER_THREADS)
+  private Integer consumerThreads;
+
+  @RdfProperty(StreamPipes.KAFKA_MESSAGE_KEY)
+  private String messageKey;
+
+  @RdfProperty(StreamPipes.KAFKA_COMPRESSION_TYPE)
+  private String compressionType;
+
   public KafkaTransportProtocol(String kafkaHost, int kafkaPort, String topic) {
     super(kafkaHost, new SimpleTopicDefinition(topic));
     this.zookeeperHost = kafkaHost;
@@ -86,6 +98,10 @@ public class KafkaTransportProtocol extends TransportProtocol {
     this.maxRequestSize = other.getMaxRequestSize();
     this.messageMaxBytes = other.getMessageMaxBytes();
     this.offset = other.getOffset();
+    this.numPartitions = other.getNumPartitions();
+    this.consumerThreads = other.getConsumerThreads();
+    this.messageKey = other.getMessageKey();
+    this.compressionType = other.getCompressionType();
   }
 
   public KafkaTransportProtocol(String kafkaHost, Integer kafkaPort, WildcardTopicDefinition wildcardTopicDefinition) {
@@ -182,4 +198,36 @@ public class KafkaTransportProtocol extends TransportProtocol {
   public void setMaxRequestSize(String maxRequestSize) {
     this.maxRequestSize = maxRequestSize;
   }
+
+  public Integer getNumPartitions() {
+    return numPartitions;
+  }
+
+  public void setNumPartitions(Integer numPartitions) {
+    this.numPartitions = numPartitions;
+  }
+
+  public Integer getConsumerThreads() {
+    return consumerThreads;
+  }
+
+  public void setConsumerThreads(Integer consumerThreads) {
+    this.consumerThreads = consumerThreads;
+  }
+
+  public String getMessageKey() {
+    return messageKey;
+  }
+
+  public void setMessageKey(String messageKey) {
+    this.messageKey = messageKey;
+  }
+
+  public String getCompressionType() {
+    return compressionType;
+  }
+
+  public void setCompressionType(String compressionType) {
+    this.compressionType = compressionType;
+  }
 }
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.monitoring;
+
+/**
+ * Event counts of an in-memory topic since it has been opened, reported by the container which
+ * hosts the topic.
+ */
+public class InMemoryTopicStatistics {
+
+  private String topic;
+  private long publishedEvents;
+  private long deliveredEvents;
+
+  public InMemoryTopicStatistics() {
+  }
+
+  public InMemoryTopicStatistics(String topic, long publishedEvents, long deliveredEvents) {
+    this.topic = topic;
+    this.publishedEvents = publishedEvents;
+    this.deliveredEvents = deliveredEvents;
+  }
+
+  public String getTopic() {
+    return topic;
+  }
+
+  public void setTopic(String topic) {
+    this.topic = topic;
+  }
+
+  public long getPublishedEvents() {
+    return publishedEvents;
+  }
+
+  public void setPublishedEvents(long publishedEvents) {
+    this.publishedEvents = publishedEvents;
+  }
+
+  public long getDeliveredEvents() {
+    return deliveredEvents;
+  }
+
+  public void setDeliveredEvents(long deliveredEvents) {
+    this.deliveredEvents = deliveredEvents;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.monitoring;
+
+public class PipelineElementMonitoringSample {
+
+  private long timestamp;
+
+  private double consumedMessagesPerSecond;
+  private double producedMessagesPerSecond;
+  private long lag;
+
+  public PipelineElementMonitoringSample() {
+  }
+
+  public PipelineElementMonitoringSample(long timestamp,
+                                         double consumedMessagesPerSecond,
+                                         double producedMessagesPerSecond,
+                                         long lag) {
+    this.timestamp = timestamp;
+    this.consumedMessagesPerSecond = consumedMessagesPerSecond;
+    this.producedMessagesPerSecond = producedMessagesPerSecond;
+    this.lag = lag;
+  }
+
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public void setTimestamp(long timestamp) {
+    this.timestamp = timestamp;
+  }
+
+  public double getConsumedMessagesPerSecond() {
+    return consumedMessagesPerSecond;
+  }
+
+  public void setConsumedMessagesPerSecond(double consumedMessagesPerSecond) {
+    this.consumedMessagesPerSecond = consumedMessagesPerSecond;
+  }
+
+  public double getProducedMessagesPerSecond() {
+    return producedMessagesPerSecond;
+  }
+
+  public void setProducedMessagesPerSecond(double producedMessagesPerSecond) {
+    this.producedMessagesPerSecond = producedMessagesPerSecond;
+  }
+
+  public long getLag() {
+    return lag;
+  }
+
+  public void setLag(long lag) {
+    this.lag = lag;
+  }
+}
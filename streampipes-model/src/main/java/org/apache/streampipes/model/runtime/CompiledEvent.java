@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+
+import java.util.Map;
+
+/**
+ * Event whose fields are stored in the flat slot array of an {@link EventLayout}. Selector
+ * lookups of schema properties are resolved by slot index, the top-level field map is only
+ * materialized once a caller actually asks for it.
+ */
+public class CompiledEvent extends Event {
+
+  private final EventLayout layout;
+  private final AbstractField[] slots;
+
+  private Map<String, AbstractField> fieldMap;
+
+  public CompiledEvent(AbstractField[] slots, EventLayout layout) {
+    super(null, layout.getSourceInfo(), layout.getSchemaInfo());
+    this.slots = slots;
+    this.layout = layout;
+  }
+
+  @Override
+  public Map<String, AbstractField> getFields() {
+    if (fieldMap == null) {
+      fieldMap = layout.collectChildren(EventLayout.ROOT, slots);
+    }
+    return fieldMap;
+  }
+
+  @Override
+  public AbstractField getFieldBySelector(String fieldSelector) {
+    int slot = layout.getSlot(fieldSelector);
+    if (slot != EventLayout.NO_SLOT && slots[slot] != null) {
+      if (isCurrent(slot)) {
+        return slots[slot];
+      }
+      // the field was replaced through its field map, the slot is outdated
+      clearSubtree(slot);
+    }
+    return super.getFieldBySelector(fieldSelector);
+  }
+
+  /**
+   * Reads a field by a slot resolved once through {@link EventLayout#getSlot(String)}, without
+   * materializing the field map.
+   *
+   * @return the field, or null if the event does not contain it.
+   */
+  public AbstractField getFieldBySlot(int slot) {
+    if (slots[slot] != null) {
+      if (isCurrent(slot)) {
+        return slots[slot];
+      }
+      clearSubtree(slot);
+    }
+    int parent = layout.getParent(slot);
+    if (parent == EventLayout.ROOT) {
+      return fieldMap != null ? fieldMap.get(layout.getSelector(slot)) : null;
+    }
+    AbstractField parentField = getFieldBySlot(parent);
+    return parentField != null && parentField.isComposite() ? parentField.getAsComposite()
+            .getRawValue().get(layout.getSelector(slot)) : null;
+  }
+
+  @Override
+  public void addField(AbstractField field) {
+    super.addField(field);
+    String prefix = getSourceInfo() != null ? getSourceInfo().getSelectorPrefix() : null;
+    int slot = layout.getSlot(prefix != null ? prefix + PropertySelectorConstants
+            .PROPERTY_DELIMITER + field.getFieldNameIn() : field.getFieldNameIn());
+    if (slot != EventLayout.NO_SLOT) {
+      clearSubtree(slot);
+      slots[slot] = field;
+    }
+  }
+
+  @Override
+  public void removeFieldBySelector(String fieldSelector) {
+    super.removeFieldBySelector(fieldSelector);
+    int slot = layout.getSlot(fieldSelector);
+    if (slot != EventLayout.NO_SLOT) {
+      clearSubtree(slot);
+    }
+  }
+
+  @Override
+  public void updateFieldBySelector(String selector, AbstractField field) {
+    super.updateFieldBySelector(selector, field);
+    int slot = layout.getSlot(selector);
+    if (slot != EventLayout.NO_SLOT) {
+      clearSubtree(slot);
+      slots[slot] = field;
+    }
+  }
+
+  public EventLayout getLayout() {
+    return layout;
+  }
+
+  /**
+   * Checks that the slot still holds the field its enclosing map refers to, since fields can be
+   * replaced directly in the maps returned by {@link #getFields()} or a nested field.
+   */
+  private boolean isCurrent(int slot) {
+    int parent = layout.getParent(slot);
+    if (parent == EventLayout.ROOT) {
+      return fieldMap == null || fieldMap.get(layout.getSelector(slot)) == slots[slot];
+    }
+    AbstractField parentField = slots[parent];
+    return parentField != null
+            && parentField.isComposite()
+            && parentField.getAsComposite().getRawValue().get(layout.getSelector(slot)) == slots[slot]
+            && isCurrent(parent);
+  }
+
+  private void clearSubtree(int slot) {
+    for (int i = slot; i < layout.getSubtreeEnd(slot); i++) {
+      slots[i] = null;
+    }
+  }
+}
@@ -65,7 +65,7 @@ public class Event {
 
   public AbstractField getFieldByRuntimeName(String runtimeName) {
     // TODO this currently only works for first-level properties
-    return fieldMap
+    return getFields()
             .entrySet()
             .stream()
             .map(Map.Entry::getValue)
@@ -75,11 +75,11 @@ public class Event {
   }
 
   public void removeFieldBySelector(String fieldSelector) {
-    this.fieldMap.remove(fieldSelector);
+    getFields().remove(fieldSelector);
   }
 
   public AbstractField getFieldBySelector(String fieldSelector) {
-    return getFieldBySelector(fieldSelector, fieldMap);
+    return getFieldBySelector(fieldSelector, getFields());
   }
 
   private AbstractField getFieldBySelector(String fieldSelector, Map<String, AbstractField>
@@ -99,10 +99,10 @@ public class Event {
   }
 
   public void updateFieldBySelector(String selector, AbstractField field) {
-    if (fieldMap.containsKey(selector)) {
-      fieldMap.put(selector, field);
+    if (getFields().containsKey(selector)) {
+      getFields().put(selector, field);
     } else {
-      updateFieldMap(fieldMap.get(makeSelector(selector, 2))
+      updateFieldMap(getFields().get(makeSelector(selector, 2))
               .getAsComposite()
               .getRawValue(), selector, 2, field);
     }
@@ -158,7 +158,7 @@ public class Event {
   }
 
   public void addField(AbstractField field) {
-    this.fieldMap.put(makeKey(field), field);
+    getFields().put(makeKey(field), field);
   }
 
   public void addField(String runtimeName, Integer value) {
@@ -195,7 +195,7 @@ public class Event {
   }
 
   private void addPrimitive(String runtimeName, Object value) {
-    this.fieldMap.put(runtimeName, new PrimitiveField(runtimeName, runtimeName, value));
+    getFields().put(runtimeName, new PrimitiveField(runtimeName, runtimeName, value));
   }
 
   public void addFieldAtPosition(String baseSelector, AbstractField field) {
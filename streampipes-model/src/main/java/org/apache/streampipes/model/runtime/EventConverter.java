@@ -51,6 +51,14 @@ public class EventConverter {
     return toMap(false);
   }
 
+  /**
+   * Converts a single field of the event to the same raw representation as used by
+   * {@link #toInputEventMap()}, nested properties keep their input names.
+   */
+  public Object toRawValue(AbstractField field) {
+    return makeEntry(field, false);
+  }
+
   private Object makeEntry(AbstractField value, Boolean renameProperties) {
     if (PrimitiveField.class.isInstance(value)) {
       return value.getRawValue();
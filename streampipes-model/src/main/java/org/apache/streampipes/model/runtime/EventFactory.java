@@ -27,6 +27,7 @@ import org.apache.streampipes.model.runtime.field.PrimitiveField;
 import org.apache.streampipes.model.schema.EventSchema;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -74,6 +75,143 @@ public class EventFactory {
     return new Event(fields, sourceInfo, schemaInfo);
   }
 
+  public static Event fromMap(Map<String, Object> event, EventLayout layout) {
+    AbstractField[] slots = new AbstractField[layout.size()];
+    if (fillSlots(event, EventLayout.ROOT, layout, slots)) {
+      return new CompiledEvent(slots, layout);
+    } else {
+      // the event does not match the compiled schema, fall back to the generic field map
+      return fromMap(event, layout.getSourceInfo(), layout.getSchemaInfo());
+    }
+  }
+
+  private static boolean fillSlots(Map<String, Object> event, int parentSlot, EventLayout layout,
+                                   AbstractField[] slots) {
+    for (Map.Entry<String, Object> entry : event.entrySet()) {
+      int slot = layout.getChildSlot(parentSlot, entry.getKey());
+      if (slot == EventLayout.NO_SLOT) {
+        return false;
+      }
+      Object value = entry.getValue();
+      EventLayout.SlotType slotType = layout.getSlotType(slot);
+      if (slotType == EventLayout.SlotType.NESTED) {
+        if (!Map.class.isInstance(value) || !fillSlots((Map<String, Object>) value, slot, layout,
+                slots)) {
+          return false;
+        }
+        slots[slot] = new NestedField(layout.getRuntimeName(slot), layout.getOutputName(slot),
+                layout.collectChildren(slot, slots));
+      } else if (slotType == EventLayout.SlotType.LIST) {
+        if (!List.class.isInstance(value)) {
+          return false;
+        }
+        slots[slot] = makeListField(layout, slot, (List<Object>) value);
+      } else {
+        if (Map.class.isInstance(value) || List.class.isInstance(value)) {
+          return false;
+        }
+        slots[slot] = new PrimitiveField(layout.getRuntimeName(slot), layout.getOutputName(slot),
+                value);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Creates an event of the given layout from an event emitted by another pipeline element in the
+   * same container. The fields are copied directly instead of converting the event to a map first.
+   */
+  public static Event fromEvent(Event event, EventLayout layout) {
+    AbstractField[] slots = new AbstractField[layout.size()];
+    if (fillSlots(event.getFields().values(), EventLayout.ROOT, layout, slots)) {
+      return new CompiledEvent(slots, layout);
+    } else {
+      return fromEvent(event, layout.getSourceInfo(), layout.getSchemaInfo());
+    }
+  }
+
+  /**
+   * @return a deep copy of the given event, later changes of the event do not affect the copy.
+   */
+  public static Event copyOf(Event event) {
+    Map<String, AbstractField> fields = new LinkedTreeMap<>();
+    for (Map.Entry<String, AbstractField> entry : event.getFields().entrySet()) {
+      fields.put(entry.getKey(), copyField(entry.getValue()));
+    }
+    return new Event(fields, event.getSourceInfo(), event.getSchemaInfo());
+  }
+
+  private static AbstractField copyField(AbstractField field) {
+    if (field.isComposite()) {
+      Map<String, AbstractField> fieldMap = new LinkedTreeMap<>();
+      for (Map.Entry<String, AbstractField> entry : field.getAsComposite().getRawValue().entrySet()) {
+        fieldMap.put(entry.getKey(), copyField(entry.getValue()));
+      }
+      return new NestedField(field.getFieldNameIn(), field.getFieldNameOut(), fieldMap);
+    } else if (field.isList()) {
+      List<AbstractField> items = new ArrayList<>(field.getAsList().getRawValue().size());
+      for (AbstractField item : field.getAsList().getRawValue()) {
+        items.add(copyField(item));
+      }
+      return new ListField(field.getFieldNameIn(), field.getFieldNameOut(), items);
+    } else {
+      return field.getAsPrimitive().copy(field.getFieldNameIn(), field.getFieldNameOut());
+    }
+  }
+
+  public static Event fromEvent(Event event, SourceInfo sourceInfo, SchemaInfo schemaInfo) {
+    Map<String, AbstractField> fields = new LinkedTreeMap<>();
+
+    for (AbstractField field : event.getFields().values()) {
+      String key = field.getFieldNameOut();
+      String currentSelector = makeSelector(key, sourceInfo.getSelectorPrefix());
+      fields.put(currentSelector, copyField(key, field, currentSelector, schemaInfo));
+    }
+
+    return new Event(fields, sourceInfo, schemaInfo);
+  }
+
+  private static boolean fillSlots(Collection<AbstractField> fields, int parentSlot,
+                                   EventLayout layout, AbstractField[] slots) {
+    for (AbstractField field : fields) {
+      int slot = layout.getChildSlot(parentSlot, field.getFieldNameOut());
+      if (slot == EventLayout.NO_SLOT) {
+        return false;
+      }
+      EventLayout.SlotType slotType = layout.getSlotType(slot);
+      if (slotType == EventLayout.SlotType.NESTED) {
+        if (!field.isComposite() || !fillSlots(field.getAsComposite().getRawValue().values(), slot,
+                layout, slots)) {
+          return false;
+        }
+        slots[slot] = new NestedField(layout.getRuntimeName(slot), layout.getOutputName(slot),
+                layout.collectChildren(slot, slots));
+      } else if (slotType == EventLayout.SlotType.LIST) {
+        if (!field.isList()) {
+          return false;
+        }
+        slots[slot] = new ListField(layout.getRuntimeName(slot), layout.getOutputName(slot),
+                copyItems(field.getAsList(), layout.getSelector(slot), layout.getSchemaInfo()));
+      } else {
+        if (!field.isPrimitive()) {
+          return false;
+        }
+        slots[slot] = field.getAsPrimitive().copy(layout.getRuntimeName(slot),
+                layout.getOutputName(slot));
+      }
+    }
+    return true;
+  }
+
+  public static ListField makeListField(EventLayout layout, int slot, List<Object> values) {
+    List<AbstractField> items = new ArrayList<>(values.size());
+    for (int i = 0; i < values.size(); i++) {
+      items.add(makeField("", values.get(i), layout.getSelector(slot) + "::" + i, layout
+              .getSchemaInfo()));
+    }
+    return new ListField(layout.getRuntimeName(slot), layout.getOutputName(slot), items);
+  }
+
   public static Event makeSubset(Event event, List<String> fieldSelectors) {
     Map<String, AbstractField> fieldMap = makeFieldMap(event.getFields(), fieldSelectors);
     return new Event(fieldMap, event.getSourceInfo(), event.getSchemaInfo());
@@ -144,6 +282,35 @@ public class EventFactory {
     }
   }
 
+  private static AbstractField copyField(String runtimeName, AbstractField field, String
+          currentSelector, SchemaInfo schemaInfo) {
+    String newRuntimeName = getNewRuntimeName(currentSelector, runtimeName, schemaInfo
+            .getRenameRules());
+    if (field.isComposite()) {
+      Map<String, AbstractField> fieldMap = new LinkedTreeMap<>();
+      for (AbstractField child : field.getAsComposite().getRawValue().values()) {
+        String key = child.getFieldNameOut();
+        String selector = makeSelector(key, currentSelector);
+        fieldMap.put(selector, copyField(key, child, selector, schemaInfo));
+      }
+      return new NestedField(runtimeName, newRuntimeName, fieldMap);
+    } else if (field.isList()) {
+      return new ListField(runtimeName, newRuntimeName, copyItems(field.getAsList(),
+              currentSelector, schemaInfo));
+    } else {
+      return field.getAsPrimitive().copy(runtimeName, newRuntimeName);
+    }
+  }
+
+  private static List<AbstractField> copyItems(ListField field, String currentSelector,
+                                               SchemaInfo schemaInfo) {
+    List<AbstractField> items = new ArrayList<>(field.getRawValue().size());
+    for (int i = 0; i < field.getRawValue().size(); i++) {
+      items.add(copyField("", field.getRawValue().get(i), currentSelector + "::" + i, schemaInfo));
+    }
+    return items;
+  }
+
   private static String getNewRuntimeName(String currentSelector, String
           runtimeName, List<PropertyRenameRule>
                                                   renameRules) {
@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyList;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flat slot layout of the events of one input stream, compiled once from the event schema.
+ * Each (nested) property gets a slot index in pre-order, so that selectors, child lookups and
+ * renamed output names can be resolved without string operations at runtime.
+ */
+public class EventLayout implements Serializable {
+
+  public static final int ROOT = -1;
+  public static final int NO_SLOT = -1;
+
+  public enum SlotType {
+    PRIMITIVE, NESTED, LIST
+  }
+
+  private final SourceInfo sourceInfo;
+  private final SchemaInfo schemaInfo;
+
+  private final String[] selectors;
+  private final String[] runtimeNames;
+  private final String[] outputNames;
+  private final SlotType[] slotTypes;
+  private final int[] subtreeEnds;
+  private final int[] parents;
+  private final int[][] children;
+  private final int[] rootSlots;
+
+  private final Map<String, Integer> selectorIndex;
+  private final Map<String, Integer> rootChildren;
+  private final List<Map<String, Integer>> nestedChildren;
+
+  private EventLayout(SourceInfo sourceInfo, SchemaInfo schemaInfo, List<Slot> slots) {
+    this.sourceInfo = sourceInfo;
+    this.schemaInfo = schemaInfo;
+    int size = slots.size();
+    this.selectors = new String[size];
+    this.runtimeNames = new String[size];
+    this.outputNames = new String[size];
+    this.slotTypes = new SlotType[size];
+    this.subtreeEnds = new int[size];
+    this.parents = new int[size];
+    this.children = new int[size][];
+    this.selectorIndex = new HashMap<>();
+    this.rootChildren = new HashMap<>();
+    this.nestedChildren = new ArrayList<>();
+
+    List<List<Integer>> childSlots = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      nestedChildren.add(new HashMap<>());
+      childSlots.add(new ArrayList<>());
+    }
+
+    List<Integer> rootSlotList = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      Slot slot = slots.get(i);
+      selectors[i] = slot.selector;
+      runtimeNames[i] = slot.runtimeName;
+      outputNames[i] = slot.outputName;
+      slotTypes[i] = slot.slotType;
+      subtreeEnds[i] = slot.subtreeEnd;
+      parents[i] = slot.parent;
+      selectorIndex.put(slot.selector, i);
+      if (slot.parent == ROOT) {
+        rootChildren.put(slot.runtimeName, i);
+        rootSlotList.add(i);
+      } else {
+        nestedChildren.get(slot.parent).put(slot.runtimeName, i);
+        childSlots.get(slot.parent).add(i);
+      }
+    }
+
+    for (int i = 0; i < size; i++) {
+      children[i] = toArray(childSlots.get(i));
+    }
+    this.rootSlots = toArray(rootSlotList);
+  }
+
+  public static EventLayout compile(SourceInfo sourceInfo, SchemaInfo schemaInfo) {
+    Map<String, String> renameTable = new HashMap<>();
+    if (schemaInfo.getRenameRules() != null) {
+      for (PropertyRenameRule rule : schemaInfo.getRenameRules()) {
+        renameTable.putIfAbsent(rule.getRuntimeId(), rule.getNewRuntimeName());
+      }
+    }
+
+    List<Slot> slots = new ArrayList<>();
+    if (schemaInfo.getEventSchema() != null) {
+      addSlots(schemaInfo.getEventSchema().getEventProperties(), ROOT, sourceInfo.getSelectorPrefix(),
+              renameTable, slots);
+    }
+    return new EventLayout(sourceInfo, schemaInfo, slots);
+  }
+
+  private static void addSlots(List<EventProperty> properties, int parent, String prefix,
+                               Map<String, String> renameTable, List<Slot> slots) {
+    for (EventProperty property : properties) {
+      String runtimeName = property.getRuntimeName();
+      String selector = prefix + PropertySelectorConstants.PROPERTY_DELIMITER + runtimeName;
+      Slot slot = new Slot(parent, selector, runtimeName, renameTable.getOrDefault(selector,
+              runtimeName), getSlotType(property));
+      int index = slots.size();
+      slots.add(slot);
+      if (property instanceof EventPropertyNested) {
+        addSlots(((EventPropertyNested) property).getEventProperties(), index, selector,
+                renameTable, slots);
+      }
+      slot.subtreeEnd = slots.size();
+    }
+  }
+
+  private static SlotType getSlotType(EventProperty property) {
+    if (property instanceof EventPropertyNested) {
+      return SlotType.NESTED;
+    } else if (property instanceof EventPropertyList) {
+      return SlotType.LIST;
+    } else {
+      return SlotType.PRIMITIVE;
+    }
+  }
+
+  private static int[] toArray(List<Integer> values) {
+    return values.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  public int size() {
+    return selectors.length;
+  }
+
+  public int getSlot(String selector) {
+    Integer slot = selectorIndex.get(selector);
+    return slot != null ? slot : NO_SLOT;
+  }
+
+  public int getChildSlot(int parentSlot, String runtimeName) {
+    Integer slot = parentSlot == ROOT ? rootChildren.get(runtimeName) :
+            nestedChildren.get(parentSlot).get(runtimeName);
+    return slot != null ? slot : NO_SLOT;
+  }
+
+  public String getSelector(int slot) {
+    return selectors[slot];
+  }
+
+  public String getRuntimeName(int slot) {
+    return runtimeNames[slot];
+  }
+
+  public String getOutputName(int slot) {
+    return outputNames[slot];
+  }
+
+  public SlotType getSlotType(int slot) {
+    return slotTypes[slot];
+  }
+
+  /**
+   * @return the slot of the enclosing nested property, or {@link #ROOT} for top-level properties.
+   */
+  public int getParent(int slot) {
+    return parents[slot];
+  }
+
+  /**
+   * @return the exclusive end index of all slots nested below the given slot.
+   */
+  public int getSubtreeEnd(int slot) {
+    return subtreeEnds[slot];
+  }
+
+  /**
+   * Builds the selector-keyed field map of all filled direct children of the given slot, as
+   * expected by {@link Event#getFields()} and {@link org.apache.streampipes.model.runtime.field.NestedField}.
+   */
+  public Map<String, AbstractField> collectChildren(int parentSlot, AbstractField[] slots) {
+    int[] childSlots = parentSlot == ROOT ? rootSlots : children[parentSlot];
+    Map<String, AbstractField> fields = new LinkedHashMap<>();
+    for (int childSlot : childSlots) {
+      if (slots[childSlot] != null) {
+        fields.put(selectors[childSlot], slots[childSlot]);
+      }
+    }
+    return fields;
+  }
+
+  public SourceInfo getSourceInfo() {
+    return sourceInfo;
+  }
+
+  public SchemaInfo getSchemaInfo() {
+    return schemaInfo;
+  }
+
+  private static class Slot {
+
+    private final int parent;
+    private final String selector;
+    private final String runtimeName;
+    private final String outputName;
+    private final SlotType slotType;
+    private int subtreeEnd;
+
+    Slot(int parent, String selector, String runtimeName, String outputName, SlotType slotType) {
+      this.parent = parent;
+      this.selector = selector;
+      this.runtimeName = runtimeName;
+      this.outputName = outputName;
+      this.slotType = slotType;
+    }
+  }
+}
@@ -25,7 +25,7 @@ public abstract class AbstractField<FV> {
   protected String fieldNameOut;
   protected FV value;
 
-  protected TypeParser typeParser;
+  protected static final TypeParser typeParser = TypeParser.newBuilder().build();
 
   public AbstractField(String fieldNameIn, String fieldNameOut, FV value) {
     this(fieldNameIn);
@@ -40,7 +40,6 @@ public abstract class AbstractField<FV> {
   }
 
   public AbstractField() {
-    this.typeParser = TypeParser.newBuilder().build();
   }
 
   protected String asString(Object field) {
@@ -88,7 +87,7 @@ public abstract class AbstractField<FV> {
   }
 
   public <T> T parse(FieldParser<FV, T> fieldParser) {
-    return fieldParser.parseField(value);
+    return fieldParser.parseField(getRawValue());
   }
 
   public void setValue(FV value) {
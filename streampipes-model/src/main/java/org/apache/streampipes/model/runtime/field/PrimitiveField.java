@@ -19,32 +19,197 @@ package org.apache.streampipes.model.runtime.field;
 
 public class PrimitiveField extends AbstractField<Object> {
 
+  /**
+   * Tag of the unboxed value slot. Fields created from decoded numbers and booleans keep their
+   * value unboxed, the raw value is only boxed once it is actually requested.
+   */
+  public enum PrimitiveType {
+    OBJECT, INT, LONG, FLOAT, DOUBLE, BOOLEAN
+  }
+
+  private PrimitiveType primitiveType;
+  private long longValue;
+  private double doubleValue;
+
   public PrimitiveField(String fieldNameIn, String fieldNameOut, Object value) {
     super(fieldNameIn, fieldNameOut, value);
+    this.primitiveType = PrimitiveType.OBJECT;
+  }
+
+  public PrimitiveField(String fieldNameIn, String fieldNameOut, int value) {
+    super(fieldNameIn, fieldNameOut, null);
+    setValue(value);
+  }
+
+  public PrimitiveField(String fieldNameIn, String fieldNameOut, long value) {
+    super(fieldNameIn, fieldNameOut, null);
+    setValue(value);
+  }
+
+  public PrimitiveField(String fieldNameIn, String fieldNameOut, float value) {
+    super(fieldNameIn, fieldNameOut, null);
+    setValue(value);
+  }
+
+  public PrimitiveField(String fieldNameIn, String fieldNameOut, double value) {
+    super(fieldNameIn, fieldNameOut, null);
+    setValue(value);
+  }
+
+  public PrimitiveField(String fieldNameIn, String fieldNameOut, boolean value) {
+    super(fieldNameIn, fieldNameOut, null);
+    setValue(value);
+  }
+
+  /**
+   * @return a field with the same value under the given names, an unboxed value stays unboxed.
+   */
+  public PrimitiveField copy(String fieldNameIn, String fieldNameOut) {
+    PrimitiveField field = new PrimitiveField(fieldNameIn, fieldNameOut, value);
+    field.primitiveType = primitiveType;
+    field.longValue = longValue;
+    field.doubleValue = doubleValue;
+    return field;
+  }
+
+  @Override
+  public Object getRawValue() {
+    if (value == null && primitiveType != PrimitiveType.OBJECT) {
+      value = box();
+    }
+    return value;
+  }
+
+  @Override
+  public void setValue(Object value) {
+    this.value = value;
+    this.primitiveType = PrimitiveType.OBJECT;
+  }
+
+  public void setValue(int value) {
+    setPrimitive(PrimitiveType.INT, value, value);
+  }
+
+  public void setValue(long value) {
+    setPrimitive(PrimitiveType.LONG, value, value);
+  }
+
+  public void setValue(float value) {
+    setPrimitive(PrimitiveType.FLOAT, 0, value);
+  }
+
+  public void setValue(double value) {
+    setPrimitive(PrimitiveType.DOUBLE, 0, value);
+  }
+
+  public void setValue(boolean value) {
+    setPrimitive(PrimitiveType.BOOLEAN, value ? 1 : 0, 0);
+  }
+
+  public PrimitiveType getPrimitiveType() {
+    return primitiveType;
   }
 
   public String getAsString() {
-    return asString(value);
+    return asString(getRawValue());
   }
 
   public Long getAsLong() {
-    return Long.parseLong(asString(value));
+    return getAsLongPrimitive();
   }
 
   public Integer getAsInt() {
-    return Integer.parseInt(asString(value));
+    return getAsIntPrimitive();
   }
 
   public Float getAsFloat() {
-    return Float.parseFloat(asString(value));
+    return getAsFloatPrimitive();
   }
 
   public Boolean getAsBoolean() {
-    return Boolean.parseBoolean(asString(value));
+    return getAsBooleanPrimitive();
   }
 
   public Double getAsDouble() {
-    return Double.parseDouble(asString(value));
+    return getAsDoublePrimitive();
+  }
+
+  public long getAsLongPrimitive() {
+    if (primitiveType == PrimitiveType.INT || primitiveType == PrimitiveType.LONG) {
+      return longValue;
+    } else if (value instanceof Long || value instanceof Integer) {
+      return ((Number) value).longValue();
+    } else {
+      return Long.parseLong(getAsString());
+    }
+  }
+
+  public int getAsIntPrimitive() {
+    if (primitiveType == PrimitiveType.INT) {
+      return (int) longValue;
+    } else if (value instanceof Integer) {
+      return (Integer) value;
+    } else {
+      return Integer.parseInt(getAsString());
+    }
+  }
+
+  public float getAsFloatPrimitive() {
+    if (primitiveType == PrimitiveType.FLOAT) {
+      return (float) doubleValue;
+    } else if (primitiveType == PrimitiveType.INT) {
+      return (float) longValue;
+    } else if (value instanceof Float || value instanceof Integer) {
+      return ((Number) value).floatValue();
+    } else {
+      return Float.parseFloat(getAsString());
+    }
+  }
+
+  public double getAsDoublePrimitive() {
+    if (primitiveType == PrimitiveType.DOUBLE) {
+      return doubleValue;
+    } else if (primitiveType == PrimitiveType.INT || primitiveType == PrimitiveType.LONG) {
+      return (double) longValue;
+    } else if (value instanceof Double || value instanceof Integer || value instanceof Long) {
+      return ((Number) value).doubleValue();
+    } else {
+      return Double.parseDouble(getAsString());
+    }
+  }
+
+  public boolean getAsBooleanPrimitive() {
+    if (primitiveType == PrimitiveType.BOOLEAN) {
+      return longValue != 0;
+    } else if (value instanceof Boolean) {
+      return (Boolean) value;
+    } else {
+      return Boolean.parseBoolean(getAsString());
+    }
+  }
+
+  private void setPrimitive(PrimitiveType primitiveType, long longValue, double doubleValue) {
+    this.primitiveType = primitiveType;
+    this.longValue = longValue;
+    this.doubleValue = doubleValue;
+    this.value = null;
+  }
+
+  private Object box() {
+    switch (primitiveType) {
+      case INT:
+        return (int) longValue;
+      case LONG:
+        return longValue;
+      case FLOAT:
+        return (float) doubleValue;
+      case DOUBLE:
+        return doubleValue;
+      case BOOLEAN:
+        return longValue != 0;
+      default:
+        return null;
+    }
   }
 
 }
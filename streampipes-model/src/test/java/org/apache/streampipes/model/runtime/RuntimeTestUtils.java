@@ -19,6 +19,11 @@ package org.apache.streampipes.model.runtime;
 
 import org.apache.streampipes.model.constants.PropertySelectorConstants;
 import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.vocabulary.XSD;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -88,4 +93,22 @@ public class RuntimeTestUtils {
     return EventFactory.fromMap(runtimeMap, sourceInfo, new SchemaInfo(null, Arrays.asList(rule,
             rule2)));
   }
+
+  public static EventSchema nestedSchema() {
+    EventProperty nested = new EventPropertyNested("nested", Arrays.asList(
+            makePrimitive("timestamp"), makePrimitive("timestamp2")));
+    return new EventSchema(Arrays.asList(makePrimitive("timestamp"), nested));
+  }
+
+  public static EventLayout makeNestedLayoutWithRenameRule(SourceInfo sourceInfo) {
+    PropertyRenameRule rule = new PropertyRenameRule("s0::nested", "ns");
+    PropertyRenameRule rule2 = new PropertyRenameRule("s0::nested::timestamp2", "ts2");
+    return EventLayout.compile(sourceInfo, new SchemaInfo(nestedSchema(), Arrays.asList(rule,
+            rule2)));
+  }
+
+  private static EventProperty makePrimitive(String runtimeName) {
+    return new EventPropertyPrimitive(XSD._integer.toString(), runtimeName, "",
+            Collections.emptyList());
+  }
 }
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class TestCompiledEvent {
+
+  @Test
+  public void testCompiledNestedValue() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    EventLayout layout = RuntimeTestUtils.makeNestedLayoutWithRenameRule(RuntimeTestUtils
+            .getSourceInfo());
+    Event event = EventFactory.fromMap(runtimeMap, layout);
+
+    assertTrue(CompiledEvent.class.isInstance(event));
+    assertEquals(Integer.valueOf(1), event.getFieldBySelector("s0::timestamp").getAsPrimitive()
+            .getAsInt());
+    assertEquals(Integer.valueOf(2), event.getFieldBySelector("s0::nested::timestamp2")
+            .getAsPrimitive()
+            .getAsInt());
+  }
+
+  @Test
+  public void testCompiledRenaming() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    EventLayout layout = RuntimeTestUtils.makeNestedLayoutWithRenameRule(RuntimeTestUtils
+            .getSourceInfo());
+    Event event = EventFactory.fromMap(runtimeMap, layout);
+
+    Map<String, Object> outMap = new EventConverter(event).toMap();
+
+    assertTrue(outMap.containsKey("ns"));
+    Map<String, Object> nestedMap = (Map<String, Object>) outMap.get("ns");
+    assertTrue(nestedMap.containsKey("ts2"));
+    assertEquals(2, nestedMap.keySet().size());
+    assertEquals(runtimeMap, event.getRaw());
+  }
+
+  @Test
+  public void testCompiledUpdateAndRemove() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    EventLayout layout = RuntimeTestUtils.makeNestedLayoutWithRenameRule(RuntimeTestUtils
+            .getSourceInfo());
+    Event event = EventFactory.fromMap(runtimeMap, layout);
+
+    event.updateFieldBySelector("s0::timestamp", new PrimitiveField("timestamp", "timestamp", 5));
+    assertEquals(Integer.valueOf(5), event.getFieldBySelector("s0::timestamp").getAsPrimitive()
+            .getAsInt());
+
+    event.removeFieldBySelector("s0::nested");
+    assertFalse(event.getRaw().containsKey("nested"));
+  }
+
+  @Test
+  public void testAddFieldReplacesSlot() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    EventLayout layout = RuntimeTestUtils.makeNestedLayoutWithRenameRule(RuntimeTestUtils
+            .getSourceInfo());
+    Event event = EventFactory.fromMap(runtimeMap, layout);
+
+    event.addField(new PrimitiveField("timestamp", "timestamp", 7));
+    assertEquals(Integer.valueOf(7), event.getFieldBySelector("s0::timestamp").getAsPrimitive()
+            .getAsInt());
+    assertEquals(7, event.getRaw().get("timestamp"));
+  }
+
+  @Test
+  public void testFieldMapPutReplacesSlot() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    EventLayout layout = RuntimeTestUtils.makeNestedLayoutWithRenameRule(RuntimeTestUtils
+            .getSourceInfo());
+    Event event = EventFactory.fromMap(runtimeMap, layout);
+
+    event.getFields().put("s0::timestamp", new PrimitiveField("timestamp", "timestamp", 8));
+    assertEquals(Integer.valueOf(8), event.getFieldBySelector("s0::timestamp").getAsPrimitive()
+            .getAsInt());
+
+    event.getFieldBySelector("s0::nested").getAsComposite().getRawValue().put(
+            "s0::nested::timestamp2", new PrimitiveField("timestamp2", "ts2", 9));
+    assertEquals(Integer.valueOf(9), event.getFieldBySelector("s0::nested::timestamp2")
+            .getAsPrimitive()
+            .getAsInt());
+  }
+
+  @Test
+  public void testFieldBySlot() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    EventLayout layout = RuntimeTestUtils.makeNestedLayoutWithRenameRule(RuntimeTestUtils
+            .getSourceInfo());
+    CompiledEvent event = (CompiledEvent) EventFactory.fromMap(runtimeMap, layout);
+    int timestampSlot = layout.getSlot("s0::timestamp");
+    int nestedSlot = layout.getSlot("s0::nested::timestamp2");
+
+    assertEquals(Integer.valueOf(1), event.getFieldBySlot(timestampSlot).getAsPrimitive()
+            .getAsInt());
+    assertEquals(Integer.valueOf(2), event.getFieldBySlot(nestedSlot).getAsPrimitive()
+            .getAsInt());
+
+    event.getFields().put("s0::timestamp", new PrimitiveField("timestamp", "timestamp", 8));
+    assertEquals(Integer.valueOf(8), event.getFieldBySlot(timestampSlot).getAsPrimitive()
+            .getAsInt());
+
+    event.getFields().remove("s0::timestamp");
+    assertNull(event.getFieldBySlot(timestampSlot));
+  }
+
+  @Test
+  public void testFieldBySlotOfMissingField() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    runtimeMap.remove("timestamp");
+    EventLayout layout = RuntimeTestUtils.makeNestedLayoutWithRenameRule(RuntimeTestUtils
+            .getSourceInfo());
+    CompiledEvent event = (CompiledEvent) EventFactory.fromMap(runtimeMap, layout);
+
+    assertNull(event.getFieldBySlot(layout.getSlot("s0::timestamp")));
+  }
+
+  @Test
+  public void testFallbackOnUnknownField() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    runtimeMap.put("unknown", 3);
+    EventLayout layout = RuntimeTestUtils.makeNestedLayoutWithRenameRule(RuntimeTestUtils
+            .getSourceInfo());
+    Event event = EventFactory.fromMap(runtimeMap, layout);
+
+    assertFalse(CompiledEvent.class.isInstance(event));
+    assertEquals(Integer.valueOf(3), event.getFieldBySelector("s0::unknown").getAsPrimitive()
+            .getAsInt());
+    assertEquals("ns", event.getFieldBySelector("s0::nested").getFieldNameOut());
+  }
+}
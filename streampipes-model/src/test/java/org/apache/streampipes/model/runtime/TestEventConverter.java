@@ -53,4 +53,16 @@ public class TestEventConverter {
     assertTrue(nestedMap.containsKey("timestamp2"));
     assertEquals(2, nestedMap.get("timestamp2"));
   }
+
+  @Test
+  public void testRawValueKeepsInputNames() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    Event event = RuntimeTestUtils.makeNestedEventWithRenameRule(runtimeMap, RuntimeTestUtils.getSourceInfo());
+    EventConverter converter = new EventConverter(event);
+
+    Object rawValue = converter.toRawValue(event.getFieldBySelector("s0::nested"));
+
+    assertEquals(converter.toInputEventMap().get("nested"), rawValue);
+    assertEquals(2, ((Map<String, Object>) rawValue).get("timestamp2"));
+  }
 }
@@ -18,10 +18,17 @@
 package org.apache.streampipes.model.runtime;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.UUID;
 
 public class TestEventFactory {
 
@@ -45,4 +52,81 @@ public class TestEventFactory {
     assertEquals("nested", event.getFieldBySelector("s0::nested").getFieldNameIn());
     assertEquals("timestamp2", event.getFieldBySelector("s0::nested::timestamp2").getFieldNameIn());
   }
+
+  @Test
+  public void testEventCopyUsesOutputNames() {
+    Event producedEvent = RuntimeTestUtils.makeNestedEventWithRenameRule(RuntimeTestUtils
+            .nestedMap(), RuntimeTestUtils.getSourceInfo());
+    SourceInfo sourceInfo = new SourceInfo(UUID.randomUUID().toString(),
+            PropertySelectorConstants.SECOND_STREAM_ID_PREFIX);
+
+    Event event = EventFactory.fromEvent(producedEvent, sourceInfo, new SchemaInfo(null,
+            Collections.emptyList()));
+
+    assertEquals(2, event.getFields().size());
+    assertEquals(1, event.getFieldBySelector("s1::timestamp").getAsPrimitive().getAsInt()
+            .intValue());
+    assertEquals(2, event.getFieldBySelector("s1::ns::ts2").getAsPrimitive().getAsInt()
+            .intValue());
+    assertEquals(new EventConverter(producedEvent).toMap(), new EventConverter(event).toMap());
+  }
+
+  @Test
+  public void testEventCopyIntoCompiledLayout() {
+    Event producedEvent = RuntimeTestUtils.makeSimpleEvent(RuntimeTestUtils.nestedMap(),
+            RuntimeTestUtils.getSourceInfo());
+    EventLayout layout = RuntimeTestUtils.makeNestedLayoutWithRenameRule(RuntimeTestUtils
+            .getSourceInfo());
+
+    Event event = EventFactory.fromEvent(producedEvent, layout);
+
+    assertTrue(event instanceof CompiledEvent);
+    assertEquals("ts2", event.getFieldBySelector("s0::nested::timestamp2").getFieldNameOut());
+    assertEquals(2, event.getFieldBySelector("s0::nested::timestamp2").getAsPrimitive()
+            .getAsInt().intValue());
+  }
+
+  @Test
+  public void testCopyOfKeepsNamesAndIsIndependent() {
+    Event producedEvent = RuntimeTestUtils.makeNestedEventWithRenameRule(RuntimeTestUtils
+            .nestedMap(), RuntimeTestUtils.getSourceInfo());
+
+    Event event = EventFactory.copyOf(producedEvent);
+    producedEvent.updateFieldBySelector("s0::nested::timestamp2", 5);
+
+    assertSame(producedEvent.getSourceInfo(), event.getSourceInfo());
+    assertEquals("ts2", event.getFieldBySelector("s0::nested::timestamp2").getFieldNameOut());
+    assertEquals(2, event.getFieldBySelector("s0::nested::timestamp2").getAsPrimitive()
+            .getAsInt().intValue());
+  }
+
+  @Test
+  public void testEventCopyIsIndependent() {
+    Event producedEvent = RuntimeTestUtils.makeSimpleEvent(RuntimeTestUtils.simpleMap(),
+            RuntimeTestUtils.getSourceInfo());
+    producedEvent.updateFieldBySelector("s0::timestamp", new PrimitiveField("timestamp",
+            "timestamp", 5L));
+
+    Event event = EventFactory.fromEvent(producedEvent, RuntimeTestUtils.getSourceInfo(),
+            new SchemaInfo(null, Collections.emptyList()));
+    event.updateFieldBySelector("s0::timestamp", 7);
+
+    PrimitiveField copied = event.getFieldBySelector("s0::timestamp").getAsPrimitive();
+    assertNotSame(producedEvent.getFieldBySelector("s0::timestamp"), copied);
+    assertEquals(5L, producedEvent.getFieldBySelector("s0::timestamp").getAsPrimitive()
+            .getAsLong().longValue());
+    assertEquals(7, copied.getAsInt().intValue());
+  }
+
+  @Test
+  public void testPrimitiveCopyStaysUnboxed() {
+    PrimitiveField field = new PrimitiveField("a", "a", 1.5d);
+
+    PrimitiveField copy = field.copy("b", "c");
+
+    assertEquals(PrimitiveField.PrimitiveType.DOUBLE, copy.getPrimitiveType());
+    assertEquals(1.5d, copy.getAsDoublePrimitive(), 0.0);
+    assertEquals("b", copy.getFieldNameIn());
+    assertEquals("c", copy.getFieldNameOut());
+  }
 }
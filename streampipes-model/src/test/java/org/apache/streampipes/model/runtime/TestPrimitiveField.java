@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+import org.junit.Test;
+
+public class TestPrimitiveField {
+
+  @Test
+  public void testTypedValue() {
+    PrimitiveField field = new PrimitiveField("value", "value", 2.5);
+
+    assertEquals(PrimitiveField.PrimitiveType.DOUBLE, field.getPrimitiveType());
+    assertEquals(2.5, field.getAsDoublePrimitive(), 0.0);
+    assertEquals(Double.valueOf(2.5), field.getRawValue());
+    assertEquals("2.5", field.getAsString());
+  }
+
+  @Test
+  public void testTypedIntegerKeepsBoxedType() {
+    PrimitiveField field = new PrimitiveField("value", "value", 2);
+
+    assertEquals(2L, field.getAsLongPrimitive());
+    assertEquals(2.0, field.getAsDoublePrimitive(), 0.0);
+    assertTrue(Integer.class.isInstance(field.getRawValue()));
+  }
+
+  @Test
+  public void testBoxedValue() {
+    PrimitiveField field = new PrimitiveField("value", "value", Long.valueOf(3));
+
+    assertEquals(PrimitiveField.PrimitiveType.OBJECT, field.getPrimitiveType());
+    assertEquals(3L, field.getAsLongPrimitive());
+    assertEquals(3.0, field.getAsDoublePrimitive(), 0.0);
+  }
+
+  @Test
+  public void testCoercedValue() {
+    PrimitiveField field = new PrimitiveField("value", "value", "4");
+
+    assertEquals(4, field.getAsIntPrimitive());
+    assertEquals(4.0, field.getAsDoublePrimitive(), 0.0);
+
+    field.setValue(true);
+    assertTrue(field.getAsBooleanPrimitive());
+    assertEquals(Boolean.TRUE, field.getRawValue());
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.execution.http;
+
+import org.apache.http.client.fluent.Executor;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Shared, bounded resources to invoke and detach pipeline elements concurrently: a pool of
+ * invocation threads and an HTTP client with a limited number of connections.
+ */
+public enum ElementInvocationPool {
+
+  INSTANCE;
+
+  /**
+   * Time a pipeline element may take to respond to an invocation or detach request.
+   */
+  public static final int REQUEST_TIMEOUT_MILLIS = 120000;
+  public static final int CONNECT_TIMEOUT_MILLIS = 10000;
+
+  private static final int MAX_CONCURRENT_INVOCATIONS = 16;
+  private static final int MAX_CONNECTIONS_PER_CONTAINER = 8;
+
+  private final ExecutorService executorService;
+  private final Executor httpExecutor;
+
+  ElementInvocationPool() {
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(MAX_CONCURRENT_INVOCATIONS);
+    connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_CONTAINER);
+
+    this.httpExecutor = Executor.newInstance(HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .build());
+    this.executorService = Executors.newFixedThreadPool(MAX_CONCURRENT_INVOCATIONS,
+            new InvocationThreadFactory());
+  }
+
+  /**
+   * Runs a single invocation or detach request. Submitted tasks must not wait for other
+   * submitted tasks.
+   */
+  public <T> CompletableFuture<T> submit(Supplier<T> request) {
+    return CompletableFuture.supplyAsync(request, executorService);
+  }
+
+  public Executor getHttpExecutor() {
+    return httpExecutor;
+  }
+
+  private static class InvocationThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger threadCount = new AtomicInteger(0);
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "pipeline-element-invocation-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -15,20 +15,35 @@
  * limitations under the License.
  *
  */
-
 package org.apache.streampipes.manager.execution.http;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.apache.streampipes.model.SpDataSet;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.model.base.NamedStreamPipesEntity;
+import org.apache.streampipes.model.graph.DataSinkInvocation;
 import org.apache.streampipes.model.pipeline.PipelineElementStatus;
 import org.apache.streampipes.model.pipeline.PipelineOperationStatus;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Optional;
-
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Invokes and detaches the elements of a pipeline. Elements are handled in stages ordered by their
+ * distance from the sinks: all elements of a stage are requested concurrently, and an element is
+ * only started once all elements which consume its output are running.
+ */
 public class GraphSubmitter {
 
   private List<InvocableStreamPipesEntity> graphs;
@@ -54,12 +69,28 @@ public class GraphSubmitter {
     status.setPipelineId(pipelineId);
     status.setPipelineName(pipelineName);
 
+    List<InvocableStreamPipesEntity> invokedGraphs = new ArrayList<>();
+    boolean success = true;
+    for (List<InvocableStreamPipesEntity> stage : getInvocationStages()) {
+      // elements which did not respond in time might still have been started and are rolled back
+      List<PipelineElementStatus> stageStatus = requestAll(stage, g -> new HttpRequestBuilder(g,
+              g.getBelongsTo()).invoke(), invokedGraphs);
+      for (int i = 0; i < stage.size(); i++) {
+        status.addPipelineElementStatus(stageStatus.get(i));
+        if (stageStatus.get(i).isSuccess()) {
+          invokedGraphs.add(stage.get(i));
+        } else {
+          success = false;
+        }
+      }
+      if (!success) {
+        break;
+      }
+    }
 
-    graphs.forEach(g -> status.addPipelineElementStatus(new HttpRequestBuilder(g, g.getBelongsTo()).invoke()));
-    if (status.getElementStatus().stream().allMatch(PipelineElementStatus::isSuccess)) {
-      dataSets.forEach(dataSet ->
-              status.addPipelineElementStatus
-                      (new HttpRequestBuilder(dataSet, dataSet.getUri()).invoke()));
+    if (success) {
+      requestAll(dataSets, dataSet -> new HttpRequestBuilder(dataSet, dataSet.getUri()).invoke())
+              .forEach(status::addPipelineElementStatus);
     }
     status.setSuccess(status.getElementStatus().stream().allMatch(PipelineElementStatus::isSuccess));
 
@@ -67,26 +98,17 @@ public class GraphSubmitter {
       status.setTitle("Pipeline " + pipelineName + " successfully started");
     } else {
       LOG.info("Could not start pipeline, initializing rollback...");
-      rollbackInvokedPipelineElements(status);
+      rollbackInvokedPipelineElements(invokedGraphs);
       status.setTitle("Could not start pipeline " + pipelineName + ".");
     }
     return status;
   }
 
-  private void rollbackInvokedPipelineElements(PipelineOperationStatus status) {
-    for (PipelineElementStatus s : status.getElementStatus()) {
-      if (s.isSuccess()) {
-        Optional<InvocableStreamPipesEntity> graph = findGraph(s.getElementId());
-        graph.ifPresent(g -> {
-          LOG.info("Rolling back element " + g.getElementId());
-          new HttpRequestBuilder(g, g.getBelongsTo()).detach();
-        });
-      }
-    }
-  }
-
-  private Optional<InvocableStreamPipesEntity> findGraph(String elementId) {
-    return graphs.stream().filter(g -> g.getBelongsTo().equals(elementId)).findFirst();
+  private void rollbackInvokedPipelineElements(List<InvocableStreamPipesEntity> invokedGraphs) {
+    requestAll(invokedGraphs, g -> {
+      LOG.info("Rolling back element " + g.getElementId());
+      return new HttpRequestBuilder(g, g.getUri()).detach();
+    });
   }
 
   public PipelineOperationStatus detachGraphs() {
@@ -94,10 +116,14 @@ public class GraphSubmitter {
     status.setPipelineId(pipelineId);
     status.setPipelineName(pipelineName);
 
-    graphs.forEach(g -> status.addPipelineElementStatus(new HttpRequestBuilder(g, g.getUri()).detach()));
-    dataSets.forEach(dataSet -> status.addPipelineElementStatus(new HttpRequestBuilder(dataSet, dataSet.getUri() +
-            "/" +dataSet.getDatasetInvocationId())
-            .detach()));
+    // sources are stopped first, so that downstream elements do not miss any events
+    requestAll(dataSets, dataSet -> new HttpRequestBuilder(dataSet, dataSet.getUri() +
+            "/" + dataSet.getDatasetInvocationId())
+            .detach()).forEach(status::addPipelineElementStatus);
+    List<List<InvocableStreamPipesEntity>> stages = getInvocationStages();
+    Collections.reverse(stages);
+    stages.forEach(stage -> requestAll(stage, g -> new HttpRequestBuilder(g, g.getUri()).detach())
+            .forEach(status::addPipelineElementStatus));
     status.setSuccess(status.getElementStatus().stream().allMatch(PipelineElementStatus::isSuccess));
 
     if (status.isSuccess()) {
@@ -108,4 +134,92 @@ public class GraphSubmitter {
 
     return status;
   }
+
+  private <T extends NamedStreamPipesEntity> List<PipelineElementStatus> requestAll(List<T> elements,
+                                                                                    Function<T, PipelineElementStatus> request) {
+    return requestAll(elements, request, new ArrayList<>());
+  }
+
+  private <T extends NamedStreamPipesEntity> List<PipelineElementStatus> requestAll(List<T> elements,
+                                                                                    Function<T, PipelineElementStatus> request,
+                                                                                    List<? super T> timedOut) {
+    return requestAll(elements, request, ElementInvocationPool.REQUEST_TIMEOUT_MILLIS
+            + ElementInvocationPool.CONNECT_TIMEOUT_MILLIS, timedOut);
+  }
+
+  /**
+   * Sends the requests of all elements concurrently and waits for their responses. Elements which
+   * do not respond in time are reported as failed and added to the timed out elements, their
+   * requests are cancelled if they have not been sent yet.
+   */
+  static <T extends NamedStreamPipesEntity> List<PipelineElementStatus> requestAll(List<T> elements,
+                                                                                   Function<T, PipelineElementStatus> request,
+                                                                                   long timeoutMillis,
+                                                                                   List<? super T> timedOut) {
+    List<CompletableFuture<PipelineElementStatus>> futures = new ArrayList<>();
+    elements.forEach(e -> futures.add(ElementInvocationPool.INSTANCE.submit(() -> request.apply(e))));
+
+    long deadline = System.currentTimeMillis() + timeoutMillis;
+    List<PipelineElementStatus> status = new ArrayList<>();
+    for (int i = 0; i < elements.size(); i++) {
+      T element = elements.get(i);
+      try {
+        long remaining = Math.max(0, deadline - System.currentTimeMillis());
+        status.add(futures.get(i).get(remaining, TimeUnit.MILLISECONDS));
+      } catch (TimeoutException e) {
+        LOG.error("Element " + element.getElementId() + " did not respond in time");
+        futures.get(i).cancel(true);
+        timedOut.add(element);
+        status.add(new PipelineElementStatus(element.getElementId(), element.getName(), false,
+                "Timeout while waiting for the pipeline element"));
+      } catch (InterruptedException | ExecutionException e) {
+        LOG.error("Request to element " + element.getElementId() + " failed", e);
+        status.add(new PipelineElementStatus(element.getElementId(), element.getName(), false,
+                e.getMessage()));
+      }
+    }
+    return status;
+  }
+
+  /**
+   * Groups the elements by their distance from the sinks of the pipeline: sinks form the first stage,
+   * each processor is placed in a later stage than all elements it is connected to.
+   */
+  private List<List<InvocableStreamPipesEntity>> getInvocationStages() {
+    Map<InvocableStreamPipesEntity, Integer> stages = new IdentityHashMap<>();
+    graphs.forEach(g -> computeStage(g, stages, Collections.newSetFromMap(new IdentityHashMap<>())));
+
+    Map<Integer, List<InvocableStreamPipesEntity>> stageMap = new TreeMap<>();
+    graphs.forEach(g -> stageMap.computeIfAbsent(stages.get(g), k -> new ArrayList<>()).add(g));
+    return new ArrayList<>(stageMap.values());
+  }
+
+  private int computeStage(InvocableStreamPipesEntity graph,
+                           Map<InvocableStreamPipesEntity, Integer> stages,
+                           Set<InvocableStreamPipesEntity> visiting) {
+    if (stages.containsKey(graph)) {
+      return stages.get(graph);
+    }
+    int stage = graph instanceof DataSinkInvocation ? 0 : 1;
+    if (visiting.add(graph)) {
+      for (InvocableStreamPipesEntity successor : getSuccessors(graph)) {
+        stage = Math.max(stage, computeStage(successor, stages, visiting) + 1);
+      }
+      visiting.remove(graph);
+    }
+    stages.put(graph, stage);
+    return stage;
+  }
+
+  private List<InvocableStreamPipesEntity> getSuccessors(InvocableStreamPipesEntity graph) {
+    List<InvocableStreamPipesEntity> successors = new ArrayList<>();
+    if (graph.getDOM() != null) {
+      for (InvocableStreamPipesEntity other : graphs) {
+        if (other != graph && other.getConnectedTo() != null && other.getConnectedTo().contains(graph.getDOM())) {
+          successors.add(other);
+        }
+      }
+    }
+    return successors;
+  }
 }
@@ -46,8 +46,7 @@ public class HttpRequestBuilder {
     LOG.info("Invoking element: " + belongsTo);
     try {
       String jsonDocument = toJson();
-      Response httpResp =
-              Request.Post(belongsTo).bodyString(jsonDocument, ContentType.APPLICATION_JSON).connectTimeout(10000).execute();
+      Response httpResp = execute(Request.Post(belongsTo).bodyString(jsonDocument, ContentType.APPLICATION_JSON));
       return handleResponse(httpResp);
     } catch (Exception e) {
       LOG.error(e.getMessage());
@@ -57,7 +56,7 @@ public class HttpRequestBuilder {
 
   public PipelineElementStatus detach() {
     try {
-      Response httpResp = Request.Delete(belongsTo).connectTimeout(10000).execute();
+      Response httpResp = execute(Request.Delete(belongsTo));
       return handleResponse(httpResp);
     } catch (Exception e) {
       LOG.error("Could not stop pipeline " + belongsTo, e.getMessage());
@@ -65,6 +64,26 @@ public class HttpRequestBuilder {
     }
   }
 
+  /**
+   * Asks the container of a stopped pipeline element to delete the state it persisted for the
+   * element instance.
+   */
+  public PipelineElementStatus discardState() {
+    try {
+      Response httpResp = execute(Request.Delete(belongsTo + "/state"));
+      return handleResponse(httpResp);
+    } catch (Exception e) {
+      LOG.error("Could not discard state of pipeline element " + belongsTo, e.getMessage());
+      return new PipelineElementStatus(belongsTo, payload.getName(), false, e.getMessage());
+    }
+  }
+
+  private Response execute(Request request) throws IOException {
+    return ElementInvocationPool.INSTANCE.getHttpExecutor().execute(request
+            .connectTimeout(ElementInvocationPool.CONNECT_TIMEOUT_MILLIS)
+            .socketTimeout(ElementInvocationPool.REQUEST_TIMEOUT_MILLIS));
+  }
+
   private PipelineElementStatus handleResponse(Response httpResp) throws JsonSyntaxException, IOException {
     String resp = httpResp.returnContent().asString();
     org.apache.streampipes.model.Response streamPipesResp = JacksonSerializer
@@ -19,15 +19,15 @@
 package org.apache.streampipes.manager.execution.status;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.streampipes.model.message.PipelineStatusMessage;
 
 public class PipelineStatusManager {
 
-	private static Map<String, List<PipelineStatusMessage>> pipelineStatusMessages = new HashMap<>();
+	private static Map<String, List<PipelineStatusMessage>> pipelineStatusMessages = new ConcurrentHashMap<>();
 	
 	public static void addPipelineStatus(String pipelineId, PipelineStatusMessage message) {
 		if (isInitialized(pipelineId))
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.matching;
+
+import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.model.base.NamedStreamPipesEntity;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Connects pipeline elements through an in-memory topic if they run in the same JVM, i.e., their
+ * containers support the in-memory protocol and the elements belong to the same container address.
+ * The address is used instead of the instance id announced by the container, since the id of an
+ * installed description is outdated once the container restarts.
+ */
+final class InMemoryPlacement {
+
+    private InMemoryPlacement() {
+
+    }
+
+    static Optional<InMemoryTransportProtocol> makeProtocol(NamedStreamPipesEntity source,
+                                                            Set<InvocableStreamPipesEntity> targets,
+                                                            String topic) {
+        Optional<URI> containerUri = getContainerUri(source);
+        if (!containerUri.isPresent() || targets.isEmpty()) {
+            return Optional.empty();
+        }
+        boolean coLocated = targets
+                .stream()
+                .allMatch(t -> containerUri.equals(getContainerUri(t)));
+        if (!coLocated) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new InMemoryTransportProtocol(
+                containerUri.get().getHost(),
+                containerUri.get().getAuthority(),
+                containerUri.get().toString(),
+                topic));
+    }
+
+    /**
+     * @return the base URL of the container the element is deployed to, derived from the
+     * element's belongsTo URL, if the container supports the in-memory protocol.
+     */
+    private static Optional<URI> getContainerUri(NamedStreamPipesEntity entity) {
+        if (!(entity instanceof InvocableStreamPipesEntity) || !supportsInMemoryProtocol(
+                (InvocableStreamPipesEntity) entity)) {
+            return Optional.empty();
+        }
+        String belongsTo = ((InvocableStreamPipesEntity) entity).getBelongsTo();
+        try {
+            URI uri = belongsTo != null ? URI.create(belongsTo).resolve("/") : null;
+            return uri != null && uri.getHost() != null ? Optional.of(uri) : Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static boolean supportsInMemoryProtocol(InvocableStreamPipesEntity entity) {
+        return entity.getSupportedGrounding() != null && entity
+                .getSupportedGrounding()
+                .getTransportProtocols()
+                .stream()
+                .anyMatch(p -> p instanceof InMemoryTransportProtocol);
+    }
+}
@@ -98,6 +98,7 @@ public class InvocationGraphBuilder {
         outputStream.setEventGrounding(inputGrounding);
         dataProcessorInvocation.setOutputStrategies(Collections.singletonList(outputSettings.b));
         outputStream.setEventSchema(outputSettings.a);
+        KafkaPartitioning.applyMessageKey(inputGrounding.getTransportProtocol(), outputSettings.a);
         ((DataProcessorInvocation) source).setOutputStream(outputStream);
       }
 
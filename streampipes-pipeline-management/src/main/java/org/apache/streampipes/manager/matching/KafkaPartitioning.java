@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.matching;
+
+import org.apache.streampipes.config.backend.MessagingSettings;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.model.schema.PropertyScope;
+
+/**
+ * Applies the partitioning settings of the messaging configuration to Kafka topics between
+ * pipeline elements.
+ */
+final class KafkaPartitioning {
+
+    private KafkaPartitioning() {
+
+    }
+
+    static void applySettings(KafkaTransportProtocol protocol, MessagingSettings settings) {
+        int numPartitions = positiveOrOne(settings.getKafkaNumPartitions());
+        if (numPartitions > 1) {
+            protocol.setNumPartitions(numPartitions);
+            protocol.setConsumerThreads(Math.min(numPartitions,
+                    positiveOrOne(settings.getKafkaConsumerThreads())));
+        }
+    }
+
+    /**
+     * Keys the events of a partitioned topic by the first dimension property of the output schema,
+     * events without such a property are distributed without key.
+     */
+    static void applyMessageKey(TransportProtocol protocol, EventSchema outputSchema) {
+        if (protocol instanceof KafkaTransportProtocol
+                && positiveOrOne(((KafkaTransportProtocol) protocol).getNumPartitions()) > 1
+                && outputSchema != null) {
+            outputSchema.getEventProperties()
+                    .stream()
+                    .filter(ep -> ep instanceof EventPropertyPrimitive)
+                    .filter(ep -> PropertyScope.DIMENSION_PROPERTY.name().equals(ep.getPropertyScope()))
+                    .map(EventProperty::getRuntimeName)
+                    .findFirst()
+                    .ifPresent(((KafkaTransportProtocol) protocol)::setMessageKey);
+        }
+    }
+
+    private static int positiveOrOne(Integer value) {
+        return value != null && value > 0 ? value : 1;
+    }
+}
@@ -24,12 +24,14 @@ import org.apache.streampipes.manager.util.TopicGenerator;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.base.NamedStreamPipesEntity;
 import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
 import org.apache.streampipes.model.grounding.JmsTransportProtocol;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public class ProtocolSelector extends GroundingSelector {
@@ -50,6 +52,13 @@ public class ProtocolSelector extends GroundingSelector {
                     .getEventGrounding()
                     .getTransportProtocol();
         } else {
+            if (supportsProtocol(InMemoryTransportProtocol.class)) {
+                Optional<InMemoryTransportProtocol> inMemoryProtocol =
+                        InMemoryPlacement.makeProtocol(source, targets, outputTopic);
+                if (inMemoryProtocol.isPresent()) {
+                    return inMemoryProtocol.get();
+                }
+            }
             for(SpProtocol prioritizedProtocol: prioritizedProtocols) {
                 if (prioritizedProtocol.getProtocolClass().equals(KafkaTransportProtocol.class.getCanonicalName()) &&
                         supportsProtocol(KafkaTransportProtocol.class)) {
@@ -80,11 +89,13 @@ public class ProtocolSelector extends GroundingSelector {
     }
 
     private TransportProtocol kafkaTopic() {
-        return new KafkaTransportProtocol(BackendConfig.INSTANCE.getKafkaHost(),
+        KafkaTransportProtocol protocol = new KafkaTransportProtocol(BackendConfig.INSTANCE.getKafkaHost(),
                 BackendConfig.INSTANCE.getKafkaPort(),
                 outputTopic,
                 BackendConfig.INSTANCE.getZookeeperHost(),
                 BackendConfig.INSTANCE.getZookeeperPort());
+        KafkaPartitioning.applySettings(protocol, BackendConfig.INSTANCE.getMessagingSettings());
+        return protocol;
     }
 
 
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.monitoring.pipeline;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.KafkaAdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.streampipes.config.backend.BackendConfig;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Issues the offset lookups of the pipeline monitoring as batched requests over a single, long-lived
+ * Kafka admin client.
+ */
+class KafkaOffsetCollector {
+
+  private static final long REQUEST_TIMEOUT_SECONDS = 30;
+
+  private final Map<String, List<TopicPartition>> partitionCache;
+  private AdminClient kafkaAdminClient;
+
+  KafkaOffsetCollector() {
+    this.partitionCache = new HashMap<>();
+  }
+
+  /**
+   * @return the partitions of all given topics, topics are only described once and then served from
+   * the cache until they are no longer requested.
+   */
+  Map<String, List<TopicPartition>> getPartitions(Set<String> topics) throws ExecutionException,
+          InterruptedException, TimeoutException {
+    partitionCache.keySet().retainAll(topics);
+    List<String> unknownTopics = topics
+            .stream()
+            .filter(topic -> !partitionCache.containsKey(topic))
+            .collect(Collectors.toList());
+
+    if (unknownTopics.size() > 0) {
+      Map<String, KafkaFuture<TopicDescription>> descriptions = adminClient()
+              .describeTopics(unknownTopics)
+              .values();
+      for (Map.Entry<String, KafkaFuture<TopicDescription>> description : descriptions.entrySet()) {
+        try {
+          partitionCache.put(description.getKey(), description
+                  .getValue()
+                  .get(REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                  .partitions()
+                  .stream()
+                  .map(p -> new TopicPartition(description.getKey(), p.partition()))
+                  .collect(Collectors.toList()));
+        } catch (ExecutionException e) {
+          // topic not yet created, retried on the next run
+        }
+      }
+    }
+    return new HashMap<>(partitionCache);
+  }
+
+  Map<TopicPartition, Long> getLatestOffsets(Collection<TopicPartition> partitions) throws ExecutionException,
+          InterruptedException, TimeoutException {
+    return listOffsets(partitions, OffsetSpec.latest());
+  }
+
+  /**
+   * @return the offset of the first message at or after the given timestamp, or -1 for partitions
+   * without such a message.
+   */
+  Map<TopicPartition, Long> getOffsetsForTimestamp(Collection<TopicPartition> partitions,
+                                                   long timestamp) throws ExecutionException,
+          InterruptedException, TimeoutException {
+    return listOffsets(partitions, OffsetSpec.forTimestamp(timestamp));
+  }
+
+  /**
+   * @return the sum of the committed offsets over all partitions for each of the given consumer groups.
+   */
+  Map<String, Long> getConsumerGroupOffsets(Set<String> groupIds) throws ExecutionException,
+          InterruptedException, TimeoutException {
+    Map<String, KafkaFuture<Map<TopicPartition, OffsetAndMetadata>>> requests = new HashMap<>();
+    groupIds.forEach(groupId -> requests.put(groupId, adminClient()
+            .listConsumerGroupOffsets(groupId)
+            .partitionsToOffsetAndMetadata()));
+
+    Map<String, Long> offsets = new HashMap<>();
+    for (Map.Entry<String, KafkaFuture<Map<TopicPartition, OffsetAndMetadata>>> request : requests.entrySet()) {
+      offsets.put(request.getKey(), request
+              .getValue()
+              .get(REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+              .values()
+              .stream()
+              .filter(offset -> offset != null)
+              .map(OffsetAndMetadata::offset)
+              .reduce(0L, Long::sum));
+    }
+    return offsets;
+  }
+
+  void reset() {
+    partitionCache.clear();
+    if (kafkaAdminClient != null) {
+      kafkaAdminClient.close();
+      kafkaAdminClient = null;
+    }
+  }
+
+  private Map<TopicPartition, Long> listOffsets(Collection<TopicPartition> partitions,
+                                                OffsetSpec offsetSpec) throws ExecutionException,
+          InterruptedException, TimeoutException {
+    if (partitions.isEmpty()) {
+      return new HashMap<>();
+    }
+    Map<TopicPartition, OffsetSpec> desiredOffsets = new HashMap<>();
+    partitions.forEach(partition -> desiredOffsets.put(partition, offsetSpec));
+
+    Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> resultInfo = adminClient()
+            .listOffsets(desiredOffsets)
+            .all()
+            .get(REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+    Map<TopicPartition, Long> offsets = new HashMap<>();
+    resultInfo.forEach((partition, info) -> offsets.put(partition, info.offset()));
+    return offsets;
+  }
+
+  private AdminClient adminClient() {
+    if (kafkaAdminClient == null) {
+      kafkaAdminClient = KafkaAdminClient.create(makeProperties());
+    }
+    return kafkaAdminClient;
+  }
+
+  private Properties makeProperties() {
+    Properties props = new Properties();
+
+    props.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, getBrokerUrl());
+    props.put(AdminClientConfig.CLIENT_ID_CONFIG, "pipeline-monitoring-" + UUID.randomUUID().toString());
+
+    return props;
+  }
+
+  private String getBrokerUrl() {
+    String env = System.getenv("SP_DEBUG");
+    if (env != null) {
+      env = env.replaceAll(" ", "");
+    }
+    if ("true".equals(env)) {
+      return "localhost:9094";
+    } else {
+      return BackendConfig.INSTANCE.getKafkaUrl();
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.monitoring.pipeline;
+
+import org.apache.streampipes.model.monitoring.ConsumedMessagesInfo;
+import org.apache.streampipes.model.monitoring.PipelineElementMonitoringInfo;
+import org.apache.streampipes.model.monitoring.PipelineElementMonitoringSample;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size ring buffer of the throughput and lag samples of a single pipeline element.
+ */
+class PipelineElementMonitoringHistory {
+
+  private final PipelineElementMonitoringSample[] samples;
+  private int next;
+  private int size;
+
+  private long lastTimestamp = -1;
+  private long lastConsumedMessages;
+  private long lastProducedMessages;
+
+  PipelineElementMonitoringHistory(int capacity) {
+    this.samples = new PipelineElementMonitoringSample[capacity];
+  }
+
+  void add(PipelineElementMonitoringInfo info, long timestamp) {
+    long consumedMessages = info
+            .getConsumedMessagesInfos()
+            .stream()
+            .mapToLong(ConsumedMessagesInfo::getConsumedMessagesSincePipelineStart)
+            .sum();
+    long producedMessages = info.getProducedMessagesInfo() != null ?
+            info.getProducedMessagesInfo().getTotalProducedMessages() : 0;
+    long lag = info
+            .getConsumedMessagesInfos()
+            .stream()
+            .mapToLong(ConsumedMessagesInfo::getLag)
+            .sum();
+
+    if (lastTimestamp >= 0 && timestamp > lastTimestamp) {
+      double seconds = (timestamp - lastTimestamp) / 1000.0;
+      samples[next] = new PipelineElementMonitoringSample(timestamp,
+              Math.max(0, consumedMessages - lastConsumedMessages) / seconds,
+              Math.max(0, producedMessages - lastProducedMessages) / seconds,
+              lag);
+      next = (next + 1) % samples.length;
+      size = Math.min(size + 1, samples.length);
+    }
+
+    this.lastTimestamp = timestamp;
+    this.lastConsumedMessages = consumedMessages;
+    this.lastProducedMessages = producedMessages;
+  }
+
+  /**
+   * @return the buffered samples, oldest first.
+   */
+  List<PipelineElementMonitoringSample> getSamples() {
+    List<PipelineElementMonitoringSample> result = new ArrayList<>(size);
+    int start = (next - size + samples.length) % samples.length;
+    for (int i = 0; i < size; i++) {
+      result.add(samples[(start + i) % samples.length]);
+    }
+    return result;
+  }
+}
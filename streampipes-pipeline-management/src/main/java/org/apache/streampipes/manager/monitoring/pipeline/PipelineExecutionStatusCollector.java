@@ -18,12 +18,11 @@
 
 package org.apache.streampipes.manager.monitoring.pipeline;
 
-import org.apache.streampipes.model.monitoring.PipelineElementMonitoringInfo;
 import org.apache.streampipes.model.monitoring.PipelineMonitoringInfo;
 import org.apache.streampipes.model.pipeline.Pipeline;
 import org.apache.streampipes.storage.management.StorageDispatcher;
 
-import java.util.List;
+import java.util.ArrayList;
 
 public class PipelineExecutionStatusCollector {
 
@@ -34,23 +33,25 @@ public class PipelineExecutionStatusCollector {
   }
 
   public PipelineMonitoringInfo makePipelineMonitoringInfo() {
+    PipelineMonitoringService.INSTANCE.start();
+    return PipelineMonitoringService
+            .INSTANCE
+            .getMonitoringInfo(pipelineId)
+            .orElseGet(this::makeEmptyMonitoringInfo);
+  }
+
+  private PipelineMonitoringInfo makeEmptyMonitoringInfo() {
     Pipeline pipeline = getPipeline();
 
     PipelineMonitoringInfo monitoringInfo = new PipelineMonitoringInfo();
     monitoringInfo.setCreatedAt(pipeline.getCreatedAt());
     monitoringInfo.setStartedAt(pipeline.getStartedAt());
     monitoringInfo.setPipelineId(pipelineId);
-
-    monitoringInfo.setPipelineElementMonitoringInfo(makePipelineElementMonitoringInfo(pipeline));
+    monitoringInfo.setPipelineElementMonitoringInfo(new ArrayList<>());
 
     return monitoringInfo;
   }
 
-  private List<PipelineElementMonitoringInfo> makePipelineElementMonitoringInfo(Pipeline pipeline) {
-    return new TopicInfoCollector(pipeline).makeMonitoringInfo();
-
-  }
-
   private Pipeline getPipeline() {
     return StorageDispatcher
             .INSTANCE
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.monitoring.pipeline;
+
+import org.apache.kafka.common.TopicPartition;
+import org.apache.streampipes.manager.remote.InMemoryTopicClient;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.monitoring.InMemoryTopicStatistics;
+import org.apache.streampipes.model.monitoring.PipelineElementMonitoringInfo;
+import org.apache.streampipes.model.monitoring.PipelineMonitoringInfo;
+import org.apache.streampipes.model.pipeline.Pipeline;
+import org.apache.streampipes.storage.management.StorageDispatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically collects the topic and consumer group offsets of all running pipelines with one
+ * batched round of admin requests and keeps the latest monitoring info of each pipeline, together
+ * with a bounded throughput and lag history of its elements.
+ */
+public enum PipelineMonitoringService {
+
+  INSTANCE;
+
+  private static final Logger LOG = LoggerFactory.getLogger(PipelineMonitoringService.class);
+
+  private static final int COLLECT_INTERVAL_SECONDS = 10;
+  private static final int HISTORY_SIZE = 360;
+
+  private final Map<String, PipelineMonitoringInfo> snapshots = new ConcurrentHashMap<>();
+
+  // only accessed from the collector thread
+  private final Map<String, Map<String, PipelineElementMonitoringHistory>> histories = new HashMap<>();
+  private final Map<String, StartOffsets> startOffsets = new HashMap<>();
+  private final KafkaOffsetCollector offsetCollector = new KafkaOffsetCollector();
+  private final InMemoryTopicClient inMemoryTopicClient = new InMemoryTopicClient();
+
+  private ScheduledExecutorService executorService;
+
+  public synchronized void start() {
+    if (executorService == null) {
+      LOG.info("Pipeline monitoring will run every {} seconds", COLLECT_INTERVAL_SECONDS);
+      executorService = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "pipeline-monitoring");
+        thread.setDaemon(true);
+        return thread;
+      });
+      executorService.scheduleWithFixedDelay(this::collect, 0, COLLECT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+  }
+
+  public synchronized void stop() {
+    if (executorService != null) {
+      executorService.shutdownNow();
+      executorService = null;
+    }
+  }
+
+  public Optional<PipelineMonitoringInfo> getMonitoringInfo(String pipelineId) {
+    return Optional.ofNullable(snapshots.get(pipelineId));
+  }
+
+  private void collect() {
+    try {
+      List<Pipeline> runningPipelines = getRunningPipelines();
+      removeStoppedPipelines(runningPipelines);
+      if (runningPipelines.isEmpty()) {
+        return;
+      }
+
+      Set<String> topics = new HashSet<>();
+      Set<String> groupIds = new HashSet<>();
+      runningPipelines.forEach(pipeline -> {
+        TopicInfoCollector
+                .extractKafkaProtocols(pipeline)
+                .forEach(protocol -> topics.add(TopicInfoCollector.getTopic(protocol)));
+        groupIds.addAll(TopicInfoCollector.extractConsumerGroups(pipeline));
+      });
+
+      Map<String, List<TopicPartition>> partitions = offsetCollector.getPartitions(topics);
+      List<TopicPartition> allPartitions = partitions
+              .values()
+              .stream()
+              .flatMap(List::stream)
+              .collect(Collectors.toList());
+
+      long timestamp = System.currentTimeMillis();
+      Map<TopicPartition, Long> latestOffsets = offsetCollector.getLatestOffsets(allPartitions);
+      Map<String, Long> consumerGroupOffsets = offsetCollector.getConsumerGroupOffsets(groupIds);
+      Map<String, Long> latestTopicOffsets = sumByTopic(latestOffsets);
+
+      for (Pipeline pipeline : runningPipelines) {
+        Map<TopicPartition, Long> offsetsAtStart = getOffsetsAtPipelineStart(pipeline, partitions, latestOffsets);
+        List<PipelineElementMonitoringInfo> elementInfos = new TopicInfoCollector(pipeline,
+                latestTopicOffsets,
+                sumByTopic(offsetsAtStart),
+                consumerGroupOffsets,
+                getInMemoryTopicStatistics(pipeline)).makeMonitoringInfo();
+
+        addHistory(pipeline.getPipelineId(), elementInfos, timestamp);
+        snapshots.put(pipeline.getPipelineId(), makeMonitoringInfo(pipeline, elementInfos));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      LOG.warn("Could not collect pipeline monitoring info", e);
+      offsetCollector.reset();
+    }
+  }
+
+  private Map<TopicPartition, Long> getOffsetsAtPipelineStart(Pipeline pipeline,
+                                                              Map<String, List<TopicPartition>> partitions,
+                                                              Map<TopicPartition, Long> latestOffsets)
+          throws ExecutionException, InterruptedException, TimeoutException {
+    StartOffsets cached = startOffsets.get(pipeline.getPipelineId());
+    if (cached == null || cached.startedAt != pipeline.getStartedAt()) {
+      cached = new StartOffsets(pipeline.getStartedAt());
+      startOffsets.put(pipeline.getPipelineId(), cached);
+    }
+    Map<TopicPartition, Long> offsets = cached.offsets;
+
+    Set<TopicPartition> missingPartitions = new HashSet<>();
+    for (KafkaTransportProtocol protocol : TopicInfoCollector.extractKafkaProtocols(pipeline)) {
+      partitions.getOrDefault(TopicInfoCollector.getTopic(protocol), Collections.emptyList())
+              .stream()
+              .filter(partition -> !offsets.containsKey(partition))
+              .forEach(missingPartitions::add);
+    }
+
+    if (missingPartitions.size() > 0) {
+      Map<TopicPartition, Long> result = offsetCollector.getOffsetsForTimestamp(missingPartitions,
+              pipeline.getStartedAt());
+      for (Map.Entry<TopicPartition, Long> offset : result.entrySet()) {
+        // no message since the pipeline start, so the start offset is the current end offset
+        long value = offset.getValue() >= 0 ? offset.getValue() :
+                latestOffsets.getOrDefault(offset.getKey(), 0L);
+        offsets.put(offset.getKey(), value);
+      }
+    }
+
+    return offsets;
+  }
+
+  /**
+   * In-memory topics are not known to the broker, their event counts are requested from the
+   * containers which host them.
+   */
+  private Map<String, InMemoryTopicStatistics> getInMemoryTopicStatistics(Pipeline pipeline) {
+    Map<String, InMemoryTopicStatistics> statistics = new HashMap<>();
+    for (InMemoryTransportProtocol protocol : TopicInfoCollector.extractInMemoryProtocols(pipeline)) {
+      String topic = TopicInfoCollector.getTopic(protocol);
+      if (!statistics.containsKey(topic)) {
+        inMemoryTopicClient.fetchStatistics(protocol).ifPresent(s -> statistics.put(topic, s));
+      }
+    }
+    return statistics;
+  }
+
+  private void addHistory(String pipelineId,
+                          List<PipelineElementMonitoringInfo> elementInfos,
+                          long timestamp) {
+    Map<String, PipelineElementMonitoringHistory> pipelineHistory = histories.computeIfAbsent(pipelineId,
+            k -> new HashMap<>());
+    pipelineHistory.keySet().retainAll(elementInfos
+            .stream()
+            .map(PipelineElementMonitoringInfo::getPipelineElementId)
+            .collect(Collectors.toSet()));
+
+    elementInfos.forEach(info -> {
+      PipelineElementMonitoringHistory history = pipelineHistory.computeIfAbsent(info.getPipelineElementId(),
+              k -> new PipelineElementMonitoringHistory(HISTORY_SIZE));
+      history.add(info, timestamp);
+      info.setHistory(history.getSamples());
+    });
+  }
+
+  private void removeStoppedPipelines(List<Pipeline> runningPipelines) {
+    Set<String> runningPipelineIds = runningPipelines
+            .stream()
+            .map(Pipeline::getPipelineId)
+            .collect(Collectors.toSet());
+
+    snapshots.keySet().retainAll(runningPipelineIds);
+    histories.keySet().retainAll(runningPipelineIds);
+    startOffsets.keySet().retainAll(runningPipelineIds);
+  }
+
+  private Map<String, Long> sumByTopic(Map<TopicPartition, Long> offsets) {
+    Map<String, Long> result = new HashMap<>();
+    offsets.forEach((partition, offset) -> result.merge(partition.topic(), offset, Long::sum));
+    return result;
+  }
+
+  private PipelineMonitoringInfo makeMonitoringInfo(Pipeline pipeline,
+                                                    List<PipelineElementMonitoringInfo> elementInfos) {
+    PipelineMonitoringInfo monitoringInfo = new PipelineMonitoringInfo();
+    monitoringInfo.setCreatedAt(pipeline.getCreatedAt());
+    monitoringInfo.setStartedAt(pipeline.getStartedAt());
+    monitoringInfo.setPipelineId(pipeline.getPipelineId());
+    monitoringInfo.setPipelineElementMonitoringInfo(elementInfos);
+
+    return monitoringInfo;
+  }
+
+  private List<Pipeline> getRunningPipelines() {
+    return StorageDispatcher
+            .INSTANCE
+            .getNoSqlStore()
+            .getPipelineStorageAPI()
+            .getAllPipelines()
+            .stream()
+            .filter(Pipeline::isRunning)
+            .collect(Collectors.toList());
+  }
+
+  private static class StartOffsets {
+
+    private final long startedAt;
+    private final Map<TopicPartition, Long> offsets;
+
+    StartOffsets(long startedAt) {
+      this.startedAt = startedAt;
+      this.offsets = new HashMap<>();
+    }
+  }
+}
@@ -17,116 +17,88 @@
  */
 package org.apache.streampipes.manager.monitoring.pipeline;
 
-import org.apache.kafka.clients.admin.*;
-import org.apache.kafka.clients.consumer.OffsetAndMetadata;
-import org.apache.kafka.common.TopicPartition;
-import org.apache.streampipes.config.backend.BackendConfig;
 import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
 import org.apache.streampipes.model.graph.DataSinkInvocation;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.model.monitoring.ConsumedMessagesInfo;
+import org.apache.streampipes.model.monitoring.InMemoryTopicStatistics;
 import org.apache.streampipes.model.monitoring.PipelineElementMonitoringInfo;
 import org.apache.streampipes.model.monitoring.ProducedMessagesInfo;
 import org.apache.streampipes.model.pipeline.Pipeline;
-import org.apache.streampipes.sdk.helpers.Tuple2;
-import org.apache.streampipes.storage.management.StorageDispatcher;
 
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.*;
-import java.util.concurrent.ExecutionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Builds the monitoring info of the elements of a pipeline from previously collected topic and
+ * consumer group offsets. In-memory topics are opened at pipeline start and report their event
+ * counts directly, so their counts are used as offsets since pipeline start.
+ */
 public class TopicInfoCollector {
 
-
   private final Pipeline pipeline;
-  private final AdminClient kafkaAdminClient;
 
   private final Map<String, Long> latestTopicOffsets;
   private final Map<String, Long> topicOffsetAtPipelineStart;
   private final Map<String, Long> currentConsumerGroupOffsets;
+  private final Map<String, InMemoryTopicStatistics> inMemoryTopicStatistics;
 
   private final List<PipelineElementMonitoringInfo> monitoringInfo;
 
-  public TopicInfoCollector(Pipeline pipeline) {
+  public TopicInfoCollector(Pipeline pipeline,
+                            Map<String, Long> latestTopicOffsets,
+                            Map<String, Long> topicOffsetAtPipelineStart,
+                            Map<String, Long> currentConsumerGroupOffsets,
+                            Map<String, InMemoryTopicStatistics> inMemoryTopicStatistics) {
     this.pipeline = pipeline;
-    this.kafkaAdminClient = kafkaAdminClient();
-    this.latestTopicOffsets = new HashMap<>();
-    this.topicOffsetAtPipelineStart = new HashMap<>();
-    this.currentConsumerGroupOffsets = new HashMap<>();
+    this.latestTopicOffsets = latestTopicOffsets;
+    this.topicOffsetAtPipelineStart = topicOffsetAtPipelineStart;
+    this.currentConsumerGroupOffsets = currentConsumerGroupOffsets;
+    this.inMemoryTopicStatistics = inMemoryTopicStatistics;
     this.monitoringInfo = new ArrayList<>();
   }
 
-  private void makeTopicInfo() {
-    long currentTime = Instant.now().minus (1, ChronoUnit.SECONDS).toEpochMilli();
-    List<TransportProtocol> affectedProtocols = new ArrayList<>();
-
-    pipeline.getSepas().forEach(processor -> affectedProtocols.addAll(extractProtocols(processor)));
-    pipeline.getActions().forEach(sink -> affectedProtocols.addAll(extractProtocols(sink)));
-
-    affectedProtocols.forEach(protocol -> {
-      if (protocol instanceof KafkaTransportProtocol) {
-        try {
-          Tuple2<String, Long> latestTopicOffsets = makeTopicOffsetInfo((KafkaTransportProtocol) protocol, OffsetSpec.forTimestamp(currentTime));
-          Tuple2<String, Long> topicOffsetAtPipelineStart = makeTopicOffsetInfo((KafkaTransportProtocol) protocol, OffsetSpec.forTimestamp(pipeline.getStartedAt()));
-          Tuple2<String, Long> currentConsumerGroupOffsets = makeTopicInfo((KafkaTransportProtocol) protocol);
-
-          this.latestTopicOffsets.put(latestTopicOffsets.a, latestTopicOffsets.b);
-          this.topicOffsetAtPipelineStart.put(topicOffsetAtPipelineStart.a, topicOffsetAtPipelineStart.b);
-          this.currentConsumerGroupOffsets.put(currentConsumerGroupOffsets.a, currentConsumerGroupOffsets.b);
-
-        } catch (ExecutionException | InterruptedException e) {
-          e.printStackTrace();
-        }
-      }
-    });
-  }
-
   public List<PipelineElementMonitoringInfo> makeMonitoringInfo() {
-    this.makeTopicInfo();
-    // TODO filter for KafkaGrounding
     this.pipeline.getStreams().forEach(stream -> this.monitoringInfo.add(makeStreamMonitoringInfo(stream)));
     this.pipeline.getSepas().forEach(processor -> this.monitoringInfo.add(makeProcessorMonitoringInfo(processor)));
     this.pipeline.getActions().forEach(sink -> this.monitoringInfo.add(makeSinkMonitoringInfo(sink)));
 
-    this.kafkaAdminClient.close();
     return this.monitoringInfo;
   }
 
   private PipelineElementMonitoringInfo makeStreamMonitoringInfo(SpDataStream stream) {
-    PipelineElementMonitoringInfo info = prepare(stream.getElementId(), stream.getName(), false, true);
-    KafkaTransportProtocol protocol = (KafkaTransportProtocol) stream.getEventGrounding().getTransportProtocol();
-    info.setProducedMessagesInfo(makeOutputTopicInfoForPipelineElement(protocol));
+    TransportProtocol protocol = stream.getEventGrounding().getTransportProtocol();
+    PipelineElementMonitoringInfo info = prepare(stream.getElementId(), stream.getName(), false,
+            isKafka(protocol));
+    if (isKafka(protocol)) {
+      info.setProducedMessagesInfo(makeOutputTopicInfoForPipelineElement((KafkaTransportProtocol) protocol));
+    }
 
     return info;
   }
 
   private PipelineElementMonitoringInfo makeProcessorMonitoringInfo(DataProcessorInvocation processor) {
-    PipelineElementMonitoringInfo info = prepare(processor.getElementId(), processor.getName(), true, true);
-    KafkaTransportProtocol outputProtocol = (KafkaTransportProtocol) processor.getOutputStream().getEventGrounding().getTransportProtocol();
-    ProducedMessagesInfo outputTopicInfo = makeOutputTopicInfoForPipelineElement(outputProtocol);
-    List<ConsumedMessagesInfo> inputTopicInfo = makeInputTopicInfoForPipelineElement(processor.getInputStreams());
-
-    info.setProducedMessagesInfo(outputTopicInfo);
-    info.setConsumedMessagesInfos(inputTopicInfo);
-    printStatistics(info);
+    TransportProtocol outputProtocol = processor.getOutputStream().getEventGrounding().getTransportProtocol();
+    PipelineElementMonitoringInfo info = prepare(processor.getElementId(), processor.getName(), true,
+            isKafka(outputProtocol) || isInMemory(outputProtocol));
+
+    if (isKafka(outputProtocol)) {
+      info.setProducedMessagesInfo(makeOutputTopicInfoForPipelineElement((KafkaTransportProtocol) outputProtocol));
+    } else if (isInMemory(outputProtocol)) {
+      info.setProducedMessagesInfo(makeInMemoryOutputInfo((InMemoryTransportProtocol) outputProtocol));
+    }
+    info.setConsumedMessagesInfos(makeInputTopicInfoForPipelineElement(processor.getInputStreams()));
     return info;
   }
 
-  private void printStatistics(PipelineElementMonitoringInfo info) {
-    System.out.println("Pipeline Element: " + info.getPipelineElementName());
-    info.getConsumedMessagesInfos().forEach(input -> {
-      System.out.println("Consumed messages since pipeline start: " + input.getConsumedMessagesSincePipelineStart());
-      System.out.println("Total messages since pipeline start: " + (input.getTotalMessagesSincePipelineStart()));
-      System.out.println("Lag: " + input.getLag());
-    });
-    //System.out.println("Produced messages: " + (info.getOutputTopicInfo().getCurrentOffset() - info.getOutputTopicInfo().getOffsetAtPipelineStart()));
-  }
-
   private PipelineElementMonitoringInfo makeSinkMonitoringInfo(DataSinkInvocation sink) {
     PipelineElementMonitoringInfo info = prepare(sink.getElementId(), sink.getName(), true, false);
     info.setConsumedMessagesInfos(makeInputTopicInfoForPipelineElement(sink.getInputStreams()));
@@ -135,13 +107,15 @@ public class TopicInfoCollector {
 
   private List<ConsumedMessagesInfo> makeInputTopicInfoForPipelineElement(List<SpDataStream> inputStreams) {
     List<ConsumedMessagesInfo> infos = new ArrayList<>();
-    inputStreams.stream().map(is -> is.getEventGrounding().getTransportProtocol()).forEach(protocol -> {
+    inputStreams.stream().map(is -> is.getEventGrounding().getTransportProtocol()).filter(this::isKafka).forEach(protocol -> {
       String topic = getTopic((KafkaTransportProtocol) protocol);
       String groupId = ((KafkaTransportProtocol) protocol).getGroupId();
       ConsumedMessagesInfo info = new ConsumedMessagesInfo(topic, groupId);
-      long consumedMessagesSincePipelineStart = (getCurrentConsumerGroupOffset(groupId) - topicOffsetAtPipelineStart.get(topic));
-      long totalMessagesSincePipelineStart = (latestTopicOffsets.get(topic) - topicOffsetAtPipelineStart.get(topic));
-      long lag = totalMessagesSincePipelineStart - consumedMessagesSincePipelineStart;
+      long offsetAtPipelineStart = topicOffsetAtPipelineStart.getOrDefault(topic, 0L);
+      long consumedMessagesSincePipelineStart = Math.max(0,
+              getCurrentConsumerGroupOffset(groupId) - offsetAtPipelineStart);
+      long totalMessagesSincePipelineStart = latestTopicOffsets.getOrDefault(topic, 0L) - offsetAtPipelineStart;
+      long lag = Math.max(0, totalMessagesSincePipelineStart - consumedMessagesSincePipelineStart);
 
       info.setTotalMessagesSincePipelineStart(totalMessagesSincePipelineStart);
       info.setConsumedMessagesSincePipelineStart(consumedMessagesSincePipelineStart);
@@ -149,28 +123,51 @@ public class TopicInfoCollector {
 
       infos.add(info);
     });
+    inputStreams.stream().map(is -> is.getEventGrounding().getTransportProtocol()).filter(this::isInMemory)
+            .forEach(protocol -> infos.add(makeInMemoryInputInfo((InMemoryTransportProtocol) protocol)));
 
     return infos;
   }
 
+  private ConsumedMessagesInfo makeInMemoryInputInfo(InMemoryTransportProtocol protocol) {
+    String topic = getTopic(protocol);
+    InMemoryTopicStatistics statistics = getInMemoryTopicStatistics(topic);
+    ConsumedMessagesInfo info = new ConsumedMessagesInfo(topic, null);
+    info.setTotalMessagesSincePipelineStart(statistics.getPublishedEvents());
+    info.setConsumedMessagesSincePipelineStart(statistics.getDeliveredEvents());
+    info.setLag(Math.max(0, statistics.getPublishedEvents() - statistics.getDeliveredEvents()));
+
+    return info;
+  }
+
+  private ProducedMessagesInfo makeInMemoryOutputInfo(InMemoryTransportProtocol protocol) {
+    String topic = getTopic(protocol);
+    ProducedMessagesInfo info = new ProducedMessagesInfo(topic);
+    info.setTotalProducedMessages(getInMemoryTopicStatistics(topic).getPublishedEvents());
+    info.setTotalProducedMessagesSincePipelineStart(info.getTotalProducedMessages());
+
+    return info;
+  }
+
+  private InMemoryTopicStatistics getInMemoryTopicStatistics(String topic) {
+    return inMemoryTopicStatistics.getOrDefault(topic, new InMemoryTopicStatistics(topic, 0, 0));
+  }
+
   private long getCurrentConsumerGroupOffset(String groupId) {
-    return currentConsumerGroupOffsets.get(groupId);
+    return currentConsumerGroupOffsets.getOrDefault(groupId, 0L);
   }
 
   private ProducedMessagesInfo makeOutputTopicInfoForPipelineElement(KafkaTransportProtocol protocol) {
     String topic = getTopic(protocol);
     ProducedMessagesInfo info = new ProducedMessagesInfo(topic);
 
-    info.setTotalProducedMessages(this.latestTopicOffsets.get(topic));
-    info.setTotalProducedMessagesSincePipelineStart(info.getTotalProducedMessages() - this.topicOffsetAtPipelineStart.get(topic));
+    info.setTotalProducedMessages(this.latestTopicOffsets.getOrDefault(topic, 0L));
+    info.setTotalProducedMessagesSincePipelineStart(info.getTotalProducedMessages()
+            - this.topicOffsetAtPipelineStart.getOrDefault(topic, 0L));
 
     return info;
   }
 
-  private String getTopic(KafkaTransportProtocol protocol) {
-    return protocol.getTopicDefinition().getActualTopicName();
-  }
-
   private PipelineElementMonitoringInfo prepare(String elementId, String name, boolean inputTopics, boolean outputTopics) {
     PipelineElementMonitoringInfo info = new PipelineElementMonitoringInfo();
     info.setPipelineElementName(name);
@@ -180,78 +177,70 @@ public class TopicInfoCollector {
     return info;
   }
 
-  private AdminClient kafkaAdminClient() {
-    return KafkaAdminClient.create(makeProperties());
+  private boolean isKafka(TransportProtocol protocol) {
+    return protocol instanceof KafkaTransportProtocol;
   }
 
-  private Properties makeProperties() {
-    Properties props = new Properties();
-
-    props.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, getBrokerUrl());
-    props.put(AdminClientConfig.CLIENT_ID_CONFIG, UUID.randomUUID().toString());
+  private boolean isInMemory(TransportProtocol protocol) {
+    return protocol instanceof InMemoryTransportProtocol;
+  }
 
-    return props;
+  /**
+   * @return the Kafka protocols of all topics read or written by the elements of the given pipeline.
+   */
+  public static List<KafkaTransportProtocol> extractKafkaProtocols(Pipeline pipeline) {
+    return extractProtocols(pipeline, KafkaTransportProtocol.class);
   }
 
-  private String getBrokerUrl() {
-    String env = System.getenv("SP_DEBUG");
-    if (env != null) {
-      env = env.replaceAll(" ", "");
-    }
-    if ("true".equals(env)) {
-      return "localhost:9094";
-    } else {
-      return BackendConfig.INSTANCE.getKafkaUrl();
-    }
+  /**
+   * @return the in-memory protocols of all topics written by the processors of the given pipeline.
+   */
+  public static List<InMemoryTransportProtocol> extractInMemoryProtocols(Pipeline pipeline) {
+    return extractProtocols(pipeline, InMemoryTransportProtocol.class);
   }
 
-  private Tuple2<String, Long> makeTopicOffsetInfo(KafkaTransportProtocol protocol, OffsetSpec offsetSpec) throws ExecutionException, InterruptedException {
-    Map<TopicPartition, OffsetAndMetadata> partitions = kafkaAdminClient.listConsumerGroupOffsets(protocol.getGroupId()).partitionsToOffsetAndMetadata().get();
-    Map<TopicPartition, OffsetSpec> desiredOffsets = new HashMap<>();
-    partitions.forEach((key, value) -> desiredOffsets.put(key, offsetSpec));
-    ListOffsetsResult offsetsResult = kafkaAdminClient.listOffsets(desiredOffsets);
-    Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> resultInfo = offsetsResult.all().get();
-    Long offset = resultInfo
-            .values()
-            .stream()
-            .map(ListOffsetsResult.ListOffsetsResultInfo::offset)
-            .reduce(0L, Long::sum);
+  private static <T extends TransportProtocol> List<T> extractProtocols(Pipeline pipeline,
+                                                                         Class<T> protocolClass) {
+    List<TransportProtocol> protocols = new ArrayList<>();
+    pipeline.getStreams().forEach(stream -> protocols.add(stream.getEventGrounding().getTransportProtocol()));
+    pipeline.getSepas().forEach(processor -> {
+      protocols.addAll(extractInputProtocols(processor));
+      protocols.add(processor.getOutputStream().getEventGrounding().getTransportProtocol());
+    });
+    pipeline.getActions().forEach(sink -> protocols.addAll(extractInputProtocols(sink)));
 
-    return new Tuple2<>(protocol.getTopicDefinition().getActualTopicName(), offset);
+    return protocols
+            .stream()
+            .filter(protocolClass::isInstance)
+            .map(protocolClass::cast)
+            .collect(Collectors.toList());
   }
 
-  private Tuple2<String, Long> makeTopicInfo(KafkaTransportProtocol protocol) throws ExecutionException, InterruptedException {
-    Long offset = kafkaAdminClient.listConsumerGroupOffsets(protocol.getGroupId())
-            .partitionsToOffsetAndMetadata()
-            .get()
-            .values()
+  /**
+   * @return the consumer groups of all Kafka topics read by the elements of the given pipeline.
+   */
+  public static Set<String> extractConsumerGroups(Pipeline pipeline) {
+    List<TransportProtocol> protocols = new ArrayList<>();
+    pipeline.getSepas().forEach(processor -> protocols.addAll(extractInputProtocols(processor)));
+    pipeline.getActions().forEach(sink -> protocols.addAll(extractInputProtocols(sink)));
+
+    return protocols
             .stream()
-            .map(OffsetAndMetadata::offset)
-            .reduce(0L, Long::sum);
+            .filter(protocol -> protocol instanceof KafkaTransportProtocol)
+            .map(protocol -> ((KafkaTransportProtocol) protocol).getGroupId())
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+  }
 
-    return new Tuple2<>(protocol.getGroupId(), offset);
+  public static String getTopic(TransportProtocol protocol) {
+    return protocol.getTopicDefinition().getActualTopicName();
   }
 
-  public List<TransportProtocol> extractProtocols(InvocableStreamPipesEntity pipelineElement) {
+  private static List<TransportProtocol> extractInputProtocols(InvocableStreamPipesEntity pipelineElement) {
     return pipelineElement
             .getInputStreams()
             .stream()
             .map(stream -> stream.getEventGrounding().getTransportProtocol())
             .collect(Collectors.toList());
   }
-
-  public static void main(String[] args) {
-    List<Pipeline> pipelines = StorageDispatcher.INSTANCE.getNoSqlStore().getPipelineStorageAPI().getAllPipelines();
-    Pipeline testPipeline = pipelines.get(0);
-
-    for(int i = 0; i < 50; i++) {
-      List<PipelineElementMonitoringInfo> monitoringInfo = new TopicInfoCollector(testPipeline).makeMonitoringInfo();
-      System.out.println(monitoringInfo.size());
-      try {
-        Thread.sleep(5000);
-      } catch (InterruptedException e) {
-        e.printStackTrace();
-      }
-    }
-  }
 }
@@ -22,6 +22,7 @@ import org.apache.streampipes.commons.exceptions.NoSuitableSepasAvailableExcepti
 import org.apache.streampipes.commons.exceptions.SepaParseException;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.manager.endpoint.EndpointItemFetcher;
+import org.apache.streampipes.manager.execution.http.HttpRequestBuilder;
 import org.apache.streampipes.manager.execution.http.PipelineExecutor;
 import org.apache.streampipes.manager.execution.http.PipelineStorageService;
 import org.apache.streampipes.manager.matching.DataSetGroundingSelector;
@@ -36,6 +37,7 @@ import org.apache.streampipes.manager.topic.WildcardTopicGenerator;
 import org.apache.streampipes.manager.verification.extractor.TypeExtractor;
 import org.apache.streampipes.model.SpDataSet;
 import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.client.endpoint.RdfEndpoint;
 import org.apache.streampipes.model.client.endpoint.RdfEndpointItem;
 import org.apache.streampipes.model.message.DataSetModificationMessage;
@@ -52,6 +54,10 @@ import org.apache.streampipes.storage.management.StorageDispatcher;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 
 /**
@@ -62,6 +68,7 @@ import java.util.List;
 
 public class Operations {
 
+  private static final int MAX_PARALLEL_PIPELINE_STOPS = 8;
 
   public static PipelineModificationMessage validatePipeline(Pipeline pipeline, boolean isPartial) throws Exception {
     return validatePipeline(pipeline, isPartial, "");
@@ -92,9 +99,8 @@ public class Operations {
   }
 
   public static Message verifyAndAddElement(String graphData, String username,
-                                            boolean publicElement, boolean refreshCache) throws SepaParseException {
-    return new TypeExtractor(graphData).getTypeVerifier().verifyAndAdd(username, publicElement,
-            refreshCache);
+                                            boolean publicElement) throws SepaParseException {
+    return new TypeExtractor(graphData).getTypeVerifier().verifyAndAdd(username, publicElement);
   }
 
   public static Message verifyAndUpdateElement(String graphData, String username) throws SepaParseException {
@@ -113,6 +119,14 @@ public class Operations {
     new PipelineStorageService(pipeline).updatePipeline();
   }
 
+  /**
+   * Deletes the state persisted by the given pipeline element instances, which must not be
+   * running (e.g., the elements of a deleted pipeline).
+   */
+  public static void discardPipelineElementState(List<InvocableStreamPipesEntity> graphs) {
+    graphs.forEach(g -> new HttpRequestBuilder(g, g.getUri()).discardState());
+  }
+
   public static PipelineOperationStatus startPipeline(
           Pipeline pipeline) {
     return startPipeline(pipeline,true, true, false);
@@ -130,16 +144,23 @@ public class Operations {
   }
 
   public static List<PipelineOperationStatus> stopAllPipelines(boolean forceStop) {
-    List<PipelineOperationStatus> status = new ArrayList<>();
     List<Pipeline> pipelines =
-            StorageDispatcher.INSTANCE.getNoSqlStore().getPipelineStorageAPI().getAllPipelines();
-
-    pipelines.forEach(p -> {
-      if (p.isRunning()) {
-        status.add(Operations.stopPipeline(p, forceStop));
-      }
-    });
-    return status;
+            StorageDispatcher.INSTANCE.getNoSqlStore().getPipelineStorageAPI().getAllPipelines()
+                    .stream()
+                    .filter(Pipeline::isRunning)
+                    .collect(Collectors.toList());
+
+    // each pipeline waits for its own element requests, so pipelines are stopped on separate threads
+    ExecutorService executorService = Executors.newFixedThreadPool(Math.max(1, Math.min(pipelines.size(),
+            MAX_PARALLEL_PIPELINE_STOPS)));
+    try {
+      List<CompletableFuture<PipelineOperationStatus>> status = new ArrayList<>();
+      pipelines.forEach(p -> status.add(CompletableFuture.supplyAsync(() -> Operations.stopPipeline(p, forceStop),
+              executorService)));
+      return status.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    } finally {
+      executorService.shutdown();
+    }
   }
 
   public static PipelineOperationStatus stopPipeline(Pipeline pipeline,
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.remote;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.client.fluent.Request;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.monitoring.InMemoryTopicStatistics;
+import org.apache.streampipes.serializers.json.JacksonSerializer;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fetches the latest events and event counts of in-memory topics from the container which hosts
+ * them, as these topics cannot be subscribed from outside of the container.
+ */
+public class InMemoryTopicClient {
+
+  private static final int TIMEOUT_MILLIS = 5000;
+
+  private final ObjectMapper mapper = JacksonSerializer.getObjectMapper();
+
+  public Optional<InMemoryTopicStatistics> fetchStatistics(InMemoryTransportProtocol protocol) {
+    if (protocol.getContainerUrl() == null) {
+      return Optional.empty();
+    }
+    try {
+      String response = Request.Get(makeUrl(protocol, "statistics"))
+              .connectTimeout(TIMEOUT_MILLIS)
+              .socketTimeout(TIMEOUT_MILLIS)
+              .execute()
+              .returnContent()
+              .asString();
+      return Optional.of(mapper.readValue(response, InMemoryTopicStatistics.class));
+    } catch (IOException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * @return up to the given number of the latest events of the topic as JSON, newest first.
+   */
+  public List<String> fetchLatestEvents(InMemoryTransportProtocol protocol, int count) throws
+          SpRuntimeException {
+    if (protocol.getContainerUrl() == null) {
+      throw new SpRuntimeException("No container known for in-memory topic "
+              + getTopic(protocol));
+    }
+    try {
+      String response = Request.Get(makeUrl(protocol, "events?count=" + count))
+              .connectTimeout(TIMEOUT_MILLIS)
+              .socketTimeout(TIMEOUT_MILLIS)
+              .execute()
+              .returnContent()
+              .asString();
+      List<String> events = new ArrayList<>();
+      for (JsonNode event : mapper.readTree(response)) {
+        events.add(mapper.writeValueAsString(event));
+      }
+      return events;
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not fetch events of in-memory topic "
+              + getTopic(protocol) + ": " + e.getMessage());
+    }
+  }
+
+  private String makeUrl(InMemoryTransportProtocol protocol, String path) throws
+          UnsupportedEncodingException {
+    String containerUrl = protocol.getContainerUrl();
+    return containerUrl
+            + (containerUrl.endsWith("/") ? "" : "/")
+            + "inmemory/"
+            + URLEncoder.encode(getTopic(protocol), "UTF-8")
+            + "/"
+            + path;
+  }
+
+  private String getTopic(InMemoryTransportProtocol protocol) {
+    return protocol.getTopicDefinition().getActualTopicName();
+  }
+}
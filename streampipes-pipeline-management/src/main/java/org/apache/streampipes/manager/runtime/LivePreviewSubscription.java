@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.runtime;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Long-lived subscription to the topic of a previewed data stream, keeping the latest raw events in a
+ * ring buffer. Events are only converted when they are actually requested.
+ */
+class LivePreviewSubscription implements InternalEventProcessor<byte[]> {
+
+  private final SpDataFormatConverter converter;
+  private final byte[][] events;
+  private final CountDownLatch firstEvent;
+  private final AtomicBoolean firstRequest;
+
+  private int next;
+  private int size;
+
+  private volatile long lastAccess;
+  private Runnable disconnectAction;
+  private BooleanSupplier connectionCheck;
+
+  LivePreviewSubscription(SpDataFormatConverter converter, int capacity) {
+    this.converter = converter;
+    this.events = new byte[capacity][];
+    this.firstEvent = new CountDownLatch(1);
+    this.firstRequest = new AtomicBoolean(true);
+    this.lastAccess = System.currentTimeMillis();
+  }
+
+  @Override
+  public void onEvent(byte[] event) {
+    synchronized (events) {
+      events[next] = event;
+      next = (next + 1) % events.length;
+      size = Math.min(size + 1, events.length);
+    }
+    firstEvent.countDown();
+  }
+
+  /**
+   * @return the latest event, waiting at most the given time if no event has been received yet, or
+   * null if none arrived in time.
+   */
+  String getLatestEvent(long maxWaitMillis) throws SpRuntimeException {
+    List<String> latest = getLatestEvents(1, maxWaitMillis);
+    return latest.isEmpty() ? null : latest.get(0);
+  }
+
+  /**
+   * @return up to the given number of the most recent events, newest first. Only the first request
+   * waits for an event, later requests return the events received so far.
+   */
+  List<String> getLatestEvents(int count, long maxWaitMillis) throws SpRuntimeException {
+    this.lastAccess = System.currentTimeMillis();
+    if (firstRequest.compareAndSet(true, false)) {
+      awaitFirstEvent(maxWaitMillis);
+    }
+
+    List<byte[]> rawEvents = new ArrayList<>();
+    synchronized (events) {
+      for (int i = 1; i <= Math.min(count, size); i++) {
+        rawEvents.add(events[(next - i + events.length) % events.length]);
+      }
+    }
+
+    List<String> result = new ArrayList<>(rawEvents.size());
+    for (byte[] rawEvent : rawEvents) {
+      result.add(converter.convert(rawEvent));
+    }
+    return result;
+  }
+
+  boolean isIdleSince(long timestamp) {
+    return lastAccess < timestamp;
+  }
+
+  /**
+   * @return true if the consumer of this subscription stopped receiving events, e.g., because its
+   * connection to the broker was lost.
+   */
+  boolean hasFailed() {
+    return connectionCheck != null && !connectionCheck.getAsBoolean();
+  }
+
+  void onDisconnect(Runnable disconnectAction) {
+    this.disconnectAction = disconnectAction;
+  }
+
+  void setConnectionCheck(BooleanSupplier connectionCheck) {
+    this.connectionCheck = connectionCheck;
+  }
+
+  void disconnect() {
+    if (disconnectAction != null) {
+      disconnectAction.run();
+    }
+  }
+
+  private void awaitFirstEvent(long maxWaitMillis) {
+    try {
+      firstEvent.await(maxWaitMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -17,179 +17,231 @@
  */
 package org.apache.streampipes.manager.runtime;
 
-import com.google.inject.internal.cglib.core.$LocalVariablesSorter;
-import org.apache.streampipes.config.backend.BackendConfig;
-import org.apache.streampipes.messaging.kafka.SpKafkaConsumer;
-import org.apache.streampipes.messaging.mqtt.MqttConsumer;
-import org.apache.streampipes.model.grounding.MqttTransportProtocol;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
-import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.manager.remote.InMemoryTopicClient;
 import org.apache.streampipes.messaging.jms.ActiveMQConsumer;
+import org.apache.streampipes.messaging.kafka.SpKafkaConsumer;
+import org.apache.streampipes.messaging.mqtt.MqttConsumer;
 import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
 import org.apache.streampipes.model.grounding.JmsTransportProtocol;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.grounding.MqttTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public enum PipelineElementRuntimeInfoFetcher {
   INSTANCE;
 
   Logger logger = LoggerFactory.getLogger(PipelineElementRuntimeInfoFetcher.class);
 
-  private final int FETCH_INTERVAL_MS = 300;
-  private final Map<String, SpDataFormatConverter> converterMap;
+  private static final int EVENT_BUFFER_SIZE = 10;
+  private static final long FIRST_EVENT_TIMEOUT_MS = 6000;
+  private static final long IDLE_TIMEOUT_MS = 120000;
+  private static final long EXPIRY_CHECK_INTERVAL_MS = 30000;
+
+  private final Map<String, CompletableFuture<LivePreviewSubscription>> subscriptions;
+  private final ScheduledExecutorService expiryService;
+  private final InMemoryTopicClient inMemoryTopicClient;
 
   PipelineElementRuntimeInfoFetcher() {
-    this.converterMap = new HashMap<>();
+    this.subscriptions = new ConcurrentHashMap<>();
+    this.inMemoryTopicClient = new InMemoryTopicClient();
+    this.expiryService = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "live-preview-expiry");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.expiryService.scheduleWithFixedDelay(this::closeIdleSubscriptions, EXPIRY_CHECK_INTERVAL_MS,
+            EXPIRY_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
   }
 
+  /**
+   * @return the latest event of the given stream as JSON, or null if no event arrived in time after
+   * the subscription was opened.
+   */
   public String getCurrentData(SpDataStream spDataStream) throws SpRuntimeException {
-
-    if (spDataStream.getEventGrounding().getTransportProtocol() instanceof KafkaTransportProtocol) {
-      return getLatestEventFromKafka(spDataStream);
+    if (isInMemory(spDataStream)) {
+      List<String> latest = getInMemoryData(spDataStream, 1);
+      return latest.isEmpty() ? null : latest.get(0);
     }
-    else if (spDataStream.getEventGrounding().getTransportProtocol() instanceof JmsTransportProtocol){
-      return getLatestEventFromJms(spDataStream);
-    } else {
-      return getLatestEventFromMqtt(spDataStream);
+    return getSubscription(spDataStream).getLatestEvent(FIRST_EVENT_TIMEOUT_MS);
+  }
+
+  /**
+   * @return up to the given number of the latest events of the given stream as JSON, newest first.
+   */
+  public List<String> getLatestData(SpDataStream spDataStream, int count) throws SpRuntimeException {
+    if (isInMemory(spDataStream)) {
+      return getInMemoryData(spDataStream, Math.min(count, EVENT_BUFFER_SIZE));
     }
+    return getSubscription(spDataStream).getLatestEvents(Math.min(count, EVENT_BUFFER_SIZE),
+            FIRST_EVENT_TIMEOUT_MS);
   }
 
-  private TransportFormat getTransportFormat(SpDataStream spDataStream) {
-    return spDataStream.getEventGrounding().getTransportFormats().get(0);
+  private boolean isInMemory(SpDataStream spDataStream) {
+    return spDataStream.getEventGrounding().getTransportProtocol() instanceof
+            InMemoryTransportProtocol;
   }
 
-  private String getOutputTopic(SpDataStream spDataStream) {
-    return spDataStream
-            .getEventGrounding()
-            .getTransportProtocol()
-            .getTopicDefinition()
-            .getActualTopicName();
+  /**
+   * In-memory topics only exist within the container of the connected elements, so their latest
+   * events are requested from that container instead of subscribing to the topic.
+   */
+  private List<String> getInMemoryData(SpDataStream spDataStream, int count) throws
+          SpRuntimeException {
+    return inMemoryTopicClient.fetchLatestEvents((InMemoryTransportProtocol) spDataStream
+            .getEventGrounding().getTransportProtocol(), count);
   }
 
-  private String getLatestEventFromJms(SpDataStream spDataStream) throws SpRuntimeException {
-    final String[] result = {null};
-    String jmsTopic = getOutputTopic(spDataStream);
-    JmsTransportProtocol protocol = (JmsTransportProtocol) spDataStream.getEventGrounding().getTransportProtocol();
+  private LivePreviewSubscription getSubscription(SpDataStream spDataStream) throws SpRuntimeException {
+    TransportProtocol protocol = spDataStream.getEventGrounding().getTransportProtocol();
+    adaptForDevelopmentMode(protocol);
+    String key = makeSubscriptionKey(spDataStream, protocol);
 
-    // Change jms config when running in development mode
-    if ("true".equals(System.getenv("SP_DEBUG"))) {
-      protocol.setBrokerHostname("localhost");
+    LivePreviewSubscription subscription = getSubscription(key, spDataStream, protocol);
+    if (subscription.hasFailed()) {
+      logger.info("Reconnecting failed live preview subscription {}", key);
+      close(key, subscription);
+      subscription = getSubscription(key, spDataStream, protocol);
     }
-    if (!converterMap.containsKey(jmsTopic)) {
-      this.converterMap.put(jmsTopic,
-              new SpDataFormatConverterGenerator(getTransportFormat(spDataStream)).makeConverter());
-    }
-
-    ActiveMQConsumer consumer = new ActiveMQConsumer();
-    consumer.connect((JmsTransportProtocol) spDataStream.getEventGrounding().getTransportProtocol(), new InternalEventProcessor<byte[]>() {
-      @Override
-      public void onEvent(byte[] event) {
-        try {
-          result[0] = converterMap.get(jmsTopic).convert(event);
-          consumer.disconnect();
-        } catch (SpRuntimeException e) {
-          e.printStackTrace();
-        }
-      }
-    });
+    return subscription;
+  }
 
-    while (result[0] == null) {
+  /**
+   * Returns the subscription of the given key, the first caller connects it while concurrent
+   * callers of the same key wait for the connection, callers of other keys are not blocked.
+   */
+  private LivePreviewSubscription getSubscription(String key, SpDataStream spDataStream,
+                                                  TransportProtocol protocol) throws SpRuntimeException {
+    CompletableFuture<LivePreviewSubscription> created = new CompletableFuture<>();
+    CompletableFuture<LivePreviewSubscription> subscription = subscriptions.computeIfAbsent(key,
+            k -> created);
+    if (subscription == created) {
       try {
-        Thread.sleep(FETCH_INTERVAL_MS);
-      } catch (InterruptedException e) {
-        e.printStackTrace();
+        created.complete(subscribe(spDataStream, protocol));
+      } catch (RuntimeException e) {
+        subscriptions.remove(key, created);
+        created.completeExceptionally(e);
       }
     }
 
-    return result[0];
+    try {
+      return subscription.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof SpRuntimeException) {
+        throw (SpRuntimeException) e.getCause();
+      }
+      throw new SpRuntimeException(e.getCause());
+    }
   }
 
-  private String getLatestEventFromMqtt(SpDataStream spDataStream) throws SpRuntimeException {
-    final String[] result = {null};
-    String mqttTopic = getOutputTopic(spDataStream);
-    MqttTransportProtocol protocol = (MqttTransportProtocol) spDataStream.getEventGrounding().getTransportProtocol();
-
-    // Change mqtt config when running in development mode
-    if ("true".equals(System.getenv("SP_DEBUG"))) {
-      protocol.setBrokerHostname("localhost");
+  private LivePreviewSubscription subscribe(SpDataStream spDataStream,
+                                            TransportProtocol protocol) throws SpRuntimeException {
+    String topic = getOutputTopic(spDataStream);
+    LivePreviewSubscription subscription = new LivePreviewSubscription(
+            new SpDataFormatConverterGenerator(getTransportFormat(spDataStream)).makeConverter(),
+            EVENT_BUFFER_SIZE);
+
+    if (protocol instanceof KafkaTransportProtocol) {
+      SpKafkaConsumer kafkaConsumer = new SpKafkaConsumer((KafkaTransportProtocol) protocol, topic,
+              subscription);
+      Thread thread = new Thread(kafkaConsumer, "live-preview-" + topic);
+      thread.setDaemon(true);
+      thread.start();
+      subscription.onDisconnect(() -> disconnect(kafkaConsumer::disconnect));
+      subscription.setConnectionCheck(thread::isAlive);
+    } else if (protocol instanceof JmsTransportProtocol) {
+      ActiveMQConsumer consumer = new ActiveMQConsumer();
+      consumer.connect((JmsTransportProtocol) protocol, subscription);
+      subscription.onDisconnect(() -> disconnect(consumer::disconnect));
+      subscription.setConnectionCheck(consumer::isConnected);
+    } else if (protocol instanceof MqttTransportProtocol) {
+      MqttConsumer consumer = new MqttConsumer();
+      consumer.connect((MqttTransportProtocol) protocol, subscription);
+      subscription.onDisconnect(() -> disconnect(consumer::disconnect));
+      subscription.setConnectionCheck(consumer::isConnected);
+    } else {
+      throw new SpRuntimeException("Live preview is not supported for protocol "
+              + protocol.getClass().getSimpleName());
     }
 
-    if (!converterMap.containsKey(mqttTopic)){
-      this.converterMap.put(mqttTopic,
-              new SpDataFormatConverterGenerator(getTransportFormat(spDataStream)).makeConverter());
-    }
-    MqttConsumer mqttConsumer = new MqttConsumer();
-    mqttConsumer.connect(protocol, new InternalEventProcessor<byte[]>() {
-      @Override
-      public void onEvent(byte[] event) {
-        try {
-          result[0] = converterMap.get(mqttTopic).convert(event);
-          mqttConsumer.disconnect();
-        } catch (SpRuntimeException e) {
-          e.printStackTrace();
-        }
+    logger.info("Opened live preview subscription for topic {}", topic);
+    return subscription;
+  }
+
+  private void closeIdleSubscriptions() {
+    long idleSince = System.currentTimeMillis() - IDLE_TIMEOUT_MS;
+    subscriptions.forEach((key, future) -> {
+      // subscriptions which are still connecting are skipped
+      LivePreviewSubscription subscription = future.getNow(null);
+      if (subscription != null && (subscription.isIdleSince(idleSince) || subscription.hasFailed())) {
+        logger.info("Closing {} live preview subscription {}", subscription.hasFailed() ? "failed"
+                : "idle", key);
+        close(key, subscription);
       }
     });
+  }
 
-    while (result[0] == null) {
-      try {
-        Thread.sleep(FETCH_INTERVAL_MS);
-      } catch (InterruptedException e) {
-        e.printStackTrace();
-      }
+  /**
+   * Closes the subscription unless it has already been replaced by a new subscription of the key.
+   */
+  private void close(String key, LivePreviewSubscription subscription) {
+    CompletableFuture<LivePreviewSubscription> future = subscriptions.get(key);
+    if (future != null && future.getNow(null) == subscription && subscriptions.remove(key, future)) {
+      subscription.disconnect();
     }
-
-    return result[0];
   }
 
-  private String getLatestEventFromKafka(SpDataStream spDataStream) throws SpRuntimeException {
-    final String[] result = {null};
-    String kafkaTopic = getOutputTopic(spDataStream);
-    KafkaTransportProtocol protocol = (KafkaTransportProtocol) spDataStream.getEventGrounding().getTransportProtocol();
+  private void disconnect(Disconnector disconnector) {
+    try {
+      disconnector.disconnect();
+    } catch (SpRuntimeException e) {
+      e.printStackTrace();
+    }
+  }
 
-    // Change kafka config when running in development mode
+  private void adaptForDevelopmentMode(TransportProtocol protocol) {
+    // Change broker config when running in development mode
     if ("true".equals(System.getenv("SP_DEBUG"))) {
       protocol.setBrokerHostname("localhost");
-      protocol.setKafkaPort(9094);
-    }
-
-    if (!converterMap.containsKey(kafkaTopic)) {
-      this.converterMap.put(kafkaTopic,
-              new SpDataFormatConverterGenerator(getTransportFormat(spDataStream)).makeConverter());
-    }
-
-    SpKafkaConsumer kafkaConsumer = new SpKafkaConsumer(protocol, kafkaTopic, new InternalEventProcessor<byte[]>() {
-      @Override
-      public void onEvent(byte[] event) {
-        try {
-          result[0] = converterMap.get(kafkaTopic).convert(event);
-        } catch (SpRuntimeException e) {
-          e.printStackTrace();
-        }
-      }
-    });
-
-    Thread t = new Thread(kafkaConsumer);
-    t.start();
-
-    long timeout = 0;
-    while (result[0] == null && timeout < 6000) {
-      try {
-        Thread.sleep(FETCH_INTERVAL_MS);
-        timeout = timeout + 300;
-      } catch (InterruptedException e) {
-        e.printStackTrace();
+      if (protocol instanceof KafkaTransportProtocol) {
+        ((KafkaTransportProtocol) protocol).setKafkaPort(9094);
       }
     }
+  }
 
-    kafkaConsumer.disconnect();
+  private String makeSubscriptionKey(SpDataStream spDataStream, TransportProtocol protocol) {
+    return protocol.getClass().getSimpleName()
+            + "://" + protocol.getBrokerHostname()
+            + "/" + getOutputTopic(spDataStream)
+            + "/" + getTransportFormat(spDataStream).getRdfType();
+  }
 
-    return result[0];
+  private TransportFormat getTransportFormat(SpDataStream spDataStream) {
+    return spDataStream.getEventGrounding().getTransportFormats().get(0);
   }
 
+  private String getOutputTopic(SpDataStream spDataStream) {
+    return spDataStream
+            .getEventGrounding()
+            .getTransportProtocol()
+            .getTopicDefinition()
+            .getActualTopicName();
+  }
+
+  private interface Disconnector {
+    void disconnect() throws SpRuntimeException;
+  }
 }
@@ -44,7 +44,7 @@ public class PipelineElementInstallationStep implements InstallationStep {
     List<RdfEndpointItem> items = Operations.getEndpointUriContents(Collections.singletonList(endpoint));
     for(RdfEndpointItem item : items) {
       statusMessages.add(new EndpointItemParser().parseAndAddEndpointItem(item.getUri(),
-              userEmail, true, false));
+              userEmail, true));
     }
 
     Message installMessage;
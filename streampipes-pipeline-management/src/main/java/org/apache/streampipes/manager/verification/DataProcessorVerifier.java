@@ -38,14 +38,11 @@ public class DataProcessorVerifier extends ElementVerifier<DataProcessorDescript
   }
 
   @Override
-  protected StorageState store(String username, boolean publicElement, boolean refreshCache) {
+  protected StorageState store(String username, boolean publicElement) {
     StorageState storageState = StorageState.STORED;
 
     if (!storageApi.exists(elementDescription)) {
       storageApi.storeDataProcessor(elementDescription);
-      if (refreshCache) {
-        storageApi.refreshDataProcessorCache();
-      }
     } else {
       storageState = StorageState.ALREADY_IN_SESAME;
     }
@@ -60,7 +57,6 @@ public class DataProcessorVerifier extends ElementVerifier<DataProcessorDescript
   @Override
   protected void update(String username) {
     storageApi.update(elementDescription);
-    storageApi.refreshDataProcessorCache();
   }
 
   @Override
@@ -34,7 +34,7 @@ public class DataSinkVerifier extends ElementVerifier<DataSinkDescription> {
 
 
 	@Override
-	protected StorageState store(String username, boolean publicElement, boolean refreshCache) {
+	protected StorageState store(String username, boolean publicElement) {
 		StorageState storageState = StorageState.STORED;
 		/*
 		if (SecurityUtils.getSubject().isAuthenticated()) {
@@ -44,9 +44,6 @@ public class DataSinkVerifier extends ElementVerifier<DataSinkDescription> {
 */
 		if (!storageApi.exists(elementDescription)) {
 			storageApi.storeDataSink(elementDescription);
-			if (refreshCache) {
-				storageApi.refreshDataSinkCache();
-			}
 		}
 		else {
 			storageState = StorageState.ALREADY_IN_SESAME;
@@ -69,7 +66,6 @@ public class DataSinkVerifier extends ElementVerifier<DataSinkDescription> {
 	@Override
 	protected void update(String username) {
 		storageApi.update(elementDescription);
-		storageApi.refreshDataSinkCache();
 	}
 
 	@Override
@@ -39,7 +39,7 @@ public class DataStreamVerifier extends ElementVerifier<SpDataStream> {
   }
 
   @Override
-  protected StorageState store(String username, boolean publicElement, boolean refreshCache) {
+  protected StorageState store(String username, boolean publicElement) {
     StorageState storageState = StorageState.STORED;
 		/*
 		if (SecurityUtils.getSubject().isAuthenticated()) {
@@ -49,9 +49,6 @@ public class DataStreamVerifier extends ElementVerifier<SpDataStream> {
 */
     if (!storageApi.exists(elementDescription)) {
       storageApi.storeDataStream(elementDescription);
-      if (refreshCache) {
-        storageApi.refreshDataSourceCache();
-      }
     } else {
       storageState = StorageState.ALREADY_IN_SESAME;
     }
@@ -66,7 +63,6 @@ public class DataStreamVerifier extends ElementVerifier<SpDataStream> {
   @Override
   protected void update(String username) {
     storageApi.update(elementDescription);
-    storageApi.refreshDataSourceCache();
   }
 
   @Override
@@ -76,8 +76,7 @@ public abstract class ElementVerifier<T extends NamedStreamPipesEntity> {
     validators.add(new GeneralVerifier<>(elementDescription));
   }
 
-  protected abstract StorageState store(String username, boolean publicElement,
-                                        boolean refreshCache);
+  protected abstract StorageState store(String username, boolean publicElement);
 
   protected abstract void update(String username);
 
@@ -86,7 +85,7 @@ public abstract class ElementVerifier<T extends NamedStreamPipesEntity> {
     validators.forEach(validator -> validationResults.addAll(validator.validate()));
   }
 
-  public Message verifyAndAdd(String username, boolean publicElement, boolean refreshCache) throws SepaParseException {
+  public Message verifyAndAdd(String username, boolean publicElement) throws SepaParseException {
     if (shouldTransform) {
       try {
         this.elementDescription = transform();
@@ -97,7 +96,7 @@ public abstract class ElementVerifier<T extends NamedStreamPipesEntity> {
     }
     verify();
     if (isVerifiedSuccessfully()) {
-      StorageState state = store(username, publicElement, refreshCache);
+      StorageState state = store(username, publicElement);
       if (state == StorageState.STORED) {
         try {
           storeAssets();
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.execution.http;
+
+import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.pipeline.PipelineElementStatus;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestGraphSubmitter {
+
+  @Test
+  public void testTimedOutElementsAreReported() {
+    DataProcessorInvocation fast = makeElement("fast");
+    DataProcessorInvocation slow = makeElement("slow");
+    CountDownLatch release = new CountDownLatch(1);
+    List<DataProcessorInvocation> timedOut = new ArrayList<>();
+
+    List<PipelineElementStatus> status = GraphSubmitter.requestAll(Arrays.asList(fast, slow), e -> {
+      if (e == slow) {
+        await(release);
+      }
+      return new PipelineElementStatus(e.getElementId(), e.getName(), true, "");
+    }, 200, timedOut);
+    release.countDown();
+
+    assertEquals(2, status.size());
+    assertTrue(status.get(0).isSuccess());
+    assertFalse(status.get(1).isSuccess());
+    assertEquals("slow", status.get(1).getElementId());
+    assertEquals(Arrays.asList(slow), timedOut);
+  }
+
+  @Test
+  public void testFailedElementsAreNotTimedOut() {
+    DataProcessorInvocation failing = makeElement("failing");
+    List<DataProcessorInvocation> timedOut = new ArrayList<>();
+
+    List<PipelineElementStatus> status = GraphSubmitter.requestAll(Arrays.asList(failing), e -> {
+      throw new IllegalStateException("not reachable");
+    }, 1000, timedOut);
+
+    assertFalse(status.get(0).isSuccess());
+    assertTrue(timedOut.isEmpty());
+  }
+
+  private DataProcessorInvocation makeElement(String elementId) {
+    DataProcessorInvocation element = new DataProcessorInvocation();
+    element.setElementId(elementId);
+    element.setName(elementId);
+    return element;
+  }
+
+  private void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
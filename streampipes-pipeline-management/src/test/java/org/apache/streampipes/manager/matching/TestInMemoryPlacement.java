@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.matching;
+
+import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.graph.DataSinkInvocation;
+import org.apache.streampipes.model.grounding.EventGrounding;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestInMemoryPlacement {
+
+  @Test
+  public void testElementsOfSameInstanceAreCoLocated() {
+    DataProcessorInvocation source = makeProcessor("http://pe-host:8090/sepa/a", "instance-1");
+    DataSinkInvocation target = makeSink("http://pe-host:8090/sec/b", "instance-1");
+
+    Optional<InMemoryTransportProtocol> protocol = InMemoryPlacement.makeProtocol(source,
+            Collections.singleton(target), "topic");
+
+    assertTrue(protocol.isPresent());
+    assertEquals("pe-host:8090", protocol.get().getContainerInstanceId());
+    assertEquals("http://pe-host:8090/", protocol.get().getContainerUrl());
+    assertEquals("pe-host", protocol.get().getBrokerHostname());
+    assertEquals("topic", protocol.get().getTopicDefinition().getActualTopicName());
+  }
+
+  @Test
+  public void testElementsInstalledBeforeRestartAreCoLocated() {
+    // the instance id of an installed description changes once the container restarts
+    DataProcessorInvocation source = makeProcessor("http://pe-host:8090/sepa/a", "instance-1");
+    DataSinkInvocation target = makeSink("http://pe-host:8090/sec/b", "instance-2");
+
+    assertTrue(InMemoryPlacement.makeProtocol(source, Collections.singleton(target), "topic")
+            .isPresent());
+  }
+
+  @Test
+  public void testElementsOfDifferentPortsAreNotCoLocated() {
+    DataProcessorInvocation source = makeProcessor("http://pe-host:8090/sepa/a", "instance-1");
+    DataSinkInvocation target = makeSink("http://pe-host:8091/sec/b", "instance-1");
+
+    assertFalse(InMemoryPlacement.makeProtocol(source, Collections.singleton(target), "topic")
+            .isPresent());
+  }
+
+  @Test
+  public void testAllTargetsMustBeCoLocated() {
+    DataProcessorInvocation source = makeProcessor("http://pe-host:8090/sepa/a", "instance-1");
+    DataSinkInvocation first = makeSink("http://pe-host:8090/sec/b", "instance-1");
+    DataSinkInvocation second = makeSink("http://other-host:8090/sec/c", "instance-3");
+
+    assertFalse(InMemoryPlacement.makeProtocol(source, new HashSet<InvocableStreamPipesEntity>(
+            Arrays.asList(first, second)), "topic").isPresent());
+  }
+
+  @Test
+  public void testElementsWithoutInMemorySupportAreNotCoLocated() {
+    DataProcessorInvocation source = makeProcessor("http://pe-host:8090/sepa/a", "instance-1");
+    DataSinkInvocation target = makeSink("http://pe-host:8090/sec/b", "instance-1");
+    target.getSupportedGrounding().setTransportProtocols(Collections.<TransportProtocol>singletonList(
+            new KafkaTransportProtocol()));
+
+    assertFalse(InMemoryPlacement.makeProtocol(source, Collections.singleton(target), "topic")
+            .isPresent());
+  }
+
+  private DataProcessorInvocation makeProcessor(String belongsTo, String instanceId) {
+    DataProcessorInvocation processor = new DataProcessorInvocation();
+    processor.setBelongsTo(belongsTo);
+    processor.setSupportedGrounding(makeGrounding(instanceId));
+    return processor;
+  }
+
+  private DataSinkInvocation makeSink(String belongsTo, String instanceId) {
+    DataSinkInvocation sink = new DataSinkInvocation();
+    sink.setBelongsTo(belongsTo);
+    sink.setSupportedGrounding(makeGrounding(instanceId));
+    return sink;
+  }
+
+  private EventGrounding makeGrounding(String instanceId) {
+    InMemoryTransportProtocol inMemoryProtocol = new InMemoryTransportProtocol();
+    inMemoryProtocol.setContainerInstanceId(instanceId);
+    EventGrounding grounding = new EventGrounding();
+    grounding.setTransportProtocols(Arrays.<TransportProtocol>asList(new KafkaTransportProtocol(),
+            inMemoryProtocol));
+    return grounding;
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.matching;
+
+import org.apache.streampipes.config.backend.MessagingSettings;
+import org.apache.streampipes.manager.selector.TestSelectorUtils;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TestKafkaPartitioning {
+
+  @Test
+  public void testDefaultSettingsKeepSinglePartition() {
+    KafkaTransportProtocol protocol = makeProtocol();
+    KafkaPartitioning.applySettings(protocol, MessagingSettings.fromDefault());
+    KafkaPartitioning.applyMessageKey(protocol, TestSelectorUtils.makeSchema());
+
+    assertNull(protocol.getNumPartitions());
+    assertNull(protocol.getConsumerThreads());
+    assertNull(protocol.getMessageKey());
+  }
+
+  @Test
+  public void testPartitionedTopicIsKeyedByDimension() {
+    MessagingSettings settings = MessagingSettings.fromDefault();
+    settings.setKafkaNumPartitions(4);
+    settings.setKafkaConsumerThreads(8);
+
+    KafkaTransportProtocol protocol = makeProtocol();
+    KafkaPartitioning.applySettings(protocol, settings);
+    KafkaPartitioning.applyMessageKey(protocol, TestSelectorUtils.makeSchema());
+
+    assertEquals(Integer.valueOf(4), protocol.getNumPartitions());
+    assertEquals(Integer.valueOf(4), protocol.getConsumerThreads());
+    assertEquals("testDimension", protocol.getMessageKey());
+  }
+
+  @Test
+  public void testMissingSettingsFromStoredConfig() {
+    KafkaTransportProtocol protocol = makeProtocol();
+    KafkaPartitioning.applySettings(protocol, new MessagingSettings());
+
+    assertNull(protocol.getNumPartitions());
+  }
+
+  private KafkaTransportProtocol makeProtocol() {
+    return new KafkaTransportProtocol("localhost", 9092, "test-topic");
+  }
+}
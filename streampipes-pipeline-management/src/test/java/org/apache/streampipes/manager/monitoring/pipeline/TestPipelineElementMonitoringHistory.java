@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.monitoring.pipeline;
+
+import org.apache.streampipes.model.monitoring.ConsumedMessagesInfo;
+import org.apache.streampipes.model.monitoring.PipelineElementMonitoringInfo;
+import org.apache.streampipes.model.monitoring.PipelineElementMonitoringSample;
+import org.apache.streampipes.model.monitoring.ProducedMessagesInfo;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestPipelineElementMonitoringHistory {
+
+  @Test
+  public void testFirstObservationOnlySetsTheBaseline() {
+    PipelineElementMonitoringHistory history = new PipelineElementMonitoringHistory(3);
+
+    history.add(makeInfo(100, 50, 5), 1000);
+
+    assertTrue(history.getSamples().isEmpty());
+  }
+
+  @Test
+  public void testRatesArePerSecondSinceTheLastObservation() {
+    PipelineElementMonitoringHistory history = new PipelineElementMonitoringHistory(3);
+
+    history.add(makeInfo(100, 50, 5), 1000);
+    history.add(makeInfo(300, 60, 7), 3000);
+
+    PipelineElementMonitoringSample sample = history.getSamples().get(0);
+    assertEquals(3000, sample.getTimestamp());
+    assertEquals(100.0, sample.getConsumedMessagesPerSecond(), 1e-9);
+    assertEquals(5.0, sample.getProducedMessagesPerSecond(), 1e-9);
+    assertEquals(7, sample.getLag());
+  }
+
+  @Test
+  public void testOldestSamplesAreOverwritten() {
+    PipelineElementMonitoringHistory history = new PipelineElementMonitoringHistory(2);
+
+    for (int i = 0; i < 5; i++) {
+      history.add(makeInfo(i * 10, 0, i), i * 1000);
+    }
+
+    List<PipelineElementMonitoringSample> samples = history.getSamples();
+    assertEquals(2, samples.size());
+    assertEquals(3000, samples.get(0).getTimestamp());
+    assertEquals(4000, samples.get(1).getTimestamp());
+  }
+
+  @Test
+  public void testResetCountersDoNotProduceNegativeRates() {
+    PipelineElementMonitoringHistory history = new PipelineElementMonitoringHistory(2);
+
+    history.add(makeInfo(100, 100, 0), 1000);
+    history.add(makeInfo(10, 10, 0), 2000);
+
+    assertEquals(0.0, history.getSamples().get(0).getConsumedMessagesPerSecond(), 0.0);
+    assertEquals(0.0, history.getSamples().get(0).getProducedMessagesPerSecond(), 0.0);
+  }
+
+  private PipelineElementMonitoringInfo makeInfo(long consumed, long produced, long lag) {
+    ConsumedMessagesInfo consumedInfo = new ConsumedMessagesInfo("input", "group");
+    consumedInfo.setConsumedMessagesSincePipelineStart(consumed);
+    consumedInfo.setLag(lag);
+    ProducedMessagesInfo producedInfo = new ProducedMessagesInfo("output");
+    producedInfo.setTotalProducedMessages(produced);
+
+    PipelineElementMonitoringInfo info = new PipelineElementMonitoringInfo();
+    info.setConsumedMessagesInfos(Collections.singletonList(consumedInfo));
+    info.setProducedMessagesInfo(producedInfo);
+    return info;
+  }
+}
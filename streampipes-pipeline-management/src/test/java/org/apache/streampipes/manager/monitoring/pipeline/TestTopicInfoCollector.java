@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.monitoring.pipeline;
+
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.graph.DataSinkInvocation;
+import org.apache.streampipes.model.grounding.EventGrounding;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.grounding.JmsTransportProtocol;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.model.monitoring.ConsumedMessagesInfo;
+import org.apache.streampipes.model.monitoring.InMemoryTopicStatistics;
+import org.apache.streampipes.model.monitoring.PipelineElementMonitoringInfo;
+import org.apache.streampipes.model.pipeline.Pipeline;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestTopicInfoCollector {
+
+  @Test
+  public void testInMemoryTopicsAreMonitored() {
+    InMemoryTransportProtocol protocol = new InMemoryTransportProtocol("pe-host", "instance-1",
+            "http://pe-host:8090/", "topic");
+
+    DataProcessorInvocation processor = new DataProcessorInvocation();
+    processor.setElementId("processor");
+    processor.setInputStreams(Collections.emptyList());
+    processor.setOutputStream(makeStream(protocol));
+
+    DataSinkInvocation sink = new DataSinkInvocation();
+    sink.setElementId("sink");
+    sink.setInputStreams(Collections.singletonList(makeStream(protocol)));
+
+    Pipeline pipeline = new Pipeline();
+    pipeline.setStreams(Collections.emptyList());
+    pipeline.setSepas(Collections.singletonList(processor));
+    pipeline.setActions(Collections.singletonList(sink));
+
+    assertEquals(2, TopicInfoCollector.extractInMemoryProtocols(pipeline).size());
+    assertTrue(TopicInfoCollector.extractKafkaProtocols(pipeline).isEmpty());
+
+    List<PipelineElementMonitoringInfo> infos = new TopicInfoCollector(pipeline,
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.singletonMap("topic", new InMemoryTopicStatistics("topic", 100, 90)))
+            .makeMonitoringInfo();
+
+    PipelineElementMonitoringInfo processorInfo = infos.get(0);
+    assertTrue(processorInfo.isProducedMessageInfoExists());
+    assertEquals(100, processorInfo.getProducedMessagesInfo().getTotalProducedMessages());
+
+    ConsumedMessagesInfo sinkInfo = infos.get(1).getConsumedMessagesInfos().get(0);
+    assertEquals("topic", sinkInfo.getTopicName());
+    assertEquals(100, sinkInfo.getTotalMessagesSincePipelineStart());
+    assertEquals(90, sinkInfo.getConsumedMessagesSincePipelineStart());
+    assertEquals(10, sinkInfo.getLag());
+  }
+
+  @Test
+  public void testKafkaOffsetsAreRelativeToPipelineStart() {
+    KafkaTransportProtocol input = new KafkaTransportProtocol("kafka", 9092, "input");
+    KafkaTransportProtocol output = new KafkaTransportProtocol("kafka", 9092, "output");
+    KafkaTransportProtocol sinkInput = new KafkaTransportProtocol("kafka", 9092, "output");
+    input.setGroupId("processor-group");
+    sinkInput.setGroupId("sink-group");
+
+    SpDataStream stream = makeStream(new KafkaTransportProtocol("kafka", 9092, "input"));
+    stream.setElementId("stream");
+
+    DataProcessorInvocation processor = new DataProcessorInvocation();
+    processor.setElementId("processor");
+    processor.setInputStreams(Collections.singletonList(makeStream(input)));
+    processor.setOutputStream(makeStream(output));
+
+    DataSinkInvocation sink = new DataSinkInvocation();
+    sink.setElementId("sink");
+    sink.setInputStreams(Collections.singletonList(makeStream(sinkInput)));
+
+    Pipeline pipeline = new Pipeline();
+    pipeline.setStreams(Collections.singletonList(stream));
+    pipeline.setSepas(Collections.singletonList(processor));
+    pipeline.setActions(Collections.singletonList(sink));
+
+    assertEquals(new HashSet<>(Arrays.asList("processor-group", "sink-group")),
+            TopicInfoCollector.extractConsumerGroups(pipeline));
+    assertEquals(4, TopicInfoCollector.extractKafkaProtocols(pipeline).size());
+
+    Map<String, Long> latestOffsets = new HashMap<>();
+    latestOffsets.put("input", 150L);
+    latestOffsets.put("output", 40L);
+    Map<String, Long> offsetsAtStart = new HashMap<>();
+    offsetsAtStart.put("input", 100L);
+    offsetsAtStart.put("output", 10L);
+    Map<String, Long> groupOffsets = new HashMap<>();
+    groupOffsets.put("processor-group", 120L);
+    groupOffsets.put("sink-group", 40L);
+
+    List<PipelineElementMonitoringInfo> infos = new TopicInfoCollector(pipeline, latestOffsets,
+            offsetsAtStart, groupOffsets, Collections.emptyMap()).makeMonitoringInfo();
+
+    assertEquals(50, infos.get(0).getProducedMessagesInfo().getTotalProducedMessagesSincePipelineStart());
+
+    ConsumedMessagesInfo processorInput = infos.get(1).getConsumedMessagesInfos().get(0);
+    assertEquals(50, processorInput.getTotalMessagesSincePipelineStart());
+    assertEquals(20, processorInput.getConsumedMessagesSincePipelineStart());
+    assertEquals(30, processorInput.getLag());
+    assertEquals(30, infos.get(1).getProducedMessagesInfo().getTotalProducedMessagesSincePipelineStart());
+
+    assertEquals(0, infos.get(2).getConsumedMessagesInfos().get(0).getLag());
+  }
+
+  @Test
+  public void testOtherProtocolsAreSkipped() {
+    DataSinkInvocation sink = new DataSinkInvocation();
+    sink.setElementId("sink");
+    sink.setInputStreams(Collections.singletonList(makeStream(new JmsTransportProtocol("jms", 61616, "topic"))));
+
+    Pipeline pipeline = new Pipeline();
+    pipeline.setStreams(Collections.emptyList());
+    pipeline.setSepas(Collections.emptyList());
+    pipeline.setActions(Collections.singletonList(sink));
+
+    assertTrue(TopicInfoCollector.extractConsumerGroups(pipeline).isEmpty());
+
+    List<PipelineElementMonitoringInfo> infos = new TopicInfoCollector(pipeline, Collections.emptyMap(),
+            Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap()).makeMonitoringInfo();
+
+    assertTrue(infos.get(0).getConsumedMessagesInfos().isEmpty());
+  }
+
+  private SpDataStream makeStream(TransportProtocol protocol) {
+    SpDataStream stream = new SpDataStream();
+    EventGrounding grounding = new EventGrounding();
+    grounding.setTransportProtocol(protocol);
+    stream.setEventGrounding(grounding);
+    return stream;
+  }
+}
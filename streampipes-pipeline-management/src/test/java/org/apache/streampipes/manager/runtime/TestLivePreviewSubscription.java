@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.runtime;
+
+import org.apache.streampipes.dataformat.json.JsonDataFormatDefinition;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestLivePreviewSubscription {
+
+  @Test
+  public void testLatestEventsAreReturnedNewestFirst() {
+    LivePreviewSubscription subscription = makeSubscription(3);
+
+    for (int i = 0; i < 5; i++) {
+      subscription.onEvent(makeEvent(i));
+    }
+
+    assertEquals(Arrays.asList("{\"value\":4}", "{\"value\":3}", "{\"value\":2}"),
+            subscription.getLatestEvents(10, 0));
+    assertEquals("{\"value\":4}", subscription.getLatestEvent(0));
+  }
+
+  @Test
+  public void testNoEventWithinTheWaitingTime() {
+    assertNull(makeSubscription(3).getLatestEvent(10));
+  }
+
+  @Test
+  public void testWaitingRequestIsReleasedByTheFirstEvent() throws Exception {
+    LivePreviewSubscription subscription = makeSubscription(3);
+
+    CompletableFuture<String> latest = CompletableFuture.supplyAsync(() -> subscription.getLatestEvent(10000));
+    Thread.sleep(50);
+    subscription.onEvent(makeEvent(1));
+
+    assertEquals("{\"value\":1}", latest.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testOnlyTheFirstRequestWaits() {
+    LivePreviewSubscription subscription = makeSubscription(3);
+    assertNull(subscription.getLatestEvent(10));
+
+    long start = System.currentTimeMillis();
+    assertNull(subscription.getLatestEvent(10000));
+    assertTrue(System.currentTimeMillis() - start < 5000);
+
+    subscription.onEvent(makeEvent(1));
+    assertEquals("{\"value\":1}", subscription.getLatestEvent(10000));
+  }
+
+  @Test
+  public void testFailedConsumerIsReported() {
+    LivePreviewSubscription subscription = makeSubscription(3);
+    assertFalse(subscription.hasFailed());
+
+    AtomicBoolean connected = new AtomicBoolean(true);
+    subscription.setConnectionCheck(connected::get);
+    assertFalse(subscription.hasFailed());
+
+    connected.set(false);
+    assertTrue(subscription.hasFailed());
+  }
+
+  @Test
+  public void testReadsKeepTheSubscriptionAlive() throws Exception {
+    LivePreviewSubscription subscription = makeSubscription(3);
+    AtomicBoolean disconnected = new AtomicBoolean();
+    subscription.onDisconnect(() -> disconnected.set(true));
+
+    Thread.sleep(5);
+    long beforeRead = System.currentTimeMillis();
+    assertTrue(subscription.isIdleSince(beforeRead));
+
+    subscription.getLatestEvents(1, 0);
+    assertFalse(subscription.isIdleSince(beforeRead));
+
+    subscription.disconnect();
+    assertTrue(disconnected.get());
+  }
+
+  private LivePreviewSubscription makeSubscription(int capacity) {
+    return new LivePreviewSubscription(new SpDataFormatConverter(new JsonDataFormatDefinition()), capacity);
+  }
+
+  private byte[] makeEvent(int value) {
+    return ("{\"value\":" + value + "}").getBytes(StandardCharsets.UTF_8);
+  }
+}
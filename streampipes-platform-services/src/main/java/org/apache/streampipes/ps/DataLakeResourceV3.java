@@ -19,11 +19,15 @@
 package org.apache.streampipes.ps;
 
 import org.apache.streampipes.dataexplorer.DataLakeManagementV3;
+import org.apache.streampipes.dataexplorer.autoagg.AbstractAutoAggregationQuery;
+import org.apache.streampipes.dataexplorer.executor.QueryMetrics;
+import org.apache.streampipes.dataexplorer.query.GetTopGroupsQuery;
 import org.apache.streampipes.dataexplorer.utils.DataExplorerUtils;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
 import org.apache.streampipes.model.datalake.DataResult;
 import org.apache.streampipes.model.datalake.GroupedDataResult;
 import org.apache.streampipes.model.datalake.PageResult;
+import org.apache.streampipes.model.message.ErrorMessage;
 import org.apache.streampipes.model.message.Notification;
 import org.apache.streampipes.rest.impl.AbstractRestResource;
 import org.apache.streampipes.rest.shared.annotation.GsonWithIds;
@@ -33,9 +37,11 @@ import javax.ws.rs.*;
 import javax.ws.rs.core.*;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @Path("/v3/users/{username}/datalake")
 public class DataLakeResourceV3 extends AbstractRestResource {
+
   private DataLakeManagementV3 dataLakeManagement;
 
   public DataLakeResourceV3() {
@@ -80,6 +86,15 @@ public class DataLakeResourceV3 extends AbstractRestResource {
     return ok(result);
   }
 
+  @GET
+  @JacksonSerialized
+  @Produces(MediaType.APPLICATION_JSON)
+  @Path("/metrics")
+  public Response getQueryMetrics() {
+    Map<String, QueryMetrics> result = dataLakeManagement.getQueryMetrics();
+    return ok(result);
+  }
+
   @Deprecated
   @GET
   @Produces(MediaType.APPLICATION_OCTET_STREAM)
@@ -93,6 +108,28 @@ public class DataLakeResourceV3 extends AbstractRestResource {
             .build();
   }
 
+  @GET
+  @JacksonSerialized
+  @Produces(MediaType.APPLICATION_JSON)
+  @Path("/data/{index}/rollups")
+  public Response isRollupEnabled(@PathParam("index") String index) {
+    return ok(dataLakeManagement.isRollupEnabled(index));
+  }
+
+  @POST
+  @Path("/data/{index}/rollups")
+  public Response enableRollups(@PathParam("index") String index) {
+    dataLakeManagement.enableRollups(index);
+    return Response.accepted().build();
+  }
+
+  @DELETE
+  @Path("/data/{index}/rollups")
+  public Response removeRollups(@PathParam("index") String index) {
+    dataLakeManagement.removeRollups(index);
+    return Response.ok().build();
+  }
+
   @GET
   @Produces(MediaType.APPLICATION_OCTET_STREAM)
   @Path("/data/{index}/download")
@@ -169,6 +206,11 @@ public class DataLakeResourceV3 extends AbstractRestResource {
 
     String aggregationUnit = info.getQueryParameters().getFirst("aggregationUnit");
     String aggregationValue = info.getQueryParameters().getFirst("aggregationValue");
+    String topK = info.getQueryParameters().getFirst("topK");
+
+    if (topK != null) {
+      return getTopGroups(info, index, startdate, enddate, groupingTag, aggregationUnit, aggregationValue, topK);
+    }
 
     GroupedDataResult result;
     try {
@@ -184,6 +226,45 @@ public class DataLakeResourceV3 extends AbstractRestResource {
     }
   }
 
+  private Response getTopGroups(UriInfo info, String index, long startdate, long enddate, String groupingTag,
+                                String aggregationUnit, String aggregationValue, String topK) {
+    String rankBy = info.getQueryParameters().getFirst("rankBy");
+    String rankField = info.getQueryParameters().getFirst("rankField");
+
+    // the response is streamed, so that invalid parameters must be rejected before it is started
+    Integer limit = parsePositiveInt(topK);
+    if (limit == null) {
+      return invalidParameter("topK must be a positive number");
+    }
+    if (rankBy != null && !GetTopGroupsQuery.isSupportedRankingFunction(rankBy)) {
+      return invalidParameter("Unsupported ranking function: " + rankBy);
+    }
+    Integer value = aggregationValue != null ? parsePositiveInt(aggregationValue) :
+            (int) Math.max(1, (enddate - startdate) / AbstractAutoAggregationQuery.NUM_OF_AUTO_AGGREGATION_VALUES);
+    if (value == null) {
+      return invalidParameter("aggregationValue must be a positive number");
+    }
+    String unit = aggregationUnit != null ? aggregationUnit : "ms";
+
+    StreamingOutput streamingOutput = output -> dataLakeManagement.getTopGroups(index, startdate, enddate, unit,
+            value, groupingTag, limit, rankBy != null ? rankBy : "count", rankField, output);
+    return Response.ok(streamingOutput, MediaType.APPLICATION_JSON).build();
+  }
+
+  private Integer parsePositiveInt(String value) {
+    try {
+      int parsed = Integer.parseInt(value);
+      return parsed > 0 ? parsed : null;
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private Response invalidParameter(String message) {
+    return statusMessage(new ErrorMessage(new Notification(message, "")),
+            Response.status(Response.Status.BAD_REQUEST));
+  }
+
   @DELETE
   @Produces(MediaType.APPLICATION_JSON)
   @Path("/data/delete/all")
@@ -93,7 +93,7 @@ public class Deployment extends AbstractRestResource {
         DataSourceDescription sep = new DataSourceDescription(GsonSerializer.getGsonWithIds().fromJson(model, DataSourceDescription.class));
         try {
             Message message =
-                    Operations.verifyAndAddElement(JsonLdUtils.asString(new JsonLdTransformer().toJsonLd(sep)), username, true, true);
+                    Operations.verifyAndAddElement(JsonLdUtils.asString(new JsonLdTransformer().toJsonLd(sep)), username, true);
             return ok(message);
         } catch (RDFHandlerException | IllegalAccessException
                 | IllegalArgumentException | InvocationTargetException
@@ -56,7 +56,7 @@ public class OntologyPipelineElement extends AbstractRestResource {
   @Produces(MediaType.APPLICATION_JSON)
   public Response getSourceDetails(@PathParam("sourceId") String sepaId, @QueryParam("keepIds") boolean keepIds) {
 
-    SpDataStream sepaDescription = new SpDataStream(StorageManager.INSTANCE.getPipelineElementStorage().getDataStreamById(sepaId));
+    SpDataStream sepaDescription = new SpDataStream(StorageManager.INSTANCE.getPipelineElementStorage().getReadOnlyDataStreamById(sepaId));
     return ok(sepaDescription);
   }
 
@@ -99,7 +99,7 @@ public class OntologyPipelineElement extends AbstractRestResource {
   @Produces(MediaType.APPLICATION_JSON)
   public Response getSepa(@PathParam("sepaId") String sepaId, @QueryParam("keepIds") boolean keepIds) {
 
-    DataProcessorDescription dataProcessorDescription = new DataProcessorDescription(StorageManager.INSTANCE.getPipelineElementStorage().getDataProcessorById(sepaId));
+    DataProcessorDescription dataProcessorDescription = new DataProcessorDescription(StorageManager.INSTANCE.getPipelineElementStorage().getReadOnlyDataProcessorById(sepaId));
     return ok(dataProcessorDescription);
   }
 
@@ -107,7 +107,7 @@ public class OntologyPipelineElement extends AbstractRestResource {
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   public Response getAction(@PathParam("actionId") String actionId, @QueryParam("keepIds") boolean keepIds) {
-    DataSinkDescription dataSinkDescription = new DataSinkDescription(StorageManager.INSTANCE.getPipelineElementStorage().getDataSinkById(actionId));
+    DataSinkDescription dataSinkDescription = new DataSinkDescription(StorageManager.INSTANCE.getPipelineElementStorage().getReadOnlyDataSinkById(actionId));
     return ok(dataSinkDescription);
   }
 
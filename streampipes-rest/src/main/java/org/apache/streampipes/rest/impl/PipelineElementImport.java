@@ -25,11 +25,13 @@ import org.apache.streampipes.manager.assets.AssetManager;
 import org.apache.streampipes.manager.endpoint.EndpointItemParser;
 import org.apache.streampipes.manager.operations.Operations;
 import org.apache.streampipes.manager.storage.UserService;
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.graph.DataProcessorDescription;
+import org.apache.streampipes.model.graph.DataSinkDescription;
 import org.apache.streampipes.model.message.Message;
 import org.apache.streampipes.model.message.Notification;
 import org.apache.streampipes.model.message.NotificationType;
 import org.apache.streampipes.model.message.Notifications;
-import org.apache.streampipes.storage.api.IPipelineElementDescriptionStorage;
 import org.apache.streampipes.storage.api.IPipelineElementDescriptionStorageCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -82,7 +84,7 @@ public class PipelineElementImport extends AbstractRestResource {
   }
 
   private Message verifyAndAddElement(String uri, String username, boolean publicElement) {
-    return new EndpointItemParser().parseAndAddEndpointItem(uri, username, publicElement, true);
+    return new EndpointItemParser().parseAndAddEndpointItem(uri, username, publicElement);
   }
 
   @PUT
@@ -112,20 +114,20 @@ public class PipelineElementImport extends AbstractRestResource {
     String appId;
     try {
       if (requestor.existsDataProcessor(elementId)) {
-        appId = requestor.getDataProcessorById(elementId).getAppId();
-        requestor.deleteDataProcessor(requestor.getDataProcessorById(elementId));
+        DataProcessorDescription element = requestor.getReadOnlyDataProcessorById(elementId);
+        appId = element.getAppId();
+        requestor.deleteDataProcessor(element);
         userService.deleteOwnSepa(username, elementId);
-        requestor.refreshDataProcessorCache();
       } else if (requestor.existsDataStream(elementId)) {
-        appId = requestor.getDataStreamById(elementId).getAppId();
-        requestor.deleteDataStream(requestor.getDataStreamById(elementId));
+        SpDataStream element = requestor.getReadOnlyDataStreamById(elementId);
+        appId = element.getAppId();
+        requestor.deleteDataStream(element);
         userService.deleteOwnSource(username, elementId);
-        requestor.refreshDataSourceCache();
       } else if (requestor.existsDataSink(elementId)) {
-        appId = requestor.getDataSinkById(elementId).getAppId();
-        requestor.deleteDataSink(requestor.getDataSinkById(elementId));
+        DataSinkDescription element = requestor.getReadOnlyDataSinkById(elementId);
+        appId = element.getAppId();
+        requestor.deleteDataSink(element);
         userService.deleteOwnAction(username, elementId);
-        requestor.refreshDataSinkCache();
       } else {
         return constructErrorMessage(new Notification(NotificationType.STORAGE_ERROR.title(),
                 NotificationType.STORAGE_ERROR.description()));
@@ -142,14 +144,14 @@ public class PipelineElementImport extends AbstractRestResource {
   @GET
   @Produces(MediaType.TEXT_PLAIN)
   public Response getActionAsJsonLd(@PathParam("id") String elementId) {
-    IPipelineElementDescriptionStorage requestor = getPipelineElementRdfStorage();
+    IPipelineElementDescriptionStorageCache requestor = getPipelineElementRdfStorage();
     elementId = decode(elementId);
-    if (requestor.getDataProcessorById(elementId) != null) {
-      return ok(toJsonLd(requestor.getDataProcessorById(elementId)));
-    } else if (requestor.getDataStreamById(elementId) != null) {
-      return ok(toJsonLd(requestor.getDataStreamById(elementId)));
-    } else if (requestor.getDataSinkById(elementId) != null) {
-      return ok(toJsonLd(requestor.getDataSinkById(elementId)));
+    if (requestor.existsDataProcessor(elementId)) {
+      return ok(toJsonLd(requestor.getReadOnlyDataProcessorById(elementId)));
+    } else if (requestor.existsDataStream(elementId)) {
+      return ok(toJsonLd(requestor.getReadOnlyDataStreamById(elementId)));
+    } else if (requestor.existsDataSink(elementId)) {
+      return ok(toJsonLd(requestor.getReadOnlyDataSinkById(elementId)));
     } else {
       return ok(Notifications.create(NotificationType.UNKNOWN_ERROR));
     }
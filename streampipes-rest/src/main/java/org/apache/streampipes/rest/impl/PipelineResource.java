@@ -29,6 +29,7 @@ import org.apache.streampipes.commons.exceptions.*;
 import org.apache.streampipes.manager.execution.status.PipelineStatusManager;
 import org.apache.streampipes.manager.operations.Operations;
 import org.apache.streampipes.model.SpDataSet;
+import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.client.exception.InvalidConnectionException;
 import org.apache.streampipes.model.message.Notification;
 import org.apache.streampipes.model.message.NotificationType;
@@ -44,8 +45,12 @@ import org.slf4j.LoggerFactory;
 import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Path("/v2/users/{username}/pipelines")
 public class PipelineResource extends AbstractAuthGuardedRestResource {
@@ -116,7 +121,11 @@ public class PipelineResource extends AbstractAuthGuardedRestResource {
   @Operation(summary = "Delete a pipeline with a given id",
           tags = {"Pipeline"})
   public Response removeOwn(@PathParam("username") String username, @PathParam("pipelineId") String elementUri) {
+    Pipeline pipeline = getPipelineStorage().getPipeline(elementUri);
     getPipelineStorage().deletePipeline(elementUri);
+    if (pipeline != null && !pipeline.isRunning()) {
+      Operations.discardPipelineElementState(getPipelineElements(pipeline));
+    }
     return statusMessage(Notifications.success("Pipeline deleted"));
   }
 
@@ -257,6 +266,7 @@ public class PipelineResource extends AbstractAuthGuardedRestResource {
                                     @PathParam("pipelineId") String pipelineId,
                                     Pipeline pipeline) {
     Pipeline storedPipeline = getPipelineStorage().getPipeline(pipelineId);
+    List<InvocableStreamPipesEntity> previousElements = getPipelineElements(storedPipeline);
     if (!storedPipeline.isRunning()) {
       storedPipeline.setActions(pipeline.getActions());
       storedPipeline.setSepas(pipeline.getSepas());
@@ -266,8 +276,25 @@ public class PipelineResource extends AbstractAuthGuardedRestResource {
     storedPipeline.setPipelineCategories(pipeline.getPipelineCategories());
     storedPipeline.setPipelineNotifications(pipeline.getPipelineNotifications());
     Operations.updatePipeline(storedPipeline);
+    if (!storedPipeline.isRunning()) {
+      // updated pipelines get new element instances, the state of replaced ones is not restored
+      Set<String> currentElements = getPipelineElements(storedPipeline)
+              .stream()
+              .map(InvocableStreamPipesEntity::getUri)
+              .collect(Collectors.toSet());
+      Operations.discardPipelineElementState(previousElements
+              .stream()
+              .filter(g -> !currentElements.contains(g.getUri()))
+              .collect(Collectors.toList()));
+    }
     SuccessMessage message = Notifications.success("Pipeline modified");
     message.addNotification(new Notification("id", pipelineId));
     return ok(message);
   }
+
+  private List<InvocableStreamPipesEntity> getPipelineElements(Pipeline pipeline) {
+    List<InvocableStreamPipesEntity> elements = new ArrayList<>(pipeline.getSepas());
+    elements.addAll(pipeline.getActions());
+    return elements;
+  }
 }
@@ -27,7 +27,7 @@ import org.apache.streampipes.rest.api.IPipelineElement;
 import org.apache.streampipes.rest.shared.annotation.GsonWithIds;
 import org.apache.streampipes.rest.shared.annotation.JacksonSerialized;
 import org.apache.streampipes.rest.shared.util.SpMediaType;
-import org.apache.streampipes.storage.api.IPipelineElementDescriptionStorage;
+import org.apache.streampipes.storage.api.IPipelineElementDescriptionStorageCache;
 import org.apache.streampipes.storage.rdf4j.filter.Filter;
 
 import javax.ws.rs.*;
@@ -105,9 +105,9 @@ public class SemanticEventConsumer extends AbstractRestResource implements IPipe
   @GsonWithIds
   @Override
   public Response removeOwn(@PathParam("username") String username, @PathParam("elementUri") String elementUri) {
-    IPipelineElementDescriptionStorage requestor = getPipelineElementRdfStorage();
+    IPipelineElementDescriptionStorageCache requestor = getPipelineElementRdfStorage();
     getUserService().deleteOwnAction(username, elementUri);
-    requestor.deleteDataSink(requestor.getDataSinkById(elementUri));
+    requestor.deleteDataSink(requestor.getReadOnlyDataSinkById(elementUri));
     return constructSuccessMessage(NotificationType.STORAGE_SUCCESS.uiNotification());
   }
 
@@ -116,7 +116,7 @@ public class SemanticEventConsumer extends AbstractRestResource implements IPipe
   @Produces(MediaType.TEXT_PLAIN)
   @Override
   public String getAsJsonLd(@PathParam("elementUri") String elementUri) {
-    return toJsonLd(getPipelineElementRdfStorage().getDataSinkById(elementUri));
+    return toJsonLd(getPipelineElementRdfStorage().getReadOnlyDataSinkById(elementUri));
   }
 
   @Path("/{elementUri}")
@@ -125,6 +125,6 @@ public class SemanticEventConsumer extends AbstractRestResource implements IPipe
   @GsonWithIds
   @Override
   public Response getElement(@PathParam("username") String username, @PathParam("elementUri") String elementUri) {
-    return ok(new DataSinkInvocation(new DataSinkInvocation(getPipelineElementRdfStorage().getDataSinkById(elementUri))));
+    return ok(new DataSinkInvocation(new DataSinkInvocation(getPipelineElementRdfStorage().getReadOnlyDataSinkById(elementUri))));
   }
 }
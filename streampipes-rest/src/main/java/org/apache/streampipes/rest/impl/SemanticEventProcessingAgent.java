@@ -109,7 +109,7 @@ public class SemanticEventProcessingAgent extends AbstractRestResource implement
 	@Override
 	public Response removeOwn(@PathParam("username") String username, @PathParam("elementUri") String elementUri) {
 		getUserService().deleteOwnSepa(username, elementUri);
-		getPipelineElementRdfStorage().deleteDataProcessor(getPipelineElementRdfStorage().getDataProcessorById(elementUri));
+		getPipelineElementRdfStorage().deleteDataProcessor(getPipelineElementRdfStorage().getReadOnlyDataProcessorById(elementUri));
 		return constructSuccessMessage(NotificationType.STORAGE_SUCCESS.uiNotification());
 	}
 
@@ -118,7 +118,7 @@ public class SemanticEventProcessingAgent extends AbstractRestResource implement
 	@Produces(MediaType.TEXT_PLAIN)
 	@Override
 	public String getAsJsonLd(@PathParam("elementUri") String elementUri) {
-		return toJsonLd(getPipelineElementRdfStorage().getDataProcessorById(elementUri));
+		return toJsonLd(getPipelineElementRdfStorage().getReadOnlyDataProcessorById(elementUri));
 	}
 
 	@Path("/{elementUri}")
@@ -128,7 +128,7 @@ public class SemanticEventProcessingAgent extends AbstractRestResource implement
 	@Override
 	public Response getElement(@PathParam("username") String username, @PathParam("elementUri") String elementUri) {
 		// TODO Access rights
-		return ok(new DataProcessorInvocation(new DataProcessorInvocation(getPipelineElementRdfStorage().getDataProcessorById(elementUri))));
+		return ok(new DataProcessorInvocation(new DataProcessorInvocation(getPipelineElementRdfStorage().getReadOnlyDataProcessorById(elementUri))));
 	}
 
 }
@@ -106,7 +106,7 @@ public class SemanticEventProducer extends AbstractRestResource implements IPipe
 	@Override
 	public Response removeOwn(@PathParam("username") String username, @PathParam("elementUri") String elementUri) {
 		getUserService().deleteOwnSource(username, elementUri);
-		getPipelineElementRdfStorage().deleteDataStream(getPipelineElementRdfStorage().getDataStreamById(elementUri));
+		getPipelineElementRdfStorage().deleteDataStream(getPipelineElementRdfStorage().getReadOnlyDataStreamById(elementUri));
 		return constructSuccessMessage(NotificationType.STORAGE_SUCCESS.uiNotification());
 	}
 
@@ -115,7 +115,7 @@ public class SemanticEventProducer extends AbstractRestResource implements IPipe
 	@Produces(MediaType.TEXT_PLAIN)
 	@Override
 	public String getAsJsonLd(@PathParam("elementUri") String elementUri) {
-		return toJsonLd(getPipelineElementRdfStorage().getDataSinkById(elementUri));
+		return toJsonLd(getPipelineElementRdfStorage().getReadOnlyDataSinkById(elementUri));
 	}
 
 	
@@ -126,7 +126,7 @@ public class SemanticEventProducer extends AbstractRestResource implements IPipe
 	@Override
 	public Response getElement(@PathParam("username") String username, @PathParam("elementUri") String elementUri) {
 		// TODO Access rights
-		return ok(new Cloner().mapSequence(getPipelineElementRdfStorage().getDataStreamById(elementUri)));
+		return ok(new Cloner().mapSequence(getPipelineElementRdfStorage().getReadOnlyDataStreamById(elementUri)));
 	}
 
 }
@@ -55,7 +55,7 @@ public class PipelineElementImportNoUser extends AbstractRestResource {
   private Message verifyAndAddElement(String uri,
                                       String username,
                                       boolean publicElement) {
-    return new EndpointItemParser().parseAndAddEndpointItem(uri, username, publicElement, true);
+    return new EndpointItemParser().parseAndAddEndpointItem(uri, username, publicElement);
   }
 
   @Path("/delete")
@@ -69,10 +69,9 @@ public class PipelineElementImportNoUser extends AbstractRestResource {
 
     logger.info("User " + username + " deletes element with URI: " + uri + " from triplestore");
 
-    if (requestor.getDataStreamById(uri) != null) {
+    if (requestor.existsDataStream(uri)) {
       requestor.deleteDataStream(requestor.getDataStreamById(uri));
       userService.deleteOwnSource(username, uri);
-      requestor.refreshDataSourceCache();
     } else {
       return constructErrorMessage(new Notification(NotificationType.STORAGE_ERROR.title(), NotificationType.STORAGE_ERROR.description()));
     }
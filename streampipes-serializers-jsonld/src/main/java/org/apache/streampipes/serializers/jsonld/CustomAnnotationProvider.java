@@ -123,6 +123,7 @@ public class CustomAnnotationProvider implements EmpireAnnotationProvider {
             MappingProperty.class,
             DataSinkInvocation.class,
             TransportFormat.class,
+            InMemoryTransportProtocol.class,
             JmsTransportProtocol.class,
             KafkaTransportProtocol.class,
             MqttTransportProtocol.class,
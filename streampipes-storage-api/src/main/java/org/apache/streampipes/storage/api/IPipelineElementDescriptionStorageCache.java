@@ -17,8 +17,23 @@
  */
 package org.apache.streampipes.storage.api;
 
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.graph.DataProcessorDescription;
+import org.apache.streampipes.model.graph.DataSinkDescription;
+
+/**
+ * Cache of the pipeline element descriptions. The getters by id return a copy which callers may
+ * modify, the read-only getters and the element lists return the cached descriptions, which must
+ * not be modified.
+ */
 public interface IPipelineElementDescriptionStorageCache extends IPipelineElementDescriptionStorage {
 
+  SpDataStream getReadOnlyDataStreamById(String elementId);
+
+  DataProcessorDescription getReadOnlyDataProcessorById(String elementId);
+
+  DataSinkDescription getReadOnlyDataSinkById(String elementId);
+
   void refreshDataProcessorCache();
 
   void refreshDataSinkCache();
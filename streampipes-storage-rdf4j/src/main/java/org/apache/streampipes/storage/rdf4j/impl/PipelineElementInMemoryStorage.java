@@ -23,29 +23,43 @@ import org.apache.streampipes.model.base.ConsumableStreamPipesEntity;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.base.NamedStreamPipesEntity;
 import org.apache.streampipes.model.graph.DataProcessorDescription;
+import org.apache.streampipes.model.graph.DataProcessorInvocation;
 import org.apache.streampipes.model.graph.DataSinkDescription;
+import org.apache.streampipes.model.graph.DataSinkInvocation;
 import org.apache.streampipes.model.schema.EventProperty;
 import org.apache.streampipes.model.staticproperty.StaticProperty;
 import org.apache.streampipes.model.util.Cloner;
 import org.apache.streampipes.storage.api.IPipelineElementDescriptionStorage;
 import org.apache.streampipes.storage.api.IPipelineElementDescriptionStorageCache;
+import org.apache.streampipes.storage.rdf4j.util.Transformer;
+import org.eclipse.rdf4j.repository.RepositoryException;
+import org.eclipse.rdf4j.rio.RDFParseException;
+import org.eclipse.rdf4j.rio.UnsupportedRDFormatException;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Copy-on-write cache of the pipeline element descriptions. Readers work lock-free on immutable
+ * snapshots, writers replace the snapshot of the affected element type after updating the triple
+ * store. Getters by id return clones, as their results are usually modified by the caller, while
+ * the shared getters and the element lists expose the cached instances.
+ */
 public class PipelineElementInMemoryStorage implements IPipelineElementDescriptionStorageCache {
 
-  private Map<String, DataSinkDescription> inMemoryDataSinkStorage;
-  private Map<String, DataProcessorDescription> inMemoryDataProcessorStorage;
-  private Map<String, SpDataStream> inMemoryDataStreamStorage;
+  private volatile Snapshot<DataSinkDescription> inMemoryDataSinkStorage;
+  private volatile Snapshot<DataProcessorDescription> inMemoryDataProcessorStorage;
+  private volatile Snapshot<SpDataStream> inMemoryDataStreamStorage;
   private IPipelineElementDescriptionStorage sesameStorage;
 
 
   public PipelineElementInMemoryStorage(IPipelineElementDescriptionStorage sesameStorage) {
-    this.inMemoryDataSinkStorage = new HashMap<>();
-    this.inMemoryDataProcessorStorage = new HashMap<>();
-    this.inMemoryDataStreamStorage = new HashMap<>();
+    this.inMemoryDataSinkStorage = new Snapshot<>(Collections.emptyList());
+    this.inMemoryDataProcessorStorage = new Snapshot<>(Collections.emptyList());
+    this.inMemoryDataStreamStorage = new Snapshot<>(Collections.emptyList());
     this.sesameStorage = sesameStorage;
     init();
   }
@@ -56,236 +70,319 @@ public class PipelineElementInMemoryStorage implements IPipelineElementDescripti
     initializeDataStreamStorage();
   }
 
-  private void initializeDataSinkStorage() {
-    inMemoryDataSinkStorage.clear();
-    List<DataSinkDescription> secs = sort(sesameStorage
+  private synchronized void initializeDataSinkStorage() {
+    inMemoryDataSinkStorage = new Snapshot<>(sesameStorage
             .getAllDataSinks()
             .stream()
-            .map(DataSinkDescription::new)
+            .map(this::prepareDataSink)
             .collect(Collectors.toList()));
-    secs.forEach(sec -> inMemoryDataSinkStorage.put(sec.getElementId(), sec));
   }
 
-  private void initializeDataProcessorStorage() {
-    inMemoryDataProcessorStorage.clear();
-    List<DataProcessorDescription> sepas = sort(sesameStorage
+  private synchronized void initializeDataProcessorStorage() {
+    inMemoryDataProcessorStorage = new Snapshot<>(sesameStorage
             .getAllDataProcessors()
             .stream()
-            .map(DataProcessorDescription::new)
+            .map(this::prepareDataProcessor)
+            .collect(Collectors.toList()));
+  }
+
+  private synchronized void initializeDataStreamStorage() {
+    inMemoryDataStreamStorage = new Snapshot<>(sesameStorage
+            .getAllDataStreams()
+            .stream()
+            .map(this::prepareDataStream)
             .collect(Collectors.toList()));
-    sepas.forEach(sepa -> inMemoryDataProcessorStorage.put(sepa.getElementId(), sepa));
   }
 
-  private void initializeDataStreamStorage() {
-    inMemoryDataStreamStorage.clear();
-    List<SpDataStream> streams = sesameStorage.getAllDataStreams();
-    streams.forEach(stream ->
-                    stream.getEventSchema()
-                            .getEventProperties()
-                            .sort(Comparator.comparingInt(EventProperty::getIndex)));
-    streams.forEach(stream -> inMemoryDataStreamStorage.put(stream.getElementId(), stream));
+  private DataSinkDescription prepareDataSink(DataSinkDescription sink) {
+    return sort(new DataSinkDescription(sink));
+  }
+
+  private DataProcessorDescription prepareDataProcessor(DataProcessorDescription processor) {
+    return sort(new DataProcessorDescription(processor));
+  }
+
+  private SpDataStream prepareDataStream(SpDataStream stream) {
+    stream.getEventSchema()
+            .getEventProperties()
+            .sort(Comparator.comparingInt(EventProperty::getIndex));
+    return stream;
+  }
+
+  private <T extends ConsumableStreamPipesEntity> T sort(T pe) {
+    pe.getStaticProperties().sort(Comparator.comparingInt(StaticProperty::getIndex));
+    pe.getSpDataStreams().sort(Comparator.comparingInt(SpDataStream::getIndex));
+    return pe;
+  }
+
+  private synchronized void refreshDataSink(String elementId) {
+    DataSinkDescription sink = sesameStorage.getDataSinkById(elementId);
+    inMemoryDataSinkStorage = sink != null ?
+            inMemoryDataSinkStorage.with(prepareDataSink(sink)) :
+            inMemoryDataSinkStorage.without(elementId);
+  }
+
+  private synchronized void refreshDataProcessor(String elementId) {
+    DataProcessorDescription processor = sesameStorage.getDataProcessorById(elementId);
+    inMemoryDataProcessorStorage = processor != null ?
+            inMemoryDataProcessorStorage.with(prepareDataProcessor(processor)) :
+            inMemoryDataProcessorStorage.without(elementId);
+  }
+
+  private synchronized void refreshDataStream(SpDataStream stream, boolean exists) {
+    // streams are taken from the stored description, as looking them up by id would not restore data sets
+    inMemoryDataStreamStorage = exists ?
+            inMemoryDataStreamStorage.with(prepareDataStream(new Cloner().mapSequence(stream))) :
+            inMemoryDataStreamStorage.without(stream.getElementId());
+  }
+
+  private synchronized void removeDataStream(String elementId) {
+    inMemoryDataStreamStorage = inMemoryDataStreamStorage.without(elementId);
+  }
+
+  private synchronized void removeDataProcessor(String elementId) {
+    inMemoryDataProcessorStorage = inMemoryDataProcessorStorage.without(elementId);
   }
 
-  private <T extends ConsumableStreamPipesEntity> List<T> sort(List<T> processingElements) {
-    processingElements.forEach(pe -> {
-      pe.getStaticProperties().sort(Comparator.comparingInt(StaticProperty::getIndex));
-      pe.getSpDataStreams().sort(Comparator.comparingInt(SpDataStream::getIndex));
-    });
-    return processingElements;
+  private synchronized void removeDataSink(String elementId) {
+    inMemoryDataSinkStorage = inMemoryDataSinkStorage.without(elementId);
   }
 
   @Override
   public boolean storeInvocablePipelineElement(InvocableStreamPipesEntity element) {
-    return sesameStorage.storeInvocablePipelineElement(element);
+    boolean success = sesameStorage.storeInvocablePipelineElement(element);
+    if (success && element.getElementId() != null) {
+      // keeps the cache in line with the store if the element replaced a cached description
+      if (element instanceof DataProcessorInvocation) {
+        refreshDataProcessor(element.getElementId());
+      } else if (element instanceof DataSinkInvocation) {
+        refreshDataSink(element.getElementId());
+      }
+    }
+    return success;
   }
 
   @Override
   public boolean storeDataStream(SpDataStream stream) {
-    return sesameStorage.storeDataStream(stream);
+    boolean success = sesameStorage.storeDataStream(stream);
+    if (success) {
+      refreshDataStream(stream, true);
+    }
+    return success;
   }
 
   @Override
   public boolean storeDataStream(String jsonld) {
-    return sesameStorage.storeDataStream(jsonld);
+    try {
+      return storeDataStream(Transformer.fromJsonLd(SpDataStream.class, jsonld));
+    } catch (RDFParseException | IOException | RepositoryException | UnsupportedRDFormatException e) {
+      e.printStackTrace();
+      return false;
+    }
   }
 
   @Override
   public boolean storeDataProcessor(DataProcessorDescription sepa) {
-    return sesameStorage.storeDataProcessor(sepa);
+    boolean success = sesameStorage.storeDataProcessor(sepa);
+    if (success) {
+      refreshDataProcessor(sepa.getElementId());
+    }
+    return success;
   }
 
   @Override
   public boolean storeDataProcessor(String jsonld) {
-    return sesameStorage.storeDataProcessor(jsonld);
+    try {
+      return storeDataProcessor(Transformer.fromJsonLd(DataProcessorDescription.class, jsonld));
+    } catch (RDFParseException | IOException | RepositoryException | UnsupportedRDFormatException e) {
+      e.printStackTrace();
+      return false;
+    }
   }
 
   @Override
   public SpDataStream getDataStreamById(URI rdfId) {
-    return new Cloner().mapSequence(inMemoryDataStreamStorage.get(rdfId.toString()));
+    return getDataStreamById(rdfId.toString());
   }
 
   @Override
   public SpDataStream getDataStreamByAppId(String appId) {
-    return new Cloner().mapSequence(getByAppId(inMemoryDataStreamStorage, appId));
+    return cloneStream(inMemoryDataStreamStorage.getByAppId(appId));
   }
 
   @Override
   public SpDataStream getDataStreamById(String rdfId) {
-    return new Cloner().mapSequence(inMemoryDataStreamStorage.get(rdfId));
+    return cloneStream(inMemoryDataStreamStorage.get(rdfId));
   }
 
   @Override
   public DataProcessorDescription getDataProcessorById(String rdfId) {
-    return new DataProcessorDescription(inMemoryDataProcessorStorage.get(rdfId));
+    return cloneIfPresent(inMemoryDataProcessorStorage.get(rdfId), DataProcessorDescription::new);
   }
 
   @Override
   public DataProcessorDescription getDataProcessorById(URI rdfId) {
-    return new DataProcessorDescription(inMemoryDataProcessorStorage.get(rdfId.toString()));
+    return getDataProcessorById(rdfId.toString());
   }
 
   @Override
   public DataProcessorDescription getDataProcessorByAppId(String appId) {
-    return new DataProcessorDescription(getByAppId(inMemoryDataProcessorStorage, appId));
+    return cloneIfPresent(inMemoryDataProcessorStorage.getByAppId(appId), DataProcessorDescription::new);
   }
 
   @Override
   public DataSinkDescription getDataSinkById(String rdfId) {
-    return new DataSinkDescription(inMemoryDataSinkStorage.get(rdfId));
+    return cloneIfPresent(inMemoryDataSinkStorage.get(rdfId), DataSinkDescription::new);
   }
 
   @Override
   public DataSinkDescription getDataSinkById(URI rdfId) {
-    return new DataSinkDescription(inMemoryDataSinkStorage.get(rdfId.toString()));
+    return getDataSinkById(rdfId.toString());
   }
 
   @Override
   public DataSinkDescription getDataSinkByAppId(String appId) {
-    return new DataSinkDescription(getByAppId(inMemoryDataSinkStorage, appId));
+    return cloneIfPresent(inMemoryDataSinkStorage.getByAppId(appId), DataSinkDescription::new);
   }
 
-  private <T extends NamedStreamPipesEntity> T getByAppId(Map<String, T> inMemoryStorage, String appId) {
-    Optional<T> entity = inMemoryStorage
-            .values()
-            .stream()
-            .filter(d -> d.getAppId() != null)
-            .filter(d -> d.getAppId().equals(appId))
-            .findFirst();
+  @Override
+  public SpDataStream getReadOnlyDataStreamById(String elementId) {
+    return inMemoryDataStreamStorage.get(elementId);
+  }
+
+  @Override
+  public DataProcessorDescription getReadOnlyDataProcessorById(String elementId) {
+    return inMemoryDataProcessorStorage.get(elementId);
+  }
 
-    return entity.orElse(null);
+  @Override
+  public DataSinkDescription getReadOnlyDataSinkById(String elementId) {
+    return inMemoryDataSinkStorage.get(elementId);
+  }
+
+  private SpDataStream cloneStream(SpDataStream stream) {
+    return stream != null ? new Cloner().mapSequence(stream) : null;
+  }
+
+  private <T> T cloneIfPresent(T element, Function<T, T> cloneFunction) {
+    return element != null ? cloneFunction.apply(element) : null;
   }
 
   @Override
   public List<SpDataStream> getAllDataStreams() {
-    return new ArrayList<>(inMemoryDataStreamStorage.values());
+    return inMemoryDataStreamStorage.getAll();
   }
 
   @Override
   public List<DataProcessorDescription> getAllDataProcessors() {
-    return new ArrayList<>(inMemoryDataProcessorStorage.values());
+    return inMemoryDataProcessorStorage.getAll();
   }
 
   @Override
   public boolean deleteDataStream(SpDataStream sep) {
     boolean success = sesameStorage.deleteDataStream(sep);
-    initializeDataStreamStorage();
+    removeDataStream(sep.getElementId());
     return success;
   }
 
   @Override
   public boolean deleteDataStream(String rdfId) {
     boolean success = sesameStorage.deleteDataStream(rdfId);
-    initializeDataStreamStorage();
+    removeDataStream(rdfId);
     return success;
   }
 
   @Override
   public boolean deleteDataSink(String rdfId) {
     boolean success = sesameStorage.deleteDataSink(rdfId);
-    initializeDataSinkStorage();
+    removeDataSink(rdfId);
     return success;
   }
 
   @Override
   public boolean deleteDataProcessor(DataProcessorDescription sepa) {
     boolean success = sesameStorage.deleteDataProcessor(sepa);
-    initializeDataProcessorStorage();
+    removeDataProcessor(sepa.getElementId());
     return success;
   }
 
   @Override
   public boolean deleteDataProcessor(String rdfId) {
     boolean success = sesameStorage.deleteDataProcessor(rdfId);
-    initializeDataProcessorStorage();
+    removeDataProcessor(rdfId);
     return success;
   }
 
   @Override
   public boolean exists(SpDataStream stream) {
-    return inMemoryDataStreamStorage.containsKey(stream.getElementId());
+    return inMemoryDataStreamStorage.contains(stream.getElementId());
   }
 
   @Override
   public boolean exists(DataProcessorDescription sepa) {
-    return inMemoryDataProcessorStorage.containsKey(sepa.getElementId());
+    return inMemoryDataProcessorStorage.contains(sepa.getElementId());
   }
 
   @Override
   public boolean existsDataProcessor(String elementId) {
-    return inMemoryDataProcessorStorage.containsKey(elementId);
+    return inMemoryDataProcessorStorage.contains(elementId);
   }
 
   @Override
   public boolean existsDataStream(String elementId) {
-    return inMemoryDataStreamStorage.containsKey(elementId);
+    return inMemoryDataStreamStorage.contains(elementId);
   }
 
   @Override
   public boolean existsDataSink(String elementId) {
-    return inMemoryDataSinkStorage.containsKey(elementId);
+    return inMemoryDataSinkStorage.contains(elementId);
   }
 
   @Override
   public boolean update(SpDataStream sep) {
     boolean success = sesameStorage.update(sep);
-    initializeDataStreamStorage();
+    refreshDataStream(sep, sesameStorage.existsDataStream(sep.getElementId()));
     return success;
   }
 
   @Override
   public boolean update(DataProcessorDescription sepa) {
     boolean success = sesameStorage.update(sepa);
-    initializeDataProcessorStorage();
+    refreshDataProcessor(sepa.getElementId());
     return success;
   }
 
   @Override
   public boolean exists(DataSinkDescription sec) {
-    return inMemoryDataSinkStorage.containsKey(sec.getElementId());
+    return inMemoryDataSinkStorage.contains(sec.getElementId());
   }
 
   @Override
   public boolean update(DataSinkDescription sec) {
     boolean success = sesameStorage.update(sec);
-    initializeDataSinkStorage();
+    refreshDataSink(sec.getElementId());
     return success;
   }
 
   @Override
   public boolean deleteDataSink(DataSinkDescription sec) {
     boolean success = sesameStorage.deleteDataSink(sec);
-    initializeDataSinkStorage();
+    removeDataSink(sec.getElementId());
     return success;
   }
 
   @Override
   public boolean storeDataSink(DataSinkDescription sec) {
-    return sesameStorage.storeDataSink(sec);
+    boolean success = sesameStorage.storeDataSink(sec);
+    if (success) {
+      refreshDataSink(sec.getElementId());
+    }
+    return success;
   }
 
   @Override
   public List<DataSinkDescription> getAllDataSinks() {
-    return new ArrayList<>(inMemoryDataSinkStorage.values());
+    return inMemoryDataSinkStorage.getAll();
   }
 
   @Override
@@ -312,4 +409,59 @@ public class PipelineElementInMemoryStorage implements IPipelineElementDescripti
   public void refreshDataSourceCache() {
     this.initializeDataStreamStorage();
   }
+
+  /**
+   * Immutable view of all cached elements of one type, indexed by element id and app id.
+   */
+  private static class Snapshot<T extends NamedStreamPipesEntity> {
+
+    private final Map<String, T> elements;
+    private final Map<String, T> elementsByAppId;
+    private final List<T> elementList;
+
+    Snapshot(Collection<T> elements) {
+      Map<String, T> byElementId = new LinkedHashMap<>();
+      Map<String, T> byAppId = new HashMap<>();
+      elements.forEach(element -> byElementId.put(element.getElementId(), element));
+      byElementId.values().forEach(element -> {
+        if (element.getAppId() != null) {
+          byAppId.putIfAbsent(element.getAppId(), element);
+        }
+      });
+      this.elements = Collections.unmodifiableMap(byElementId);
+      this.elementsByAppId = byAppId;
+      this.elementList = Collections.unmodifiableList(new ArrayList<>(byElementId.values()));
+    }
+
+    T get(String elementId) {
+      return elements.get(elementId);
+    }
+
+    T getByAppId(String appId) {
+      return elementsByAppId.get(appId);
+    }
+
+    boolean contains(String elementId) {
+      return elements.containsKey(elementId);
+    }
+
+    List<T> getAll() {
+      return elementList;
+    }
+
+    Snapshot<T> with(T element) {
+      Map<String, T> updated = new LinkedHashMap<>(elements);
+      updated.put(element.getElementId(), element);
+      return new Snapshot<>(updated.values());
+    }
+
+    Snapshot<T> without(String elementId) {
+      if (!elements.containsKey(elementId)) {
+        return this;
+      }
+      Map<String, T> updated = new LinkedHashMap<>(elements);
+      updated.remove(elementId);
+      return new Snapshot<>(updated.values());
+    }
+  }
 }
@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.storage.rdf4j.impl;
+
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.model.graph.DataProcessorDescription;
+import org.apache.streampipes.model.graph.DataSinkDescription;
+import org.apache.streampipes.model.staticproperty.StaticProperty;
+import org.apache.streampipes.storage.api.IPipelineElementDescriptionStorage;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestPipelineElementInMemoryStorage {
+
+  @Test
+  public void testStoredElementIsCachedWithoutRebuild() {
+    FakeDescriptionStorage storage = new FakeDescriptionStorage();
+    storage.processors.put("p1", makeProcessor("p1", "app1", "first"));
+    PipelineElementInMemoryStorage cache = new PipelineElementInMemoryStorage(storage);
+
+    cache.storeDataProcessor(makeProcessor("p2", "app2", "second"));
+
+    assertEquals(1, storage.processorListings);
+    assertEquals(2, cache.getAllDataProcessors().size());
+    assertEquals("second", cache.getDataProcessorByAppId("app2").getName());
+    assertTrue(cache.existsDataProcessor("p2"));
+  }
+
+  @Test
+  public void testUpdateReplacesOnlyTheAffectedElement() {
+    FakeDescriptionStorage storage = new FakeDescriptionStorage();
+    storage.processors.put("p1", makeProcessor("p1", "app1", "first"));
+    storage.processors.put("p2", makeProcessor("p2", "app2", "second"));
+    PipelineElementInMemoryStorage cache = new PipelineElementInMemoryStorage(storage);
+    DataProcessorDescription unchanged = cache.getReadOnlyDataProcessorById("p2");
+
+    cache.update(makeProcessor("p1", "app1", "updated"));
+
+    assertEquals("updated", cache.getDataProcessorById("p1").getName());
+    assertSame(unchanged, cache.getReadOnlyDataProcessorById("p2"));
+    assertEquals(1, storage.processorListings);
+  }
+
+  @Test
+  public void testDeletedElementIsRemoved() {
+    FakeDescriptionStorage storage = new FakeDescriptionStorage();
+    storage.sinks.put("s1", makeSink("s1", "app1"));
+    PipelineElementInMemoryStorage cache = new PipelineElementInMemoryStorage(storage);
+
+    cache.deleteDataSink("s1");
+
+    assertFalse(cache.existsDataSink("s1"));
+    assertNull(cache.getDataSinkById("s1"));
+    assertNull(cache.getDataSinkByAppId("app1"));
+    assertTrue(cache.getAllDataSinks().isEmpty());
+  }
+
+  @Test
+  public void testGettersByIdReturnCopies() {
+    FakeDescriptionStorage storage = new FakeDescriptionStorage();
+    storage.processors.put("p1", makeProcessor("p1", "app1", "first"));
+    PipelineElementInMemoryStorage cache = new PipelineElementInMemoryStorage(storage);
+
+    DataProcessorDescription copy = cache.getDataProcessorById("p1");
+    copy.setName("modified");
+
+    assertNotSame(cache.getReadOnlyDataProcessorById("p1"), copy);
+    assertEquals("first", cache.getDataProcessorById("p1").getName());
+  }
+
+  @Test
+  public void testReadOnlyGettersReturnTheCachedDescription() {
+    FakeDescriptionStorage storage = new FakeDescriptionStorage();
+    storage.processors.put("p1", makeProcessor("p1", "app1", "first"));
+    PipelineElementInMemoryStorage cache = new PipelineElementInMemoryStorage(storage);
+
+    DataProcessorDescription cached = cache.getReadOnlyDataProcessorById("p1");
+
+    assertSame(cached, cache.getReadOnlyDataProcessorById("p1"));
+    assertSame(cached, cache.getAllDataProcessors().get(0));
+    assertNull(cache.getReadOnlyDataSinkById("s1"));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testElementListsAreUnmodifiable() {
+    FakeDescriptionStorage storage = new FakeDescriptionStorage();
+    PipelineElementInMemoryStorage cache = new PipelineElementInMemoryStorage(storage);
+
+    cache.getAllDataProcessors().add(makeProcessor("p1", "app1", "first"));
+  }
+
+  @Test
+  public void testRefreshRebuildsFromTheStore() {
+    FakeDescriptionStorage storage = new FakeDescriptionStorage();
+    PipelineElementInMemoryStorage cache = new PipelineElementInMemoryStorage(storage);
+    storage.processors.put("p1", makeProcessor("p1", "app1", "first"));
+
+    assertFalse(cache.existsDataProcessor("p1"));
+    cache.refreshDataProcessorCache();
+
+    assertTrue(cache.existsDataProcessor("p1"));
+    assertEquals(2, storage.processorListings);
+  }
+
+  private DataProcessorDescription makeProcessor(String elementId, String appId, String name) {
+    DataProcessorDescription processor = new DataProcessorDescription();
+    processor.setElementId(elementId);
+    processor.setAppId(appId);
+    processor.setName(name);
+    return processor;
+  }
+
+  private DataSinkDescription makeSink(String elementId, String appId) {
+    DataSinkDescription sink = new DataSinkDescription();
+    sink.setElementId(elementId);
+    sink.setAppId(appId);
+    return sink;
+  }
+
+  /**
+   * Triple store replacement which keeps the descriptions in maps and counts full listings.
+   */
+  private static class FakeDescriptionStorage implements IPipelineElementDescriptionStorage {
+
+    private final Map<String, DataProcessorDescription> processors = new LinkedHashMap<>();
+    private final Map<String, DataSinkDescription> sinks = new LinkedHashMap<>();
+    private final Map<String, SpDataStream> streams = new LinkedHashMap<>();
+    private int processorListings;
+
+    @Override
+    public boolean storeInvocablePipelineElement(InvocableStreamPipesEntity element) {
+      return true;
+    }
+
+    @Override
+    public boolean storeDataStream(SpDataStream stream) {
+      streams.put(stream.getElementId(), stream);
+      return true;
+    }
+
+    @Override
+    public boolean storeDataStream(String jsonld) {
+      return false;
+    }
+
+    @Override
+    public boolean storeDataProcessor(DataProcessorDescription processorDescription) {
+      processors.put(processorDescription.getElementId(), processorDescription);
+      return true;
+    }
+
+    @Override
+    public boolean storeDataProcessor(String jsonld) {
+      return false;
+    }
+
+    @Override
+    public SpDataStream getDataStreamById(URI rdfId) {
+      return getDataStreamById(rdfId.toString());
+    }
+
+    @Override
+    public SpDataStream getDataStreamByAppId(String appId) {
+      return streams.values().stream().filter(s -> appId.equals(s.getAppId())).findFirst().orElse(null);
+    }
+
+    @Override
+    public SpDataStream getDataStreamById(String rdfId) {
+      return streams.get(rdfId);
+    }
+
+    @Override
+    public DataProcessorDescription getDataProcessorById(String rdfId) {
+      return processors.get(rdfId);
+    }
+
+    @Override
+    public DataProcessorDescription getDataProcessorById(URI rdfId) {
+      return getDataProcessorById(rdfId.toString());
+    }
+
+    @Override
+    public DataProcessorDescription getDataProcessorByAppId(String appId) {
+      return processors.values().stream().filter(p -> appId.equals(p.getAppId())).findFirst().orElse(null);
+    }
+
+    @Override
+    public DataSinkDescription getDataSinkById(String rdfId) {
+      return sinks.get(rdfId);
+    }
+
+    @Override
+    public DataSinkDescription getDataSinkById(URI rdfId) {
+      return getDataSinkById(rdfId.toString());
+    }
+
+    @Override
+    public DataSinkDescription getDataSinkByAppId(String appId) {
+      return sinks.values().stream().filter(s -> appId.equals(s.getAppId())).findFirst().orElse(null);
+    }
+
+    @Override
+    public List<SpDataStream> getAllDataStreams() {
+      return new ArrayList<>(streams.values());
+    }
+
+    @Override
+    public List<DataProcessorDescription> getAllDataProcessors() {
+      processorListings++;
+      return new ArrayList<>(processors.values());
+    }
+
+    @Override
+    public boolean deleteDataStream(SpDataStream sep) {
+      return deleteDataStream(sep.getElementId());
+    }
+
+    @Override
+    public boolean deleteDataStream(String rdfId) {
+      return streams.remove(rdfId) != null;
+    }
+
+    @Override
+    public boolean deleteDataProcessor(DataProcessorDescription processorDescription) {
+      return deleteDataProcessor(processorDescription.getElementId());
+    }
+
+    @Override
+    public boolean deleteDataProcessor(String rdfId) {
+      return processors.remove(rdfId) != null;
+    }
+
+    @Override
+    public boolean exists(SpDataStream stream) {
+      return existsDataStream(stream.getElementId());
+    }
+
+    @Override
+    public boolean exists(DataProcessorDescription processorDescription) {
+      return existsDataProcessor(processorDescription.getElementId());
+    }
+
+    @Override
+    public boolean existsDataProcessor(String elementId) {
+      return processors.containsKey(elementId);
+    }
+
+    @Override
+    public boolean existsDataStream(String elementId) {
+      return streams.containsKey(elementId);
+    }
+
+    @Override
+    public boolean existsDataSink(String elementId) {
+      return sinks.containsKey(elementId);
+    }
+
+    @Override
+    public boolean update(SpDataStream stream) {
+      return storeDataStream(stream);
+    }
+
+    @Override
+    public boolean update(DataProcessorDescription processorDescription) {
+      return storeDataProcessor(processorDescription);
+    }
+
+    @Override
+    public boolean exists(DataSinkDescription sec) {
+      return existsDataSink(sec.getElementId());
+    }
+
+    @Override
+    public boolean update(DataSinkDescription sec) {
+      return storeDataSink(sec);
+    }
+
+    @Override
+    public boolean deleteDataSink(DataSinkDescription sec) {
+      return deleteDataSink(sec.getElementId());
+    }
+
+    @Override
+    public boolean deleteDataSink(String rdfId) {
+      return sinks.remove(rdfId) != null;
+    }
+
+    @Override
+    public boolean storeDataSink(DataSinkDescription sec) {
+      sinks.put(sec.getElementId(), sec);
+      return true;
+    }
+
+    @Override
+    public List<DataSinkDescription> getAllDataSinks() {
+      return new ArrayList<>(sinks.values());
+    }
+
+    @Override
+    public StaticProperty getStaticPropertyById(String rdfId) {
+      return null;
+    }
+
+    @Override
+    public SpDataStream getEventStreamById(String rdfId) {
+      return streams.get(rdfId);
+    }
+  }
+}
@@ -112,6 +112,7 @@ public class StreamPipes {
   public static final String JMS_TRANSPORT_PROTOCOL = NS + "JmsTransportProtocol";
   public static final String KAFKA_TRANSPORT_PROTOCOL = NS + "KafkaTransportProtocol";
   public static final String MQTT_TRANSPORT_PROTOCOL = NS + "MqttTransportProtocol";
+  public static final String IN_MEMORY_TRANSPORT_PROTOCOL = NS + "InMemoryTransportProtocol";
   public static final String TRANSPORT_FORMAT = NS + "TransportFormat";
   public static final String TRANSPORT_PROTOCOL = NS + "TransportProtocol";
 
@@ -163,6 +164,12 @@ public class StreamPipes {
   public static final String KAFKA_OFFSET = NS + "kafkaOffset";
   public static final String KAFKA_GROUP_ID = NS + "kafkaGroupId";
   public static final String KAFKA_MAX_REQUEST_SIZE = NS + "kafkaMaxRequestSize";
+  public static final String KAFKA_NUM_PARTITIONS = NS + "kafkaNumPartitions";
+  public static final String KAFKA_CONSUMER_THREADS = NS + "kafkaConsumerThreads";
+  public static final String KAFKA_MESSAGE_KEY = NS + "kafkaMessageKey";
+  public static final String KAFKA_COMPRESSION_TYPE = NS + "kafkaCompressionType";
+  public static final String HAS_CONTAINER_INSTANCE_ID = NS + "hasContainerInstanceId";
+  public static final String HAS_CONTAINER_URL = NS + "hasContainerUrl";
 
   public static final String ERROR_TOPIC = NS + "errorTopic";
   public static final String STATS_TOPIC = NS + "statsTopic";
@@ -296,8 +303,14 @@ public class StreamPipes {
   public static final String OLD_RUNTIME_NAME = NS + "oldRuntimeKey";
   public static final String NEW_RUNTIME_NAME = NS + "newRuntimeKey";
   public static final String FILTER_TIME_WINDOW = NS + "filterTimeWindow";
+  public static final String FILTER_KEY = NS + "filterKey";
+  public static final String FILTER_MODE = NS + "filterMode";
+  public static final String FILTER_MEMORY_LIMIT = NS + "filterMemoryLimit";
   public static final String AGGREGATION_TIME_WINDOW = NS + "aggregationTimeWindow";
   public static final String AGGREGATION_TYPE = NS + "aggregationType";
+  public static final String AGGREGATION_WINDOW_TYPE = NS + "aggregationWindowType";
+  public static final String AGGREGATION_WINDOW_SLIDE = NS + "aggregationWindowSlide";
+  public static final String AGGREGATION_TIMESTAMP_KEY = NS + "aggregationTimestampKey";
   public static final String CORRECTION_VALUE = NS + "correctionValue";
   public static final String OPERATOR = NS + "operator";
 
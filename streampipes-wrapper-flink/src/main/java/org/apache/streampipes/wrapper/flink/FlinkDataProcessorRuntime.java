@@ -19,21 +19,28 @@
 package org.apache.streampipes.wrapper.flink;
 
 import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.datastream.SingleOutputStreamOperator;
 import org.apache.flink.streaming.connectors.kafka.FlinkKafkaProducer;
 import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
 import org.apache.streampipes.model.grounding.EventGrounding;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.output.PropertyRenameRule;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.SchemaInfo;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.flink.converter.EventToMapConverter;
 import org.apache.streampipes.wrapper.flink.serializer.ByteArraySerializer;
 import org.apache.streampipes.wrapper.flink.sink.JmsFlinkProducer;
 import org.apache.streampipes.wrapper.flink.sink.MqttFlinkProducer;
+import org.apache.streampipes.wrapper.flink.typeinfo.RawEventTypeInfo;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 import org.apache.streampipes.wrapper.params.runtime.EventProcessorRuntimeParams;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
@@ -65,8 +72,14 @@ public abstract class FlinkDataProcessorRuntime<B extends EventProcessorBindingP
 
   @SuppressWarnings("deprecation")
   public void appendExecutionConfig(DataStream<Event>... convertedStream) {
-    DataStream<Map<String, Object>> applicationLogic = getApplicationLogic(convertedStream).flatMap
-            (new EventToMapConverter());
+    DataStream<Event> applicationLogic = withEventType(getApplicationLogic(convertedStream));
+    // the output chain keeps the parallelism of the application logic, so that it is chained to
+    // the last operator and the order of its events is kept
+    int parallelism = applicationLogic.getParallelism();
+    DataStream<Map<String, Object>> outputStream = applicationLogic
+            .flatMap(new EventToMapConverter())
+            .returns(new RawEventTypeInfo())
+            .setParallelism(parallelism);
 
     EventGrounding outputGrounding = getOutputStream().getEventGrounding();
     SpDataFormatDefinition outputDataFormatDefinition =
@@ -75,20 +88,52 @@ public abstract class FlinkDataProcessorRuntime<B extends EventProcessorBindingP
     ByteArraySerializer serializer =
             new ByteArraySerializer(outputDataFormatDefinition);
     if (isKafkaProtocol(getOutputStream())) {
-      applicationLogic
+      outputStream
               .addSink(new FlinkKafkaProducer<>(getTopic(getOutputStream()),
                       serializer,
-                      getProducerProperties((KafkaTransportProtocol) outputGrounding.getTransportProtocol())));
+                      getProducerProperties((KafkaTransportProtocol) outputGrounding.getTransportProtocol())))
+              .setParallelism(parallelism);
     } else if (isJmsProtocol(getOutputStream())) {
-      applicationLogic
-              .addSink(new JmsFlinkProducer(getJmsProtocol(getOutputStream()), serializer));
+      outputStream
+              .addSink(new JmsFlinkProducer(getJmsProtocol(getOutputStream()), serializer))
+              .setParallelism(parallelism);
     } else if (isMqttProtocol(getOutputStream())) {
-      applicationLogic
-              .addSink(new MqttFlinkProducer(getMqttProtocol(getOutputStream()), serializer));
+      outputStream
+              .addSink(new MqttFlinkProducer(getMqttProtocol(getOutputStream()), serializer))
+              .setParallelism(parallelism);
     }
 
   }
 
+  /**
+   * Events merged from both input streams carry the output schema and the rename rules of both
+   * input streams.
+   */
+  @Override
+  protected List<SchemaInfo> getMergedSchemaInfos() {
+    if (runtimeParams.getSchemaInfo().size() < 2) {
+      return Collections.emptyList();
+    }
+    List<PropertyRenameRule> renameRules = new ArrayList<>();
+    runtimeParams.getSchemaInfo().forEach(schemaInfo -> renameRules.addAll(schemaInfo.getRenameRules()));
+    return Collections.singletonList(new SchemaInfo(getOutputStream().getEventSchema(), renameRules));
+  }
+
+  /**
+   * Assigns the event type information to the last operator of the application logic, unless its
+   * output type has already been used by the application logic itself.
+   */
+  private DataStream<Event> withEventType(DataStream<Event> applicationLogic) {
+    if (applicationLogic instanceof SingleOutputStreamOperator) {
+      try {
+        ((SingleOutputStreamOperator<Event>) applicationLogic).returns(getEventTypeInfo());
+      } catch (IllegalStateException e) {
+        // keep the type information extracted by Flink
+      }
+    }
+    return applicationLogic;
+  }
+
   private SpDataStream getOutputStream() {
     return getGraph().getOutputStream();
   }
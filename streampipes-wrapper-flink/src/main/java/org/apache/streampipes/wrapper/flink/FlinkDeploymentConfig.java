@@ -15,24 +15,60 @@
  * limitations under the License.
  *
  */
-
 package org.apache.streampipes.wrapper.flink;
 
+import org.apache.flink.streaming.api.CheckpointingMode;
+
 import java.io.Serializable;
 
 public class FlinkDeploymentConfig implements Serializable {
 
   private static final long serialVersionUID = 1L;
 
+  private static final String PARALLELISM_ENV = "SP_FLINK_PARALLELISM";
+  private static final String CHECKPOINT_INTERVAL_ENV = "SP_FLINK_CHECKPOINT_INTERVAL_MS";
+  private static final String CHECKPOINT_MODE_ENV = "SP_FLINK_CHECKPOINT_MODE";
+  private static final String STATE_BACKEND_ENV = "SP_FLINK_STATE_BACKEND";
+
   private String jarFile;
   private String host;
   private int port;
 
+  private int parallelism;
+  private long checkpointInterval;
+  private CheckpointingMode checkpointingMode;
+  private String stateBackendUri;
+
+  /**
+   * Creates a deployment config whose parallelism, checkpointing and state backend settings are
+   * read from the SP_FLINK_* environment variables of the pipeline element container.
+   */
   public FlinkDeploymentConfig(String jarFile, String host, int port) {
+    this(jarFile, host, port, getIntEnv(PARALLELISM_ENV), getLongEnv(CHECKPOINT_INTERVAL_ENV),
+            getCheckpointingModeEnv(), System.getenv(STATE_BACKEND_ENV));
+  }
+
+  /**
+   * @param parallelism        the parallelism of keyed or stateless operators passed to
+   *                           {@code FlinkRuntime#parallelize}, values below 1 keep the default
+   *                           of the job
+   * @param checkpointInterval the checkpoint interval in milliseconds, values below 1 disable
+   *                           checkpointing
+   * @param checkpointingMode  the guarantee of the checkpoints
+   * @param stateBackendUri    the checkpoint directory of a file system state backend (e.g.
+   *                           hdfs:// or file://), null keeps the state backend of the cluster
+   */
+  public FlinkDeploymentConfig(String jarFile, String host, int port, int parallelism,
+                               long checkpointInterval, CheckpointingMode checkpointingMode,
+                               String stateBackendUri) {
     super();
     this.jarFile = jarFile;
     this.host = host;
     this.port = port;
+    this.parallelism = parallelism;
+    this.checkpointInterval = checkpointInterval;
+    this.checkpointingMode = checkpointingMode;
+    this.stateBackendUri = stateBackendUri;
   }
 
   public String getJarFile() {
@@ -47,4 +83,50 @@ public class FlinkDeploymentConfig implements Serializable {
     return port;
   }
 
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public long getCheckpointInterval() {
+    return checkpointInterval;
+  }
+
+  public CheckpointingMode getCheckpointingMode() {
+    return checkpointingMode;
+  }
+
+  public String getStateBackendUri() {
+    return stateBackendUri;
+  }
+
+  public boolean isCheckpointingEnabled() {
+    return checkpointInterval > 0;
+  }
+
+  public boolean hasStateBackend() {
+    return stateBackendUri != null && !stateBackendUri.isEmpty();
+  }
+
+  private static int getIntEnv(String name) {
+    return (int) getLongEnv(name);
+  }
+
+  private static long getLongEnv(String name) {
+    String value = System.getenv(name);
+    try {
+      return value != null ? Long.parseLong(value) : 0;
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private static CheckpointingMode getCheckpointingModeEnv() {
+    String mode = System.getenv(CHECKPOINT_MODE_ENV);
+    try {
+      return mode != null ? CheckpointingMode.valueOf(mode.toUpperCase()) :
+              CheckpointingMode.EXACTLY_ONCE;
+    } catch (IllegalArgumentException e) {
+      return CheckpointingMode.EXACTLY_ONCE;
+    }
+  }
 }
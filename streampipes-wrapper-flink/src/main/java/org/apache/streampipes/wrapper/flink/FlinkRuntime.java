@@ -22,9 +22,13 @@ import org.apache.flink.client.program.rest.RestClusterClient;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.configuration.JobManagerOptions;
 import org.apache.flink.runtime.client.JobStatusMessage;
+import org.apache.flink.runtime.state.filesystem.FsStateBackend;
 import org.apache.flink.streaming.api.TimeCharacteristic;
 import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.datastream.DataStreamSource;
+import org.apache.flink.streaming.api.datastream.SingleOutputStreamOperator;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.streaming.api.functions.source.ParallelSourceFunction;
 import org.apache.flink.streaming.api.functions.source.SourceFunction;
 import org.apache.flink.streaming.connectors.kafka.FlinkKafkaConsumer;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
@@ -33,18 +37,22 @@ import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.grounding.*;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.SchemaInfo;
 import org.apache.streampipes.wrapper.context.RuntimeContext;
 import org.apache.streampipes.wrapper.distributed.runtime.DistributedRuntime;
 import org.apache.streampipes.wrapper.flink.consumer.JmsFlinkConsumer;
 import org.apache.streampipes.wrapper.flink.consumer.MqttFlinkConsumer;
 import org.apache.streampipes.wrapper.flink.converter.MapToEventConverter;
-import org.apache.streampipes.wrapper.flink.logger.StatisticLogger;
 import org.apache.streampipes.wrapper.flink.serializer.ByteArrayDeserializer;
+import org.apache.streampipes.wrapper.flink.typeinfo.EventTypeInfo;
+import org.apache.streampipes.wrapper.flink.typeinfo.RawEventTypeInfo;
 import org.apache.streampipes.wrapper.params.binding.BindingParams;
 import org.apache.streampipes.wrapper.params.runtime.RuntimeParams;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -181,6 +189,7 @@ public abstract class FlinkRuntime<RP extends RuntimeParams<B, I, RC>, B extends
               .createRemoteEnvironment(config.getHost(), config.getPort(), config.getJarFile());
     }
 
+    applyDeploymentConfig(this.env);
     appendEnvironmentConfig(this.env);
     // Add the first source to the topology
     DataStream<Event> messageStream1;
@@ -202,11 +211,38 @@ public abstract class FlinkRuntime<RP extends RuntimeParams<B, I, RC>, B extends
 
   private DataStream<Event> addSource(SourceFunction<Map<String, Object>> sourceFunction,
                                       Integer sourceIndex) {
-    return env
-            .addSource(sourceFunction)
+    DataStreamSource<Map<String, Object>> source = env
+            .addSource(sourceFunction, "source-" + sourceIndex, new RawEventTypeInfo());
+    SingleOutputStreamOperator<Event> events = source
             .flatMap(new MapToEventConverter<>(runtimeParams.getSourceInfo(sourceIndex).getSourceId(),
                     runtimeParams))
-            .flatMap(new StatisticLogger(getGraph()));
+            .returns(getEventTypeInfo());
+
+    // a parallel source (i.e., Kafka) splits the topic by partition, the converter keeps the
+    // parallelism of the source so that both are chained and the order of a partition is kept
+    if (sourceFunction instanceof ParallelSourceFunction && streamTimeCharacteristic == null) {
+      parallelize(source);
+      parallelize(events);
+    }
+    return events;
+  }
+
+  /**
+   * Returns the type information of the events of this runtime, which can be passed to
+   * {@code returns(...)} of operators producing events to avoid the generic Kryo serialization.
+   */
+  protected EventTypeInfo getEventTypeInfo() {
+    return new EventTypeInfo(runtimeParams.getSourceInfo(), runtimeParams.getSchemaInfo(),
+            getMergedSchemaInfos());
+  }
+
+  /**
+   * Returns the schema info of events this runtime creates from several input events, e.g., by
+   * {@code Event#merge}. The serializer refers to these schemas by index instead of writing them
+   * with every event.
+   */
+  protected List<SchemaInfo> getMergedSchemaInfos() {
+    return Collections.emptyList();
   }
 
   @Override
@@ -277,6 +313,15 @@ public abstract class FlinkRuntime<RP extends RuntimeParams<B, I, RC>, B extends
     }
   }
 
+  private void applyDeploymentConfig(StreamExecutionEnvironment env) {
+    if (config.isCheckpointingEnabled()) {
+      env.enableCheckpointing(config.getCheckpointInterval(), config.getCheckpointingMode());
+    }
+    if (config.hasStateBackend()) {
+      env.setStateBackend(new FsStateBackend(config.getStateBackendUri()));
+    }
+  }
+
   /**
    * This method can be called in case additional environment settings should be applied to the runtime.
    *
@@ -291,6 +336,21 @@ public abstract class FlinkRuntime<RP extends RuntimeParams<B, I, RC>, B extends
     }
   }
 
+  /**
+   * Applies the configured parallelism to an operator of the application logic. The job itself keeps
+   * its default parallelism, so only operators which are keyed (i.e., follow a {@code keyBy}) or
+   * stateless may be passed here, operators with non-keyed state need to see all events.
+   *
+   * @param operator a keyed or stateless operator
+   * @return the operator
+   */
+  protected <T> SingleOutputStreamOperator<T> parallelize(SingleOutputStreamOperator<T> operator) {
+    if (config.getParallelism() > 0) {
+      operator.setParallelism(config.getParallelism());
+    }
+    return operator;
+  }
+
   private RestClusterClient<String> getRestClient() throws Exception {
     Configuration restConfig = new Configuration();
     restConfig.setString(JobManagerOptions.ADDRESS, config.getHost());
@@ -0,0 +1,557 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.flink.typeinfo;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.TypeSerializerSchemaCompatibility;
+import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.util.InstantiationUtil;
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.ListField;
+import org.apache.streampipes.model.runtime.field.NestedField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+import org.apache.streampipes.model.schema.EventSchema;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Serializer of runtime events. The source and schema info of the input streams are known to the
+ * serializer, so that events only carry the index of their source instead of the schema itself.
+ * Events without or of an unknown source, e.g., events merged by {@code EventFactory.fromEvents},
+ * refer to one of the schemas registered with the serializer and only carry their schema info
+ * along if it is unknown.
+ */
+public class EventSerializer extends TypeSerializer<Event> {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final byte NO_SOURCE = -1;
+  private static final byte UNKNOWN_SOURCE = -2;
+  private static final byte INLINE_SCHEMA = -1;
+
+  private static final byte PRIMITIVE_FIELD = 0;
+  private static final byte NESTED_FIELD = 1;
+  private static final byte LIST_FIELD = 2;
+
+  private static final PrimitiveField.PrimitiveType[] PRIMITIVE_TYPES =
+          PrimitiveField.PrimitiveType.values();
+
+  private final SourceInfo[] sourceInfos;
+  private final SchemaInfo[] schemaInfos;
+  private final SchemaInfo[] mergedSchemaInfos;
+  private final SchemaInfo[] knownSchemaInfos;
+  // state written before merged schemas were registered carries every schema info inline
+  private final boolean schemaReferences;
+
+  // the event schema looked up last and the known schemas it equals, events created by one
+  // operator share the instance, so that the schemas are only compared once
+  private transient EventSchema lastEventSchema;
+  private transient boolean[] lastSchemaMatches;
+
+  public EventSerializer(List<SourceInfo> sourceInfos, List<SchemaInfo> schemaInfos) {
+    this(sourceInfos, schemaInfos, Collections.emptyList());
+  }
+
+  /**
+   * @param mergedSchemaInfos the schema info of events created from several input events, which
+   *                          are referred to by index instead of being written with every event
+   */
+  public EventSerializer(List<SourceInfo> sourceInfos, List<SchemaInfo> schemaInfos,
+                         List<SchemaInfo> mergedSchemaInfos) {
+    this(sourceInfos.toArray(new SourceInfo[0]), schemaInfos.toArray(new SchemaInfo[0]),
+            mergedSchemaInfos.toArray(new SchemaInfo[0]), true);
+  }
+
+  private EventSerializer(SourceInfo[] sourceInfos, SchemaInfo[] schemaInfos,
+                          SchemaInfo[] mergedSchemaInfos, boolean schemaReferences) {
+    this.sourceInfos = sourceInfos;
+    this.schemaInfos = schemaInfos;
+    this.mergedSchemaInfos = mergedSchemaInfos;
+    this.knownSchemaInfos = new SchemaInfo[schemaInfos.length + mergedSchemaInfos.length];
+    System.arraycopy(schemaInfos, 0, knownSchemaInfos, 0, schemaInfos.length);
+    System.arraycopy(mergedSchemaInfos, 0, knownSchemaInfos, schemaInfos.length,
+            mergedSchemaInfos.length);
+    this.schemaReferences = schemaReferences;
+  }
+
+  @Override
+  public boolean isImmutableType() {
+    return false;
+  }
+
+  @Override
+  public TypeSerializer<Event> duplicate() {
+    return new EventSerializer(sourceInfos, schemaInfos, mergedSchemaInfos, schemaReferences);
+  }
+
+  @Override
+  public Event createInstance() {
+    return new Event();
+  }
+
+  @Override
+  public Event copy(Event from) {
+    return new Event(copyFields(from.getFields()), from.getSourceInfo(), from.getSchemaInfo());
+  }
+
+  @Override
+  public Event copy(Event from, Event reuse) {
+    return copy(from);
+  }
+
+  @Override
+  public int getLength() {
+    return -1;
+  }
+
+  @Override
+  public void serialize(Event record, DataOutputView target) throws IOException {
+    SourceInfo sourceInfo = record.getSourceInfo();
+    int sourceIndex = indexOf(sourceInfo);
+    if (sourceIndex >= 0) {
+      target.writeByte(sourceIndex);
+    } else if (sourceInfo == null) {
+      target.writeByte(NO_SOURCE);
+      writeSchemaInfo(record.getSchemaInfo(), target);
+    } else {
+      target.writeByte(UNKNOWN_SOURCE);
+      ValueCodec.writeNullableString(sourceInfo.getSourceId(), target);
+      ValueCodec.writeNullableString(sourceInfo.getSelectorPrefix(), target);
+      writeSchemaInfo(record.getSchemaInfo(), target);
+    }
+    writeFields(record.getFields(), target);
+  }
+
+  @Override
+  public Event deserialize(DataInputView source) throws IOException {
+    byte sourceIndex = source.readByte();
+    SourceInfo sourceInfo = null;
+    SchemaInfo schemaInfo = null;
+    if (sourceIndex >= 0) {
+      sourceInfo = sourceInfos[sourceIndex];
+      schemaInfo = schemaInfos[sourceIndex];
+    } else {
+      if (sourceIndex == UNKNOWN_SOURCE) {
+        sourceInfo = new SourceInfo(ValueCodec.readNullableString(source),
+                ValueCodec.readNullableString(source));
+      }
+      schemaInfo = readSchemaInfo(source);
+    }
+    return new Event(readFields(source), sourceInfo, schemaInfo);
+  }
+
+  @Override
+  public Event deserialize(Event reuse, DataInputView source) throws IOException {
+    return deserialize(source);
+  }
+
+  @Override
+  public void copy(DataInputView source, DataOutputView target) throws IOException {
+    serialize(deserialize(source), target);
+  }
+
+  @Override
+  public TypeSerializerSnapshot<Event> snapshotConfiguration() {
+    return new EventSerializerSnapshot(sourceInfos, schemaInfos, mergedSchemaInfos,
+            schemaReferences);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    EventSerializer other = (EventSerializer) obj;
+    return schemaReferences == other.schemaReferences && hasSameSources(other.sourceInfos)
+            && hasSameMergedSchemas(other.mergedSchemaInfos);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.stream(sourceInfos).map(SourceInfo::getSourceId).mapToInt(Objects::hashCode).sum();
+  }
+
+  private boolean hasSameSources(SourceInfo[] otherSourceInfos) {
+    if (sourceInfos.length != otherSourceInfos.length) {
+      return false;
+    }
+    for (int i = 0; i < sourceInfos.length; i++) {
+      if (indexOf(otherSourceInfos[i]) != i) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean hasSameMergedSchemas(SchemaInfo[] otherMergedSchemaInfos) {
+    if (mergedSchemaInfos.length != otherMergedSchemaInfos.length) {
+      return false;
+    }
+    for (int i = 0; i < mergedSchemaInfos.length; i++) {
+      if (!Objects.equals(mergedSchemaInfos[i].getEventSchema(),
+              otherMergedSchemaInfos[i].getEventSchema()) || !hasSameRenameRules(
+              mergedSchemaInfos[i].getRenameRules(), otherMergedSchemaInfos[i].getRenameRules())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void writeSchemaInfo(SchemaInfo schemaInfo, DataOutputView target) throws IOException {
+    if (schemaReferences) {
+      int schemaIndex = indexOf(schemaInfo);
+      if (schemaIndex >= 0) {
+        target.writeByte(schemaIndex);
+        return;
+      }
+      target.writeByte(INLINE_SCHEMA);
+    }
+    ValueCodec.writeValue(schemaInfo, target);
+  }
+
+  private SchemaInfo readSchemaInfo(DataInputView source) throws IOException {
+    if (schemaReferences) {
+      byte schemaIndex = source.readByte();
+      if (schemaIndex >= 0) {
+        return knownSchemaInfos[schemaIndex];
+      }
+    }
+    return (SchemaInfo) ValueCodec.readValue(source);
+  }
+
+  private int indexOf(SchemaInfo schemaInfo) {
+    if (schemaInfo == null) {
+      return -1;
+    }
+    for (int i = 0; i < knownSchemaInfos.length; i++) {
+      if (knownSchemaInfos[i] == schemaInfo) {
+        return i;
+      }
+    }
+    if (lastSchemaMatches == null || lastEventSchema != schemaInfo.getEventSchema()) {
+      lastSchemaMatches = new boolean[knownSchemaInfos.length];
+      for (int i = 0; i < knownSchemaInfos.length; i++) {
+        lastSchemaMatches[i] = Objects.equals(knownSchemaInfos[i].getEventSchema(),
+                schemaInfo.getEventSchema());
+      }
+      lastEventSchema = schemaInfo.getEventSchema();
+    }
+    for (int i = 0; i < knownSchemaInfos.length; i++) {
+      if (lastSchemaMatches[i] && hasSameRenameRules(knownSchemaInfos[i].getRenameRules(),
+              schemaInfo.getRenameRules())) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private boolean hasSameRenameRules(List<PropertyRenameRule> rules,
+                                     List<PropertyRenameRule> otherRules) {
+    if (rules == null || otherRules == null) {
+      return rules == otherRules;
+    }
+    if (rules.size() != otherRules.size()) {
+      return false;
+    }
+    for (int i = 0; i < rules.size(); i++) {
+      PropertyRenameRule rule = rules.get(i);
+      PropertyRenameRule otherRule = otherRules.get(i);
+      if (rule != otherRule && (!Objects.equals(rule.getRuntimeId(), otherRule.getRuntimeId())
+              || !Objects.equals(rule.getNewRuntimeName(), otherRule.getNewRuntimeName()))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int indexOf(SourceInfo sourceInfo) {
+    if (sourceInfo != null) {
+      for (int i = 0; i < sourceInfos.length; i++) {
+        if (sourceInfos[i] == sourceInfo || (Objects.equals(sourceInfos[i].getSourceId(),
+                sourceInfo.getSourceId()) && Objects.equals(sourceInfos[i].getSelectorPrefix(),
+                sourceInfo.getSelectorPrefix()))) {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  private void writeFields(Map<String, AbstractField> fields, DataOutputView target) throws IOException {
+    target.writeInt(fields.size());
+    for (Map.Entry<String, AbstractField> entry : fields.entrySet()) {
+      ValueCodec.writeNullableString(entry.getKey(), target);
+      writeField(entry.getValue(), target);
+    }
+  }
+
+  private Map<String, AbstractField> readFields(DataInputView source) throws IOException {
+    int size = source.readInt();
+    Map<String, AbstractField> fields = new LinkedHashMap<>(ValueCodec.capacity(size));
+    for (int i = 0; i < size; i++) {
+      fields.put(ValueCodec.readNullableString(source), readField(source));
+    }
+    return fields;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void writeField(AbstractField field, DataOutputView target) throws IOException {
+    if (field.isComposite()) {
+      target.writeByte(NESTED_FIELD);
+    } else if (field.isList()) {
+      target.writeByte(LIST_FIELD);
+    } else {
+      target.writeByte(PRIMITIVE_FIELD);
+    }
+    ValueCodec.writeNullableString(field.getFieldNameIn(), target);
+    ValueCodec.writeNullableString(field.getFieldNameOut(), target);
+
+    if (field.isComposite()) {
+      target.writeBoolean(!Boolean.FALSE.equals(field.getAsComposite().getHasKey()));
+      writeFields(field.getAsComposite().getRawValue(), target);
+    } else if (field.isList()) {
+      List<AbstractField> items = field.getAsList().getRawValue();
+      target.writeInt(items.size());
+      for (AbstractField item : items) {
+        writeField(item, target);
+      }
+    } else {
+      writePrimitive(field.getAsPrimitive(), target);
+    }
+  }
+
+  private AbstractField readField(DataInputView source) throws IOException {
+    byte fieldType = source.readByte();
+    String fieldNameIn = ValueCodec.readNullableString(source);
+    String fieldNameOut = ValueCodec.readNullableString(source);
+
+    if (fieldType == NESTED_FIELD) {
+      boolean hasKey = source.readBoolean();
+      Map<String, AbstractField> fields = readFields(source);
+      if (hasKey) {
+        return new NestedField(fieldNameIn, fieldNameOut, fields);
+      } else {
+        NestedField field = new NestedField(fieldNameIn, false);
+        fields.forEach(field::addField);
+        return field;
+      }
+    } else if (fieldType == LIST_FIELD) {
+      int size = source.readInt();
+      List<AbstractField> items = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        items.add(readField(source));
+      }
+      return new ListField(fieldNameIn, fieldNameOut, items);
+    } else {
+      return readPrimitive(fieldNameIn, fieldNameOut, source);
+    }
+  }
+
+  private void writePrimitive(PrimitiveField field, DataOutputView target) throws IOException {
+    PrimitiveField.PrimitiveType primitiveType = field.getPrimitiveType();
+    target.writeByte(primitiveType.ordinal());
+    switch (primitiveType) {
+      case INT:
+        target.writeInt(field.getAsIntPrimitive());
+        break;
+      case LONG:
+        target.writeLong(field.getAsLongPrimitive());
+        break;
+      case FLOAT:
+        target.writeFloat(field.getAsFloatPrimitive());
+        break;
+      case DOUBLE:
+        target.writeDouble(field.getAsDoublePrimitive());
+        break;
+      case BOOLEAN:
+        target.writeBoolean(field.getAsBooleanPrimitive());
+        break;
+      default:
+        ValueCodec.writeValue(field.getRawValue(), target);
+    }
+  }
+
+  private PrimitiveField readPrimitive(String fieldNameIn, String fieldNameOut,
+                                       DataInputView source) throws IOException {
+    switch (PRIMITIVE_TYPES[source.readByte()]) {
+      case INT:
+        return new PrimitiveField(fieldNameIn, fieldNameOut, source.readInt());
+      case LONG:
+        return new PrimitiveField(fieldNameIn, fieldNameOut, source.readLong());
+      case FLOAT:
+        return new PrimitiveField(fieldNameIn, fieldNameOut, source.readFloat());
+      case DOUBLE:
+        return new PrimitiveField(fieldNameIn, fieldNameOut, source.readDouble());
+      case BOOLEAN:
+        return new PrimitiveField(fieldNameIn, fieldNameOut, source.readBoolean());
+      default:
+        return new PrimitiveField(fieldNameIn, fieldNameOut, ValueCodec.readValue(source));
+    }
+  }
+
+  private Map<String, AbstractField> copyFields(Map<String, AbstractField> fields) {
+    Map<String, AbstractField> copy = new LinkedHashMap<>(ValueCodec.capacity(fields.size()));
+    for (Map.Entry<String, AbstractField> entry : fields.entrySet()) {
+      copy.put(entry.getKey(), copyField(entry.getValue()));
+    }
+    return copy;
+  }
+
+  @SuppressWarnings("unchecked")
+  private AbstractField copyField(AbstractField field) {
+    if (field.isComposite()) {
+      NestedField nested = field.getAsComposite();
+      if (Boolean.FALSE.equals(nested.getHasKey())) {
+        NestedField copy = new NestedField(nested.getFieldNameIn(), false);
+        copyFields(nested.getRawValue()).forEach(copy::addField);
+        return copy;
+      }
+      return new NestedField(nested.getFieldNameIn(), nested.getFieldNameOut(),
+              copyFields(nested.getRawValue()));
+    } else if (field.isList()) {
+      List<AbstractField> items = field.getAsList().getRawValue();
+      List<AbstractField> copy = new ArrayList<>(items.size());
+      for (AbstractField item : items) {
+        copy.add(copyField(item));
+      }
+      return new ListField(field.getFieldNameIn(), field.getFieldNameOut(), copy);
+    } else {
+      PrimitiveField primitive = field.getAsPrimitive();
+      String in = primitive.getFieldNameIn();
+      String out = primitive.getFieldNameOut();
+      switch (primitive.getPrimitiveType()) {
+        case INT:
+          return new PrimitiveField(in, out, primitive.getAsIntPrimitive());
+        case LONG:
+          return new PrimitiveField(in, out, primitive.getAsLongPrimitive());
+        case FLOAT:
+          return new PrimitiveField(in, out, primitive.getAsFloatPrimitive());
+        case DOUBLE:
+          return new PrimitiveField(in, out, primitive.getAsDoublePrimitive());
+        case BOOLEAN:
+          return new PrimitiveField(in, out, primitive.getAsBooleanPrimitive());
+        default:
+          return new PrimitiveField(in, out, ValueCodec.copyValue(primitive.getRawValue()));
+      }
+    }
+  }
+
+  /**
+   * Snapshot of the source and schema info known to an {@link EventSerializer}. Serialized events
+   * refer to their source by index, so state written with different sources is migrated.
+   */
+  public static final class EventSerializerSnapshot implements TypeSerializerSnapshot<Event> {
+
+    private static final int VERSION = 2;
+
+    private SourceInfo[] sourceInfos;
+    private SchemaInfo[] schemaInfos;
+    private SchemaInfo[] mergedSchemaInfos;
+    private boolean schemaReferences;
+
+    public EventSerializerSnapshot() {
+
+    }
+
+    EventSerializerSnapshot(SourceInfo[] sourceInfos, SchemaInfo[] schemaInfos,
+                           SchemaInfo[] mergedSchemaInfos, boolean schemaReferences) {
+      this.sourceInfos = sourceInfos;
+      this.schemaInfos = schemaInfos;
+      this.mergedSchemaInfos = mergedSchemaInfos;
+      this.schemaReferences = schemaReferences;
+    }
+
+    @Override
+    public int getCurrentVersion() {
+      return VERSION;
+    }
+
+    @Override
+    public void writeSnapshot(DataOutputView out) throws IOException {
+      byte[] sources = InstantiationUtil.serializeObject(sourceInfos);
+      byte[] schemas = InstantiationUtil.serializeObject(schemaInfos);
+      byte[] mergedSchemas = InstantiationUtil.serializeObject(mergedSchemaInfos);
+      out.writeInt(sources.length);
+      out.write(sources);
+      out.writeInt(schemas.length);
+      out.write(schemas);
+      out.writeInt(mergedSchemas.length);
+      out.write(mergedSchemas);
+      out.writeBoolean(schemaReferences);
+    }
+
+    @Override
+    public void readSnapshot(int readVersion, DataInputView in, ClassLoader userCodeClassLoader)
+            throws IOException {
+      try {
+        this.sourceInfos = InstantiationUtil.deserializeObject(readBytes(in), userCodeClassLoader);
+        this.schemaInfos = InstantiationUtil.deserializeObject(readBytes(in), userCodeClassLoader);
+        if (readVersion >= 2) {
+          this.mergedSchemaInfos = InstantiationUtil.deserializeObject(readBytes(in),
+                  userCodeClassLoader);
+          this.schemaReferences = in.readBoolean();
+        } else {
+          // version 1 did not know merged schemas and wrote every schema info inline
+          this.mergedSchemaInfos = new SchemaInfo[0];
+          this.schemaReferences = false;
+        }
+      } catch (ClassNotFoundException e) {
+        throw new IOException(e);
+      }
+    }
+
+    @Override
+    public TypeSerializer<Event> restoreSerializer() {
+      return new EventSerializer(sourceInfos, schemaInfos, mergedSchemaInfos, schemaReferences);
+    }
+
+    @Override
+    public TypeSerializerSchemaCompatibility<Event> resolveSchemaCompatibility(
+            TypeSerializer<Event> newSerializer) {
+      if (!(newSerializer instanceof EventSerializer)) {
+        return TypeSerializerSchemaCompatibility.incompatible();
+      } else if (restoreSerializer().equals(newSerializer)) {
+        return TypeSerializerSchemaCompatibility.compatibleAsIs();
+      } else {
+        return TypeSerializerSchemaCompatibility.compatibleAfterMigration();
+      }
+    }
+
+    private byte[] readBytes(DataInputView in) throws IOException {
+      byte[] bytes = new byte[in.readInt()];
+      in.readFully(bytes);
+      return bytes;
+    }
+  }
+}
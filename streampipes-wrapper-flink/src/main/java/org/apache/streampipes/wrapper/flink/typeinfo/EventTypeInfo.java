@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.flink.typeinfo;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Type information of runtime events, avoids the generic Kryo fallback of Flink.
+ */
+public class EventTypeInfo extends TypeInformation<Event> {
+
+  private static final long serialVersionUID = 1L;
+
+  private final List<SourceInfo> sourceInfos;
+  private final List<SchemaInfo> schemaInfos;
+  private final List<SchemaInfo> mergedSchemaInfos;
+
+  public EventTypeInfo(List<SourceInfo> sourceInfos, List<SchemaInfo> schemaInfos) {
+    this(sourceInfos, schemaInfos, Collections.emptyList());
+  }
+
+  public EventTypeInfo(List<SourceInfo> sourceInfos, List<SchemaInfo> schemaInfos,
+                       List<SchemaInfo> mergedSchemaInfos) {
+    this.sourceInfos = new ArrayList<>(sourceInfos);
+    this.schemaInfos = new ArrayList<>(schemaInfos);
+    this.mergedSchemaInfos = new ArrayList<>(mergedSchemaInfos);
+  }
+
+  @Override
+  public boolean isBasicType() {
+    return false;
+  }
+
+  @Override
+  public boolean isTupleType() {
+    return false;
+  }
+
+  @Override
+  public int getArity() {
+    return 1;
+  }
+
+  @Override
+  public int getTotalFields() {
+    return 1;
+  }
+
+  @Override
+  public Class<Event> getTypeClass() {
+    return Event.class;
+  }
+
+  @Override
+  public boolean isKeyType() {
+    return false;
+  }
+
+  @Override
+  public TypeSerializer<Event> createSerializer(ExecutionConfig config) {
+    return new EventSerializer(sourceInfos, schemaInfos, mergedSchemaInfos);
+  }
+
+  @Override
+  public String toString() {
+    return "EventTypeInfo";
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof EventTypeInfo)) {
+      return false;
+    }
+    EventTypeInfo other = (EventTypeInfo) obj;
+    return other.canEqual(this) && createSerializer(null).equals(other.createSerializer(null));
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(EventTypeInfo.class, createSerializer(null));
+  }
+
+  @Override
+  public boolean canEqual(Object obj) {
+    return obj instanceof EventTypeInfo;
+  }
+}
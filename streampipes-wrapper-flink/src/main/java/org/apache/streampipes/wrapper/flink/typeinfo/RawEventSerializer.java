@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.flink.typeinfo;
+
+import org.apache.flink.api.common.typeutils.SimpleTypeSerializerSnapshot;
+import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
+import org.apache.flink.api.common.typeutils.base.TypeSerializerSingleton;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serializer of the raw (map-based) events produced by the sources of a Flink runtime.
+ */
+public class RawEventSerializer extends TypeSerializerSingleton<Map<String, Object>> {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final RawEventSerializer INSTANCE = new RawEventSerializer();
+
+  @Override
+  public boolean isImmutableType() {
+    return false;
+  }
+
+  @Override
+  public Map<String, Object> createInstance() {
+    return new LinkedHashMap<>();
+  }
+
+  @Override
+  public Map<String, Object> copy(Map<String, Object> from) {
+    return ValueCodec.copyMap(from);
+  }
+
+  @Override
+  public Map<String, Object> copy(Map<String, Object> from, Map<String, Object> reuse) {
+    return copy(from);
+  }
+
+  @Override
+  public int getLength() {
+    return -1;
+  }
+
+  @Override
+  public void serialize(Map<String, Object> record, DataOutputView target) throws IOException {
+    ValueCodec.writeMap(record, target);
+  }
+
+  @Override
+  public Map<String, Object> deserialize(DataInputView source) throws IOException {
+    return ValueCodec.readMap(source);
+  }
+
+  @Override
+  public Map<String, Object> deserialize(Map<String, Object> reuse, DataInputView source) throws IOException {
+    return deserialize(source);
+  }
+
+  @Override
+  public void copy(DataInputView source, DataOutputView target) throws IOException {
+    serialize(deserialize(source), target);
+  }
+
+  @Override
+  public TypeSerializerSnapshot<Map<String, Object>> snapshotConfiguration() {
+    return new RawEventSerializerSnapshot();
+  }
+
+  public static final class RawEventSerializerSnapshot extends SimpleTypeSerializerSnapshot<Map<String, Object>> {
+
+    public RawEventSerializerSnapshot() {
+      super(() -> INSTANCE);
+    }
+  }
+}
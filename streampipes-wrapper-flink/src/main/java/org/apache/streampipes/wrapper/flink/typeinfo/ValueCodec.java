@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.flink.typeinfo;
+
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.types.StringValue;
+import org.apache.flink.util.InstantiationUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tagged binary encoding of the raw values contained in events (primitives, nested maps and
+ * lists). Values of other types fall back to Java serialization.
+ */
+final class ValueCodec {
+
+  private static final byte NULL = 0;
+  private static final byte STRING = 1;
+  private static final byte INT = 2;
+  private static final byte LONG = 3;
+  private static final byte FLOAT = 4;
+  private static final byte DOUBLE = 5;
+  private static final byte BOOLEAN = 6;
+  private static final byte SHORT = 7;
+  private static final byte BYTE = 8;
+  private static final byte MAP = 9;
+  private static final byte LIST = 10;
+  private static final byte OBJECT = 11;
+
+  private ValueCodec() {
+
+  }
+
+  static void writeMap(Map<String, Object> map, DataOutputView target) throws IOException {
+    target.writeInt(map.size());
+    for (Map.Entry<String, Object> entry : map.entrySet()) {
+      StringValue.writeString(entry.getKey(), target);
+      writeValue(entry.getValue(), target);
+    }
+  }
+
+  static Map<String, Object> readMap(DataInputView source) throws IOException {
+    int size = source.readInt();
+    Map<String, Object> map = new LinkedHashMap<>(capacity(size));
+    for (int i = 0; i < size; i++) {
+      map.put(StringValue.readString(source), readValue(source));
+    }
+    return map;
+  }
+
+  @SuppressWarnings("unchecked")
+  static void writeValue(Object value, DataOutputView target) throws IOException {
+    if (value == null) {
+      target.writeByte(NULL);
+    } else if (value instanceof String) {
+      target.writeByte(STRING);
+      StringValue.writeString((String) value, target);
+    } else if (value instanceof Integer) {
+      target.writeByte(INT);
+      target.writeInt((Integer) value);
+    } else if (value instanceof Long) {
+      target.writeByte(LONG);
+      target.writeLong((Long) value);
+    } else if (value instanceof Float) {
+      target.writeByte(FLOAT);
+      target.writeFloat((Float) value);
+    } else if (value instanceof Double) {
+      target.writeByte(DOUBLE);
+      target.writeDouble((Double) value);
+    } else if (value instanceof Boolean) {
+      target.writeByte(BOOLEAN);
+      target.writeBoolean((Boolean) value);
+    } else if (value instanceof Short) {
+      target.writeByte(SHORT);
+      target.writeShort((Short) value);
+    } else if (value instanceof Byte) {
+      target.writeByte(BYTE);
+      target.writeByte((Byte) value);
+    } else if (value instanceof Map) {
+      target.writeByte(MAP);
+      writeMap((Map<String, Object>) value, target);
+    } else if (value instanceof List) {
+      target.writeByte(LIST);
+      List<Object> list = (List<Object>) value;
+      target.writeInt(list.size());
+      for (Object item : list) {
+        writeValue(item, target);
+      }
+    } else {
+      target.writeByte(OBJECT);
+      byte[] bytes = InstantiationUtil.serializeObject(value);
+      target.writeInt(bytes.length);
+      target.write(bytes);
+    }
+  }
+
+  static Object readValue(DataInputView source) throws IOException {
+    byte tag = source.readByte();
+    switch (tag) {
+      case NULL:
+        return null;
+      case STRING:
+        return StringValue.readString(source);
+      case INT:
+        return source.readInt();
+      case LONG:
+        return source.readLong();
+      case FLOAT:
+        return source.readFloat();
+      case DOUBLE:
+        return source.readDouble();
+      case BOOLEAN:
+        return source.readBoolean();
+      case SHORT:
+        return source.readShort();
+      case BYTE:
+        return source.readByte();
+      case MAP:
+        return readMap(source);
+      case LIST:
+        int size = source.readInt();
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          list.add(readValue(source));
+        }
+        return list;
+      case OBJECT:
+        byte[] bytes = new byte[source.readInt()];
+        source.readFully(bytes);
+        try {
+          return InstantiationUtil.deserializeObject(bytes,
+                  Thread.currentThread().getContextClassLoader());
+        } catch (ClassNotFoundException e) {
+          throw new IOException(e);
+        }
+      default:
+        throw new IOException("Unknown value tag " + tag);
+    }
+  }
+
+  /**
+   * Deep-copies nested maps and lists, all other values are treated as immutable.
+   */
+  @SuppressWarnings("unchecked")
+  static Object copyValue(Object value) {
+    if (value instanceof Map) {
+      return copyMap((Map<String, Object>) value);
+    } else if (value instanceof List) {
+      List<Object> list = (List<Object>) value;
+      List<Object> copy = new ArrayList<>(list.size());
+      for (Object item : list) {
+        copy.add(copyValue(item));
+      }
+      return copy;
+    } else {
+      return value;
+    }
+  }
+
+  static Map<String, Object> copyMap(Map<String, Object> map) {
+    Map<String, Object> copy = new LinkedHashMap<>(capacity(map.size()));
+    for (Map.Entry<String, Object> entry : map.entrySet()) {
+      copy.put(entry.getKey(), copyValue(entry.getValue()));
+    }
+    return copy;
+  }
+
+  static void writeNullableString(String value, DataOutputView target) throws IOException {
+    target.writeBoolean(value != null);
+    if (value != null) {
+      StringValue.writeString(value, target);
+    }
+  }
+
+  static String readNullableString(DataInputView source) throws IOException {
+    return source.readBoolean() ? StringValue.readString(source) : null;
+  }
+
+  static int capacity(int size) {
+    return (int) (size / 0.75f) + 1;
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.flink.typeinfo;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.TypeSerializerSchemaCompatibility;
+import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.ListField;
+import org.apache.streampipes.model.runtime.field.NestedField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestEventSerializer {
+
+  private final SourceInfo first = new SourceInfo("first", "s0");
+  private final SourceInfo second = new SourceInfo("second", "s1");
+  private final SchemaInfo firstSchema = new SchemaInfo(new EventSchema(), Collections.emptyList());
+  private final SchemaInfo secondSchema = new SchemaInfo(new EventSchema(), Collections.emptyList());
+
+  private final EventSerializer serializer = new EventSerializer(Arrays.asList(first, second),
+          Arrays.asList(firstSchema, secondSchema));
+
+  @Test
+  public void testRoundTripOfKnownSource() throws IOException {
+    Event event = new Event(makeFields(), second, secondSchema);
+
+    Event result = roundTrip(serializer, serializer, event);
+
+    assertSame(second, result.getSourceInfo());
+    assertSame(secondSchema, result.getSchemaInfo());
+    assertEquals(event.getRaw(), result.getRaw());
+  }
+
+  @Test
+  public void testRoundTripOfMergedEventKeepsSchemaInfo() throws IOException {
+    SchemaInfo mergedSchema = new SchemaInfo(new EventSchema(),
+            Collections.singletonList(new PropertyRenameRule("s0::temperature", "temperature")));
+    Event event = new Event(makeFields(), new SourceInfo(null, null), mergedSchema);
+
+    Event result = roundTrip(serializer, serializer, event);
+
+    assertNull(result.getSourceInfo().getSourceId());
+    assertEquals(1, result.getSchemaInfo().getRenameRules().size());
+    assertEquals("temperature", result.getSchemaInfo().getRenameRules().get(0).getNewRuntimeName());
+    assertEquals(event.getRaw(), result.getRaw());
+  }
+
+  @Test
+  public void testRegisteredMergedSchemaIsReferenced() throws IOException {
+    SchemaInfo registered = new SchemaInfo(new EventSchema(),
+            Collections.singletonList(new PropertyRenameRule("s0::temperature", "temperature")));
+    EventSerializer withMergedSchema = new EventSerializer(Arrays.asList(first, second),
+            Arrays.asList(firstSchema, secondSchema), Collections.singletonList(registered));
+    SchemaInfo mergedSchema = new SchemaInfo(new EventSchema(),
+            Collections.singletonList(new PropertyRenameRule("s0::temperature", "temperature")));
+    Event event = new Event(makeFields(), new SourceInfo(null, null), mergedSchema);
+
+    Event result = roundTrip(withMergedSchema, withMergedSchema, event);
+
+    assertSame(registered, result.getSchemaInfo());
+    assertEquals(event.getRaw(), result.getRaw());
+    assertTrue(serializedSize(withMergedSchema, event) < serializedSize(serializer, event));
+  }
+
+  @Test
+  public void testMergedSchemaWithOtherRenameRulesIsWrittenInline() throws IOException {
+    SchemaInfo registered = new SchemaInfo(new EventSchema(),
+            Collections.singletonList(new PropertyRenameRule("s0::temperature", "temperature")));
+    EventSerializer withMergedSchema = new EventSerializer(Arrays.asList(first, second),
+            Arrays.asList(firstSchema, secondSchema), Collections.singletonList(registered));
+    SchemaInfo mergedSchema = new SchemaInfo(new EventSchema(),
+            Collections.singletonList(new PropertyRenameRule("s0::temperature", "temp")));
+    Event event = new Event(makeFields(), new SourceInfo(null, null), mergedSchema);
+
+    Event result = roundTrip(withMergedSchema, withMergedSchema, event);
+
+    assertNotSame(registered, result.getSchemaInfo());
+    assertEquals("temp", result.getSchemaInfo().getRenameRules().get(0).getNewRuntimeName());
+  }
+
+  @Test
+  public void testRoundTripWithoutSource() throws IOException {
+    Event event = new Event(makeFields(), null, firstSchema);
+
+    Event result = roundTrip(serializer, serializer, event);
+
+    assertNull(result.getSourceInfo());
+    assertEquals(firstSchema, result.getSchemaInfo());
+  }
+
+  @Test
+  public void testCopyIsDeep() {
+    Event event = new Event(makeFields(), first, firstSchema);
+
+    Event copy = serializer.copy(event);
+
+    assertEquals(event.getRaw(), copy.getRaw());
+    assertNotSame(event.getFields().get("s0::nested"), copy.getFields().get("s0::nested"));
+  }
+
+  @Test
+  public void testRestoredSnapshotIsCompatibleAsIs() throws IOException {
+    TypeSerializerSnapshot<Event> snapshot = restoreSnapshot(serializer);
+
+    TypeSerializerSchemaCompatibility<Event> compatibility = snapshot.resolveSchemaCompatibility(
+            new EventSerializer(Arrays.asList(new SourceInfo("first", "s0"), new SourceInfo("second", "s1")),
+                    Arrays.asList(firstSchema, secondSchema)));
+
+    assertTrue(compatibility.isCompatibleAsIs());
+  }
+
+  @Test
+  public void testReorderedSourcesAreMigrated() throws IOException {
+    EventSerializer reordered = new EventSerializer(Arrays.asList(second, first),
+            Arrays.asList(secondSchema, firstSchema));
+    TypeSerializerSnapshot<Event> snapshot = restoreSnapshot(serializer);
+
+    assertTrue(snapshot.resolveSchemaCompatibility(reordered).isCompatibleAfterMigration());
+
+    Event event = new Event(makeFields(), first, firstSchema);
+    Event migrated = roundTrip(serializer, snapshot.restoreSerializer(), event);
+    Event result = roundTrip(reordered, reordered, migrated);
+
+    assertEquals("first", result.getSourceInfo().getSourceId());
+    assertEquals(event.getRaw(), result.getRaw());
+  }
+
+  @Test
+  public void testOtherSerializerIsIncompatible() throws IOException {
+    TypeSerializerSnapshot<Event> snapshot = restoreSnapshot(serializer);
+
+    @SuppressWarnings("unchecked")
+    TypeSerializer<Event> other = (TypeSerializer<Event>) (TypeSerializer<?>) RawEventSerializer.INSTANCE;
+
+    assertTrue(snapshot.resolveSchemaCompatibility(other).isIncompatible());
+  }
+
+  /**
+   * Serializes the event with the writer, deserializes it with the reader and serializes it again
+   * with the reader to check that the reader consumed exactly the bytes written.
+   */
+  private Event roundTrip(TypeSerializer<Event> writer, TypeSerializer<Event> reader, Event event)
+          throws IOException {
+    DataOutputSerializer out = new DataOutputSerializer(256);
+    writer.serialize(event, out);
+    writer.serialize(event, out);
+    DataInputDeserializer in = new DataInputDeserializer(out.getCopyOfBuffer());
+    Event result = reader.deserialize(in);
+    reader.deserialize(in);
+    assertEquals(0, in.available());
+    return result;
+  }
+
+  private int serializedSize(TypeSerializer<Event> writer, Event event) throws IOException {
+    DataOutputSerializer out = new DataOutputSerializer(256);
+    writer.serialize(event, out);
+    return out.length();
+  }
+
+  private TypeSerializerSnapshot<Event> restoreSnapshot(TypeSerializer<Event> serializer) throws IOException {
+    TypeSerializerSnapshot<Event> snapshot = serializer.snapshotConfiguration();
+    DataOutputSerializer out = new DataOutputSerializer(256);
+    snapshot.writeSnapshot(out);
+
+    TypeSerializerSnapshot<Event> restored = new EventSerializer.EventSerializerSnapshot();
+    restored.readSnapshot(snapshot.getCurrentVersion(), new DataInputDeserializer(out.getCopyOfBuffer()),
+            getClass().getClassLoader());
+    return restored;
+  }
+
+  private Map<String, AbstractField> makeFields() {
+    Map<String, AbstractField> nested = new LinkedHashMap<>();
+    nested.put("s0::nested::name", new PrimitiveField("name", "name", "sensor"));
+
+    Map<String, AbstractField> fields = new LinkedHashMap<>();
+    fields.put("s0::temperature", new PrimitiveField("temperature", "temperature", 21.5));
+    fields.put("s0::count", new PrimitiveField("count", "count", 3));
+    fields.put("s0::timestamp", new PrimitiveField("timestamp", "timestamp", 1L));
+    fields.put("s0::active", new PrimitiveField("active", "active", true));
+    fields.put("s0::nested", new NestedField("nested", "nested", nested));
+    fields.put("s0::list", new ListField("list", "list", Arrays.asList(
+            new PrimitiveField("list", "list", 1.0f), new PrimitiveField("list", "list", 2.0f))));
+    return fields;
+  }
+}
@@ -19,16 +19,18 @@ package org.apache.streampipes.wrapper.kafka;
 
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.kstream.Consumed;
 import org.apache.kafka.streams.kstream.KStream;
-import org.apache.kafka.streams.kstream.ValueMapper;
+import org.apache.kafka.streams.kstream.Produced;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.logging.impl.EventStatisticLogger;
 import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
 import org.apache.streampipes.model.grounding.SimpleTopicDefinition;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
-import org.apache.streampipes.wrapper.kafka.converter.JsonToMapFormat;
-import org.apache.streampipes.wrapper.kafka.converter.MapToJsonFormat;
+import org.apache.streampipes.wrapper.kafka.serde.MapSerde;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 import org.apache.streampipes.wrapper.params.runtime.EventProcessorRuntimeParams;
 
@@ -53,21 +55,23 @@ public abstract class KafkaStreamsDataProcessorRuntime<B extends
       StreamsBuilder builder = new StreamsBuilder();
       SpDataStream inputStream = runtimeParams.getBindingParams().getGraph().getInputStreams().get(0);
       TransportProtocol protocol = protocol(inputStream);
-      KStream<String, String> stream ;
+      Consumed<String, Map<String, Object>> consumed = Consumed.with(Serdes.String(), getMapSerde(inputStream));
+      KStream<String, Map<String, Object>> stream;
 
       if (protocol.getTopicDefinition() instanceof SimpleTopicDefinition) {
-        stream = builder.stream(getTopic(inputStream));
+        stream = builder.stream(getTopic(inputStream), consumed);
       } else {
-        stream = builder.stream(Pattern.compile(replaceWildcardWithPatternFormat(getTopic(inputStream))));
+        stream = builder.stream(Pattern.compile(replaceWildcardWithPatternFormat(getTopic(inputStream))),
+                consumed);
       }
 
-      KStream<String, Map<String, Object>> mapFormat = stream.flatMapValues((ValueMapper<String, Iterable<Map<String,
-              Object>>>) s -> new JsonToMapFormat(getGraph()).apply(s));
+      DataProcessorInvocation graph = getGraph();
+      stream = stream.peek((key, event) -> EventStatisticLogger.log(graph.getName(),
+              graph.getCorrespondingPipeline(), graph.getUri()));
 
-      KStream<String, String> outStream = getApplicationLogic(mapFormat).flatMapValues(new
-              MapToJsonFormat());
-      outStream.to(getTopic(runtimeParams.getBindingParams().getGraph()
-              .getOutputStream()));
+      SpDataStream outputStream = runtimeParams.getBindingParams().getGraph().getOutputStream();
+      MapSerde outputSerde = getMapSerde(outputStream);
+      getApplicationLogic(stream).to(getTopic(outputStream), Produced.with(Serdes.String(), outputSerde));
       streams = new KafkaStreams(builder.build(), config);
 
       streams.start();
@@ -20,11 +20,15 @@ package org.apache.streampipes.wrapper.kafka;
 import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.errors.LogAndContinueExceptionHandler;
 import org.apache.kafka.streams.kstream.KStream;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.wrapper.context.RuntimeContext;
 import org.apache.streampipes.wrapper.distributed.runtime.DistributedRuntime;
+import org.apache.streampipes.wrapper.kafka.serde.EventSerde;
+import org.apache.streampipes.wrapper.kafka.serde.MapSerde;
 import org.apache.streampipes.wrapper.params.binding.BindingParams;
 import org.apache.streampipes.wrapper.params.runtime.RuntimeParams;
 
@@ -35,6 +39,9 @@ public abstract class KafkaStreamsRuntime<RP extends RuntimeParams<B, I, RC>, B
         BindingParams<I>, I extends InvocableStreamPipesEntity, RC extends RuntimeContext> extends
         DistributedRuntime<RP, B, I, RC> {
 
+  private static final String NUM_STREAM_THREADS_ENV = "SP_KAFKA_STREAMS_NUM_THREADS";
+  private static final String EXACTLY_ONCE_ENV = "SP_KAFKA_STREAMS_EXACTLY_ONCE";
+
   Properties config;
   KafkaStreams streams;
 
@@ -51,7 +58,43 @@ public abstract class KafkaStreamsRuntime<RP extends RuntimeParams<B, I, RC>, B
     config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, getKafkaUrl(runtimeParams.getBindingParams().getGraph()
             .getInputStreams().get(0)));
     config.put(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, Serdes.String().getClass());
-    config.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, Serdes.String().getClass());
+    config.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, Serdes.ByteArray().getClass());
+    config.put(StreamsConfig.DEFAULT_DESERIALIZATION_EXCEPTION_HANDLER_CLASS_CONFIG,
+            LogAndContinueExceptionHandler.class);
+    config.put(StreamsConfig.NUM_STREAM_THREADS_CONFIG, getNumStreamThreads());
+    config.put(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, isExactlyOnce() ? StreamsConfig.EXACTLY_ONCE :
+            StreamsConfig.AT_LEAST_ONCE);
+  }
+
+  /**
+   * The number of stream threads of this runtime, defaults to the SP_KAFKA_STREAMS_NUM_THREADS
+   * environment variable or a single thread.
+   */
+  protected int getNumStreamThreads() {
+    String numThreads = System.getenv(NUM_STREAM_THREADS_ENV);
+    try {
+      return numThreads != null ? Integer.parseInt(numThreads) : 1;
+    } catch (NumberFormatException e) {
+      return 1;
+    }
+  }
+
+  /**
+   * Whether records are processed exactly once, defaults to the SP_KAFKA_STREAMS_EXACTLY_ONCE
+   * environment variable. Exactly-once processing requires brokers of version 0.11 or newer.
+   */
+  protected boolean isExactlyOnce() {
+    return Boolean.parseBoolean(System.getenv(EXACTLY_ONCE_ENV));
+  }
+
+  protected MapSerde getMapSerde(SpDataStream stream) {
+    return new MapSerde(getDataFormatDefinition(stream.getEventGrounding().getTransportFormats().get(0)));
+  }
+
+  protected EventSerde getEventSerde(Integer inputStreamIndex) {
+    SpDataStream stream = getGraph().getInputStreams().get(inputStreamIndex);
+    return new EventSerde(getDataFormatDefinition(stream.getEventGrounding().getTransportFormats().get(0)),
+            runtimeParams, runtimeParams.getSourceInfo(inputStreamIndex).getSourceId());
   }
 
   private String gneerateApplicationId(String elementId) {
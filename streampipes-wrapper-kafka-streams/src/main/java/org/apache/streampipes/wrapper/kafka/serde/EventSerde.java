@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.kafka.serde;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.wrapper.params.runtime.RuntimeParams;
+
+/**
+ * Serde of runtime events, encoded with the data format of the stream's transport format.
+ * Deserialized events belong to the input stream with the given source id.
+ */
+public class EventSerde implements Serde<Event> {
+
+  private final SpDataFormatDefinition dataFormatDefinition;
+  private final RuntimeParams<?, ?, ?> runtimeParams;
+  private final String sourceId;
+
+  public EventSerde(SpDataFormatDefinition dataFormatDefinition,
+                    RuntimeParams<?, ?, ?> runtimeParams,
+                    String sourceId) {
+    this.dataFormatDefinition = dataFormatDefinition;
+    this.runtimeParams = runtimeParams;
+    this.sourceId = sourceId;
+  }
+
+  @Override
+  public Serializer<Event> serializer() {
+    return (topic, event) -> {
+      if (event == null) {
+        return null;
+      }
+      try {
+        return dataFormatDefinition.fromEvent(event);
+      } catch (SpRuntimeException e) {
+        throw new SerializationException("Could not serialize event for topic " + topic, e);
+      }
+    };
+  }
+
+  @Override
+  public Deserializer<Event> deserializer() {
+    return (topic, data) -> {
+      if (data == null) {
+        return null;
+      }
+      try {
+        return runtimeParams.makeEvent(data, dataFormatDefinition, sourceId);
+      } catch (SpRuntimeException e) {
+        throw new SerializationException("Could not deserialize event of topic " + topic, e);
+      }
+    };
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.kafka.serde;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+
+import java.util.Map;
+
+/**
+ * Serde of raw (map-based) events, encoded with the data format of the stream's transport format.
+ */
+public class MapSerde implements Serde<Map<String, Object>> {
+
+  private final SpDataFormatDefinition dataFormatDefinition;
+
+  public MapSerde(SpDataFormatDefinition dataFormatDefinition) {
+    this.dataFormatDefinition = dataFormatDefinition;
+  }
+
+  @Override
+  public Serializer<Map<String, Object>> serializer() {
+    return (topic, event) -> {
+      if (event == null) {
+        return null;
+      }
+      try {
+        return dataFormatDefinition.fromMap(event);
+      } catch (SpRuntimeException e) {
+        throw new SerializationException("Could not serialize event for topic " + topic, e);
+      }
+    };
+  }
+
+  @Override
+  public Deserializer<Map<String, Object>> deserializer() {
+    return (topic, data) -> {
+      if (data == null) {
+        return null;
+      }
+      try {
+        return dataFormatDefinition.toMap(data);
+      } catch (SpRuntimeException e) {
+        throw new SerializationException("Could not deserialize event of topic " + topic, e);
+      }
+    };
+  }
+}
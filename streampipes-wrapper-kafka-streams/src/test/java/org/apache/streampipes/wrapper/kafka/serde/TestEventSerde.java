@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.kafka.serde;
+
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.dataformat.cbor.CborDataFormatDefinition;
+import org.apache.streampipes.dataformat.json.JsonDataFormatDefinition;
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.graph.DataSinkInvocation;
+import org.apache.streampipes.model.grounding.EventGrounding;
+import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.vocabulary.MessageFormat;
+import org.apache.streampipes.vocabulary.XSD;
+import org.apache.streampipes.wrapper.params.binding.EventSinkBindingParams;
+import org.apache.streampipes.wrapper.params.runtime.EventSinkRuntimeParams;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestEventSerde {
+
+  private static final String TOPIC = "org.apache.streampipes.test";
+
+  @Test
+  public void testJsonRoundTrip() {
+    assertRoundTrip(new JsonDataFormatDefinition(), false);
+  }
+
+  @Test
+  public void testCborRoundTrip() {
+    assertRoundTrip(new CborDataFormatDefinition(), false);
+  }
+
+  @Test
+  public void testRoundTripWithCompiledLayouts() {
+    assertRoundTrip(new JsonDataFormatDefinition(), true);
+    assertRoundTrip(new CborDataFormatDefinition(), true);
+  }
+
+  private void assertRoundTrip(SpDataFormatDefinition dataFormatDefinition, boolean compileLayouts) {
+    EventSinkRuntimeParams<EventSinkBindingParams> runtimeParams = makeRuntimeParams();
+    if (compileLayouts) {
+      runtimeParams.compileEventLayouts();
+    }
+    String sourceId = runtimeParams.getSourceInfo(0).getSourceId();
+    EventSerde serde = new EventSerde(dataFormatDefinition, runtimeParams, sourceId);
+
+    Map<String, Object> raw = new HashMap<>();
+    raw.put("timestamp", 1600000000000L);
+    raw.put("temperature", 21.5);
+    Event event = runtimeParams.makeEvent(raw, sourceId);
+
+    Event result = serde.deserializer().deserialize(TOPIC,
+            serde.serializer().serialize(TOPIC, event));
+
+    assertEquals(sourceId, result.getSourceInfo().getSourceId());
+    assertEquals(1600000000000L, result.getFieldBySelector("s0::timestamp").getAsPrimitive().getAsLong()
+            .longValue());
+    assertEquals(21.5, result.getFieldBySelector("s0::temperature").getAsPrimitive().getAsDouble(), 0.0);
+  }
+
+  private EventSinkRuntimeParams<EventSinkBindingParams> makeRuntimeParams() {
+    EventSchema schema = new EventSchema(Arrays.<EventProperty>asList(
+            new EventPropertyPrimitive(XSD._long.toString(), "timestamp", "", Collections.emptyList()),
+            new EventPropertyPrimitive(XSD._double.toString(), "temperature", "", Collections.emptyList())));
+
+    SpDataStream stream = new SpDataStream();
+    stream.setEventSchema(schema);
+    stream.setEventGrounding(new EventGrounding(new KafkaTransportProtocol("localhost", 9092, TOPIC),
+            new TransportFormat(MessageFormat.Json)));
+
+    DataSinkInvocation graph = new DataSinkInvocation();
+    graph.setInputStreams(Collections.singletonList(stream));
+
+    return new EventSinkRuntimeParams<>(new EventSinkBindingParams(graph), false);
+  }
+}
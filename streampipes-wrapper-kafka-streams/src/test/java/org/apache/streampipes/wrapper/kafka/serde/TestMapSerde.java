@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.kafka.serde;
+
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.dataformat.cbor.CborDataFormatDefinition;
+import org.apache.streampipes.dataformat.json.JsonDataFormatDefinition;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TestMapSerde {
+
+  @Test
+  public void testJsonRoundTrip() {
+    assertRoundTrip(new JsonDataFormatDefinition());
+  }
+
+  @Test
+  public void testCborRoundTrip() {
+    assertRoundTrip(new CborDataFormatDefinition());
+  }
+
+  @Test
+  public void testNullIsPassedThrough() {
+    MapSerde serde = new MapSerde(new JsonDataFormatDefinition());
+
+    assertNull(serde.serializer().serialize("topic", null));
+    assertNull(serde.deserializer().deserialize("topic", null));
+  }
+
+  private void assertRoundTrip(SpDataFormatDefinition dataFormatDefinition) {
+    MapSerde serde = new MapSerde(dataFormatDefinition);
+    Map<String, Object> event = makeEvent();
+
+    byte[] data = serde.serializer().serialize("topic", event);
+
+    assertEquals(event, serde.deserializer().deserialize("topic", data));
+  }
+
+  private Map<String, Object> makeEvent() {
+    Map<String, Object> nested = new HashMap<>();
+    nested.put("name", "sensor");
+
+    Map<String, Object> event = new HashMap<>();
+    event.put("timestamp", 1600000000000L);
+    event.put("temperature", 21.5);
+    event.put("active", true);
+    event.put("nested", nested);
+    event.put("values", Arrays.asList("a", "b"));
+    return event;
+  }
+}
@@ -19,10 +19,15 @@ package org.apache.streampipes.wrapper.siddhi.engine;
 
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.CannotClearSiddhiAppStateException;
+import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.snapshot.PersistenceReference;
 import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.definition.StreamDefinition;
+import org.apache.streampipes.model.Response;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
@@ -36,24 +41,35 @@ import org.apache.streampipes.wrapper.siddhi.utils.SiddhiUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class SiddhiEngine {
 
   private static final Logger LOG = LoggerFactory.getLogger(SiddhiEngine.class);
 
+  private static final long SNAPSHOT_TIMEOUT_SECONDS = 30;
+
   private SiddhiAppRuntime siddhiAppRuntime;
   private final Map<String, InputHandler> siddhiInputHandlers;
+  private final Map<String, SiddhiInputProjection> inputProjections;
   private Map<String, List<EventPropertyDef>> typeInfo;
 
   private Boolean debugMode;
   private SiddhiDebugCallback debugCallback;
 
+  private ScheduledFuture<?> snapshotTask;
+
   public SiddhiEngine() {
     this.siddhiInputHandlers = new HashMap<>();
+    this.inputProjections = new HashMap<>();
     this.debugMode = false;
   }
 
@@ -80,6 +96,11 @@ public class SiddhiEngine {
               String preparedKey = SiddhiUtils.prepareName(key);
               siddhiInputHandlers.put(key, siddhiAppRuntime.getInputHandler(preparedKey));
             });
+    params.getInputStreamParams().forEach(is -> {
+      String sourceId = is.getSourceInfo().getSourceId();
+      inputProjections.put(sourceId, new SiddhiInputProjection(is.getSourceInfo().getSelectorPrefix(),
+              typeInfo.get(sourceId)));
+    });
 
     StreamCallback callback;
     Map<String, StreamDefinition> streamDef = siddhiAppRuntime.getStreamDefinitionMap();
@@ -96,28 +117,140 @@ public class SiddhiEngine {
     System.out.println(SiddhiUtils.getPreparedOutputTopicName(params));
     siddhiAppRuntime.addCallback(SiddhiUtils.getPreparedOutputTopicName(params), callback);
     siddhiAppRuntime.start();
+
+    if (!debugMode) {
+      restoreState();
+      this.snapshotTask = SpSiddhiManager.INSTANCE.scheduleSnapshots(this::persistState);
+    }
+  }
+
+  private void restoreState() {
+    try {
+      String revision = siddhiAppRuntime.restoreLastRevision();
+      if (revision != null) {
+        LOG.info("Restored state of Siddhi app {} from revision {}", siddhiAppRuntime.getName(), revision);
+      }
+    } catch (CannotRestoreSiddhiAppStateException e) {
+      LOG.warn("Could not restore state of Siddhi app {}, starting without previous state",
+              siddhiAppRuntime.getName(), e);
+      clearState();
+    }
+  }
+
+  private PersistenceReference persistState() {
+    try {
+      return siddhiAppRuntime.persist();
+    } catch (RuntimeException e) {
+      LOG.warn("Could not persist state of Siddhi app {}", siddhiAppRuntime.getName(), e);
+      return null;
+    }
+  }
+
+  private void awaitPersisted(PersistenceReference reference) {
+    List<Future> futures = new ArrayList<>();
+    if (reference.getFullStateFuture() != null) {
+      futures.add(reference.getFullStateFuture());
+    }
+    if (reference.getIncrementalStateFuture() != null) {
+      futures.addAll(reference.getIncrementalStateFuture());
+    }
+    for (Future future : futures) {
+      try {
+        future.get(SNAPSHOT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (ExecutionException | TimeoutException e) {
+        LOG.warn("Could not persist state of Siddhi app {}", siddhiAppRuntime.getName(), e);
+      }
+    }
+  }
+
+  private void clearState() {
+    try {
+      siddhiAppRuntime.clearAllRevisions();
+    } catch (CannotClearSiddhiAppStateException e) {
+      LOG.warn("Could not clear state of Siddhi app {}", siddhiAppRuntime.getName(), e);
+    }
   }
 
   public void processEvent(org.apache.streampipes.model.runtime.Event event) {
     try {
       String sourceId = event.getSourceInfo().getSourceId();
-      InputHandler inputHandler = siddhiInputHandlers.get(sourceId);
-      List<String> eventKeys = this.typeInfo
-              .get(sourceId)
-              .stream()
-              .map(EventPropertyDef::getFieldName)
-              .collect(Collectors.toList());
-
-      inputHandler.send(SiddhiUtils.toObjArr(eventKeys, event.getRaw()));
+      siddhiInputHandlers.get(sourceId).send(inputProjections.get(sourceId).toAttributeValues(event));
     } catch (InterruptedException e) {
       e.printStackTrace();
     }
   }
 
+  /**
+   * Sends each run of consecutive events from the same source to Siddhi as one batch.
+   */
+  public void processEvents(List<org.apache.streampipes.model.runtime.Event> events) {
+    try {
+      int start = 0;
+      while (start < events.size()) {
+        String sourceId = events.get(start).getSourceInfo().getSourceId();
+        int end = start + 1;
+        while (end < events.size() && sourceId.equals(events.get(end).getSourceInfo().getSourceId())) {
+          end++;
+        }
+
+        SiddhiInputProjection projection = inputProjections.get(sourceId);
+        long timestamp = System.currentTimeMillis();
+        Event[] siddhiEvents = new Event[end - start];
+        for (int i = start; i < end; i++) {
+          siddhiEvents[i - start] = new Event(timestamp, projection.toAttributeValues(events.get(i)));
+        }
+        siddhiInputHandlers.get(sourceId).send(siddhiEvents);
+        start = end;
+      }
+    } catch (InterruptedException e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Stops the Siddhi app of a detached pipeline element after a final snapshot, so that the state
+   * is restored when the same instance is invoked again (e.g., after the extensions service is
+   * restarted). The state is only deleted through {@link #discardState(String)}.
+   */
   public void shutdownEngine() {
+    if (snapshotTask != null) {
+      snapshotTask.cancel(false);
+      try {
+        PersistenceReference reference = SpSiddhiManager.INSTANCE.runAfterSnapshots(this::persistState)
+                .get(SNAPSHOT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (reference != null) {
+          awaitPersisted(reference);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException | TimeoutException e) {
+        LOG.warn("Could not persist state of Siddhi app {}", siddhiAppRuntime.getName(), e);
+      }
+    }
     this.siddhiAppRuntime.shutdown();
   }
 
+  /**
+   * Deletes the persisted state of a stopped pipeline element instance, e.g., once its pipeline is
+   * deleted.
+   */
+  public static Response discardState(String runningInstanceId) {
+    try {
+      SpSiddhiManager.INSTANCE.discardState(SiddhiUtils.makeAppName(runningInstanceId))
+              .get(SNAPSHOT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      return new Response(runningInstanceId, true);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new Response(runningInstanceId, false, e.getMessage());
+    } catch (ExecutionException | TimeoutException e) {
+      LOG.warn("Could not discard state of pipeline element instance {}", runningInstanceId, e);
+      return new Response(runningInstanceId, false, e.getMessage());
+    }
+  }
+
 //  public void setSortedEventKeys(List<String> sortedEventKeys) {
 //    String streamId = (String) this.listOfEventKeys.keySet().toArray()[0];    // only reliable if there is only one stream, else use changeEventKeys() to respective streamId
 //    changeEventKeys(streamId, sortedEventKeys);
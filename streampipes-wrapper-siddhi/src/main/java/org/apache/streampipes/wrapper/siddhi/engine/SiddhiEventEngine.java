@@ -20,15 +20,17 @@ package org.apache.streampipes.wrapper.siddhi.engine;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
-import org.apache.streampipes.wrapper.runtime.EventProcessor;
+import org.apache.streampipes.wrapper.runtime.BatchEventProcessor;
 import org.apache.streampipes.wrapper.siddhi.engine.callback.SiddhiDebugCallback;
 import org.apache.streampipes.wrapper.siddhi.engine.generator.SiddhiInvocationConfigGenerator;
 import org.apache.streampipes.wrapper.siddhi.utils.SiddhiUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 public abstract class SiddhiEventEngine<B extends EventProcessorBindingParams> implements
-        EventProcessor<B>, SiddhiStatementGenerator<B> {
+        BatchEventProcessor<B>, SiddhiStatementGenerator<B> {
 
   private static final Logger LOG = LoggerFactory.getLogger(SiddhiEventEngine.class);
 
@@ -54,6 +56,11 @@ public abstract class SiddhiEventEngine<B extends EventProcessorBindingParams> i
     this.siddhiEngine.processEvent(event);
   }
 
+  @Override
+  public void onEvents(List<org.apache.streampipes.model.runtime.Event> events, SpOutputCollector collector) {
+    this.siddhiEngine.processEvents(events);
+  }
+
   @Override
   public void onDetach() {
     this.siddhiEngine.shutdownEngine();
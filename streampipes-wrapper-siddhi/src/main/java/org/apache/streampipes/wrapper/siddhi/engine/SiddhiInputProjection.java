@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.siddhi.engine;
+
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.runtime.CompiledEvent;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+import org.apache.streampipes.wrapper.siddhi.model.EventPropertyDef;
+
+import java.util.List;
+
+/**
+ * Maps the fields of the events of one input stream to the attribute positions of the
+ * corresponding Siddhi stream, resolved once when the engine is initialized. The attributes are the
+ * top-level properties of the stream, so that each one is looked up by its selector and events
+ * without a property yield a null attribute. Events compiled against an {@link EventLayout} are read
+ * by the slots of the selectors, resolved once per layout.
+ */
+class SiddhiInputProjection {
+
+  private final String[] selectors;
+
+  private EventLayout layout;
+  private int[] slots;
+
+  SiddhiInputProjection(String selectorPrefix, List<EventPropertyDef> attributes) {
+    this.selectors = new String[attributes.size()];
+    for (int i = 0; i < attributes.size(); i++) {
+      this.selectors[i] = selectorPrefix + PropertySelectorConstants.PROPERTY_DELIMITER
+              + attributes.get(i).getFieldName();
+    }
+  }
+
+  Object[] toAttributeValues(Event event) {
+    Object[] values = new Object[selectors.length];
+    EventConverter converter = null;
+    int[] layoutSlots = event instanceof CompiledEvent ? getSlots(((CompiledEvent) event)
+            .getLayout()) : null;
+    for (int i = 0; i < selectors.length; i++) {
+      AbstractField field = layoutSlots != null ? getField((CompiledEvent) event, layoutSlots[i],
+              selectors[i]) : event.getFields().get(selectors[i]);
+      if (field == null) {
+        continue;
+      }
+      if (field instanceof PrimitiveField) {
+        values[i] = field.getRawValue();
+      } else {
+        if (converter == null) {
+          converter = new EventConverter(event);
+        }
+        values[i] = converter.toRawValue(field);
+      }
+    }
+    return values;
+  }
+
+  private int[] getSlots(EventLayout eventLayout) {
+    if (eventLayout != layout) {
+      int[] resolved = new int[selectors.length];
+      for (int i = 0; i < selectors.length; i++) {
+        resolved[i] = eventLayout.getSlot(selectors[i]);
+      }
+      this.slots = resolved;
+      this.layout = eventLayout;
+    }
+    return slots;
+  }
+
+  private AbstractField getField(CompiledEvent event, int slot, String selector) {
+    return slot != EventLayout.NO_SLOT ? event.getFieldBySlot(slot) : event.getFields()
+            .get(selector);
+  }
+}
@@ -18,15 +18,21 @@
 package org.apache.streampipes.wrapper.siddhi.engine;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.container.declarer.PersistentStateDeclarer;
+import org.apache.streampipes.model.Response;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
+import org.apache.streampipes.wrapper.runtime.BatchEventProcessor;
 import org.apache.streampipes.wrapper.siddhi.engine.callback.SiddhiDebugCallback;
 import org.apache.streampipes.wrapper.siddhi.engine.generator.SiddhiInvocationConfigGenerator;
 import org.apache.streampipes.wrapper.standalone.ProcessorParams;
 import org.apache.streampipes.wrapper.standalone.StreamPipesDataProcessor;
 
-public abstract class StreamPipesSiddhiProcessor extends StreamPipesDataProcessor implements SiddhiStatementGenerator<ProcessorParams> {
+import java.util.List;
+
+public abstract class StreamPipesSiddhiProcessor extends StreamPipesDataProcessor implements SiddhiStatementGenerator<ProcessorParams>,
+        BatchEventProcessor<ProcessorParams>, PersistentStateDeclarer {
 
   private SiddhiEngine siddhiEngine;
 
@@ -50,10 +56,20 @@ public abstract class StreamPipesSiddhiProcessor extends StreamPipesDataProcesso
     this.siddhiEngine.processEvent(event);
   }
 
+  @Override
+  public void onEvents(List<Event> events, SpOutputCollector collector) throws SpRuntimeException {
+    this.siddhiEngine.processEvents(events);
+  }
+
   @Override
   public void onDetach() throws SpRuntimeException {
     this.siddhiEngine.shutdownEngine();
   }
 
+  @Override
+  public Response discardState(String runningInstanceId) {
+    return SiddhiEngine.discardState(runningInstanceId);
+  }
+
 
 }
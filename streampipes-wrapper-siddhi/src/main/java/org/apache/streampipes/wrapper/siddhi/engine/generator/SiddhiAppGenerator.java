@@ -46,6 +46,10 @@ public class SiddhiAppGenerator<B extends EventProcessorBindingParams> {
   public String generateSiddhiApp() {
     LOG.info("Configuring event types for graph " + this.siddhiParams.getParams().getGraph().getName());
 
+    this.siddhiAppString
+            .append("@App:name('")
+            .append(SiddhiUtils.getAppName(this.siddhiParams.getParams()))
+            .append("')\n");
     this.siddhiParams.getEventTypeInfo().forEach(this::registerEventType);
     registerStatements(siddhiAppConfig);
 
@@ -18,18 +18,94 @@
 package org.apache.streampipes.wrapper.siddhi.manager;
 
 import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.util.persistence.IncrementalFileSystemPersistenceStore;
+import io.siddhi.core.util.persistence.IncrementalPersistenceStore;
 
+import java.io.File;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the Siddhi manager shared by all Siddhi apps of this extensions service.
+ *
+ * <p>The state of Siddhi apps is persisted to the file system by default, in the directory given by
+ * the {@code SP_SIDDHI_STATE_DIR} environment variable (which should be a mounted volume in
+ * containerized deployments) or in the user's home otherwise. A custom store can be set through
+ * {@link #setPersistenceStore(IncrementalPersistenceStore)}.
+ */
 public enum SpSiddhiManager {
 
   INSTANCE;
 
+  private static final String STATE_DIRECTORY_ENV = "SP_SIDDHI_STATE_DIR";
+  private static final String SNAPSHOT_INTERVAL_ENV = "SP_SIDDHI_SNAPSHOT_INTERVAL_SECONDS";
+  private static final long DEFAULT_SNAPSHOT_INTERVAL_SECONDS = 60;
+
   private SiddhiManager siddhiManager;
+  private final ScheduledExecutorService snapshotExecutor;
+  private volatile IncrementalPersistenceStore persistenceStore;
 
   SpSiddhiManager() {
     this.siddhiManager = new SiddhiManager();
+    setPersistenceStore(new IncrementalFileSystemPersistenceStore(getStateDirectory()));
+    this.snapshotExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "siddhi-snapshots");
+      thread.setDaemon(true);
+      return thread;
+    });
   }
 
   public SiddhiManager getSiddhiManager() {
     return siddhiManager;
   }
+
+  /**
+   * Replaces the store used to persist the (incremental) state snapshots of all Siddhi apps. Must be
+   * called before any Siddhi app is initialized.
+   */
+  public void setPersistenceStore(IncrementalPersistenceStore persistenceStore) {
+    this.siddhiManager.setIncrementalPersistenceStore(persistenceStore);
+    this.persistenceStore = persistenceStore;
+  }
+
+  public ScheduledFuture<?> scheduleSnapshots(Runnable snapshotTask) {
+    long interval = getSnapshotInterval();
+    return snapshotExecutor.scheduleWithFixedDelay(snapshotTask, interval, interval, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Runs the given task on the snapshot thread, i.e., after any snapshot currently being taken.
+   */
+  public <T> Future<T> runAfterSnapshots(Callable<T> task) {
+    return snapshotExecutor.submit(task);
+  }
+
+  /**
+   * Deletes all persisted revisions of the given (stopped) Siddhi app.
+   */
+  public Future<?> discardState(String appName) {
+    return snapshotExecutor.submit(() -> persistenceStore.clearAllRevisions(appName));
+  }
+
+  private String getStateDirectory() {
+    String stateDirectory = System.getenv(STATE_DIRECTORY_ENV);
+    if (stateDirectory == null || stateDirectory.isEmpty()) {
+      stateDirectory = System.getProperty("user.home") + File.separator + ".streampipes"
+              + File.separator + "siddhi-state";
+    }
+    return stateDirectory;
+  }
+
+  private long getSnapshotInterval() {
+    String interval = System.getenv(SNAPSHOT_INTERVAL_ENV);
+    try {
+      return interval != null ? Long.parseLong(interval) : DEFAULT_SNAPSHOT_INTERVAL_SECONDS;
+    } catch (NumberFormatException e) {
+      return DEFAULT_SNAPSHOT_INTERVAL_SECONDS;
+    }
+  }
 }
@@ -94,6 +94,30 @@ public class SiddhiUtils {
             .getActualTopicName();
   }
 
+  /**
+   * @return the Siddhi app name of the given pipeline element instance, also used as key of its
+   * persisted state.
+   */
+  public static String getAppName(EventProcessorBindingParams params) {
+    return makeAppName(getInstanceId(params.getGraph().getElementId()));
+  }
+
+  /**
+   * The app name is derived from the running instance id, which starts with the pipeline id and
+   * does not depend on the host of the extensions service.
+   */
+  public static String makeAppName(String runningInstanceId) {
+    return ("sp_" + runningInstanceId).replaceAll("[^A-Za-z0-9_]", "_");
+  }
+
+  /**
+   * @return the running instance id, i.e., the last path segment of the element id of an invoked
+   * pipeline element.
+   */
+  public static String getInstanceId(String elementId) {
+    return elementId.substring(elementId.lastIndexOf('/') + 1);
+  }
+
   public static String prepareName(String eventName) {
     return eventName
             .replaceAll("\\.", "")
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.siddhi.engine;
+
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.model.runtime.CompiledEvent;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.wrapper.siddhi.constants.SiddhiConstants;
+import org.apache.streampipes.wrapper.siddhi.model.EventPropertyDef;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestSiddhiInputProjection {
+
+  private final SiddhiInputProjection projection = new SiddhiInputProjection("s0", Arrays.asList(
+          new EventPropertyDef("s0", "nested", SiddhiConstants.SIDDHI_OBJECT_TYPE),
+          new EventPropertyDef("s0", "temperature", SiddhiConstants.SIDDHI_DOUBLE_TYPE),
+          new EventPropertyDef("s0", "timestamp", SiddhiConstants.SIDDHI_LONG_TYPE)));
+
+  @Test
+  public void testAttributesFollowDefinitionOrder() {
+    Map<String, Object> runtimeMap = new HashMap<>();
+    runtimeMap.put("timestamp", 1L);
+    runtimeMap.put("temperature", 20.5);
+
+    assertArrayEquals(new Object[]{null, 20.5, 1L}, projection.toAttributeValues(makeEvent(runtimeMap)));
+  }
+
+  @Test
+  public void testNestedAttributeKeepsInputNames() {
+    Map<String, Object> nested = new HashMap<>();
+    nested.put("value", 2);
+    Map<String, Object> runtimeMap = new HashMap<>();
+    runtimeMap.put("nested", nested);
+    runtimeMap.put("timestamp", 1L);
+
+    Event event = EventFactory.fromMap(runtimeMap, new SourceInfo("topic", "s0"), new SchemaInfo(null,
+            Collections.singletonList(new PropertyRenameRule("s0::nested::value", "renamed"))));
+    Object[] values = projection.toAttributeValues(event);
+
+    assertEquals(nested, values[0]);
+    assertEquals(null, values[1]);
+  }
+
+  @Test
+  public void testCompiledEventIsReadBySlots() {
+    Map<String, Object> nested = new HashMap<>();
+    nested.put("value", 2);
+    Map<String, Object> runtimeMap = new HashMap<>();
+    runtimeMap.put("nested", nested);
+    runtimeMap.put("temperature", 20.5);
+    runtimeMap.put("timestamp", 1L);
+
+    EventSchema schema = new EventSchema(Arrays.asList(
+            new EventPropertyNested("nested", Collections.singletonList(
+                    makePrimitive("integer", "value"))),
+            makePrimitive("double", "temperature"),
+            makePrimitive("long", "timestamp")));
+    EventLayout layout = EventLayout.compile(new SourceInfo("topic", "s0"), new SchemaInfo(schema,
+            Collections.emptyList()));
+
+    Event event = EventFactory.fromMap(runtimeMap, layout);
+    assertTrue(event instanceof CompiledEvent);
+    assertArrayEquals(new Object[]{nested, 20.5, 1L}, projection.toAttributeValues(event));
+
+    runtimeMap.remove("temperature");
+    assertArrayEquals(new Object[]{nested, null, 1L}, projection.toAttributeValues(EventFactory
+            .fromMap(runtimeMap, layout)));
+  }
+
+  private EventPropertyPrimitive makePrimitive(String type, String runtimeName) {
+    return new EventPropertyPrimitive("http://www.w3.org/2001/XMLSchema#" + type, runtimeName, "",
+            Collections.emptyList());
+  }
+
+  private Event makeEvent(Map<String, Object> runtimeMap) {
+    return EventFactory.fromMap(runtimeMap, new SourceInfo("topic", "s0"), new SchemaInfo(null,
+            Collections.emptyList()));
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.siddhi.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class TestSiddhiUtils {
+
+  @Test
+  public void testAppNameIsKeyedByInstance() {
+    assertNotEquals(SiddhiUtils.makeAppName("pipeline1-topic-aggregation-0"),
+            SiddhiUtils.makeAppName("pipeline2-topic-aggregation-0"));
+    assertNotEquals(SiddhiUtils.makeAppName("pipeline1-topic-aggregation-0"),
+            SiddhiUtils.makeAppName("pipeline1-topic-aggregation-1"));
+  }
+
+  @Test
+  public void testAppNameIsSanitized() {
+    assertEquals("sp_pipeline_1_org_apache_streampipes_topic_aggregation_0",
+            SiddhiUtils.makeAppName("pipeline-1-org.apache.streampipes.topic-aggregation-0"));
+  }
+
+  @Test
+  public void testAppNameDoesNotDependOnHost() {
+    String instanceId = "pipeline1-topic-aggregation-0";
+
+    assertEquals(instanceId, SiddhiUtils.getInstanceId("http://host-a:8090/sepa/aggregation/" + instanceId));
+    assertEquals(SiddhiUtils.getInstanceId("http://host-a:8090/sepa/aggregation/" + instanceId),
+            SiddhiUtils.getInstanceId("http://host-b:8090/sepa/aggregation/" + instanceId));
+  }
+}
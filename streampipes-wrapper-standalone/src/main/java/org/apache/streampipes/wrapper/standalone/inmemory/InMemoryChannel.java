@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.inmemory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Bounded in-process queue of one topic. Publishers wait once the capacity is reached, a single
+ * dispatcher thread hands the queued events in batches to every subscriber of the topic. The
+ * dispatcher blocks while there is nothing to deliver and is woken up by publishers. Events
+ * published while no subscriber is attached are kept until the first one subscribes, they are
+ * only discarded once the channel is closed.
+ */
+public class InMemoryChannel {
+
+  private static final Logger LOG = LoggerFactory.getLogger(InMemoryChannel.class);
+
+  private static final int DEFAULT_CAPACITY = 10000;
+  private static final int MAX_BATCH_SIZE = 500;
+  private static final int LATEST_EVENTS_SIZE = 10;
+  private static final long WAIT_NANOS = 100_000;
+
+  private final String topic;
+  private final int capacity;
+  private final Queue<Object> queue;
+  private final AtomicInteger size;
+  private final AtomicInteger references;
+  private final List<Consumer<List<Object>>> subscribers;
+
+  private final AtomicLong publishedEvents;
+  private final AtomicLong deliveredEvents;
+  private final AtomicReferenceArray<Object> latestEvents;
+
+  private volatile Thread dispatcher;
+  private volatile boolean closed;
+
+  public InMemoryChannel(String topic) {
+    this(topic, DEFAULT_CAPACITY);
+  }
+
+  public InMemoryChannel(String topic, int capacity) {
+    this.topic = topic;
+    this.capacity = capacity;
+    this.queue = new ConcurrentLinkedQueue<>();
+    this.size = new AtomicInteger(0);
+    this.references = new AtomicInteger(0);
+    this.subscribers = new CopyOnWriteArrayList<>();
+    this.publishedEvents = new AtomicLong(0);
+    this.deliveredEvents = new AtomicLong(0);
+    this.latestEvents = new AtomicReferenceArray<>(LATEST_EVENTS_SIZE);
+  }
+
+  public void publish(Object event) {
+    while (size.incrementAndGet() > capacity) {
+      size.decrementAndGet();
+      if (closed) {
+        return;
+      }
+      LockSupport.parkNanos(WAIT_NANOS);
+    }
+    if (closed) {
+      size.decrementAndGet();
+      return;
+    }
+    long index = publishedEvents.getAndIncrement();
+    latestEvents.set((int) (index % LATEST_EVENTS_SIZE), event);
+    queue.offer(event);
+    LockSupport.unpark(dispatcher);
+  }
+
+  /**
+   * Blocks until the subscribers have received all events published so far. Returns immediately
+   * if no subscriber is attached, the events are then kept for the next subscriber.
+   */
+  public void awaitEmpty() {
+    while (size.get() > 0 && !subscribers.isEmpty() && !closed) {
+      LockSupport.parkNanos(WAIT_NANOS);
+    }
+  }
+
+  public synchronized void subscribe(Consumer<List<Object>> subscriber) {
+    subscribers.add(subscriber);
+    if (dispatcher == null && !closed) {
+      dispatcher = new Thread(this::dispatch, "in-memory-" + topic);
+      dispatcher.setDaemon(true);
+      dispatcher.start();
+    } else {
+      // deliver the events kept while no subscriber was attached
+      LockSupport.unpark(dispatcher);
+    }
+  }
+
+  public synchronized void unsubscribe(Consumer<List<Object>> subscriber) {
+    subscribers.remove(subscriber);
+  }
+
+  /**
+   * Stops the dispatcher and releases waiting publishers, events still queued are discarded.
+   */
+  public synchronized void close() {
+    closed = true;
+    if (dispatcher != null) {
+      Thread current = dispatcher;
+      dispatcher = null;
+      LockSupport.unpark(current);
+    }
+    int discarded = size.getAndSet(0);
+    queue.clear();
+    if (discarded > 0) {
+      LOG.warn("Discarded {} undelivered events of topic {}", discarded, topic);
+    }
+  }
+
+  public int getSize() {
+    return size.get();
+  }
+
+  public int getSubscriberCount() {
+    return subscribers.size();
+  }
+
+  public long getPublishedEvents() {
+    return publishedEvents.get();
+  }
+
+  public long getDeliveredEvents() {
+    return deliveredEvents.get();
+  }
+
+  /**
+   * @return up to the given number of the latest published events, newest first.
+   */
+  public List<Object> getLatestEvents(int count) {
+    long published = publishedEvents.get();
+    int available = (int) Math.min(Math.min(count, LATEST_EVENTS_SIZE), published);
+    List<Object> events = new ArrayList<>(available);
+    for (long index = published - 1; index >= published - available; index--) {
+      Object event = latestEvents.get((int) (index % LATEST_EVENTS_SIZE));
+      if (event != null) {
+        events.add(event);
+      }
+    }
+    return events;
+  }
+
+  int retain() {
+    return references.incrementAndGet();
+  }
+
+  int release() {
+    return references.decrementAndGet();
+  }
+
+  private void dispatch() {
+    Thread self = Thread.currentThread();
+    while (dispatcher == self) {
+      List<Consumer<List<Object>>> current = new ArrayList<>(subscribers);
+      if (current.isEmpty()) {
+        // keep the events until a subscriber is attached, subscribe wakes up the dispatcher
+        LockSupport.park(this);
+        continue;
+      }
+      Object event = queue.poll();
+      if (event == null) {
+        // publish wakes up the dispatcher after queueing an event, an event queued in between
+        // leaves the permit set, so park returns immediately
+        LockSupport.park(this);
+        continue;
+      }
+      List<Object> events = new ArrayList<>();
+      events.add(event);
+      while (events.size() < MAX_BATCH_SIZE && (event = queue.poll()) != null) {
+        events.add(event);
+      }
+      for (Consumer<List<Object>> subscriber : current) {
+        try {
+          subscriber.accept(events);
+        } catch (RuntimeException e) {
+          LOG.error("Could not process events of topic {}", topic, e);
+        }
+      }
+      deliveredEvents.addAndGet(events.size());
+      size.addAndGet(-events.size());
+    }
+  }
+}
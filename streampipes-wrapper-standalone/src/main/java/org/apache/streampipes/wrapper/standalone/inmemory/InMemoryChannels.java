@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.inmemory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Channels of all in-memory topics of this container. A channel is created by the first producer
+ * or consumer of a topic and closed once the last one has released it. The instance id identifies
+ * this JVM, only elements announcing the same id can share channels.
+ */
+public enum InMemoryChannels {
+
+  INSTANCE;
+
+  private final String instanceId = UUID.randomUUID().toString();
+  private final Map<String, InMemoryChannel> channels = new ConcurrentHashMap<>();
+
+  public String getInstanceId() {
+    return instanceId;
+  }
+
+  public InMemoryChannel acquire(String topic) {
+    return channels.compute(topic, (key, channel) -> {
+      InMemoryChannel result = channel != null ? channel : new InMemoryChannel(topic);
+      result.retain();
+      return result;
+    });
+  }
+
+  public void release(String topic) {
+    channels.computeIfPresent(topic, (key, channel) -> {
+      if (channel.release() > 0) {
+        return channel;
+      }
+      channel.close();
+      return null;
+    });
+  }
+
+  public Optional<InMemoryChannel> find(String topic) {
+    return Optional.ofNullable(channels.get(topic));
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.inmemory;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.EventConsumer;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.runtime.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+public class SpInMemoryConsumer implements EventConsumer<InMemoryTransportProtocol> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SpInMemoryConsumer.class);
+
+  private final AtomicLong droppedEvents = new AtomicLong(0);
+
+  private String topic;
+  private InMemoryChannel channel;
+  private Consumer<List<Object>> subscriber;
+
+  @Override
+  public void connect(InMemoryTransportProtocol protocolSettings,
+                      InternalEventProcessor<byte[]> eventProcessor) throws SpRuntimeException {
+    connect(protocolSettings, eventProcessor, null);
+  }
+
+  /**
+   * Connects to the topic and additionally receives the events published by co-located
+   * producers, which are handed over without any serialization. Without an event processor,
+   * these events cannot be handed over and are dropped, see {@link #getDroppedEvents()}.
+   */
+  public void connect(InMemoryTransportProtocol protocolSettings,
+                      InternalEventProcessor<byte[]> rawEventProcessor,
+                      InternalEventProcessor<Event> eventProcessor) throws SpRuntimeException {
+    this.topic = protocolSettings.getTopicDefinition().getActualTopicName();
+    this.subscriber = events -> {
+      List<byte[]> rawEvents = new ArrayList<>();
+      List<Event> runtimeEvents = new ArrayList<>();
+      for (Object event : events) {
+        if (event instanceof byte[]) {
+          rawEvents.add((byte[]) event);
+        } else if (eventProcessor != null) {
+          runtimeEvents.add((Event) event);
+        } else if (droppedEvents.getAndIncrement() == 0) {
+          LOG.warn("Dropping unserialized events of topic {}, the consumer only accepts raw events",
+                  topic);
+        }
+      }
+      if (!rawEvents.isEmpty()) {
+        rawEventProcessor.onEvents(rawEvents);
+      }
+      if (!runtimeEvents.isEmpty()) {
+        eventProcessor.onEvents(runtimeEvents);
+      }
+    };
+    this.channel = InMemoryChannels.INSTANCE.acquire(topic);
+    this.channel.subscribe(subscriber);
+  }
+
+  @Override
+  public void disconnect() throws SpRuntimeException {
+    if (channel != null) {
+      channel.unsubscribe(subscriber);
+      InMemoryChannels.INSTANCE.release(topic);
+      channel = null;
+      subscriber = null;
+    }
+  }
+
+  /**
+   * @return the number of events published without serialization which were dropped since the
+   * consumer was connected without an event processor.
+   */
+  public long getDroppedEvents() {
+    return droppedEvents.get();
+  }
+
+  @Override
+  public Boolean isConnected() {
+    return channel != null;
+  }
+}
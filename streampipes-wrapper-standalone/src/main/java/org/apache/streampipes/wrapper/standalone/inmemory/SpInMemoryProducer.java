@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.inmemory;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.EventProducer;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+
+public class SpInMemoryProducer implements EventProducer<InMemoryTransportProtocol> {
+
+  private String topic;
+  private transient InMemoryChannel channel;
+
+  @Override
+  public void connect(InMemoryTransportProtocol protocolSettings) throws SpRuntimeException {
+    this.topic = protocolSettings.getTopicDefinition().getActualTopicName();
+    this.channel = InMemoryChannels.INSTANCE.acquire(topic);
+  }
+
+  @Override
+  public void publish(byte[] event) {
+    channel.publish(event);
+  }
+
+  /**
+   * Publishes an event without serializing it. The event is copied on the calling thread, so the
+   * publisher may reuse or modify it once this method returns.
+   */
+  public void publish(Event event) {
+    channel.publish(EventFactory.copyOf(event));
+  }
+
+  @Override
+  public void flush() throws SpRuntimeException {
+    channel.awaitEmpty();
+  }
+
+  @Override
+  public void disconnect() throws SpRuntimeException {
+    if (channel != null) {
+      InMemoryChannels.INSTANCE.release(topic);
+      channel = null;
+    }
+  }
+
+  @Override
+  public Boolean isConnected() {
+    return channel != null;
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.inmemory;
+
+import org.apache.streampipes.container.api.InMemoryTopicProvider;
+import org.apache.streampipes.messaging.SpProtocolDefinition;
+import org.apache.streampipes.messaging.SpProtocolDefinitionFactory;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.model.monitoring.InMemoryTopicStatistics;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Registering this factory allows the pipeline manager to connect pipeline elements running in
+ * this container through in-memory channels instead of the broker. The supported protocol carries
+ * the instance id of this JVM, co-located elements are detected by the address of their container.
+ */
+public class SpInMemoryProtocolFactory extends SpProtocolDefinitionFactory<InMemoryTransportProtocol>
+        implements InMemoryTopicProvider {
+
+  @Override
+  public TransportProtocol getTransportProtocol() {
+    InMemoryTransportProtocol protocol = new InMemoryTransportProtocol();
+    protocol.setContainerInstanceId(InMemoryChannels.INSTANCE.getInstanceId());
+    return protocol;
+  }
+
+  @Override
+  public String getTransportProtocolClass() {
+    return InMemoryTransportProtocol.class.getCanonicalName();
+  }
+
+  @Override
+  public SpProtocolDefinition<InMemoryTransportProtocol> createInstance() {
+    return new SpInMemoryProtocol();
+  }
+
+  @Override
+  public Optional<InMemoryTopicStatistics> getStatistics(String topic) {
+    return InMemoryChannels.INSTANCE.find(topic).map(channel -> new InMemoryTopicStatistics(topic,
+            channel.getPublishedEvents(), channel.getDeliveredEvents()));
+  }
+
+  @Override
+  public List<Map<String, Object>> getLatestEvents(String topic, int count) {
+    return InMemoryChannels.INSTANCE
+            .find(topic)
+            .map(channel -> channel
+                    .getLatestEvents(count)
+                    .stream()
+                    .filter(event -> event instanceof Event)
+                    .map(event -> new EventConverter((Event) event).toMap())
+                    .collect(Collectors.toList()))
+            .orElse(Collections.emptyList());
+  }
+}
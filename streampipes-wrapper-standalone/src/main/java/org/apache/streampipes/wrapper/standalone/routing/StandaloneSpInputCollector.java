@@ -20,12 +20,18 @@ package org.apache.streampipes.wrapper.standalone.routing;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.routing.RawDataProcessor;
 import org.apache.streampipes.wrapper.routing.SpInputCollector;
+import org.apache.streampipes.wrapper.standalone.inmemory.SpInMemoryConsumer;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
 
+import java.util.Collections;
+import java.util.List;
+
 public class StandaloneSpInputCollector<T extends TransportProtocol> extends
         StandaloneSpCollector<T, RawDataProcessor>
         implements
@@ -49,18 +55,82 @@ public class StandaloneSpInputCollector<T extends TransportProtocol> extends
     }
   }
 
+  @Override
+  public void onEvents(List<byte[]> events) {
+    if (singletonEngine) {
+      send(consumers.get(consumers.keySet().toArray()[0]), events);
+    } else {
+      consumers.forEach((key, value) -> send(value, events));
+    }
+  }
+
+  private void onRuntimeEvents(List<Event> events) {
+    if (singletonEngine) {
+      sendEvents(consumers.get(consumers.keySet().toArray()[0]), events);
+    } else {
+      consumers.forEach((key, value) -> sendEvents(value, events));
+    }
+  }
+
+  private void sendEvents(RawDataProcessor rawDataProcessor, List<Event> events) {
+    deliver(rawDataProcessor, () -> rawDataProcessor.processEvents(events, getTopic()));
+  }
+
+  private void send(RawDataProcessor rawDataProcessor, List<byte[]> events) {
+    deliver(rawDataProcessor, () -> rawDataProcessor.process(events, dataFormatDefinition,
+            getTopic()));
+  }
+
   private void send(RawDataProcessor rawDataProcessor, byte[] event) {
+    deliver(rawDataProcessor, () -> rawDataProcessor.process(event, dataFormatDefinition,
+            getTopic()));
+  }
+
+  /**
+   * Consumer threads of a partitioned input call the collector concurrently. Processors which are
+   * not thread-safe are locked individually, so threads only wait for each other on the same
+   * processor.
+   */
+  private void deliver(RawDataProcessor rawDataProcessor, Delivery delivery) {
     try {
-      rawDataProcessor.process(dataFormatDefinition.toMap(event), getTopic());
+      if (rawDataProcessor.isThreadSafe()) {
+        delivery.run();
+      } else {
+        synchronized (rawDataProcessor) {
+          delivery.run();
+        }
+      }
     } catch (SpRuntimeException e) {
       e.printStackTrace();
     }
   }
 
+  @Override
+  public boolean isThreadSafe() {
+    return true;
+  }
+
   @Override
   public void connect() throws SpRuntimeException {
     if (!protocolDefinition.getConsumer().isConnected()) {
-      protocolDefinition.getConsumer().connect(transportProtocol,this);
+      if (protocolDefinition.getConsumer() instanceof SpInMemoryConsumer) {
+        // co-located producers publish their events, which are processed without deserialization
+        ((SpInMemoryConsumer) protocolDefinition.getConsumer()).connect(
+                (InMemoryTransportProtocol) transportProtocol, this,
+                new InternalEventProcessor<Event>() {
+                  @Override
+                  public void onEvent(Event event) {
+                    onRuntimeEvents(Collections.singletonList(event));
+                  }
+
+                  @Override
+                  public void onEvents(List<Event> events) {
+                    onRuntimeEvents(events);
+                  }
+                });
+      } else {
+        protocolDefinition.getConsumer().connect(transportProtocol,this);
+      }
     }
   }
 
@@ -73,4 +143,8 @@ public class StandaloneSpInputCollector<T extends TransportProtocol> extends
       }
     }
   }
+
+  private interface Delivery {
+    void run() throws SpRuntimeException;
+  }
 }
@@ -20,11 +20,13 @@ package org.apache.streampipes.wrapper.standalone.routing;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.model.runtime.Event;
-import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.field.AbstractField;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
+import org.apache.streampipes.wrapper.standalone.inmemory.SpInMemoryProducer;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
 
 import java.util.Map;
@@ -34,19 +36,46 @@ public class StandaloneSpOutputCollector<T extends TransportProtocol> extends
                 Object>>> implements SpOutputCollector {
 
 
+  private String messageKey;
+  private SpInMemoryProducer inMemoryProducer;
+
   public StandaloneSpOutputCollector(T protocol, TransportFormat format) throws SpRuntimeException {
    super(protocol, format);
+   if (protocol instanceof KafkaTransportProtocol) {
+     this.messageKey = ((KafkaTransportProtocol) protocol).getMessageKey();
+   }
+   if (protocolDefinition.getProducer() instanceof SpInMemoryProducer) {
+     this.inMemoryProducer = (SpInMemoryProducer) protocolDefinition.getProducer();
+   }
   }
 
   public void collect(Event event) {
-    Map<String, Object> outEvent = new EventConverter(event).toMap();
+    if (inMemoryProducer != null) {
+      // co-located consumers copy the fields of the event directly, no need to serialize it
+      inMemoryProducer.publish(event);
+      return;
+    }
     try {
-      protocolDefinition.getProducer().publish(dataFormatDefinition.fromMap(outEvent));
+      byte[] outEvent = dataFormatDefinition.fromEvent(event);
+      if (messageKey != null) {
+        protocolDefinition.getProducer().publish(getMessageKey(event), outEvent);
+      } else {
+        protocolDefinition.getProducer().publish(outEvent);
+      }
     } catch (SpRuntimeException e) {
       e.printStackTrace();
     }
   }
 
+  private String getMessageKey(Event event) {
+    for (AbstractField field : event.getFields().values()) {
+      if (field.isPrimitive() && messageKey.equals(field.getFieldNameOut())) {
+        return field.getAsPrimitive().getAsString();
+      }
+    }
+    return null;
+  }
+
   @Override
   public void connect() throws SpRuntimeException {
     if (!protocolDefinition.getProducer().isConnected()) {
@@ -19,15 +19,20 @@
 package org.apache.streampipes.wrapper.standalone.runtime;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 import org.apache.streampipes.wrapper.params.runtime.EventProcessorRuntimeParams;
 import org.apache.streampipes.wrapper.routing.SpInputCollector;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
+import org.apache.streampipes.wrapper.runtime.BatchEventProcessor;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
@@ -59,8 +64,50 @@ public class StandaloneEventProcessorRuntime<B extends EventProcessorBindingPara
     getEngine().onEvent(params.makeEvent(rawEvent, sourceInfo), getOutputCollector());
   }
 
+  @Override
+  public void process(byte[] rawEvent, SpDataFormatDefinition dataFormatDefinition, String
+          sourceInfo) throws SpRuntimeException {
+    getEngine().onEvent(params.makeEvent(rawEvent, dataFormatDefinition, sourceInfo),
+            getOutputCollector());
+  }
+
+  @Override
+  public void process(List<byte[]> rawEvents, SpDataFormatDefinition dataFormatDefinition,
+                      String sourceInfo) throws SpRuntimeException {
+    if (getEngine() instanceof BatchEventProcessor) {
+      List<Event> events = new ArrayList<>(rawEvents.size());
+      for (byte[] rawEvent : rawEvents) {
+        events.add(params.makeEvent(rawEvent, dataFormatDefinition, sourceInfo));
+      }
+      ((BatchEventProcessor<B>) getEngine()).onEvents(events, getOutputCollector());
+    } else {
+      SpOutputCollector outputCollector = getOutputCollector();
+      for (byte[] rawEvent : rawEvents) {
+        getEngine().onEvent(params.makeEvent(rawEvent, dataFormatDefinition, sourceInfo),
+                outputCollector);
+      }
+    }
+  }
+
+  @Override
+  public void processEvents(List<Event> inputEvents, String sourceInfo) throws SpRuntimeException {
+    List<Event> events = new ArrayList<>(inputEvents.size());
+    for (Event inputEvent : inputEvents) {
+      events.add(params.makeEvent(inputEvent, sourceInfo));
+    }
+    if (getEngine() instanceof BatchEventProcessor) {
+      ((BatchEventProcessor<B>) getEngine()).onEvents(events, getOutputCollector());
+    } else {
+      SpOutputCollector outputCollector = getOutputCollector();
+      for (Event event : events) {
+        getEngine().onEvent(event, outputCollector);
+      }
+    }
+  }
+
   @Override
   public void bindRuntime() throws SpRuntimeException {
+    params.compileEventLayouts();
     bindEngine();
     getInputCollectors().forEach(is -> is.registerConsumer(instanceId, this));
     prepareRuntime();
@@ -19,13 +19,18 @@
 package org.apache.streampipes.wrapper.standalone.runtime;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.graph.DataSinkInvocation;
+import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventSinkBindingParams;
 import org.apache.streampipes.wrapper.params.runtime.EventSinkRuntimeParams;
 import org.apache.streampipes.wrapper.routing.SpInputCollector;
+import org.apache.streampipes.wrapper.runtime.BatchEventSink;
 import org.apache.streampipes.wrapper.runtime.EventSink;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
@@ -50,8 +55,46 @@ public class StandaloneEventSinkRuntime<B extends EventSinkBindingParams> extend
     getEngine().onEvent(params.makeEvent(rawEvent, sourceInfo));
   }
 
+  @Override
+  public void process(byte[] rawEvent, SpDataFormatDefinition dataFormatDefinition, String
+          sourceInfo) throws SpRuntimeException {
+    getEngine().onEvent(params.makeEvent(rawEvent, dataFormatDefinition, sourceInfo));
+  }
+
+  @Override
+  public void process(List<byte[]> rawEvents, SpDataFormatDefinition dataFormatDefinition,
+                      String sourceInfo) throws SpRuntimeException {
+    if (getEngine() instanceof BatchEventSink) {
+      List<Event> events = new ArrayList<>(rawEvents.size());
+      for (byte[] rawEvent : rawEvents) {
+        events.add(params.makeEvent(rawEvent, dataFormatDefinition, sourceInfo));
+      }
+      ((BatchEventSink<B>) getEngine()).onEvents(events);
+    } else {
+      for (byte[] rawEvent : rawEvents) {
+        getEngine().onEvent(params.makeEvent(rawEvent, dataFormatDefinition, sourceInfo));
+      }
+    }
+  }
+
+  @Override
+  public void processEvents(List<Event> inputEvents, String sourceInfo) throws SpRuntimeException {
+    List<Event> events = new ArrayList<>(inputEvents.size());
+    for (Event inputEvent : inputEvents) {
+      events.add(params.makeEvent(inputEvent, sourceInfo));
+    }
+    if (getEngine() instanceof BatchEventSink) {
+      ((BatchEventSink<B>) getEngine()).onEvents(events);
+    } else {
+      for (Event event : events) {
+        getEngine().onEvent(event);
+      }
+    }
+  }
+
   @Override
   public void bindRuntime() throws SpRuntimeException {
+    params.compileEventLayouts();
     bindEngine();
     getInputCollectors().forEach(is -> is.registerConsumer(instanceId, this));
     prepareRuntime();
@@ -53,6 +53,11 @@ public abstract class StandalonePipelineElementRuntime<B extends BindingParams<I
     return engine;
   }
 
+  @Override
+  public boolean isThreadSafe() {
+    return engine.isThreadSafe();
+  }
+
   public void discardEngine() throws SpRuntimeException {
     engine.onDetach();
   }
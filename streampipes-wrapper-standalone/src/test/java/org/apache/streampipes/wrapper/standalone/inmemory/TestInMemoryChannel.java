@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.inmemory;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestInMemoryChannel {
+
+  @Test
+  public void testEventsAreKeptUntilFirstSubscriber() throws Exception {
+    InMemoryChannel channel = new InMemoryChannel("test");
+    channel.publish("a");
+    channel.publish("b");
+
+    Collector collector = new Collector(2);
+    channel.subscribe(collector);
+
+    assertTrue(collector.await());
+    assertEquals(Arrays.asList("a", "b"), collector.getEvents());
+    channel.close();
+  }
+
+  @Test
+  public void testEveryEventIsDeliveredToAllSubscribers() throws Exception {
+    InMemoryChannel channel = new InMemoryChannel("test");
+    Collector first = new Collector(3);
+    Collector second = new Collector(3);
+    channel.subscribe(first);
+    channel.subscribe(second);
+
+    channel.publish("a");
+    channel.publish("b");
+    channel.publish("c");
+
+    assertTrue(first.await());
+    assertTrue(second.await());
+    assertEquals(Arrays.asList("a", "b", "c"), first.getEvents());
+    assertEquals(Arrays.asList("a", "b", "c"), second.getEvents());
+
+    channel.awaitEmpty();
+    assertEquals(3, channel.getPublishedEvents());
+    assertEquals(3, channel.getDeliveredEvents());
+    channel.close();
+  }
+
+  @Test
+  public void testUnsubscribeOnlyRemovesGivenSubscriber() throws Exception {
+    InMemoryChannel channel = new InMemoryChannel("test");
+    Collector first = new Collector(1);
+    Collector second = new Collector(1);
+    channel.subscribe(first);
+    channel.subscribe(second);
+    channel.unsubscribe(first);
+
+    channel.publish("a");
+
+    assertTrue(second.await());
+    assertEquals(Collections.singletonList("a"), second.getEvents());
+    assertEquals(1, channel.getSubscriberCount());
+    assertTrue(first.getEvents().isEmpty());
+    channel.close();
+  }
+
+  @Test
+  public void testCloseReleasesWaitingPublisher() throws Exception {
+    InMemoryChannel channel = new InMemoryChannel("test", 1);
+    channel.publish("a");
+
+    Thread publisher = new Thread(() -> channel.publish("b"));
+    publisher.start();
+    publisher.join(100);
+    assertTrue(publisher.isAlive());
+
+    channel.close();
+    publisher.join(TimeUnit.SECONDS.toMillis(5));
+    assertTrue(!publisher.isAlive());
+    assertEquals(0, channel.getSize());
+  }
+
+  @Test
+  public void testLatestEventsNewestFirst() {
+    InMemoryChannel channel = new InMemoryChannel("test");
+    for (int i = 0; i < 15; i++) {
+      channel.publish(i);
+    }
+
+    assertEquals(Arrays.asList(14, 13, 12), channel.getLatestEvents(3));
+    assertEquals(10, channel.getLatestEvents(20).size());
+    channel.close();
+  }
+
+  private static class Collector implements Consumer<List<Object>> {
+
+    private final List<Object> events = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch latch;
+
+    Collector(int expectedEvents) {
+      this.latch = new CountDownLatch(expectedEvents);
+    }
+
+    @Override
+    public void accept(List<Object> batch) {
+      events.addAll(batch);
+      batch.forEach(event -> latch.countDown());
+    }
+
+    boolean await() throws InterruptedException {
+      return latch.await(5, TimeUnit.SECONDS);
+    }
+
+    List<Object> getEvents() {
+      return new ArrayList<>(events);
+    }
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.inmemory;
+
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestSpInMemoryProtocol {
+
+  @Test
+  public void testEventsAreHandedToAllConsumers() throws Exception {
+    InMemoryTransportProtocol protocol = makeProtocol("multiple-consumers");
+    EventCollector first = new EventCollector();
+    EventCollector second = new EventCollector();
+
+    SpInMemoryConsumer firstConsumer = new SpInMemoryConsumer();
+    firstConsumer.connect(protocol, event -> {}, first);
+    SpInMemoryConsumer secondConsumer = new SpInMemoryConsumer();
+    secondConsumer.connect(protocol, event -> {}, second);
+
+    SpInMemoryProducer producer = new SpInMemoryProducer();
+    producer.connect(protocol);
+    Event event = EventFactory.fromMap(Collections.singletonMap("value", 1));
+    producer.publish(event);
+    producer.flush();
+
+    assertTrue(first.latch.await(5, TimeUnit.SECONDS));
+    assertTrue(second.latch.await(5, TimeUnit.SECONDS));
+    assertSame(first.events.get(0), second.events.get(0));
+    assertEquals(Collections.singletonMap("value", 1), new EventConverter(first.events.get(0)).toMap());
+
+    producer.disconnect();
+    firstConsumer.disconnect();
+    secondConsumer.disconnect();
+    assertFalse(InMemoryChannels.INSTANCE.find("multiple-consumers").isPresent());
+  }
+
+  @Test
+  public void testPublisherMayModifyEventAfterPublishing() throws Exception {
+    InMemoryTransportProtocol protocol = makeProtocol("modified-after-publish");
+    SpInMemoryProducer producer = new SpInMemoryProducer();
+    producer.connect(protocol);
+
+    Event event = EventFactory.fromMap(Collections.singletonMap("value", 1));
+    producer.publish(event);
+    event.addField("added", 2);
+    event.getFieldByRuntimeName("value").getAsPrimitive().setValue(3);
+
+    EventCollector collector = new EventCollector();
+    SpInMemoryConsumer consumer = new SpInMemoryConsumer();
+    consumer.connect(protocol, e -> {}, collector);
+
+    assertTrue(collector.latch.await(5, TimeUnit.SECONDS));
+    assertNotSame(event, collector.events.get(0));
+    assertEquals(Collections.singletonMap("value", 1), new EventConverter(collector.events.get(0)).toMap());
+    assertEquals(Collections.singletonMap("value", 1), new SpInMemoryProtocolFactory()
+            .getLatestEvents("modified-after-publish", 1).get(0));
+
+    producer.disconnect();
+    consumer.disconnect();
+  }
+
+  @Test
+  public void testEventsWithoutEventProcessorAreCounted() throws Exception {
+    InMemoryTransportProtocol protocol = makeProtocol("raw-only");
+    CountDownLatch latch = new CountDownLatch(1);
+    SpInMemoryConsumer consumer = new SpInMemoryConsumer();
+    consumer.connect(protocol, event -> latch.countDown());
+
+    SpInMemoryProducer producer = new SpInMemoryProducer();
+    producer.connect(protocol);
+    producer.publish(EventFactory.fromMap(Collections.singletonMap("value", 1)));
+    producer.publish(new byte[]{1});
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertEquals(1, consumer.getDroppedEvents());
+
+    producer.disconnect();
+    consumer.disconnect();
+  }
+
+  @Test
+  public void testStatisticsOfOpenTopic() {
+    InMemoryTransportProtocol protocol = makeProtocol("statistics");
+    SpInMemoryProducer producer = new SpInMemoryProducer();
+    producer.connect(protocol);
+    producer.publish(EventFactory.fromMap(Collections.singletonMap("value", 1)));
+
+    SpInMemoryProtocolFactory factory = new SpInMemoryProtocolFactory();
+    assertEquals(1, factory.getStatistics("statistics").get().getPublishedEvents());
+    assertEquals(Collections.singletonMap("value", 1), factory.getLatestEvents("statistics", 1)
+            .get(0));
+    assertFalse(factory.getStatistics("unknown").isPresent());
+
+    producer.disconnect();
+  }
+
+  @Test
+  public void testSupportedProtocolCarriesInstanceId() {
+    InMemoryTransportProtocol protocol = (InMemoryTransportProtocol) new SpInMemoryProtocolFactory()
+            .getTransportProtocol();
+
+    assertEquals(InMemoryChannels.INSTANCE.getInstanceId(), protocol.getContainerInstanceId());
+  }
+
+  private InMemoryTransportProtocol makeProtocol(String topic) {
+    return new InMemoryTransportProtocol("localhost", InMemoryChannels.INSTANCE.getInstanceId(),
+            null, topic);
+  }
+
+  private static class EventCollector implements InternalEventProcessor<Event> {
+
+    private final List<Event> events = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    @Override
+    public void onEvent(Event event) {
+      events.add(event);
+      latch.countDown();
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.runtime;
+
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
+import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
+import org.apache.streampipes.wrapper.params.runtime.EventProcessorRuntimeParams;
+import org.apache.streampipes.wrapper.routing.SpOutputCollector;
+import org.apache.streampipes.wrapper.runtime.BatchEventProcessor;
+import org.apache.streampipes.wrapper.runtime.EventProcessor;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.streampipes.wrapper.standalone.runtime.TestStandaloneEventSinkRuntime.FirstByteFormat;
+import static org.apache.streampipes.wrapper.standalone.runtime.TestStandaloneEventSinkRuntime.makeEvent;
+import static org.apache.streampipes.wrapper.standalone.runtime.TestStandaloneEventSinkRuntime.makeStream;
+import static org.apache.streampipes.wrapper.standalone.runtime.TestStandaloneEventSinkRuntime.values;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class TestStandaloneEventProcessorRuntime {
+
+  private static final String TOPIC = "processor-input";
+
+  @Test
+  public void testBatchProcessorReceivesAllRawEventsAtOnce() {
+    RecordingProcessor processor = new RecordingProcessor();
+    RecordingCollector collector = new RecordingCollector();
+    StandaloneEventProcessorRuntime<EventProcessorBindingParams> runtime = makeRuntime(processor,
+            collector);
+
+    runtime.process(Arrays.asList(new byte[]{1}, new byte[]{2}, new byte[]{3}), new
+            FirstByteFormat(), TOPIC);
+
+    assertEquals(1, processor.batches.size());
+    assertEquals(Arrays.asList(1, 2, 3), values(processor.batches.get(0)));
+    assertSame(collector, processor.collector);
+    assertEquals(0, processor.events.size());
+  }
+
+  @Test
+  public void testBatchProcessorReceivesAllCopiedEventsAtOnce() {
+    RecordingProcessor processor = new RecordingProcessor();
+    StandaloneEventProcessorRuntime<EventProcessorBindingParams> runtime = makeRuntime(processor,
+            new RecordingCollector());
+
+    runtime.processEvents(Arrays.asList(makeEvent(1), makeEvent(2)), TOPIC);
+
+    assertEquals(1, processor.batches.size());
+    assertEquals(Arrays.asList(1, 2), values(processor.batches.get(0)));
+    assertEquals(0, processor.events.size());
+  }
+
+  @Test
+  public void testProcessorWithoutBatchSupportReceivesEventsOneByOne() {
+    RecordingCollector collector = new RecordingCollector();
+    StandaloneEventProcessorRuntime<EventProcessorBindingParams> runtime = makeRuntime(new
+            ForwardingProcessor(), collector);
+
+    runtime.process(Arrays.asList(new byte[]{1}, new byte[]{2}), new FirstByteFormat(), TOPIC);
+    runtime.processEvents(Collections.singletonList(makeEvent(3)), TOPIC);
+
+    assertEquals(Arrays.asList(1, 2, 3), values(collector.events));
+  }
+
+  private StandaloneEventProcessorRuntime<EventProcessorBindingParams> makeRuntime(
+          EventProcessor<EventProcessorBindingParams> processor, SpOutputCollector collector) {
+    DataProcessorInvocation graph = new DataProcessorInvocation();
+    graph.setInputStreams(Collections.singletonList(makeStream(TOPIC)));
+    graph.setOutputStream(makeStream(TOPIC + "-output"));
+    EventProcessorBindingParams bindingParams = new EventProcessorBindingParams(graph) {};
+    return new StandaloneEventProcessorRuntime<EventProcessorBindingParams>(() -> processor, new
+            EventProcessorRuntimeParams<>(bindingParams, false)) {
+      @Override
+      public SpOutputCollector getOutputCollector() {
+        return collector;
+      }
+    };
+  }
+
+  private static class ForwardingProcessor implements EventProcessor<EventProcessorBindingParams> {
+
+    @Override
+    public void onInvocation(EventProcessorBindingParams parameters, SpOutputCollector
+            spOutputCollector, EventProcessorRuntimeContext runtimeContext) {
+    }
+
+    @Override
+    public void onEvent(Event event, SpOutputCollector collector) {
+      collector.collect(event);
+    }
+
+    @Override
+    public void onDetach() {
+    }
+  }
+
+  private static class RecordingProcessor implements
+          BatchEventProcessor<EventProcessorBindingParams> {
+
+    private final List<Event> events = new ArrayList<>();
+    private final List<List<Event>> batches = new ArrayList<>();
+    private SpOutputCollector collector;
+
+    @Override
+    public void onInvocation(EventProcessorBindingParams parameters, SpOutputCollector
+            spOutputCollector, EventProcessorRuntimeContext runtimeContext) {
+    }
+
+    @Override
+    public void onEvent(Event event, SpOutputCollector collector) {
+      events.add(event);
+    }
+
+    @Override
+    public void onEvents(List<Event> events, SpOutputCollector collector) {
+      batches.add(events);
+      this.collector = collector;
+    }
+
+    @Override
+    public void onDetach() {
+    }
+  }
+
+  private static class RecordingCollector implements SpOutputCollector {
+
+    private final List<Event> events = new ArrayList<>();
+
+    @Override
+    public void collect(Event event) {
+      events.add(event);
+    }
+
+    @Override
+    public void registerConsumer(String routeId, InternalEventProcessor<Map<String, Object>>
+            consumer) {
+    }
+
+    @Override
+    public void unregisterConsumer(String routeId) {
+    }
+
+    @Override
+    public void connect() {
+    }
+
+    @Override
+    public void disconnect() {
+    }
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.runtime;
+
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.graph.DataSinkInvocation;
+import org.apache.streampipes.model.grounding.EventGrounding;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
+import org.apache.streampipes.wrapper.params.binding.EventSinkBindingParams;
+import org.apache.streampipes.wrapper.params.runtime.EventSinkRuntimeParams;
+import org.apache.streampipes.wrapper.runtime.BatchEventSink;
+import org.apache.streampipes.wrapper.runtime.EventSink;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestStandaloneEventSinkRuntime {
+
+  private static final String TOPIC = "sink-input";
+
+  @Test
+  public void testBatchSinkReceivesAllRawEventsAtOnce() {
+    RecordingSink sink = new RecordingSink();
+    StandaloneEventSinkRuntime<EventSinkBindingParams> runtime = makeRuntime(sink);
+
+    runtime.process(Arrays.asList(new byte[]{1}, new byte[]{2}, new byte[]{3}), new
+            FirstByteFormat(), TOPIC);
+
+    assertEquals(1, sink.batches.size());
+    assertEquals(Arrays.asList(1, 2, 3), values(sink.batches.get(0)));
+    assertEquals(0, sink.events.size());
+  }
+
+  @Test
+  public void testBatchSinkReceivesAllCopiedEventsAtOnce() {
+    RecordingSink sink = new RecordingSink();
+    StandaloneEventSinkRuntime<EventSinkBindingParams> runtime = makeRuntime(sink);
+
+    runtime.processEvents(Arrays.asList(makeEvent(1), makeEvent(2)), TOPIC);
+
+    assertEquals(1, sink.batches.size());
+    assertEquals(Arrays.asList(1, 2), values(sink.batches.get(0)));
+    assertEquals(0, sink.events.size());
+  }
+
+  @Test
+  public void testSinkWithoutBatchSupportReceivesEventsOneByOne() {
+    List<Event> received = new ArrayList<>();
+    StandaloneEventSinkRuntime<EventSinkBindingParams> runtime = makeRuntime(new
+            SingleEventSink(received));
+
+    runtime.process(Arrays.asList(new byte[]{1}, new byte[]{2}), new FirstByteFormat(), TOPIC);
+    runtime.processEvents(Collections.singletonList(makeEvent(3)), TOPIC);
+
+    assertEquals(Arrays.asList(1, 2, 3), values(received));
+  }
+
+  private StandaloneEventSinkRuntime<EventSinkBindingParams> makeRuntime(
+          EventSink<EventSinkBindingParams> sink) {
+    DataSinkInvocation graph = new DataSinkInvocation();
+    graph.setInputStreams(Collections.singletonList(makeStream(TOPIC)));
+    EventSinkBindingParams bindingParams = new EventSinkBindingParams(graph);
+    return new StandaloneEventSinkRuntime<>(() -> sink, new EventSinkRuntimeParams<>(bindingParams,
+            false));
+  }
+
+  static SpDataStream makeStream(String topic) {
+    EventProperty property = new EventPropertyPrimitive("http://www.w3.org/2001/XMLSchema#integer",
+            "value", "", Collections.emptyList());
+    SpDataStream stream = new SpDataStream();
+    stream.setEventSchema(new EventSchema(Collections.singletonList(property)));
+    stream.setEventGrounding(new EventGrounding(new InMemoryTransportProtocol("localhost",
+            "test-instance", null, topic), new TransportFormat("http://sepa.event-processing.org/sepa#json")));
+    return stream;
+  }
+
+  static Event makeEvent(Integer value) {
+    return EventFactory.fromMap(Collections.singletonMap("value", value));
+  }
+
+  static List<Integer> values(List<Event> events) {
+    List<Integer> values = new ArrayList<>();
+    for (Event event : events) {
+      values.add(event.getFieldByRuntimeName("value").getAsPrimitive().getAsInt());
+    }
+    return values;
+  }
+
+  /**
+   * Decodes the first byte of a raw event as the value of the only field.
+   */
+  static class FirstByteFormat implements SpDataFormatDefinition {
+
+    @Override
+    public Map<String, Object> toMap(byte[] event) {
+      return Collections.singletonMap("value", (int) event[0]);
+    }
+
+    @Override
+    public byte[] fromMap(Map<String, Object> event) {
+      return new byte[]{((Integer) event.get("value")).byteValue()};
+    }
+  }
+
+  private static class SingleEventSink implements EventSink<EventSinkBindingParams> {
+
+    private final List<Event> events;
+
+    SingleEventSink(List<Event> events) {
+      this.events = events;
+    }
+
+    @Override
+    public void onInvocation(EventSinkBindingParams parameters, EventSinkRuntimeContext
+            runtimeContext) {
+    }
+
+    @Override
+    public void onEvent(Event event) {
+      events.add(event);
+    }
+
+    @Override
+    public void onDetach() {
+    }
+  }
+
+  private static class RecordingSink implements BatchEventSink<EventSinkBindingParams> {
+
+    private final List<Event> events = new ArrayList<>();
+    private final List<List<Event>> batches = new ArrayList<>();
+
+    @Override
+    public void onInvocation(EventSinkBindingParams parameters, EventSinkRuntimeContext
+            runtimeContext) {
+    }
+
+    @Override
+    public void onEvent(Event event) {
+      events.add(event);
+    }
+
+    @Override
+    public void onEvents(List<Event> events) {
+      batches.add(events);
+    }
+
+    @Override
+    public void onDetach() {
+    }
+  }
+}
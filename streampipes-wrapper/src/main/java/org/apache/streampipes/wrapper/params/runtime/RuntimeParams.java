@@ -18,15 +18,19 @@
 
 package org.apache.streampipes.wrapper.params.runtime;
 
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
 import org.apache.streampipes.model.runtime.SchemaInfo;
 import org.apache.streampipes.model.runtime.SourceInfo;
 import org.apache.streampipes.wrapper.context.RuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.BindingParams;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -40,6 +44,7 @@ public abstract class RuntimeParams<B extends BindingParams<I>, I extends
   protected RC runtimeContext;
 
   private Map<String, Integer> eventInfoMap = new HashMap<>();
+  private List<EventLayout> eventLayouts;
 
   private Boolean singletonEngine;
 
@@ -62,10 +67,50 @@ public abstract class RuntimeParams<B extends BindingParams<I>, I extends
     }
   }
 
+  /**
+   * Compiles the slot layout of each input stream, events created afterwards by
+   * {@link #makeEvent(Map, String)} are backed by the compiled layout.
+   */
+  public void compileEventLayouts() {
+    List<EventLayout> layouts = new ArrayList<>();
+    for (int i = 0; i < bindingParams.getInputStreamParams().size(); i++) {
+      layouts.add(EventLayout.compile(getSourceInfo(i), getSchemaInfo(i)));
+    }
+    this.eventLayouts = layouts;
+  }
+
   public Event makeEvent(Map<String, Object> mapEvent, String sourceId) {
-    return EventFactory.fromMap(mapEvent, getSourceInfo(getIndex(sourceId)), getSchemaInfo
-            (getIndex(sourceId)));
+    if (eventLayouts != null) {
+      return EventFactory.fromMap(mapEvent, getEventLayout(getIndex(sourceId)));
+    } else {
+      return EventFactory.fromMap(mapEvent, getSourceInfo(getIndex(sourceId)), getSchemaInfo
+              (getIndex(sourceId)));
+    }
+  }
+
+  /**
+   * Copies an event emitted by a co-located pipeline element into an event of the given stream.
+   */
+  public Event makeEvent(Event event, String sourceId) {
+    if (eventLayouts != null) {
+      return EventFactory.fromEvent(event, getEventLayout(getIndex(sourceId)));
+    } else {
+      return EventFactory.fromEvent(event, getSourceInfo(getIndex(sourceId)), getSchemaInfo
+              (getIndex(sourceId)));
+    }
+  }
+
+  public Event makeEvent(byte[] rawEvent, SpDataFormatDefinition dataFormatDefinition, String
+          sourceId) throws SpRuntimeException {
+    if (eventLayouts != null) {
+      return dataFormatDefinition.toEvent(rawEvent, getEventLayout(getIndex(sourceId)));
+    } else {
+      return makeEvent(dataFormatDefinition.toMap(rawEvent), sourceId);
+    }
+  }
 
+  public EventLayout getEventLayout(Integer index) {
+    return eventLayouts.get(index);
   }
 
   public List<SourceInfo> getSourceInfo() {
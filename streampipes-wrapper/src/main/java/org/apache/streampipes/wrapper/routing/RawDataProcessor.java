@@ -18,10 +18,43 @@
 package org.apache.streampipes.wrapper.routing;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
 
+import java.util.List;
 import java.util.Map;
 
 public interface RawDataProcessor {
 
   void process(Map<String, Object> rawEvent, String sourceInfo) throws SpRuntimeException;
+
+  default void process(byte[] rawEvent, SpDataFormatDefinition dataFormatDefinition, String
+          sourceInfo) throws SpRuntimeException {
+    process(dataFormatDefinition.toMap(rawEvent), sourceInfo);
+  }
+
+  default void process(List<byte[]> rawEvents, SpDataFormatDefinition dataFormatDefinition,
+                       String sourceInfo) throws SpRuntimeException {
+    for (byte[] rawEvent : rawEvents) {
+      process(rawEvent, dataFormatDefinition, sourceInfo);
+    }
+  }
+
+  /**
+   * Processes events handed over by a co-located pipeline element. Runtimes override this to copy
+   * the events into their own layout without converting them to maps.
+   */
+  default void processEvents(List<Event> events, String sourceInfo) throws SpRuntimeException {
+    for (Event event : events) {
+      process(new EventConverter(event).toMap(), sourceInfo);
+    }
+  }
+
+  /**
+   * @return true if the processor may be called by several consumer threads at once.
+   */
+  default boolean isThreadSafe() {
+    return false;
+  }
 }
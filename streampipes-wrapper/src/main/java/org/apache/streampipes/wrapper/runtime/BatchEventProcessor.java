@@ -16,27 +16,22 @@
  *
  */
 
-package org.apache.streampipes.wrapper.flink.logger;
+package org.apache.streampipes.wrapper.runtime;
 
-import org.apache.flink.api.common.functions.FlatMapFunction;
-import org.apache.flink.util.Collector;
-import org.apache.streampipes.logging.impl.EventStatisticLogger;
-import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
+import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 
-public class StatisticLogger implements FlatMapFunction<Event, Event> {
+import java.util.List;
 
-    private InvocableStreamPipesEntity graph;
+/**
+ * Opt-in extension of {@link EventProcessor} for processors which handle all events received
+ * from the broker at once (e.g., one Kafka poll) instead of one by one.
+ */
+public interface BatchEventProcessor<B extends EventProcessorBindingParams> extends
+        EventProcessor<B> {
 
-    public StatisticLogger(InvocableStreamPipesEntity graph) {
-        this.graph = graph;
-    }
+  void onEvents(List<Event> events, SpOutputCollector collector) throws SpRuntimeException;
 
-    @Override
-    public void flatMap(Event in, Collector<Event> out) throws Exception {
-        EventStatisticLogger.log(graph.getName(), graph.getCorrespondingPipeline(), graph.getUri());
-        out.collect(in);
-    }
 }
-
-
@@ -27,4 +27,12 @@ public interface PipelineElement<B extends BindingParams<I>, I extends
 
   void onDetach() throws SpRuntimeException;
 
+  /**
+   * Elements which return true are called concurrently by the consumer threads of a partitioned
+   * input, all others receive one event or batch at a time.
+   */
+  default boolean isThreadSafe() {
+    return false;
+  }
+
 }
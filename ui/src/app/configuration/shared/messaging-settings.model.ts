@@ -22,6 +22,8 @@ export interface MessagingSettings {
     messageMaxBytes: number;
     lingerMs: number;
     acks: number;
+    kafkaNumPartitions: number;
+    kafkaConsumerThreads: number;
 
    prioritizedFormats: [string];
    prioritizedProtocols: [string];